@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.messaging.netty;
+
+import io.atomix.messaging.Endpoint;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Netty message encoder and decoder benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCodecBenchmark {
+  private static final int PREAMBLE = 1;
+  private static final String TYPE = "raft-partition-1-append";
+
+  @Param({"16", "1024"})
+  private int payloadSize;
+
+  private EmbeddedChannel encoder;
+  private EmbeddedChannel decoder;
+  private InternalMessage request;
+  private InternalMessage reply;
+  private ByteBuf encodedRequest;
+
+  @Setup
+  public void setup() throws UnknownHostException {
+    encoder = new EmbeddedChannel(new MessageEncoder(PREAMBLE));
+    decoder = new EmbeddedChannel(new MessageDecoder());
+    Endpoint sender = new Endpoint(InetAddress.getLoopbackAddress(), 5000);
+    request = new InternalMessage(PREAMBLE, 1, sender, TYPE, new byte[payloadSize]);
+    reply = new InternalMessage(PREAMBLE, 1, sender, new byte[payloadSize], InternalMessage.Status.OK);
+
+    // Encode the first message on the connection so the decoder has learned the connection's
+    // preamble, sender and message type before the benchmark begins.
+    decode(encode(request));
+    encodedRequest = encode(request);
+  }
+
+  @TearDown
+  public void teardown() {
+    encodedRequest.release();
+    encoder.finishAndReleaseAll();
+    decoder.finishAndReleaseAll();
+  }
+
+  private ByteBuf encode(InternalMessage message) {
+    encoder.writeOutbound(message);
+    return encoder.readOutbound();
+  }
+
+  private InternalMessage decode(ByteBuf buffer) {
+    decoder.writeInbound(buffer);
+    return decoder.readInbound();
+  }
+
+  /**
+   * Encodes a request message.
+   */
+  @Benchmark
+  public int encodeRequest() {
+    ByteBuf buffer = encode(request);
+    int size = buffer.readableBytes();
+    buffer.release();
+    return size;
+  }
+
+  /**
+   * Encodes a reply message.
+   */
+  @Benchmark
+  public int encodeReply() {
+    ByteBuf buffer = encode(reply);
+    int size = buffer.readableBytes();
+    buffer.release();
+    return size;
+  }
+
+  /**
+   * Decodes a request message.
+   */
+  @Benchmark
+  public InternalMessage decodeRequest() {
+    return decode(encodedRequest.retainedDuplicate());
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.phi;
+
+import io.atomix.utils.AbstractIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phi accrual failure detector benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhiAccrualFailureDetectorBenchmark {
+  private final PhiAccrualFailureDetector<NodeId> detector = new PhiAccrualFailureDetector<>();
+  private final NodeId nodeId = new NodeId("node");
+  private long time;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < 1000; i++) {
+      detector.report(nodeId, time += 100);
+    }
+  }
+
+  /**
+   * Computes phi for a node with a full window of heartbeats.
+   */
+  @Benchmark
+  public double phi() {
+    return detector.phi(nodeId);
+  }
+
+  /**
+   * Reports a heartbeat for a node with a full window of heartbeats.
+   */
+  @Benchmark
+  public void report() {
+    detector.report(nodeId, time += 100);
+  }
+
+  /**
+   * Failure detector node identifier.
+   */
+  private static class NodeId extends AbstractIdentifier<String> {
+    NodeId(String id) {
+      super(id);
+    }
+  }
+}
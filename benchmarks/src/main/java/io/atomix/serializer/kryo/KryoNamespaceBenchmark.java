@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.serializer.kryo;
+
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.operation.OperationType;
+import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.DefaultOperationId;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
+import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kryo namespace benchmarks for Raft protocol messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoNamespaceBenchmark {
+
+  @Param({"POOLED", "THREAD_LOCAL"})
+  private KryoNamespace.PoolingStrategy poolingStrategy;
+
+  @Param({"0", "1", "64"})
+  private int entries;
+
+  private KryoNamespace namespace;
+  private AppendRequest request;
+  private AppendResponse response;
+  private byte[] requestBytes;
+  private byte[] responseBytes;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setup() {
+    namespace = KryoNamespace.newBuilder()
+        .register(AppendRequest.class)
+        .register(AppendResponse.class)
+        .register(RaftResponse.Status.class)
+        .register(RaftError.class)
+        .register(RaftError.Type.class)
+        .register(CommandEntry.class)
+        .register(RaftOperation.class)
+        .register(DefaultOperationId.class)
+        .register(OperationType.class)
+        .register(ReadConsistency.class)
+        .register(MemberId.class)
+        .register(ArrayList.class)
+        .register(byte[].class)
+        .setPoolingStrategy(poolingStrategy)
+        .build();
+
+    List<RaftLogEntry> entries = new ArrayList<>(this.entries);
+    for (int i = 0; i < this.entries; i++) {
+      entries.add(new CommandEntry(1, System.currentTimeMillis(), 1, i + 1,
+          new RaftOperation(new DefaultOperationId("put", OperationType.COMMAND), new byte[64])));
+    }
+    request = AppendRequest.newBuilder()
+        .withTerm(1)
+        .withLeader(MemberId.from("leader"))
+        .withPrevLogIndex(1)
+        .withPrevLogTerm(1)
+        .withEntries(entries)
+        .withCommitIndex(1)
+        .build();
+    response = AppendResponse.newBuilder()
+        .withStatus(RaftResponse.Status.OK)
+        .withTerm(1)
+        .withSucceeded(true)
+        .withLastLogIndex(this.entries + 1)
+        .build();
+    requestBytes = namespace.serialize(request);
+    responseBytes = namespace.serialize(response);
+    buffer = ByteBuffer.allocate(requestBytes.length);
+  }
+
+  /**
+   * Serializes an append request to a byte array.
+   */
+  @Benchmark
+  public byte[] encodeAppendRequest() {
+    return namespace.serialize(request);
+  }
+
+  /**
+   * Serializes an append request to a reusable byte buffer.
+   */
+  @Benchmark
+  public ByteBuffer encodeAppendRequestToBuffer() {
+    buffer.clear();
+    namespace.serialize(request, buffer);
+    return buffer;
+  }
+
+  /**
+   * Deserializes an append request from a byte array.
+   */
+  @Benchmark
+  public AppendRequest decodeAppendRequest() {
+    return namespace.deserialize(requestBytes);
+  }
+
+  /**
+   * Serializes an append response to a byte array.
+   */
+  @Benchmark
+  public byte[] encodeAppendResponse() {
+    return namespace.serialize(response);
+  }
+
+  /**
+   * Deserializes an append response from a byte array.
+   */
+  @Benchmark
+  public AppendResponse decodeAppendResponse() {
+    return namespace.deserialize(responseBytes);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer implementation benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+  private static final int CAPACITY = 1024 * 1024 * 16;
+
+  @Param({"HEAP", "UNSAFE_DIRECT", "MAPPED", "FILE"})
+  private String type;
+
+  @Param({"64", "1024"})
+  private int bytesSize;
+
+  private File file;
+  private Buffer buffer;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() throws IOException {
+    switch (type) {
+      case "HEAP":
+        buffer = HeapBuffer.allocate(CAPACITY, CAPACITY);
+        break;
+      case "UNSAFE_DIRECT":
+        buffer = UnsafeDirectBuffer.allocate(CAPACITY, CAPACITY);
+        break;
+      case "MAPPED":
+        file = File.createTempFile("buffer-benchmark", ".log");
+        buffer = MappedBuffer.allocate(file, CAPACITY, CAPACITY);
+        break;
+      case "FILE":
+        file = File.createTempFile("buffer-benchmark", ".log");
+        buffer = FileBuffer.allocate(file, CAPACITY, CAPACITY);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown buffer type " + type);
+    }
+    bytes = new byte[bytesSize];
+  }
+
+  @TearDown
+  public void teardown() {
+    buffer.close();
+    if (file != null) {
+      file.delete();
+    }
+  }
+
+  /**
+   * Writes a long to the buffer, wrapping to the start of the buffer when full.
+   */
+  @Benchmark
+  public Buffer writeLong() {
+    if (buffer.remaining() < Long.BYTES) {
+      buffer.clear();
+    }
+    return buffer.writeLong(buffer.position());
+  }
+
+  /**
+   * Reads a long from the buffer, wrapping to the start of the buffer when exhausted.
+   */
+  @Benchmark
+  public long readLong() {
+    if (buffer.remaining() < Long.BYTES) {
+      buffer.clear();
+    }
+    return buffer.readLong();
+  }
+
+  /**
+   * Writes an array of bytes to the buffer, wrapping to the start of the buffer when full.
+   */
+  @Benchmark
+  public Buffer writeBytes() {
+    if (buffer.remaining() < bytes.length) {
+      buffer.clear();
+    }
+    return buffer.write(bytes);
+  }
+
+  /**
+   * Reads an array of bytes from the buffer, wrapping to the start of the buffer when exhausted.
+   */
+  @Benchmark
+  public byte[] readBytes() {
+    if (buffer.remaining() < bytes.length) {
+      buffer.clear();
+    }
+    buffer.read(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.storage.StorageLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Segmented journal benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+  private static final int ENTRIES = 1024 * 16;
+
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
+      .register(byte[].class)
+      .build());
+
+  @Param({"MEMORY", "DISK", "MAPPED"})
+  private StorageLevel storageLevel;
+
+  @Param({"64", "1024"})
+  private int entrySize;
+
+  private File directory;
+  private Journal<byte[]> journal;
+  private JournalWriter<byte[]> writer;
+  private JournalReader<byte[]> reader;
+  private byte[] entry;
+
+  @Setup(Level.Iteration)
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("journal-benchmark").toFile();
+    journal = SegmentedJournal.<byte[]>newBuilder()
+        .withName("benchmark")
+        .withDirectory(directory)
+        .withStorageLevel(storageLevel)
+        .withSerializer(SERIALIZER)
+        .build();
+    writer = journal.writer();
+    entry = new byte[entrySize];
+    for (int i = 0; i < ENTRIES; i++) {
+      writer.append(entry);
+    }
+    reader = journal.openReader(1);
+  }
+
+  @TearDown(Level.Iteration)
+  public void teardown() throws IOException {
+    reader.close();
+    journal.close();
+    Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * Appends an entry to the journal.
+   */
+  @Benchmark
+  public Indexed<byte[]> append() {
+    return writer.append(entry);
+  }
+
+  /**
+   * Reads the next entry from the journal, starting over once the end of the journal is reached.
+   */
+  @Benchmark
+  public byte[] read() {
+    if (!reader.hasNext()) {
+      reader.reset();
+    }
+    return reader.next().entry();
+  }
+
+  /**
+   * Reads the next entry from the journal without deserializing it.
+   */
+  @Benchmark
+  public int readRaw() {
+    if (!reader.hasNext()) {
+      reader.reset();
+    }
+    return reader.next().size();
+  }
+
+  /**
+   * Truncates the last entry in the journal and appends a new entry in its place.
+   */
+  @Benchmark
+  public Indexed<byte[]> truncateAndAppend() {
+    writer.truncate(writer.getLastIndex() - 1);
+    return writer.append(entry);
+  }
+}
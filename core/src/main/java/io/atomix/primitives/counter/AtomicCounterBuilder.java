@@ -17,13 +17,50 @@ package io.atomix.primitives.counter;
 
 import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.DistributedPrimitiveBuilder;
+import io.atomix.primitives.counter.impl.CoalescingAsyncAtomicCounter;
 
 /**
  * Builder for AtomicCounter.
  */
 public abstract class AtomicCounterBuilder
     extends DistributedPrimitiveBuilder<AtomicCounterBuilder, AsyncAtomicCounter> {
+
+  private boolean incrementCoalescing = false;
+
   public AtomicCounterBuilder() {
     super(DistributedPrimitive.Type.COUNTER);
   }
+
+  /**
+   * Enables coalescing of concurrent additions.
+   * <p>
+   * While an addition is in flight, further additions are queued and then submitted together as a single command,
+   * with each caller completed with the value it would have observed had its addition been applied alone.
+   *
+   * @return this builder
+   */
+  public AtomicCounterBuilder withIncrementCoalescing() {
+    incrementCoalescing = true;
+    return this;
+  }
+
+  /**
+   * Returns whether concurrent additions are coalesced.
+   *
+   * @return {@code true} if concurrent additions are coalesced; {@code false} otherwise
+   */
+  public boolean incrementCoalescing() {
+    return incrementCoalescing;
+  }
+
+  /**
+   * Wraps the given counter in a {@link CoalescingAsyncAtomicCounter} if
+   * increment coalescing is enabled.
+   *
+   * @param counter the counter to wrap
+   * @return the coalescing counter if coalescing is enabled, otherwise the given counter
+   */
+  protected AsyncAtomicCounter withCoalescing(AsyncAtomicCounter counter) {
+    return incrementCoalescing ? new CoalescingAsyncAtomicCounter(counter) : counter;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@code AsyncAtomicCounter} that coalesces concurrent additions into a single command.
+ * <p>
+ * While an addition is in flight, subsequent additions are queued. Once the in-flight addition completes, all queued
+ * additions are submitted to the backing counter as a single {@link AsyncAtomicCounter#addAndGet(long)} of their sum.
+ * Because addition is commutative, the combined command is equivalent to applying the queued additions one after
+ * another in the order in which they were queued, so each caller is completed with the value it would have observed
+ * had its addition been applied alone: the counter value before the combined command plus the deltas queued before
+ * it.
+ * <p>
+ * Queued additions are submitted before any other operation so that operations are applied in the order in which
+ * they were invoked.
+ */
+public class CoalescingAsyncAtomicCounter implements AsyncAtomicCounter {
+  private final AsyncAtomicCounter backingCounter;
+  private final AtomicLong operationCount = new AtomicLong();
+  private final AtomicLong commandCount = new AtomicLong();
+  private List<Addition> pending = new ArrayList<>();
+  private boolean inFlight;
+
+  public CoalescingAsyncAtomicCounter(AsyncAtomicCounter backingCounter) {
+    this.backingCounter = checkNotNull(backingCounter, "backingCounter cannot be null");
+  }
+
+  /**
+   * Queues an addition, submitting it immediately if no addition is in flight.
+   */
+  private CompletableFuture<Long> add(long delta, boolean returnPrevious) {
+    operationCount.incrementAndGet();
+    Addition addition = new Addition(delta, returnPrevious);
+    boolean submit;
+    synchronized (this) {
+      pending.add(addition);
+      submit = !inFlight;
+      inFlight = true;
+    }
+    if (submit) {
+      submitPending();
+    }
+    return addition.future;
+  }
+
+  /**
+   * Submits the queued additions, or marks the counter idle if no additions are queued.
+   */
+  private void submitPending() {
+    List<Addition> additions;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        inFlight = false;
+        return;
+      }
+      additions = pending;
+      pending = new ArrayList<>();
+    }
+    submit(additions).whenComplete((result, error) -> submitPending());
+  }
+
+  /**
+   * Submits the given additions as a single command, completing each addition with its individual result.
+   */
+  private CompletableFuture<Long> submit(List<Addition> additions) {
+    long sum = 0;
+    for (Addition addition : additions) {
+      sum += addition.delta;
+    }
+    commandCount.incrementAndGet();
+    long total = sum;
+    CompletableFuture<Long> future;
+    try {
+      future = backingCounter.addAndGet(total);
+    } catch (Exception e) {
+      // Fail the batch rather than the caller's thread so that the queue continues to be processed.
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+    return future.whenComplete((result, error) -> {
+      if (error == null) {
+        long value = result - total;
+        for (Addition addition : additions) {
+          long previous = value;
+          value += addition.delta;
+          addition.future.complete(addition.returnPrevious ? previous : value);
+        }
+      } else {
+        additions.forEach(addition -> addition.future.completeExceptionally(error));
+      }
+    });
+  }
+
+  /**
+   * Submits any queued additions and then the given operation.
+   * <p>
+   * Additions are only queued while another addition is in flight, so the queued additions are submitted without
+   * waiting for it. Their completion is left to the in-flight addition's queue processing.
+   */
+  private <T> CompletableFuture<T> afterPending(Supplier<CompletableFuture<T>> operation) {
+    List<Addition> additions = null;
+    synchronized (this) {
+      if (!pending.isEmpty()) {
+        additions = pending;
+        pending = new ArrayList<>();
+      }
+    }
+    if (additions != null) {
+      submit(additions);
+    }
+    return operation.get();
+  }
+
+  /**
+   * Returns the number of additions invoked on this counter.
+   *
+   * @return the number of additions
+   */
+  public long getOperationCount() {
+    return operationCount.get();
+  }
+
+  /**
+   * Returns the number of addition commands submitted to the backing counter.
+   *
+   * @return the number of addition commands
+   */
+  public long getCommandCount() {
+    return commandCount.get();
+  }
+
+  @Override
+  public String name() {
+    return backingCounter.name();
+  }
+
+  @Override
+  public CompletableFuture<Long> incrementAndGet() {
+    return add(1, false);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndIncrement() {
+    return add(1, true);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndAdd(long delta) {
+    return add(delta, true);
+  }
+
+  @Override
+  public CompletableFuture<Long> addAndGet(long delta) {
+    return add(delta, false);
+  }
+
+  @Override
+  public CompletableFuture<Long> get() {
+    return afterPending(backingCounter::get);
+  }
+
+  @Override
+  public CompletableFuture<Void> set(long value) {
+    return afterPending(() -> backingCounter.set(value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> compareAndSet(long expectedValue, long updateValue) {
+    return afterPending(() -> backingCounter.compareAndSet(expectedValue, updateValue));
+  }
+
+  @Override
+  public CompletableFuture<Void> destroy() {
+    return afterPending(backingCounter::destroy);
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    backingCounter.addStatusChangeListener(listener);
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    backingCounter.removeStatusChangeListener(listener);
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    return backingCounter.statusChangeListeners();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("name", name())
+        .add("operationCount", operationCount)
+        .add("commandCount", commandCount)
+        .toString();
+  }
+
+  /**
+   * Queued addition.
+   */
+  private static class Addition {
+    private final long delta;
+    private final boolean returnPrevious;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+    Addition(long delta, boolean returnPrevious) {
+      this.delta = delta;
+      this.returnPrevious = returnPrevious;
+    }
+  }
+}
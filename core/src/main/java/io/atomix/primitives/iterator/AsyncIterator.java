@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.iterator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Asynchronous iterator.
+ * <p>
+ * Iterators over distributed primitives may hold resources in the cluster until they're exhausted. Iterators that
+ * are not consumed to the end should be {@link #close() closed} to release those resources.
+ *
+ * @param <T> type of elements returned by the iterator
+ */
+public interface AsyncIterator<T> {
+
+  /**
+   * Returns whether the iterator has more elements.
+   *
+   * @return a future to be completed with a boolean indicating whether the iterator has more elements
+   */
+  CompletableFuture<Boolean> hasNext();
+
+  /**
+   * Returns the next element in the iterator.
+   * <p>
+   * The returned future will be completed exceptionally with a {@link java.util.NoSuchElementException} if the
+   * iterator has no more elements.
+   *
+   * @return a future to be completed with the next element in the iterator
+   */
+  CompletableFuture<T> next();
+
+  /**
+   * Closes the iterator, releasing any resources held by the iterator.
+   *
+   * @return a future to be completed once the iterator has been closed
+   */
+  CompletableFuture<Void> close();
+
+  /**
+   * Returns an iterator that applies the given function to each element of this iterator.
+   *
+   * @param mapper the function to apply to each element
+   * @param <U>    the type of elements returned by the mapped iterator
+   * @return the mapped iterator
+   */
+  default <U> AsyncIterator<U> map(Function<? super T, ? extends U> mapper) {
+    AsyncIterator<T> iterator = this;
+    return new AsyncIterator<U>() {
+      @Override
+      public CompletableFuture<Boolean> hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public CompletableFuture<U> next() {
+        return iterator.next().thenApply(mapper);
+      }
+
+      @Override
+      public CompletableFuture<Void> close() {
+        return iterator.close();
+      }
+    };
+  }
+}
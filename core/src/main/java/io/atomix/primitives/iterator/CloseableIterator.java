@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.iterator;
+
+import java.util.Iterator;
+
+/**
+ * Iterator that holds resources until it's exhausted or closed.
+ *
+ * @param <T> type of elements returned by the iterator
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+  /**
+   * Closes the iterator, releasing any resources held by the iterator.
+   */
+  @Override
+  void close();
+}
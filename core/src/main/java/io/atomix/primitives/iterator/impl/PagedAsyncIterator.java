@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.iterator.impl;
+
+import io.atomix.primitives.iterator.AsyncIterator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Asynchronous iterator that lazily fetches elements from a cursor in pages.
+ * <p>
+ * The first page is fetched when the iterator is first accessed, and each subsequent page is fetched only once
+ * all the elements of the previous page have been consumed. The cursor is closed when the iterator is
+ * {@link #close() closed} before the last page has been fetched. Cursors are expected to release their state
+ * once the last page has been fetched.
+ *
+ * @param <T> type of elements returned by the iterator
+ */
+public class PagedAsyncIterator<T> implements AsyncIterator<T> {
+  private final Cursor<T> cursor;
+  private CompletableFuture<Page<T>> pageFuture;
+  private Page<T> page;
+  private Iterator<T> iterator = Collections.emptyIterator();
+
+  public PagedAsyncIterator(Cursor<T> cursor) {
+    this.cursor = checkNotNull(cursor, "cursor cannot be null");
+  }
+
+  /**
+   * Returns a future to be completed with the current page, opening the cursor if necessary.
+   */
+  private synchronized CompletableFuture<Page<T>> page() {
+    if (pageFuture == null) {
+      pageFuture = load(cursor.open());
+    }
+    return pageFuture;
+  }
+
+  /**
+   * Sets the current page once the given page future has been completed.
+   */
+  private CompletableFuture<Page<T>> load(CompletableFuture<Page<T>> future) {
+    return future.thenApply(page -> {
+      synchronized (this) {
+        this.page = page;
+        this.iterator = page.elements().iterator();
+      }
+      return page;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Boolean> hasNext() {
+    return page().thenCompose(page -> {
+      synchronized (this) {
+        if (page != this.page) {
+          return hasNext();
+        } else if (iterator.hasNext()) {
+          return CompletableFuture.completedFuture(true);
+        } else if (page.isLast()) {
+          return CompletableFuture.completedFuture(false);
+        }
+        pageFuture = load(cursor.next(page.id()));
+      }
+      return hasNext();
+    });
+  }
+
+  @Override
+  public CompletableFuture<T> next() {
+    return hasNext().thenApply(hasNext -> {
+      synchronized (this) {
+        if (!hasNext) {
+          throw new NoSuchElementException();
+        }
+        return iterator.next();
+      }
+    });
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> close() {
+    if (pageFuture == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return pageFuture.thenCompose(page -> page.isLast()
+        ? CompletableFuture.completedFuture(null)
+        : cursor.close(page.id()));
+  }
+
+  /**
+   * Iterator cursor.
+   * <p>
+   * The cursor is the source of pages for the iterator. A cursor is opened when the iterator is first accessed,
+   * and subsequent pages are fetched from the cursor by the identifier of the page's cursor.
+   *
+   * @param <T> type of elements returned by the cursor
+   */
+  public interface Cursor<T> {
+
+    /**
+     * Opens the cursor, returning the first page.
+     *
+     * @return a future to be completed with the first page
+     */
+    CompletableFuture<Page<T>> open();
+
+    /**
+     * Fetches the next page from the cursor with the given identifier.
+     *
+     * @param id the cursor identifier
+     * @return a future to be completed with the next page
+     */
+    CompletableFuture<Page<T>> next(long id);
+
+    /**
+     * Closes the cursor with the given identifier.
+     *
+     * @param id the cursor identifier
+     * @return a future to be completed once the cursor has been closed
+     */
+    CompletableFuture<Void> close(long id);
+  }
+
+  /**
+   * Iterator page.
+   *
+   * @param <T> type of elements in the page
+   */
+  public static class Page<T> {
+    private final long id;
+    private final Collection<T> elements;
+    private final boolean last;
+
+    public Page(long id, Collection<T> elements, boolean last) {
+      this.id = id;
+      this.elements = checkNotNull(elements, "elements cannot be null");
+      this.last = last;
+    }
+
+    /**
+     * Returns the identifier of the cursor from which the page was read.
+     *
+     * @return the cursor identifier
+     */
+    public long id() {
+      return id;
+    }
+
+    /**
+     * Returns the elements in the page.
+     *
+     * @return the elements in the page
+     */
+    public Collection<T> elements() {
+      return elements;
+    }
+
+    /**
+     * Returns whether this is the last page of the cursor.
+     *
+     * @return whether this is the last page of the cursor
+     */
+    public boolean isLast() {
+      return last;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("id", id)
+          .add("size", elements.size())
+          .add("last", last)
+          .toString();
+    }
+  }
+}
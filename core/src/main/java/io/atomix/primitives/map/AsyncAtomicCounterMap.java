@@ -18,6 +18,7 @@ package io.atomix.primitives.map;
 import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.map.impl.DefaultAtomicCounterMap;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -80,6 +81,16 @@ public interface AsyncAtomicCounterMap<K> extends DistributedPrimitive {
    */
   CompletableFuture<Long> getAndAdd(K key, long delta);
 
+  /**
+   * Adds each delta to the value currently associated with its key, and returns the new values.
+   * <p>
+   * All deltas are applied atomically as a single operation.
+   *
+   * @param deltas a map of keys to the values to add
+   * @return a map of keys to updated values
+   */
+  CompletableFuture<Map<K, Long>> addAndGetAll(Map<K, Long> deltas);
+
   /**
    * Returns the value associated with key, or zero if there is no value associated with key.
    *
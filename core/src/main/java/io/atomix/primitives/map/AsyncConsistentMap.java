@@ -18,10 +18,12 @@ package io.atomix.primitives.map;
 
 import com.google.common.util.concurrent.MoreExecutors;
 import io.atomix.primitives.DistributedPrimitive;
+import io.atomix.primitives.iterator.AsyncIterator;
 import io.atomix.primitives.map.impl.DefaultConsistentMap;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
@@ -57,6 +59,11 @@ import java.util.function.Predicate;
  */
 public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
 
+  /**
+   * Default number of entries to fetch in each page of an iterator.
+   */
+  int DEFAULT_ITERATOR_PAGE_SIZE = 1000;
+
   @Override
   default DistributedPrimitive.Type primitiveType() {
     return DistributedPrimitive.Type.CONSISTENT_MAP;
@@ -120,6 +127,16 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
    */
   CompletableFuture<Versioned<V>> getOrDefault(K key, V defaultValue);
 
+  /**
+   * Returns the values (and versions) to which the specified keys are mapped.
+   * <p>
+   * All keys are read in a single operation, so the returned entries reflect a consistent view of the map.
+   *
+   * @param keys the keys whose associated values (and versions) are to be returned
+   * @return a future for a map of the given keys that are present in the map to their values (and versions)
+   */
+  CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<? extends K> keys);
+
   /**
    * If the specified key is not already associated with a value (or is mapped to null),
    * attempts to compute its value using the given mapping function and enters it into
@@ -208,6 +225,16 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
    */
   CompletableFuture<Versioned<V>> putAndGet(K key, V value);
 
+  /**
+   * Associates all of the specified values with their keys in this map.
+   * <p>
+   * All entries are written in a single operation rather than an operation per entry.
+   *
+   * @param entries the entries to store in this map
+   * @return future that will be completed when the entries have been stored
+   */
+  CompletableFuture<Void> putAll(Map<? extends K, ? extends V> entries);
+
   /**
    * Removes the mapping for a key from this map if it is present (optional operation).
    *
@@ -217,6 +244,16 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
    */
   CompletableFuture<Versioned<V>> remove(K key);
 
+  /**
+   * Removes the mappings for all of the specified keys from this map if they are present.
+   * <p>
+   * All keys are removed in a single operation rather than an operation per key.
+   *
+   * @param keys the keys whose values are to be removed from the map
+   * @return future that will be completed when the keys have been removed
+   */
+  CompletableFuture<Void> removeAll(Collection<? extends K> keys);
+
   /**
    * Removes all of the mappings from this map (optional operation).
    * The map will be empty after this call returns.
@@ -258,6 +295,53 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
    */
   CompletableFuture<Set<Entry<K, Versioned<V>>>> entrySet();
 
+  /**
+   * Returns an iterator over the entries contained in this map.
+   * <p>
+   * Unlike {@link #entrySet()}, which returns all entries in a single response, the iterator lazily fetches
+   * entries in pages of up to {@code pageSize} entries as it's consumed. The iterator reflects the state of the
+   * map at the point in the log at which iteration began. Any state held in the cluster for the iterator is
+   * released once the iterator has been exhausted or {@link AsyncIterator#close() closed}, or once the session
+   * through which it was opened expires.
+   *
+   * @param pageSize the maximum number of entries to fetch in each page
+   * @return an iterator over the entries contained in this map
+   */
+  AsyncIterator<Entry<K, Versioned<V>>> entryIterator(int pageSize);
+
+  /**
+   * Returns an iterator over the entries contained in this map, fetching entries in pages of
+   * {@link #DEFAULT_ITERATOR_PAGE_SIZE} entries.
+   *
+   * @return an iterator over the entries contained in this map
+   * @see #entryIterator(int)
+   */
+  default AsyncIterator<Entry<K, Versioned<V>>> entryIterator() {
+    return entryIterator(DEFAULT_ITERATOR_PAGE_SIZE);
+  }
+
+  /**
+   * Returns an iterator over the keys contained in this map.
+   *
+   * @param pageSize the maximum number of keys to fetch in each page
+   * @return an iterator over the keys contained in this map
+   * @see #entryIterator(int)
+   */
+  default AsyncIterator<K> keyIterator(int pageSize) {
+    return entryIterator(pageSize).map(Entry::getKey);
+  }
+
+  /**
+   * Returns an iterator over the values (and associated versions) contained in this map.
+   *
+   * @param pageSize the maximum number of values to fetch in each page
+   * @return an iterator over the values (and associated versions) contained in this map
+   * @see #entryIterator(int)
+   */
+  default AsyncIterator<Versioned<V>> valueIterator(int pageSize) {
+    return entryIterator(pageSize).map(Entry::getValue);
+  }
+
   /**
    * If the specified key is not already associated with a value associates
    * it with the given value and returns null, else behaves as a get
@@ -322,6 +406,20 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
    */
   CompletableFuture<Boolean> replace(K key, long oldVersion, V newValue);
 
+  /**
+   * Associates all of the specified values with their keys in this map only if each of the keys in the
+   * given versions map is currently mapped to the specified version.
+   * <p>
+   * The versions are checked and the entries are written in a single atomic operation: either all entries are
+   * written or none are. The versions map may include keys that are not written to guard updates on entries that
+   * were read but not modified. An expected version of {@code 0} requires the key to be absent from the map.
+   *
+   * @param entries  the entries to store in this map
+   * @param versions the versions expected to be associated with the specified keys
+   * @return a future for true if the entries were stored
+   */
+  CompletableFuture<Boolean> putAll(Map<? extends K, ? extends V> entries, Map<? extends K, Long> versions);
+
   /**
    * Registers the specified listener to be notified whenever the map is updated.
    *
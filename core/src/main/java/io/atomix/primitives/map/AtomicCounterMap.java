@@ -17,6 +17,8 @@ package io.atomix.primitives.map;
 
 import io.atomix.primitives.DistributedPrimitive;
 
+import java.util.Map;
+
 /**
  * Distributed version of com.google.common.util.concurrent.AtomicLongMap.
  */
@@ -77,6 +79,16 @@ public interface AtomicCounterMap<K> extends DistributedPrimitive {
    */
   long getAndAdd(K key, long delta);
 
+  /**
+   * Adds each delta to the value currently associated with its key, and returns the new values.
+   * <p>
+   * All deltas are applied atomically as a single operation.
+   *
+   * @param deltas a map of keys to the values to add
+   * @return a map of keys to updated values
+   */
+  Map<K, Long> addAndGetAll(Map<K, Long> deltas);
+
   /**
    * Returns the value associated with key, or zero if there is no value associated with key.
    *
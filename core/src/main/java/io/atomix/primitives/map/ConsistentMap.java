@@ -18,6 +18,7 @@ package io.atomix.primitives.map;
 
 import com.google.common.util.concurrent.MoreExecutors;
 import io.atomix.primitives.DistributedPrimitive;
+import io.atomix.primitives.iterator.CloseableIterator;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
@@ -92,6 +93,16 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
    */
   Versioned<V> getOrDefault(K key, V defaultValue);
 
+  /**
+   * Returns the values (and versions) to which the specified keys are mapped.
+   * <p>
+   * All keys are read in a single operation, so the returned entries reflect a consistent view of the map.
+   *
+   * @param keys the keys whose associated values (and versions) are to be returned
+   * @return a map of the given keys that are present in the map to their values (and versions)
+   */
+  Map<K, Versioned<V>> getAll(Collection<? extends K> keys);
+
   /**
    * If the specified key is not already associated with a value (or is mapped to null),
    * attempts to compute its value using the given mapping function and enters it into
@@ -173,6 +184,15 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
    */
   Versioned<V> putAndGet(K key, V value);
 
+  /**
+   * Associates all of the specified values with their keys in this map.
+   * <p>
+   * All entries are written in a single operation rather than an operation per entry.
+   *
+   * @param entries the entries to store in this map
+   */
+  void putAll(Map<? extends K, ? extends V> entries);
+
   /**
    * Removes the mapping for a key from this map if it is present (optional operation).
    *
@@ -182,6 +202,15 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
    */
   Versioned<V> remove(K key);
 
+  /**
+   * Removes the mappings for all of the specified keys from this map if they are present.
+   * <p>
+   * All keys are removed in a single operation rather than an operation per key.
+   *
+   * @param keys the keys whose values are to be removed from the map
+   */
+  void removeAll(Collection<? extends K> keys);
+
   /**
    * Removes all of the mappings from this map (optional operation).
    * The map will be empty after this call returns.
@@ -221,6 +250,30 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
    */
   Set<Entry<K, Versioned<V>>> entrySet();
 
+  /**
+   * Returns an iterator over the entries contained in this map.
+   * <p>
+   * Unlike {@link #entrySet()}, the iterator lazily fetches entries in pages of up to {@code pageSize} entries
+   * as it's consumed. Iterators that are not consumed to the end should be
+   * {@link CloseableIterator#close() closed}.
+   *
+   * @param pageSize the maximum number of entries to fetch in each page
+   * @return an iterator over the entries contained in this map
+   * @see AsyncConsistentMap#entryIterator(int)
+   */
+  CloseableIterator<Entry<K, Versioned<V>>> entryIterator(int pageSize);
+
+  /**
+   * Returns an iterator over the entries contained in this map, fetching entries in pages of
+   * {@link AsyncConsistentMap#DEFAULT_ITERATOR_PAGE_SIZE} entries.
+   *
+   * @return an iterator over the entries contained in this map
+   * @see #entryIterator(int)
+   */
+  default CloseableIterator<Entry<K, Versioned<V>>> entryIterator() {
+    return entryIterator(AsyncConsistentMap.DEFAULT_ITERATOR_PAGE_SIZE);
+  }
+
   /**
    * If the specified key is not already associated with a value
    * associates it with the given value and returns null, else returns the current value.
@@ -284,6 +337,20 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
    */
   boolean replace(K key, long oldVersion, V newValue);
 
+  /**
+   * Associates all of the specified values with their keys in this map only if each of the keys in the
+   * given versions map is currently mapped to the specified version.
+   * <p>
+   * The versions are checked and the entries are written in a single atomic operation: either all entries are
+   * written or none are. The versions map may include keys that are not written to guard updates on entries that
+   * were read but not modified. An expected version of {@code 0} requires the key to be absent from the map.
+   *
+   * @param entries  the entries to store in this map
+   * @param versions the versions expected to be associated with the specified keys
+   * @return true if the entries were stored
+   */
+  boolean putAll(Map<? extends K, ? extends V> entries, Map<? extends K, Long> versions);
+
   /**
    * Registers the specified listener to be notified whenever the map is updated.
    *
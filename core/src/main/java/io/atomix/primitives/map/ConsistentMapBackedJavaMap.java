@@ -17,10 +17,10 @@ package io.atomix.primitives.map;
 
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Maps;
+import io.atomix.primitives.iterator.CloseableIterator;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -104,9 +104,7 @@ public final class ConsistentMapBackedJavaMap<K, V> implements Map<K, V> {
 
   @Override
   public void putAll(Map<? extends K, ? extends V> m) {
-    m.forEach((k, v) -> {
-      backingMap.put(k, v);
-    });
+    backingMap.putAll(m);
   }
 
   @Override
@@ -152,12 +150,13 @@ public final class ConsistentMapBackedJavaMap<K, V> implements Map<K, V> {
     // Map like output
     StringBuilder sb = new StringBuilder();
     sb.append('{');
-    Iterator<Entry<K, Versioned<V>>> it = backingMap.entrySet().iterator();
-    while (it.hasNext()) {
-      Entry<K, Versioned<V>> entry = it.next();
-      sb.append(entry.getKey()).append('=').append(entry.getValue().value());
-      if (it.hasNext()) {
-        sb.append(',').append(' ');
+    try (CloseableIterator<Entry<K, Versioned<V>>> it = backingMap.entryIterator()) {
+      while (it.hasNext()) {
+        Entry<K, Versioned<V>> entry = it.next();
+        sb.append(entry.getKey()).append('=').append(entry.getValue().value());
+        if (it.hasNext()) {
+          sb.append(',').append(' ');
+        }
       }
     }
     sb.append('}');
@@ -166,7 +165,9 @@ public final class ConsistentMapBackedJavaMap<K, V> implements Map<K, V> {
 
   @Override
   public void forEach(BiConsumer<? super K, ? super V> action) {
-    entrySet().forEach(e -> action.accept(e.getKey(), e.getValue()));
+    try (CloseableIterator<Entry<K, Versioned<V>>> it = backingMap.entryIterator()) {
+      it.forEachRemaining(e -> action.accept(e.getKey(), e.getValue().value()));
+    }
   }
 
   @Override
@@ -17,6 +17,12 @@ package io.atomix.primitives.map;
 
 import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.DistributedPrimitiveBuilder;
+import io.atomix.primitives.map.impl.CachingAsyncConsistentMap;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Builder for {@link ConsistentMap} instances.
@@ -28,6 +34,9 @@ public abstract class ConsistentMapBuilder<K, V>
     extends DistributedPrimitiveBuilder<ConsistentMapBuilder<K, V>, ConsistentMap<K, V>> {
 
   private boolean purgeOnUninstall = false;
+  private int cacheSize = 0;
+  private Duration cacheTimeToLive = Duration.ZERO;
+  private Duration cacheTimeToIdle = Duration.ZERO;
 
   public ConsistentMapBuilder() {
     super(DistributedPrimitive.Type.CONSISTENT_MAP);
@@ -52,6 +61,86 @@ public abstract class ConsistentMapBuilder<K, V>
     return purgeOnUninstall;
   }
 
+  /**
+   * Enables a client-side near cache of up to the given number of entries.
+   * <p>
+   * Cached entries are kept coherent with the map through map events and are bypassed while the map's session
+   * is not active. Once the cache is full, entries are evicted in approximately least recently used order.
+   *
+   * @param cacheSize the maximum number of entries to cache, or {@code 0} to disable the cache
+   * @return this builder
+   * @throws IllegalArgumentException if the cache size is negative
+   */
+  public ConsistentMapBuilder<K, V> withCacheSize(int cacheSize) {
+    checkArgument(cacheSize >= 0, "cacheSize cannot be negative");
+    this.cacheSize = cacheSize;
+    return this;
+  }
+
+  /**
+   * Sets the time after which cached entries are evicted from the near cache.
+   * <p>
+   * The time to live bounds how long an entry can be served from the cache regardless of map events.
+   *
+   * @param timeToLive the time after which to evict cached entries, or {@link Duration#ZERO} for no limit
+   * @return this builder
+   * @throws NullPointerException if the time to live is null
+   */
+  public ConsistentMapBuilder<K, V> withCacheTimeToLive(Duration timeToLive) {
+    this.cacheTimeToLive = checkNotNull(timeToLive, "timeToLive cannot be null");
+    return this;
+  }
+
+  /**
+   * Sets the time after which cached entries that have not been read are evicted from the near cache.
+   *
+   * @param timeToIdle the time after which to evict idle cached entries, or {@link Duration#ZERO} for no limit
+   * @return this builder
+   * @throws NullPointerException if the time to idle is null
+   */
+  public ConsistentMapBuilder<K, V> withCacheTimeToIdle(Duration timeToIdle) {
+    this.cacheTimeToIdle = checkNotNull(timeToIdle, "timeToIdle cannot be null");
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of entries in the near cache.
+   *
+   * @return the maximum number of entries in the near cache, or {@code 0} if the cache is disabled
+   */
+  public int cacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * Returns the time after which cached entries are evicted from the near cache.
+   *
+   * @return the time after which cached entries are evicted
+   */
+  public Duration cacheTimeToLive() {
+    return cacheTimeToLive;
+  }
+
+  /**
+   * Returns the time after which cached entries that have not been read are evicted from the near cache.
+   *
+   * @return the time after which idle cached entries are evicted
+   */
+  public Duration cacheTimeToIdle() {
+    return cacheTimeToIdle;
+  }
+
+  /**
+   * Wraps the given map in a {@link CachingAsyncConsistentMap near cache} if
+   * caching is enabled.
+   *
+   * @param map the map to wrap
+   * @return the near cached map if caching is enabled, otherwise the given map
+   */
+  protected AsyncConsistentMap<K, V> withCache(AsyncConsistentMap<K, V> map) {
+    return cacheSize > 0 ? new CachingAsyncConsistentMap<>(map, cacheSize, cacheTimeToLive, cacheTimeToIdle) : map;
+  }
+
   /**
    * Builds an async consistent map based on the configuration options
    * supplied to this builder.
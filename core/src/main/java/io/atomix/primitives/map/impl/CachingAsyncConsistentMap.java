@@ -0,0 +1,410 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.time.Versioned;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.primitives.DistributedPrimitive.Status.ACTIVE;
+
+/**
+ * {@code AsyncConsistentMap} that caches entries on read.
+ * <p>
+ * The cache is kept coherent with the backing map by listening for map events: entries are updated when a newer
+ * version of the entry is published and invalidated when the entry is removed. Values read from the backing map
+ * are only cached once the event listener has been registered and if the key was not updated or invalidated while
+ * the read was in flight, so a read can never overwrite a newer value in the cache. While the primitive is not
+ * {@link Status#ACTIVE active} events may be missed, so the cache is cleared and all reads go to the backing map
+ * until the primitive becomes active again.
+ * <p>
+ * Entries are evicted once the cache reaches its maximum size, in approximately least recently used order, and
+ * optionally after a fixed time since the entry was cached or since the entry was last read.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMap<K, V> {
+  private final Cache<K, Versioned<V>> cache;
+  private final MapEventListener<K, V> cacheUpdater = this::updateCache;
+  private final Consumer<Status> statusListener = this::updateStatus;
+  private final Map<K, PendingRead> pendingReads = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+  private volatile boolean enabled = true;
+  private volatile boolean listening;
+
+  /**
+   * Constructor to configure cache size and expiration.
+   *
+   * @param backingMap   a distributed, strongly consistent map for backing
+   * @param maxCacheSize the maximum number of entries to cache
+   * @param timeToLive   the time after which to evict a cached entry, or {@link Duration#ZERO} for no limit
+   * @param timeToIdle   the time after which to evict a cached entry that hasn't been read, or
+   *                     {@link Duration#ZERO} for no limit
+   */
+  public CachingAsyncConsistentMap(
+      AsyncConsistentMap<K, V> backingMap, int maxCacheSize, Duration timeToLive, Duration timeToIdle) {
+    super(backingMap);
+    checkArgument(maxCacheSize > 0, "maxCacheSize must be positive");
+    checkNotNull(timeToLive, "timeToLive cannot be null");
+    checkNotNull(timeToIdle, "timeToIdle cannot be null");
+    CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(maxCacheSize);
+    if (!timeToLive.isZero()) {
+      cacheBuilder.expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    if (!timeToIdle.isZero()) {
+      cacheBuilder.expireAfterAccess(timeToIdle.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    this.cache = cacheBuilder.build();
+    super.addStatusChangeListener(statusListener);
+    super.addListener(cacheUpdater).thenRun(this::startListening);
+  }
+
+  /**
+   * Enables caching of reads once the cache is registered for map events.
+   */
+  private void startListening() {
+    // Reads that began before the listener was registered may have missed events, so they must not be cached.
+    generation.incrementAndGet();
+    listening = true;
+  }
+
+  /**
+   * Updates the cache from a map event.
+   */
+  private void updateCache(MapEvent<K, V> event) {
+    invalidatePendingReads(event.key());
+    Versioned<V> newValue = event.newValue();
+    if (newValue == null) {
+      invalidate(event.key());
+    } else {
+      cache.asMap().computeIfPresent(event.key(), (key, value) -> newValue.version() > value.version() ? newValue : value);
+    }
+  }
+
+  /**
+   * Enables or disables the cache when the primitive's status changes.
+   */
+  private void updateStatus(Status status) {
+    // Events may be missed while the primitive is not active, so the cache must be cleared both when the
+    // primitive is suspended and when it becomes active again.
+    enabled = status == ACTIVE;
+    invalidateAll();
+  }
+
+  /**
+   * Registers a read of the given key from the backing map.
+   *
+   * @return the key's invalidation version when the read began
+   */
+  private long startRead(K key) {
+    return pendingReads.compute(key, (k, pending) -> {
+      if (pending == null) {
+        pending = new PendingRead();
+      }
+      pending.count++;
+      return pending;
+    }).version;
+  }
+
+  /**
+   * Completes a read of the given key from the backing map, caching the value read if the cache was registered for
+   * map events when the read began and neither the key nor the whole cache has been invalidated since.
+   */
+  private void completeRead(K key, Versioned<V> value, long readGeneration, long readVersion) {
+    pendingReads.compute(key, (k, pending) -> {
+      if (value != null && enabled && listening && generation.get() == readGeneration
+          && pending.version == readVersion) {
+        cache.asMap().merge(key, value, (oldValue, newValue) -> newValue.version() > oldValue.version() ? newValue : oldValue);
+      }
+      return --pending.count == 0 ? null : pending;
+    });
+  }
+
+  /**
+   * Prevents reads of the given key that are in flight from being cached.
+   */
+  private void invalidatePendingReads(K key) {
+    pendingReads.computeIfPresent(key, (k, pending) -> {
+      pending.version++;
+      return pending;
+    });
+  }
+
+  /**
+   * Invalidates the given key.
+   */
+  private void invalidate(K key) {
+    invalidatePendingReads(key);
+    if (cache.asMap().remove(key) != null) {
+      invalidationCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Invalidates all keys.
+   */
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    invalidationCount.addAndGet(cache.size());
+    cache.invalidateAll();
+  }
+
+  /**
+   * Returns the value for the given key if it's cached.
+   */
+  private Versioned<V> getIfCached(K key) {
+    if (enabled) {
+      Versioned<V> value = cache.getIfPresent(key);
+      if (value != null) {
+        hitCount.incrementAndGet();
+        return value;
+      }
+    }
+    missCount.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Invalidates the given key once the given update has completed.
+   */
+  private <T> CompletableFuture<T> invalidateOnComplete(K key, CompletableFuture<T> future) {
+    return future.whenComplete((result, error) -> invalidate(key));
+  }
+
+  /**
+   * Invalidates the given keys once the given update has completed.
+   */
+  private <T> CompletableFuture<T> invalidateOnComplete(Collection<? extends K> keys, CompletableFuture<T> future) {
+    return future.whenComplete((result, error) -> keys.forEach(this::invalidate));
+  }
+
+  /**
+   * Returns the number of reads that were served from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of reads that were served by the backing map.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the number of cached entries that were invalidated by updates to the map.
+   *
+   * @return the number of cache invalidations
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * Returns the number of entries in the cache.
+   *
+   * @return the number of entries in the cache
+   */
+  public long getCacheSize() {
+    return cache.size();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsKey(K key) {
+    Versioned<V> value = getIfCached(key);
+    if (value != null) {
+      return CompletableFuture.completedFuture(true);
+    }
+    return super.containsKey(key);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> get(K key) {
+    Versioned<V> value = getIfCached(key);
+    if (value != null) {
+      return CompletableFuture.completedFuture(value);
+    }
+    long readGeneration = generation.get();
+    long readVersion = startRead(key);
+    return super.get(key).whenComplete((result, error) -> completeRead(key, result, readGeneration, readVersion));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> getOrDefault(K key, V defaultValue) {
+    Versioned<V> value = getIfCached(key);
+    if (value != null) {
+      return CompletableFuture.completedFuture(value);
+    }
+    return super.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<? extends K> keys) {
+    Map<K, Versioned<V>> results = new HashMap<>();
+    List<K> misses = new ArrayList<>();
+    for (K key : keys) {
+      Versioned<V> value = getIfCached(key);
+      if (value != null) {
+        results.put(key, value);
+      } else {
+        misses.add(key);
+      }
+    }
+
+    if (misses.isEmpty()) {
+      return CompletableFuture.completedFuture(results);
+    }
+
+    long readGeneration = generation.get();
+    Map<K, Long> readVersions = new HashMap<>();
+    misses.forEach(key -> readVersions.put(key, startRead(key)));
+    return super.getAll(misses).whenComplete((values, error) -> readVersions.forEach((key, readVersion) ->
+        completeRead(key, error == null ? values.get(key) : null, readGeneration, readVersion)))
+        .thenApply(values -> {
+          results.putAll(values);
+          return results;
+        });
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> computeIf(K key,
+                                                   Predicate<? super V> condition,
+                                                   BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    return invalidateOnComplete(key, super.computeIf(key, condition, remappingFunction));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> put(K key, V value) {
+    return invalidateOnComplete(key, super.put(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putAndGet(K key, V value) {
+    return invalidateOnComplete(key, super.putAndGet(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Void> putAll(Map<? extends K, ? extends V> entries) {
+    return invalidateOnComplete(entries.keySet(), super.putAll(entries));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putIfAbsent(K key, V value) {
+    return invalidateOnComplete(key, super.putIfAbsent(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> remove(K key) {
+    return invalidateOnComplete(key, super.remove(key));
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<? extends K> keys) {
+    return invalidateOnComplete(keys, super.removeAll(keys));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, V value) {
+    return invalidateOnComplete(key, super.remove(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, long version) {
+    return invalidateOnComplete(key, super.remove(key, version));
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return super.clear().whenComplete((result, error) -> invalidateAll());
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> replace(K key, V value) {
+    return invalidateOnComplete(key, super.replace(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(K key, V oldValue, V newValue) {
+    return invalidateOnComplete(key, super.replace(key, oldValue, newValue));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(K key, long oldVersion, V newValue) {
+    return invalidateOnComplete(key, super.replace(key, oldVersion, newValue));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> putAll(Map<? extends K, ? extends V> entries, Map<? extends K, Long> versions) {
+    return invalidateOnComplete(entries.keySet(), super.putAll(entries, versions));
+  }
+
+  @Override
+  public CompletableFuture<Void> destroy() {
+    listening = false;
+    super.removeStatusChangeListener(statusListener);
+    return super.removeListener(cacheUpdater)
+        .thenCompose(v -> super.destroy())
+        .whenComplete((result, error) -> invalidateAll());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("name", name())
+        .add("cacheSize", cache.size())
+        .add("hitCount", hitCount)
+        .add("missCount", missCount)
+        .add("invalidationCount", invalidationCount)
+        .toString();
+  }
+
+  /**
+   * Reads of a key from the backing map that are in flight.
+   */
+  private static final class PendingRead {
+    private int count;
+    private volatile long version;
+  }
+}
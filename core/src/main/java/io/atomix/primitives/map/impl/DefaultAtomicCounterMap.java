@@ -21,6 +21,7 @@ import io.atomix.primitives.map.AsyncAtomicCounterMap;
 import io.atomix.primitives.map.AtomicCounterMap;
 import io.atomix.primitives.map.ConsistentMapException;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -72,6 +73,11 @@ public class DefaultAtomicCounterMap<K> extends Synchronous<AsyncAtomicCounterMa
     return complete(asyncCounterMap.getAndAdd(key, delta));
   }
 
+  @Override
+  public Map<K, Long> addAndGetAll(Map<K, Long> deltas) {
+    return complete(asyncCounterMap.addAndGetAll(deltas));
+  }
+
   @Override
   public long get(K key) {
     return complete(asyncCounterMap.get(key));
@@ -17,6 +17,8 @@ package io.atomix.primitives.map.impl;
 
 import com.google.common.base.Throwables;
 import io.atomix.primitives.Synchronous;
+import io.atomix.primitives.iterator.CloseableIterator;
+import io.atomix.primitives.iterator.impl.BlockingIterator;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.ConsistentMap;
 import io.atomix.primitives.map.ConsistentMapBackedJavaMap;
@@ -131,6 +133,26 @@ public class DefaultConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<K
     return complete(asyncMap.remove(key));
   }
 
+  @Override
+  public Map<K, Versioned<V>> getAll(Collection<? extends K> keys) {
+    return complete(asyncMap.getAll(keys));
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> entries) {
+    complete(asyncMap.putAll(entries));
+  }
+
+  @Override
+  public boolean putAll(Map<? extends K, ? extends V> entries, Map<? extends K, Long> versions) {
+    return complete(asyncMap.putAll(entries, versions));
+  }
+
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    complete(asyncMap.removeAll(keys));
+  }
+
   @Override
   public void clear() {
     complete(asyncMap.clear());
@@ -151,6 +173,11 @@ public class DefaultConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<K
     return complete(asyncMap.entrySet());
   }
 
+  @Override
+  public CloseableIterator<Map.Entry<K, Versioned<V>>> entryIterator(int pageSize) {
+    return new BlockingIterator<>(asyncMap.entryIterator(pageSize), operationTimeoutMillis);
+  }
+
   @Override
   public Versioned<V> putIfAbsent(K key, V value) {
     return complete(asyncMap.putIfAbsent(key, value));
@@ -18,6 +18,8 @@ package io.atomix.primitives.map.impl;
 
 import com.google.common.base.Throwables;
 import io.atomix.primitives.Synchronous;
+import io.atomix.primitives.iterator.CloseableIterator;
+import io.atomix.primitives.iterator.impl.BlockingIterator;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
 import io.atomix.primitives.map.ConsistentMapBackedJavaMap;
 import io.atomix.primitives.map.ConsistentMapException;
@@ -227,6 +229,26 @@ public class DefaultConsistentTreeMap<V>
     return complete(treeMap.remove(key));
   }
 
+  @Override
+  public Map<String, Versioned<V>> getAll(Collection<? extends String> keys) {
+    return complete(treeMap.getAll(keys));
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> entries) {
+    complete(treeMap.putAll(entries));
+  }
+
+  @Override
+  public boolean putAll(Map<? extends String, ? extends V> entries, Map<? extends String, Long> versions) {
+    return complete(treeMap.putAll(entries, versions));
+  }
+
+  @Override
+  public void removeAll(Collection<? extends String> keys) {
+    complete(treeMap.removeAll(keys));
+  }
+
   @Override
   public void clear() {
     complete(treeMap.clear());
@@ -247,6 +269,11 @@ public class DefaultConsistentTreeMap<V>
     return complete(treeMap.entrySet());
   }
 
+  @Override
+  public CloseableIterator<Map.Entry<String, Versioned<V>>> entryIterator(int pageSize) {
+    return new BlockingIterator<>(treeMap.entryIterator(pageSize), operationTimeoutMillis);
+  }
+
   @Override
   public Versioned<V> putIfAbsent(String key, V value) {
     return complete(treeMap.putIfAbsent(key, value));
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.primitives.iterator.AsyncIterator;
+import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.time.Versioned;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@code AsyncConsistentMap} that merely delegates control to
+ * another AsyncConsistentMap.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class DelegatingAsyncConsistentMap<K, V> implements AsyncConsistentMap<K, V> {
+
+  private final AsyncConsistentMap<K, V> delegateMap;
+
+  DelegatingAsyncConsistentMap(AsyncConsistentMap<K, V> delegateMap) {
+    this.delegateMap = checkNotNull(delegateMap, "delegate map cannot be null");
+  }
+
+  @Override
+  public String name() {
+    return delegateMap.name();
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return delegateMap.size();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsKey(K key) {
+    return delegateMap.containsKey(key);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsValue(V value) {
+    return delegateMap.containsValue(value);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> get(K key) {
+    return delegateMap.get(key);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> getOrDefault(K key, V defaultValue) {
+    return delegateMap.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<? extends K> keys) {
+    return delegateMap.getAll(keys);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> computeIf(K key,
+                                                   Predicate<? super V> condition,
+                                                   BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    return delegateMap.computeIf(key, condition, remappingFunction);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> put(K key, V value) {
+    return delegateMap.put(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putAndGet(K key, V value) {
+    return delegateMap.putAndGet(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Void> putAll(Map<? extends K, ? extends V> entries) {
+    return delegateMap.putAll(entries);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> remove(K key) {
+    return delegateMap.remove(key);
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<? extends K> keys) {
+    return delegateMap.removeAll(keys);
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return delegateMap.clear();
+  }
+
+  @Override
+  public CompletableFuture<Set<K>> keySet() {
+    return delegateMap.keySet();
+  }
+
+  @Override
+  public CompletableFuture<Collection<Versioned<V>>> values() {
+    return delegateMap.values();
+  }
+
+  @Override
+  public CompletableFuture<Set<Entry<K, Versioned<V>>>> entrySet() {
+    return delegateMap.entrySet();
+  }
+
+  @Override
+  public AsyncIterator<Entry<K, Versioned<V>>> entryIterator(int pageSize) {
+    return delegateMap.entryIterator(pageSize);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putIfAbsent(K key, V value) {
+    return delegateMap.putIfAbsent(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, V value) {
+    return delegateMap.remove(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, long version) {
+    return delegateMap.remove(key, version);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> replace(K key, V value) {
+    return delegateMap.replace(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(K key, V oldValue, V newValue) {
+    return delegateMap.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(K key, long oldVersion, V newValue) {
+    return delegateMap.replace(key, oldVersion, newValue);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> putAll(Map<? extends K, ? extends V> entries, Map<? extends K, Long> versions) {
+    return delegateMap.putAll(entries, versions);
+  }
+
+  @Override
+  public CompletableFuture<Void> addListener(MapEventListener<K, V> listener, Executor executor) {
+    return delegateMap.addListener(listener, executor);
+  }
+
+  @Override
+  public CompletableFuture<Void> removeListener(MapEventListener<K, V> listener) {
+    return delegateMap.removeListener(listener);
+  }
+
+  @Override
+  public CompletableFuture<Void> destroy() {
+    return delegateMap.destroy();
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    delegateMap.addStatusChangeListener(listener);
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    delegateMap.removeStatusChangeListener(listener);
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    return delegateMap.statusChangeListeners();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(getClass())
+        .add("delegateMap", delegateMap)
+        .toString();
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Open addressing hash map of objects to primitive {@code long} values.
+ * <p>
+ * Keys and values are stored in parallel arrays and collisions are resolved by linear probing, so entries are stored
+ * without boxing or per-entry node objects. Removed entries are compacted by shifting subsequent entries in the
+ * probe sequence backwards rather than leaving tombstones. The map does not permit {@code null} keys and is not
+ * thread safe.
+ *
+ * @param <K> key type
+ */
+class ObjectLongHashMap<K> {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.65f;
+
+  private K[] keys;
+  private long[] values;
+  private int mask;
+  private int resizeThreshold;
+  private int size;
+
+  ObjectLongHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  ObjectLongHashMap(int initialCapacity) {
+    checkArgument(initialCapacity > 0, "initialCapacity must be positive");
+    allocate(capacityFor(initialCapacity));
+  }
+
+  /**
+   * Returns the power of two table capacity required to hold the given number of entries.
+   */
+  private static int capacityFor(int size) {
+    int capacity = Math.max(DEFAULT_CAPACITY, (int) Math.ceil(size / LOAD_FACTOR));
+    checkArgument(capacity <= 1 << 30, "capacity too large");
+    return Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  /**
+   * Allocates empty tables of the given capacity.
+   */
+  @SuppressWarnings("unchecked")
+  private void allocate(int capacity) {
+    keys = (K[]) new Object[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+    resizeThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * Returns the home slot for the given key.
+   */
+  private int hash(Object key) {
+    int hash = key.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /**
+   * Returns the slot containing the given key, or {@code -1} if the key is not present.
+   */
+  private int indexOf(Object key) {
+    checkNotNull(key, "key cannot be null");
+    int index = hash(key);
+    K candidate;
+    while ((candidate = keys[index]) != null) {
+      if (candidate.equals(key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return the number of entries in the map
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the map is empty.
+   *
+   * @return whether the map is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns whether the map contains the given key.
+   *
+   * @param key the key to check
+   * @return whether the map contains the given key
+   */
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  /**
+   * Returns the value associated with the given key, or zero if the key is not present.
+   *
+   * @param key the key for which to return the value
+   * @return the value associated with the key or zero
+   */
+  public long get(Object key) {
+    int index = indexOf(key);
+    return index >= 0 ? values[index] : 0;
+  }
+
+  /**
+   * Associates the given value with the given key.
+   *
+   * @param key   the key with which to associate the value
+   * @param value the value to associate with the key
+   * @return the value previously associated with the key, or zero if the key was not present
+   */
+  public long put(K key, long value) {
+    checkNotNull(key, "key cannot be null");
+    int index = hash(key);
+    K candidate;
+    while ((candidate = keys[index]) != null) {
+      if (candidate.equals(key)) {
+        long oldValue = values[index];
+        values[index] = value;
+        return oldValue;
+      }
+      index = (index + 1) & mask;
+    }
+    insert(index, key, value);
+    return 0;
+  }
+
+  /**
+   * Adds the given delta to the value associated with the given key.
+   * <p>
+   * If the key is not present, the delta is added to zero.
+   *
+   * @param key   the key with which the value is associated
+   * @param delta the value to add
+   * @return the updated value
+   */
+  public long addAndGet(K key, long delta) {
+    checkNotNull(key, "key cannot be null");
+    int index = hash(key);
+    K candidate;
+    while ((candidate = keys[index]) != null) {
+      if (candidate.equals(key)) {
+        return values[index] += delta;
+      }
+      index = (index + 1) & mask;
+    }
+    insert(index, key, delta);
+    return delta;
+  }
+
+  /**
+   * Inserts a new entry in the given empty slot, resizing the table if necessary.
+   */
+  private void insert(int index, K key, long value) {
+    keys[index] = key;
+    values[index] = value;
+    if (++size > resizeThreshold) {
+      resize(keys.length << 1);
+    }
+  }
+
+  /**
+   * Rehashes all entries into tables of the given capacity.
+   */
+  private void resize(int capacity) {
+    checkArgument(capacity > 0 && capacity <= 1 << 30, "capacity too large");
+    K[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      K key = oldKeys[i];
+      if (key != null) {
+        int index = hash(key);
+        while (keys[index] != null) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Removes the given key from the map.
+   *
+   * @param key the key to remove
+   * @return the value previously associated with the key, or zero if the key was not present
+   */
+  public long remove(Object key) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return 0;
+    }
+    long oldValue = values[index];
+    keys[index] = null;
+    values[index] = 0;
+    size--;
+    compact(index);
+    return oldValue;
+  }
+
+  /**
+   * Shifts entries following the given empty slot backwards so that no entry is separated from its home slot
+   * by an empty slot.
+   */
+  private void compact(int deleteIndex) {
+    int index = deleteIndex;
+    K key;
+    while ((key = keys[index = (index + 1) & mask]) != null) {
+      int home = hash(key);
+      // The entry may only be moved if its home slot is not cyclically within (deleteIndex, index].
+      if ((index < home && (home <= deleteIndex || deleteIndex <= index))
+          || (home <= deleteIndex && deleteIndex <= index)) {
+        keys[deleteIndex] = key;
+        values[deleteIndex] = values[index];
+        keys[index] = null;
+        values[index] = 0;
+        deleteIndex = index;
+      }
+    }
+  }
+
+  /**
+   * Removes all entries from the map.
+   */
+  public void clear() {
+    if (keys.length > DEFAULT_CAPACITY) {
+      allocate(DEFAULT_CAPACITY);
+    } else {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, 0);
+    }
+    size = 0;
+  }
+
+  /**
+   * Performs the given action for each entry in the map.
+   *
+   * @param action the action to perform for each entry
+   */
+  public void forEach(ObjLongConsumer<? super K> action) {
+    K[] keys = this.keys;
+    long[] values = this.values;
+    for (int i = 0; i < keys.length; i++) {
+      K key = keys[i];
+      if (key != null) {
+        action.accept(key, values[i]);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("size", size)
+        .add("capacity", keys.length)
+        .toString();
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.ImmutableSet;
+import io.atomix.primitives.map.AsyncAtomicCounterMap;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.KeyValue;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.Replace;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET_ALL;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.CLEAR;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.DECREMENT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_ADD;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_DECREMENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_INCREMENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.INCREMENT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.IS_EMPTY;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT_IF_ABSENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REMOVE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REMOVE_VALUE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REPLACE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.SIZE;
+
+/**
+ * {@code AsyncAtomicCounterMap} implementation backed by a {@link RaftAtomicCounterMapService}.
+ */
+public class RaftAtomicCounterMap implements AsyncAtomicCounterMap<String> {
+  private final RaftProxy proxy;
+  private final Map<Consumer<Status>, Consumer<RaftProxy.State>> statusListeners = new ConcurrentHashMap<>();
+
+  public RaftAtomicCounterMap(RaftProxy proxy) {
+    this.proxy = checkNotNull(proxy, "proxy cannot be null");
+  }
+
+  @Override
+  public String name() {
+    return proxy.name();
+  }
+
+  @Override
+  public CompletableFuture<Long> incrementAndGet(String key) {
+    return proxy.invoke(INCREMENT_AND_GET, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> decrementAndGet(String key) {
+    return proxy.invoke(DECREMENT_AND_GET, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndIncrement(String key) {
+    return proxy.invoke(GET_AND_INCREMENT, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndDecrement(String key) {
+    return proxy.invoke(GET_AND_DECREMENT, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> addAndGet(String key, long delta) {
+    return proxy.invoke(ADD_AND_GET, RaftAtomicCounterMapOperations::encodeKeyValue, new KeyValue(key, delta), RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndAdd(String key, long delta) {
+    return proxy.invoke(GET_AND_ADD, RaftAtomicCounterMapOperations::encodeKeyValue, new KeyValue(key, delta), RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Long>> addAndGetAll(Map<String, Long> deltas) {
+    return proxy.invoke(ADD_AND_GET_ALL, RaftAtomicCounterMapOperations::encodeValues, deltas, RaftAtomicCounterMapOperations::decodeValues);
+  }
+
+  @Override
+  public CompletableFuture<Long> get(String key) {
+    return proxy.invoke(GET, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> put(String key, long newValue) {
+    return proxy.invoke(PUT, RaftAtomicCounterMapOperations::encodeKeyValue, new KeyValue(key, newValue), RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Long> putIfAbsent(String key, long newValue) {
+    return proxy.invoke(PUT_IF_ABSENT, RaftAtomicCounterMapOperations::encodeKeyValue, new KeyValue(key, newValue), RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(String key, long expectedOldValue, long newValue) {
+    return proxy.invoke(REPLACE, RaftAtomicCounterMapOperations::encodeReplace, new Replace(key, expectedOldValue, newValue), RaftAtomicCounterMapOperations::decodeBoolean);
+  }
+
+  @Override
+  public CompletableFuture<Long> remove(String key) {
+    return proxy.invoke(REMOVE, RaftAtomicCounterMapOperations::encodeKey, key, RaftAtomicCounterMapOperations::decodeLong);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(String key, long value) {
+    return proxy.invoke(REMOVE_VALUE, RaftAtomicCounterMapOperations::encodeKeyValue, new KeyValue(key, value), RaftAtomicCounterMapOperations::decodeBoolean);
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return proxy.invoke(SIZE, RaftAtomicCounterMapOperations::decodeInt);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isEmpty() {
+    return proxy.invoke(IS_EMPTY, RaftAtomicCounterMapOperations::decodeBoolean);
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return proxy.invoke(CLEAR);
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    Consumer<RaftProxy.State> stateListener = state -> listener.accept(toStatus(state));
+    if (statusListeners.putIfAbsent(listener, stateListener) == null) {
+      proxy.addStateChangeListener(stateListener);
+    }
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    Consumer<RaftProxy.State> stateListener = statusListeners.remove(listener);
+    if (stateListener != null) {
+      proxy.removeStateChangeListener(stateListener);
+    }
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    return ImmutableSet.copyOf(statusListeners.keySet());
+  }
+
+  /**
+   * Converts the given proxy state to a primitive status.
+   */
+  private static Status toStatus(RaftProxy.State state) {
+    switch (state) {
+      case CONNECTED:
+        return Status.ACTIVE;
+      case SUSPENDED:
+        return Status.SUSPENDED;
+      default:
+        return Status.INACTIVE;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("name", name())
+        .toString();
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.protocols.raft.operation.OperationId;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.HeapBuffer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Atomic counter map operations and their binary encodings.
+ * <p>
+ * Counter map operations are encoded by hand rather than through a serializer since every operation consists of
+ * at most a key and two {@code long} values.
+ */
+public final class RaftAtomicCounterMapOperations {
+  public static final OperationId PUT = OperationId.command("put");
+  public static final OperationId PUT_IF_ABSENT = OperationId.command("putIfAbsent");
+  public static final OperationId GET = OperationId.query("get");
+  public static final OperationId REPLACE = OperationId.command("replace");
+  public static final OperationId REMOVE = OperationId.command("remove");
+  public static final OperationId REMOVE_VALUE = OperationId.command("removeValue");
+  public static final OperationId GET_AND_INCREMENT = OperationId.command("getAndIncrement");
+  public static final OperationId GET_AND_DECREMENT = OperationId.command("getAndDecrement");
+  public static final OperationId INCREMENT_AND_GET = OperationId.command("incrementAndGet");
+  public static final OperationId DECREMENT_AND_GET = OperationId.command("decrementAndGet");
+  public static final OperationId ADD_AND_GET = OperationId.command("addAndGet");
+  public static final OperationId GET_AND_ADD = OperationId.command("getAndAdd");
+  public static final OperationId ADD_AND_GET_ALL = OperationId.command("addAndGetAll");
+  public static final OperationId SIZE = OperationId.query("size");
+  public static final OperationId IS_EMPTY = OperationId.query("isEmpty");
+  public static final OperationId CLEAR = OperationId.command("clear");
+
+  /**
+   * Key and value operation.
+   */
+  public static class KeyValue {
+    private final String key;
+    private final long value;
+
+    public KeyValue(String key, long value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    /**
+     * Returns the key.
+     *
+     * @return the key
+     */
+    public String key() {
+      return key;
+    }
+
+    /**
+     * Returns the value.
+     *
+     * @return the value
+     */
+    public long value() {
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("key", key)
+          .add("value", value)
+          .toString();
+    }
+  }
+
+  /**
+   * Replace operation.
+   */
+  public static class Replace {
+    private final String key;
+    private final long replaceValue;
+    private final long newValue;
+
+    public Replace(String key, long replaceValue, long newValue) {
+      this.key = key;
+      this.replaceValue = replaceValue;
+      this.newValue = newValue;
+    }
+
+    /**
+     * Returns the key.
+     *
+     * @return the key
+     */
+    public String key() {
+      return key;
+    }
+
+    /**
+     * Returns the expected current value.
+     *
+     * @return the expected current value
+     */
+    public long replaceValue() {
+      return replaceValue;
+    }
+
+    /**
+     * Returns the new value.
+     *
+     * @return the new value
+     */
+    public long newValue() {
+      return newValue;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("key", key)
+          .add("replaceValue", replaceValue)
+          .add("newValue", newValue)
+          .toString();
+    }
+  }
+
+  /**
+   * Encodes a key.
+   *
+   * @param key the key to encode
+   * @return the encoded key
+   */
+  public static byte[] encodeKey(String key) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeUTF8(key);
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes a key.
+   *
+   * @param bytes the encoded key
+   * @return the decoded key
+   */
+  public static String decodeKey(byte[] bytes) {
+    return HeapBuffer.wrap(bytes).readUTF8();
+  }
+
+  /**
+   * Encodes a key and value operation.
+   *
+   * @param keyValue the operation to encode
+   * @return the encoded operation
+   */
+  public static byte[] encodeKeyValue(KeyValue keyValue) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeUTF8(keyValue.key());
+    buffer.writeLong(keyValue.value());
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes a key and value operation.
+   *
+   * @param bytes the encoded operation
+   * @return the decoded operation
+   */
+  public static KeyValue decodeKeyValue(byte[] bytes) {
+    Buffer buffer = HeapBuffer.wrap(bytes);
+    return new KeyValue(buffer.readUTF8(), buffer.readLong());
+  }
+
+  /**
+   * Encodes a replace operation.
+   *
+   * @param replace the operation to encode
+   * @return the encoded operation
+   */
+  public static byte[] encodeReplace(Replace replace) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeUTF8(replace.key());
+    buffer.writeLong(replace.replaceValue());
+    buffer.writeLong(replace.newValue());
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes a replace operation.
+   *
+   * @param bytes the encoded operation
+   * @return the decoded operation
+   */
+  public static Replace decodeReplace(byte[] bytes) {
+    Buffer buffer = HeapBuffer.wrap(bytes);
+    return new Replace(buffer.readUTF8(), buffer.readLong(), buffer.readLong());
+  }
+
+  /**
+   * Encodes a map of keys to values.
+   *
+   * @param values the map to encode
+   * @return the encoded map
+   */
+  public static byte[] encodeValues(Map<String, Long> values) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeInt(values.size());
+    for (Map.Entry<String, Long> entry : values.entrySet()) {
+      buffer.writeUTF8(entry.getKey());
+      buffer.writeLong(entry.getValue());
+    }
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes a map of keys to values.
+   * <p>
+   * The returned map preserves the order in which the entries were encoded.
+   *
+   * @param bytes the encoded map
+   * @return the decoded map
+   */
+  public static Map<String, Long> decodeValues(byte[] bytes) {
+    Buffer buffer = HeapBuffer.wrap(bytes);
+    int size = buffer.readInt();
+    Map<String, Long> values = new LinkedHashMap<>(Math.max((int) (size / .75f) + 1, 16));
+    for (int i = 0; i < size; i++) {
+      values.put(buffer.readUTF8(), buffer.readLong());
+    }
+    return values;
+  }
+
+  /**
+   * Encodes a {@code long} result.
+   *
+   * @param value the value to encode
+   * @return the encoded value
+   */
+  public static byte[] encodeLong(long value) {
+    byte[] bytes = new byte[Long.BYTES];
+    for (int i = Long.BYTES - 1; i >= 0; i--) {
+      bytes[i] = (byte) value;
+      value >>>= Byte.SIZE;
+    }
+    return bytes;
+  }
+
+  /**
+   * Decodes a {@code long} result.
+   *
+   * @param bytes the encoded value
+   * @return the decoded value
+   */
+  public static long decodeLong(byte[] bytes) {
+    long value = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      value = (value << Byte.SIZE) | (bytes[i] & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * Encodes an {@code int} result.
+   *
+   * @param value the value to encode
+   * @return the encoded value
+   */
+  public static byte[] encodeInt(int value) {
+    return encodeLong(value);
+  }
+
+  /**
+   * Decodes an {@code int} result.
+   *
+   * @param bytes the encoded value
+   * @return the decoded value
+   */
+  public static int decodeInt(byte[] bytes) {
+    return (int) decodeLong(bytes);
+  }
+
+  /**
+   * Encodes a {@code boolean} result.
+   *
+   * @param value the value to encode
+   * @return the encoded value
+   */
+  public static byte[] encodeBoolean(boolean value) {
+    return new byte[]{(byte) (value ? 1 : 0)};
+  }
+
+  /**
+   * Decodes a {@code boolean} result.
+   *
+   * @param bytes the encoded value
+   * @return the decoded value
+   */
+  public static boolean decodeBoolean(byte[] bytes) {
+    return bytes[0] == 1;
+  }
+
+  /**
+   * Returns the bytes written to the given buffer.
+   */
+  private static byte[] toBytes(Buffer buffer) {
+    buffer.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.read(bytes);
+    buffer.release();
+    return bytes;
+  }
+
+  private RaftAtomicCounterMapOperations() {
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.KeyValue;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.Replace;
+import io.atomix.protocols.raft.service.AbstractRaftService;
+import io.atomix.protocols.raft.service.Commit;
+import io.atomix.protocols.raft.service.RaftServiceExecutor;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET_ALL;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.CLEAR;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.DECREMENT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_ADD;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_DECREMENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET_AND_INCREMENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.INCREMENT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.IS_EMPTY;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT_IF_ABSENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REMOVE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REMOVE_VALUE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REPLACE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.SIZE;
+
+/**
+ * Atomic counter map state for Raft.
+ * <p>
+ * Counters are stored in an {@link ObjectLongHashMap} so that values are never boxed, and the state is written to
+ * snapshots as a flat sequence of keys and values.
+ */
+public class RaftAtomicCounterMapService extends AbstractRaftService {
+  private ObjectLongHashMap<String> map = new ObjectLongHashMap<>();
+
+  @Override
+  protected void configure(RaftServiceExecutor executor) {
+    executor.register(PUT, RaftAtomicCounterMapOperations::decodeKeyValue, this::put, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(PUT_IF_ABSENT, RaftAtomicCounterMapOperations::decodeKeyValue, this::putIfAbsent, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(GET, RaftAtomicCounterMapOperations::decodeKey, this::get, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(REPLACE, RaftAtomicCounterMapOperations::decodeReplace, this::replace, RaftAtomicCounterMapOperations::encodeBoolean);
+    executor.register(REMOVE, RaftAtomicCounterMapOperations::decodeKey, this::remove, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(REMOVE_VALUE, RaftAtomicCounterMapOperations::decodeKeyValue, this::removeValue, RaftAtomicCounterMapOperations::encodeBoolean);
+    executor.register(GET_AND_INCREMENT, RaftAtomicCounterMapOperations::decodeKey, this::getAndIncrement, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(GET_AND_DECREMENT, RaftAtomicCounterMapOperations::decodeKey, this::getAndDecrement, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(INCREMENT_AND_GET, RaftAtomicCounterMapOperations::decodeKey, this::incrementAndGet, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(DECREMENT_AND_GET, RaftAtomicCounterMapOperations::decodeKey, this::decrementAndGet, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(ADD_AND_GET, RaftAtomicCounterMapOperations::decodeKeyValue, this::addAndGet, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(GET_AND_ADD, RaftAtomicCounterMapOperations::decodeKeyValue, this::getAndAdd, RaftAtomicCounterMapOperations::encodeLong);
+    executor.register(ADD_AND_GET_ALL, RaftAtomicCounterMapOperations::decodeValues, this::addAndGetAll, RaftAtomicCounterMapOperations::encodeValues);
+    executor.register(SIZE, this::size, RaftAtomicCounterMapOperations::encodeInt);
+    executor.register(IS_EMPTY, this::isEmpty, RaftAtomicCounterMapOperations::encodeBoolean);
+    executor.register(CLEAR, this::clear);
+  }
+
+  @Override
+  public void snapshot(SnapshotWriter writer) {
+    writer.writeInt(map.size());
+    map.forEach((key, value) -> {
+      writer.writeUTF8(key);
+      writer.writeLong(value);
+    });
+  }
+
+  @Override
+  public void install(SnapshotReader reader) {
+    int size = reader.readInt();
+    ObjectLongHashMap<String> map = new ObjectLongHashMap<>(size);
+    for (int i = 0; i < size; i++) {
+      map.put(reader.readUTF8(), reader.readLong());
+    }
+    this.map = map;
+  }
+
+  /**
+   * Handles a put command which implements {@link io.atomix.primitives.map.AtomicCounterMap#put(Object, long)}.
+   *
+   * @param commit put commit
+   * @return put result
+   */
+  protected long put(Commit<KeyValue> commit) {
+    return map.put(commit.value().key(), commit.value().value());
+  }
+
+  /**
+   * Handles a putIfAbsent command which implements {@link io.atomix.primitives.map.AtomicCounterMap#putIfAbsent(Object, long)}.
+   *
+   * @param commit putIfAbsent commit
+   * @return putIfAbsent result
+   */
+  protected long putIfAbsent(Commit<KeyValue> commit) {
+    String key = commit.value().key();
+    long oldValue = map.get(key);
+    if (oldValue == 0) {
+      map.put(key, commit.value().value());
+    }
+    return oldValue;
+  }
+
+  /**
+   * Handles a get query which implements {@link io.atomix.primitives.map.AtomicCounterMap#get(Object)}.
+   *
+   * @param commit get commit
+   * @return get result
+   */
+  protected long get(Commit<String> commit) {
+    return map.get(commit.value());
+  }
+
+  /**
+   * Handles a replace command which implements {@link io.atomix.primitives.map.AtomicCounterMap#replace(Object, long, long)}.
+   *
+   * @param commit replace commit
+   * @return replace result
+   */
+  protected boolean replace(Commit<Replace> commit) {
+    String key = commit.value().key();
+    if (map.get(key) == commit.value().replaceValue()) {
+      map.put(key, commit.value().newValue());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Handles a remove command which implements {@link io.atomix.primitives.map.AtomicCounterMap#remove(Object)}.
+   *
+   * @param commit remove commit
+   * @return remove result
+   */
+  protected long remove(Commit<String> commit) {
+    return map.remove(commit.value());
+  }
+
+  /**
+   * Handles a remove command which implements {@link io.atomix.primitives.map.AtomicCounterMap#remove(Object, long)}.
+   *
+   * @param commit remove commit
+   * @return remove result
+   */
+  protected boolean removeValue(Commit<KeyValue> commit) {
+    String key = commit.value().key();
+    if (map.get(key) == commit.value().value()) {
+      map.remove(key);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Handles a getAndIncrement command which implements {@link io.atomix.primitives.map.AtomicCounterMap#getAndIncrement(Object)}.
+   *
+   * @param commit getAndIncrement commit
+   * @return getAndIncrement result
+   */
+  protected long getAndIncrement(Commit<String> commit) {
+    return map.addAndGet(commit.value(), 1) - 1;
+  }
+
+  /**
+   * Handles a getAndDecrement command which implements {@link io.atomix.primitives.map.AtomicCounterMap#getAndDecrement(Object)}.
+   *
+   * @param commit getAndDecrement commit
+   * @return getAndDecrement result
+   */
+  protected long getAndDecrement(Commit<String> commit) {
+    return map.addAndGet(commit.value(), -1) + 1;
+  }
+
+  /**
+   * Handles a incrementAndGet command which implements {@link io.atomix.primitives.map.AtomicCounterMap#incrementAndGet(Object)}.
+   *
+   * @param commit incrementAndGet commit
+   * @return incrementAndGet result
+   */
+  protected long incrementAndGet(Commit<String> commit) {
+    return map.addAndGet(commit.value(), 1);
+  }
+
+  /**
+   * Handles a decrementAndGet command which implements {@link io.atomix.primitives.map.AtomicCounterMap#decrementAndGet(Object)}.
+   *
+   * @param commit decrementAndGet commit
+   * @return decrementAndGet result
+   */
+  protected long decrementAndGet(Commit<String> commit) {
+    return map.addAndGet(commit.value(), -1);
+  }
+
+  /**
+   * Handles a addAndGet command which implements {@link io.atomix.primitives.map.AtomicCounterMap#addAndGet(Object, long)}.
+   *
+   * @param commit addAndGet commit
+   * @return addAndGet result
+   */
+  protected long addAndGet(Commit<KeyValue> commit) {
+    return map.addAndGet(commit.value().key(), commit.value().value());
+  }
+
+  /**
+   * Handles a getAndAdd command which implements {@link io.atomix.primitives.map.AtomicCounterMap#getAndAdd(Object, long)}.
+   *
+   * @param commit getAndAdd commit
+   * @return getAndAdd result
+   */
+  protected long getAndAdd(Commit<KeyValue> commit) {
+    long delta = commit.value().value();
+    return map.addAndGet(commit.value().key(), delta) - delta;
+  }
+
+  /**
+   * Handles an addAndGetAll command which implements {@link io.atomix.primitives.map.AtomicCounterMap#addAndGetAll(Map)}.
+   *
+   * @param commit addAndGetAll commit
+   * @return the updated values in the order in which the deltas were submitted
+   */
+  protected Map<String, Long> addAndGetAll(Commit<Map<String, Long>> commit) {
+    Map<String, Long> results = new LinkedHashMap<>(Math.max((int) (commit.value().size() / .75f) + 1, 16));
+    commit.value().forEach((key, delta) -> results.put(key, map.addAndGet(key, delta)));
+    return results;
+  }
+
+  /**
+   * Handles a size query which implements {@link io.atomix.primitives.map.AtomicCounterMap#size()}.
+   *
+   * @return size result
+   */
+  protected int size() {
+    return map.size();
+  }
+
+  /**
+   * Handles an isEmpty query which implements {@link io.atomix.primitives.map.AtomicCounterMap#isEmpty()}.
+   *
+   * @return isEmpty result
+   */
+  protected boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  /**
+   * Handles a clear command which implements {@link io.atomix.primitives.map.AtomicCounterMap#clear()}.
+   */
+  protected void clear() {
+    map.clear();
+  }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.cluster.Partition;
+import io.atomix.cluster.PartitionId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.protocol.messaging.RaftServerCommunicator;
+import io.atomix.protocols.raft.service.RaftService;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.serializer.Serializer;
+import io.atomix.storage.StorageLevel;
+import io.atomix.utils.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Multi-Raft partition group.
+ * <p>
+ * The partition group hosts a {@link RaftServer} for each partition of which the local node is a member. Rather
+ * than running each server on its own dedicated threads, all servers in the group share a fixed size thread pool,
+ * so the number of threads on a node does not grow with the number of partitions. Each partition's server
+ * communicates over the shared cluster communication service using messaging subjects prefixed with the
+ * partition identifier, and stores its log and snapshots in a partition-specific directory.
+ */
+public class RaftPartitionGroup implements Managed<RaftPartitionGroup> {
+
+  /**
+   * Returns a new partition group builder.
+   *
+   * @param localNodeId the local node identifier
+   * @return a new partition group builder
+   */
+  public static Builder newBuilder(NodeId localNodeId) {
+    return new Builder(localNodeId);
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RaftPartitionGroup.class);
+
+  private final NodeId localNodeId;
+  private final Collection<Partition> partitions;
+  private final ClusterCommunicationService communicationService;
+  private final Serializer serializer;
+  private final File storageDirectory;
+  private final StorageLevel storageLevel;
+  private final Duration electionTimeout;
+  private final Duration heartbeatInterval;
+  private final Map<String, Supplier<RaftService>> services;
+  private final ScheduledExecutorService threadPool;
+  private final Map<PartitionId, RaftServer> servers = new ConcurrentHashMap<>();
+  private final AtomicBoolean open = new AtomicBoolean();
+
+  private RaftPartitionGroup(
+      NodeId localNodeId,
+      Collection<Partition> partitions,
+      ClusterCommunicationService communicationService,
+      Serializer serializer,
+      File storageDirectory,
+      StorageLevel storageLevel,
+      Duration electionTimeout,
+      Duration heartbeatInterval,
+      Map<String, Supplier<RaftService>> services,
+      int threadPoolSize) {
+    this.localNodeId = localNodeId;
+    this.partitions = partitions;
+    this.communicationService = communicationService;
+    this.serializer = serializer;
+    this.storageDirectory = storageDirectory;
+    this.storageLevel = storageLevel;
+    this.electionTimeout = electionTimeout;
+    this.heartbeatInterval = heartbeatInterval;
+    this.services = services;
+    this.threadPool = Executors.newScheduledThreadPool(
+        threadPoolSize, namedThreads("raft-partition-group-" + localNodeId + "-%d", LOGGER));
+  }
+
+  /**
+   * Returns the server for the given partition.
+   *
+   * @param partitionId the partition identifier
+   * @return the server for the given partition or {@code null} if the local node is not a member of the partition
+   */
+  public RaftServer getServer(PartitionId partitionId) {
+    return servers.get(partitionId);
+  }
+
+  /**
+   * Returns the identifiers of the partitions hosted by the local node.
+   *
+   * @return the identifiers of the partitions hosted by the local node
+   */
+  public Collection<PartitionId> getPartitionIds() {
+    return servers.keySet();
+  }
+
+  @Override
+  public CompletableFuture<RaftPartitionGroup> open() {
+    List<CompletableFuture<RaftServer>> futures = new ArrayList<>();
+    for (Partition partition : partitions) {
+      if (partition.getMembers().contains(localNodeId)) {
+        RaftServer server = buildServer(partition);
+        servers.put(partition.partitionId(), server);
+        futures.add(server.bootstrap(partition.getMembers().stream()
+            .map(nodeId -> MemberId.from(nodeId.id()))
+            .collect(Collectors.toList())));
+      }
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+        .thenApply(v -> {
+          open.set(true);
+          return this;
+        });
+  }
+
+  /**
+   * Builds the server for the given partition.
+   */
+  private RaftServer buildServer(Partition partition) {
+    String name = "partition-" + partition.partitionId().id();
+    RaftServer.Builder builder = RaftServer.newBuilder(MemberId.from(localNodeId.id()))
+        .withName(name)
+        .withProtocol(new RaftServerCommunicator(name, serializer, communicationService))
+        .withStorage(RaftStorage.newBuilder()
+            .withPrefix(name)
+            .withDirectory(new File(storageDirectory, name))
+            .withStorageLevel(storageLevel)
+            .withSerializer(serializer)
+            .build())
+        .withElectionTimeout(electionTimeout)
+        .withHeartbeatInterval(heartbeatInterval)
+        .withThreadPool(threadPool);
+    services.forEach(builder::addService);
+    return builder.build();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open.get();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    List<CompletableFuture<Void>> futures = servers.values().stream()
+        .filter(RaftServer::isRunning)
+        .map(RaftServer::shutdown)
+        .collect(Collectors.toList());
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+        .whenComplete((result, error) -> {
+          servers.clear();
+          threadPool.shutdownNow();
+          try {
+            if (!threadPool.awaitTermination(10, TimeUnit.SECONDS)) {
+              LOGGER.warn("Timed out waiting for the partition thread pool to terminate");
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          open.set(false);
+        });
+  }
+
+  @Override
+  public boolean isClosed() {
+    return !open.get();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("localNode", localNodeId)
+        .add("partitions", servers.keySet())
+        .toString();
+  }
+
+  /**
+   * Raft partition group builder.
+   */
+  public static class Builder implements io.atomix.utils.Builder<RaftPartitionGroup> {
+    private static final int DEFAULT_THREAD_POOL_SIZE = Math.max(Math.min(Runtime.getRuntime().availableProcessors() * 2, 16), 4);
+    private static final Duration DEFAULT_ELECTION_TIMEOUT = Duration.ofMillis(750);
+    private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(250);
+
+    private final NodeId localNodeId;
+    private Collection<Partition> partitions = new ArrayList<>();
+    private ClusterCommunicationService communicationService;
+    private Serializer serializer;
+    private File storageDirectory = new File(System.getProperty("user.dir"));
+    private StorageLevel storageLevel = StorageLevel.DISK;
+    private Duration electionTimeout = DEFAULT_ELECTION_TIMEOUT;
+    private Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    private final Map<String, Supplier<RaftService>> services = new HashMap<>();
+    private int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+
+    private Builder(NodeId localNodeId) {
+      this.localNodeId = checkNotNull(localNodeId, "localNodeId cannot be null");
+    }
+
+    /**
+     * Sets the partitions in the group.
+     *
+     * @param partitions the partitions in the group
+     * @return the partition group builder
+     * @throws NullPointerException if the partitions are null
+     */
+    public Builder withPartitions(Collection<Partition> partitions) {
+      this.partitions = checkNotNull(partitions, "partitions cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the cluster communication service with which the partitions communicate.
+     *
+     * @param communicationService the cluster communication service
+     * @return the partition group builder
+     * @throws NullPointerException if the communication service is null
+     */
+    public Builder withCommunicationService(ClusterCommunicationService communicationService) {
+      this.communicationService = checkNotNull(communicationService, "communicationService cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the serializer with which to serialize Raft protocol messages and log entries.
+     *
+     * @param serializer the Raft protocol and storage serializer
+     * @return the partition group builder
+     * @throws NullPointerException if the serializer is null
+     */
+    public Builder withSerializer(Serializer serializer) {
+      this.serializer = checkNotNull(serializer, "serializer cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the directory in which to store partition logs and snapshots.
+     *
+     * @param storageDirectory the partition storage directory
+     * @return the partition group builder
+     * @throws NullPointerException if the directory is null
+     */
+    public Builder withStorageDirectory(File storageDirectory) {
+      this.storageDirectory = checkNotNull(storageDirectory, "storageDirectory cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the partition storage level.
+     *
+     * @param storageLevel the partition storage level
+     * @return the partition group builder
+     * @throws NullPointerException if the storage level is null
+     */
+    public Builder withStorageLevel(StorageLevel storageLevel) {
+      this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the Raft election timeout for all partitions.
+     *
+     * @param electionTimeout the Raft election timeout
+     * @return the partition group builder
+     * @throws NullPointerException if the election timeout is null
+     */
+    public Builder withElectionTimeout(Duration electionTimeout) {
+      this.electionTimeout = checkNotNull(electionTimeout, "electionTimeout cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the Raft heartbeat interval for all partitions.
+     *
+     * @param heartbeatInterval the Raft heartbeat interval
+     * @return the partition group builder
+     * @throws NullPointerException if the heartbeat interval is null
+     */
+    public Builder withHeartbeatInterval(Duration heartbeatInterval) {
+      this.heartbeatInterval = checkNotNull(heartbeatInterval, "heartbeatInterval cannot be null");
+      return this;
+    }
+
+    /**
+     * Adds a Raft service factory to all partitions.
+     *
+     * @param type    the service type name
+     * @param factory the Raft service factory
+     * @return the partition group builder
+     * @throws NullPointerException if the type or factory is null
+     */
+    public Builder addService(String type, Supplier<RaftService> factory) {
+      services.put(checkNotNull(type, "type cannot be null"), checkNotNull(factory, "factory cannot be null"));
+      return this;
+    }
+
+    /**
+     * Sets the number of threads shared by all partitions in the group.
+     *
+     * @param threadPoolSize the number of threads shared by all partitions
+     * @return the partition group builder
+     * @throws IllegalArgumentException if the thread pool size is not positive
+     */
+    public Builder withThreadPoolSize(int threadPoolSize) {
+      checkArgument(threadPoolSize > 0, "threadPoolSize must be positive");
+      this.threadPoolSize = threadPoolSize;
+      return this;
+    }
+
+    @Override
+    public RaftPartitionGroup build() {
+      checkNotNull(communicationService, "communicationService cannot be null");
+      checkNotNull(serializer, "serializer cannot be null");
+      checkArgument(!services.isEmpty(), "no services registered");
+      return new RaftPartitionGroup(
+          localNodeId,
+          partitions,
+          communicationService,
+          serializer,
+          storageDirectory,
+          storageLevel,
+          electionTimeout,
+          heartbeatInterval,
+          services,
+          threadPoolSize);
+    }
+  }
+}
@@ -35,6 +35,7 @@ class RaftMessageContext {
   final MessageSubject installSubject;
   final MessageSubject transferSubject;
   final MessageSubject pollSubject;
+  final MessageSubject readIndexSubject;
   final MessageSubject voteSubject;
   final MessageSubject appendSubject;
 
@@ -53,6 +54,7 @@ class RaftMessageContext {
     this.installSubject = getSubject(prefix, "install");
     this.transferSubject = getSubject(prefix, "transfer");
     this.pollSubject = getSubject(prefix, "poll");
+    this.readIndexSubject = getSubject(prefix, "read-index");
     this.voteSubject = getSubject(prefix, "vote");
     this.appendSubject = getSubject(prefix, "append");
   }
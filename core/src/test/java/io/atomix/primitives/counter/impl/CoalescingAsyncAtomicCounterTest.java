@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import io.atomix.primitives.PrimitiveException;
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Coalescing asynchronous atomic counter test.
+ */
+public class CoalescingAsyncAtomicCounterTest {
+  private AsyncAtomicCounter backingCounter;
+  private List<Long> deltas;
+  private List<CompletableFuture<Long>> additions;
+  private boolean unavailable;
+
+  @Before
+  public void setupBackingCounter() {
+    backingCounter = mock(AsyncAtomicCounter.class);
+    deltas = new ArrayList<>();
+    additions = new ArrayList<>();
+    when(backingCounter.addAndGet(anyLong())).thenAnswer(invocation -> {
+      if (unavailable) {
+        throw new PrimitiveException.Unavailable();
+      }
+      CompletableFuture<Long> future = new CompletableFuture<>();
+      deltas.add((Long) invocation.getArguments()[0]);
+      additions.add(future);
+      return future;
+    });
+  }
+
+  /**
+   * Tests that additions queued behind an in-flight addition are combined and their results split per caller.
+   */
+  @Test
+  public void testCoalescing() throws Exception {
+    CoalescingAsyncAtomicCounter counter = new CoalescingAsyncAtomicCounter(backingCounter);
+    CompletableFuture<Long> first = counter.addAndGet(1);
+    CompletableFuture<Long> second = counter.getAndAdd(2);
+    CompletableFuture<Long> third = counter.incrementAndGet();
+    CompletableFuture<Long> fourth = counter.getAndIncrement();
+    CompletableFuture<Long> fifth = counter.addAndGet(-3);
+    assertEquals(1, deltas.size());
+
+    additions.get(0).complete(11L);
+    assertEquals(11, (long) first.get());
+    assertEquals(2, deltas.size());
+    assertEquals(1, (long) deltas.get(1));
+    assertFalse(second.isDone());
+
+    // The counter was at 11 before the combined command, so the queued additions are applied as 13, 14, 15 and 12.
+    additions.get(1).complete(12L);
+    assertEquals(11, (long) second.get());
+    assertEquals(14, (long) third.get());
+    assertEquals(14, (long) fourth.get());
+    assertEquals(12, (long) fifth.get());
+
+    assertEquals(5, counter.getOperationCount());
+    assertEquals(2, counter.getCommandCount());
+
+    // Once the queue is drained the next addition is submitted immediately.
+    CompletableFuture<Long> sixth = counter.addAndGet(5);
+    assertEquals(3, deltas.size());
+    additions.get(2).complete(17L);
+    assertEquals(17, (long) sixth.get());
+  }
+
+  /**
+   * Tests that all callers in a combined command fail when the command fails.
+   */
+  @Test
+  public void testCommandFailure() throws Exception {
+    CoalescingAsyncAtomicCounter counter = new CoalescingAsyncAtomicCounter(backingCounter);
+    counter.incrementAndGet();
+    CompletableFuture<Long> second = counter.incrementAndGet();
+    CompletableFuture<Long> third = counter.getAndAdd(2);
+    additions.get(0).complete(1L);
+    additions.get(1).completeExceptionally(new PrimitiveException.Timeout());
+
+    assertFailed(second, PrimitiveException.Timeout.class);
+    assertFailed(third, PrimitiveException.Timeout.class);
+
+    // Failures do not prevent later additions from being submitted.
+    CompletableFuture<Long> fourth = counter.incrementAndGet();
+    additions.get(2).complete(2L);
+    assertEquals(2, (long) fourth.get());
+  }
+
+  /**
+   * Tests that a backing counter that throws fails the batch without blocking later additions.
+   */
+  @Test
+  public void testSynchronousFailure() throws Exception {
+    CoalescingAsyncAtomicCounter counter = new CoalescingAsyncAtomicCounter(backingCounter);
+    unavailable = true;
+    assertFailed(counter.incrementAndGet(), PrimitiveException.Unavailable.class);
+
+    unavailable = false;
+    CompletableFuture<Long> first = counter.incrementAndGet();
+    unavailable = true;
+    CompletableFuture<Long> second = counter.incrementAndGet();
+    CompletableFuture<Long> third = counter.incrementAndGet();
+    additions.get(0).complete(1L);
+    assertEquals(1, (long) first.get());
+    assertFailed(second, PrimitiveException.Unavailable.class);
+    assertFailed(third, PrimitiveException.Unavailable.class);
+
+    unavailable = false;
+    CompletableFuture<Long> fourth = counter.incrementAndGet();
+    assertEquals(2, deltas.size());
+    additions.get(1).complete(2L);
+    assertEquals(2, (long) fourth.get());
+  }
+
+  /**
+   * Tests that queued additions are submitted before other operations.
+   */
+  @Test
+  public void testOrdering() throws Exception {
+    when(backingCounter.get()).thenReturn(CompletableFuture.completedFuture(6L));
+    when(backingCounter.set(10)).thenReturn(CompletableFuture.completedFuture(null));
+    when(backingCounter.compareAndSet(10, 20)).thenReturn(CompletableFuture.completedFuture(true));
+
+    CoalescingAsyncAtomicCounter counter = new CoalescingAsyncAtomicCounter(backingCounter);
+    counter.incrementAndGet();
+    CompletableFuture<Long> second = counter.addAndGet(2);
+    CompletableFuture<Long> third = counter.addAndGet(3);
+    assertEquals(6, (long) counter.get().get());
+    CompletableFuture<Long> fourth = counter.addAndGet(4);
+    counter.set(10).get();
+    CompletableFuture<Long> fifth = counter.addAndGet(5);
+    assertTrue(counter.compareAndSet(10, 20).get());
+
+    InOrder inOrder = inOrder(backingCounter);
+    inOrder.verify(backingCounter).addAndGet(1);
+    inOrder.verify(backingCounter).addAndGet(5);
+    inOrder.verify(backingCounter).get();
+    inOrder.verify(backingCounter).addAndGet(4);
+    inOrder.verify(backingCounter).set(10);
+    inOrder.verify(backingCounter).addAndGet(5);
+    inOrder.verify(backingCounter).compareAndSet(10, 20);
+
+    additions.get(1).complete(6L);
+    additions.get(2).complete(10L);
+    additions.get(3).complete(15L);
+    assertEquals(3, (long) second.get());
+    assertEquals(6, (long) third.get());
+    assertEquals(10, (long) fourth.get());
+    assertEquals(15, (long) fifth.get());
+
+    // Flushed additions leave the first addition in flight, so nothing is submitted until it completes.
+    CompletableFuture<Long> sixth = counter.addAndGet(6);
+    assertEquals(4, deltas.size());
+    additions.get(0).complete(1L);
+    assertEquals(5, deltas.size());
+    additions.get(4).complete(26L);
+    assertEquals(26, (long) sixth.get());
+  }
+
+  /**
+   * Asserts that the given future failed with the given exception type.
+   */
+  private static void assertFailed(CompletableFuture<?> future, Class<? extends Throwable> type) throws Exception {
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(type.isInstance(e.getCause()));
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.iterator.impl;
+
+import io.atomix.primitives.PrimitiveException;
+import io.atomix.primitives.iterator.impl.PagedAsyncIterator.Cursor;
+import io.atomix.primitives.iterator.impl.PagedAsyncIterator.Page;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Paged asynchronous iterator test.
+ */
+public class PagedAsyncIteratorTest {
+
+  /**
+   * Tests iterating over multiple pages.
+   */
+  @Test
+  public void testPaging() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1, 2), Collections.emptyList(), Arrays.asList(3), Arrays.asList(4, 5));
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    assertEquals(0, cursor.opened);
+
+    List<Integer> elements = new ArrayList<>();
+    while (iterator.hasNext().get()) {
+      elements.add(iterator.next().get());
+    }
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), elements);
+    assertEquals(1, cursor.opened);
+    assertEquals(Arrays.asList(1L, 2L, 3L), cursor.nexts);
+    assertFalse(iterator.hasNext().get());
+
+    try {
+      iterator.next().get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof NoSuchElementException);
+    }
+
+    // Cursors release their state once the last page has been fetched, so an exhausted iterator is not closed.
+    iterator.close().get();
+    assertTrue(cursor.closed.isEmpty());
+  }
+
+  /**
+   * Tests that pages are only fetched once the previous page has been consumed.
+   */
+  @Test
+  public void testLazyPaging() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1, 2), Arrays.asList(3));
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    assertEquals(1, (int) iterator.next().get());
+    assertEquals(2, (int) iterator.next().get());
+    assertTrue(cursor.nexts.isEmpty());
+    assertEquals(3, (int) iterator.next().get());
+    assertEquals(Collections.singletonList(1L), cursor.nexts);
+  }
+
+  /**
+   * Tests closing an iterator before it has been exhausted.
+   */
+  @Test
+  public void testClose() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1, 2), Arrays.asList(3));
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    assertEquals(1, (int) iterator.next().get());
+    iterator.close().get();
+    assertEquals(Collections.singletonList(1L), cursor.closed);
+  }
+
+  /**
+   * Tests closing an iterator that was never accessed.
+   */
+  @Test
+  public void testCloseUnopened() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1, 2), Arrays.asList(3));
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    iterator.close().get();
+    assertEquals(0, cursor.opened);
+    assertTrue(cursor.closed.isEmpty());
+  }
+
+  /**
+   * Tests a failure to open the cursor.
+   */
+  @Test
+  public void testOpenFailure() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1, 2));
+    cursor.failOpen = true;
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    try {
+      iterator.hasNext().get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof PrimitiveException.Unavailable);
+    }
+  }
+
+  /**
+   * Tests a failure to fetch a page.
+   */
+  @Test
+  public void testPageFailure() throws Exception {
+    TestCursor cursor = new TestCursor(Arrays.asList(1), Arrays.asList(2));
+    cursor.failNext = true;
+    PagedAsyncIterator<Integer> iterator = new PagedAsyncIterator<>(cursor);
+    assertEquals(1, (int) iterator.next().get());
+    try {
+      iterator.next().get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof PrimitiveException.Unavailable);
+    }
+  }
+
+  /**
+   * Cursor over fixed pages.
+   */
+  private static class TestCursor implements Cursor<Integer> {
+    private final List<List<Integer>> pages;
+    private int opened;
+    private final List<Long> nexts = new ArrayList<>();
+    private final List<Long> closed = new ArrayList<>();
+    private boolean failOpen;
+    private boolean failNext;
+
+    @SafeVarargs
+    TestCursor(List<Integer>... pages) {
+      this.pages = Arrays.asList(pages);
+    }
+
+    private CompletableFuture<Page<Integer>> page(int index) {
+      return CompletableFuture.completedFuture(new Page<>(index + 1, pages.get(index), index == pages.size() - 1));
+    }
+
+    private CompletableFuture<Page<Integer>> failure() {
+      CompletableFuture<Page<Integer>> future = new CompletableFuture<>();
+      future.completeExceptionally(new PrimitiveException.Unavailable());
+      return future;
+    }
+
+    @Override
+    public CompletableFuture<Page<Integer>> open() {
+      opened++;
+      return failOpen ? failure() : page(0);
+    }
+
+    @Override
+    public CompletableFuture<Page<Integer>> next(long id) {
+      nexts.add(id);
+      return failNext ? failure() : page((int) id);
+    }
+
+    @Override
+    public CompletableFuture<Void> close(long id) {
+      closed.add(id);
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map;
+
+import com.google.common.collect.Maps;
+import io.atomix.primitives.iterator.CloseableIterator;
+import io.atomix.time.Versioned;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Consistent map backed Java map test.
+ */
+public class ConsistentMapBackedJavaMapTest {
+
+  /**
+   * Tests iterating over the map's entries.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testForEach() {
+    ConsistentMap<String, String> consistentMap = mock(ConsistentMap.class);
+    TestIterator iterator = new TestIterator();
+    when(consistentMap.entryIterator()).thenReturn(iterator);
+
+    Map<String, String> entries = new LinkedHashMap<>();
+    new ConsistentMapBackedJavaMap<>(consistentMap).forEach(entries::put);
+    assertEquals("bar", entries.get("foo"));
+    assertEquals("qux", entries.get("baz"));
+    assertTrue(iterator.closed);
+  }
+
+  /**
+   * Tests that the iterator is closed when the action fails.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testForEachFailure() {
+    ConsistentMap<String, String> consistentMap = mock(ConsistentMap.class);
+    TestIterator iterator = new TestIterator();
+    when(consistentMap.entryIterator()).thenReturn(iterator);
+
+    try {
+      new ConsistentMapBackedJavaMap<>(consistentMap).forEach((key, value) -> {
+        throw new IllegalStateException();
+      });
+      fail();
+    } catch (IllegalStateException e) {
+    }
+    assertTrue(iterator.closed);
+  }
+
+  /**
+   * Tests that the iterator is closed after formatting the map.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testToString() {
+    ConsistentMap<String, String> consistentMap = mock(ConsistentMap.class);
+    TestIterator iterator = new TestIterator();
+    when(consistentMap.entryIterator()).thenReturn(iterator);
+
+    assertEquals("{foo=bar, baz=qux}", new ConsistentMapBackedJavaMap<>(consistentMap).toString());
+    assertTrue(iterator.closed);
+  }
+
+  /**
+   * Iterator over fixed entries that records whether it was closed.
+   */
+  private static class TestIterator implements CloseableIterator<Map.Entry<String, Versioned<String>>> {
+    private final List<Map.Entry<String, Versioned<String>>> entries = Arrays.asList(
+        Maps.immutableEntry("foo", new Versioned<>("bar", 1)),
+        Maps.immutableEntry("baz", new Versioned<>("qux", 2)));
+    private final Iterator<Map.Entry<String, Versioned<String>>> iterator = entries.iterator();
+    private boolean closed;
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public Map.Entry<String, Versioned<String>> next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
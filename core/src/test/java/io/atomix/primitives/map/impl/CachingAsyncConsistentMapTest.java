@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.primitives.DistributedPrimitive.Status;
+import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.time.Versioned;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Caching asynchronous consistent map test.
+ */
+public class CachingAsyncConsistentMapTest {
+  private AsyncConsistentMap<String, String> backingMap;
+  private CompletableFuture<Void> listenerFuture;
+  private MapEventListener<String, String> listener;
+  private Consumer<Status> statusListener;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setupBackingMap() {
+    backingMap = mock(AsyncConsistentMap.class);
+    listenerFuture = new CompletableFuture<>();
+    when(backingMap.name()).thenReturn("test");
+    when(backingMap.addListener(any(MapEventListener.class), any(Executor.class))).thenReturn(listenerFuture);
+  }
+
+  /**
+   * Creates a caching map and captures its listeners.
+   */
+  @SuppressWarnings("unchecked")
+  private CachingAsyncConsistentMap<String, String> newCachingMap() {
+    CachingAsyncConsistentMap<String, String> map =
+        new CachingAsyncConsistentMap<>(backingMap, 100, Duration.ZERO, Duration.ZERO);
+    ArgumentCaptor<MapEventListener> listenerCaptor = ArgumentCaptor.forClass(MapEventListener.class);
+    verify(backingMap).addListener(listenerCaptor.capture(), any(Executor.class));
+    listener = listenerCaptor.getValue();
+    ArgumentCaptor<Consumer> statusCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(backingMap).addStatusChangeListener(statusCaptor.capture());
+    statusListener = statusCaptor.getValue();
+    return map;
+  }
+
+  /**
+   * Stubs the backing map to return the given value for the given key.
+   */
+  private void stubGet(String key, Versioned<String> value) {
+    when(backingMap.get(key)).thenReturn(CompletableFuture.completedFuture(value));
+  }
+
+  /**
+   * Tests that reads are cached.
+   */
+  @Test
+  public void testCacheRead() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+    stubGet("foo", new Versioned<>("bar", 1));
+
+    assertEquals("bar", map.get("foo").get().value());
+    assertEquals("bar", map.get("foo").get().value());
+    verify(backingMap, times(1)).get("foo");
+    assertEquals(1, map.getHitCount());
+    assertEquals(1, map.getMissCount());
+  }
+
+  /**
+   * Tests that reads are not cached until the event listener has been registered.
+   */
+  @Test
+  public void testNoCachingBeforeListenerRegistered() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    stubGet("foo", new Versioned<>("bar", 1));
+
+    map.get("foo").get();
+    map.get("foo").get();
+    verify(backingMap, times(2)).get("foo");
+
+    // A read that began before the listener was registered must not be cached once it completes.
+    CompletableFuture<Versioned<String>> readFuture = new CompletableFuture<>();
+    when(backingMap.get("foo")).thenReturn(readFuture);
+    CompletableFuture<Versioned<String>> read = map.get("foo");
+    listenerFuture.complete(null);
+    readFuture.complete(new Versioned<>("bar", 1));
+    assertEquals("bar", read.get().value());
+
+    stubGet("foo", new Versioned<>("bar", 1));
+    map.get("foo").get();
+    map.get("foo").get();
+    verify(backingMap, times(4)).get("foo");
+  }
+
+  /**
+   * Tests that a read is not cached if an event is received while it's in flight.
+   */
+  @Test
+  public void testEventDuringRead() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+
+    CompletableFuture<Versioned<String>> readFuture = new CompletableFuture<>();
+    when(backingMap.get("foo")).thenReturn(readFuture);
+    CompletableFuture<Versioned<String>> read = map.get("foo");
+    listener.event(new MapEvent<>("test", "foo", new Versioned<>("baz", 2), new Versioned<>("bar", 1)));
+    readFuture.complete(new Versioned<>("bar", 1));
+    assertEquals("bar", read.get().value());
+
+    stubGet("foo", new Versioned<>("baz", 2));
+    assertEquals("baz", map.get("foo").get().value());
+    verify(backingMap, times(2)).get("foo");
+  }
+
+  /**
+   * Tests that updates to other keys while a read is in flight don't prevent the read from being cached.
+   */
+  @Test
+  public void testUpdateOtherKeyDuringRead() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+
+    CompletableFuture<Versioned<String>> readFuture = new CompletableFuture<>();
+    when(backingMap.get("foo")).thenReturn(readFuture);
+    CompletableFuture<Versioned<String>> read = map.get("foo");
+    when(backingMap.put("baz", "qux")).thenReturn(CompletableFuture.completedFuture(null));
+    map.put("baz", "qux").get();
+    listener.event(new MapEvent<>("test", "baz", new Versioned<>("qux", 2), null));
+    readFuture.complete(new Versioned<>("bar", 1));
+    assertEquals("bar", read.get().value());
+
+    assertEquals("bar", map.get("foo").get().value());
+    verify(backingMap, times(1)).get("foo");
+    assertEquals(1, map.getHitCount());
+  }
+
+  /**
+   * Tests that events only replace cached entries with newer versions.
+   */
+  @Test
+  public void testVersionedEvents() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+    stubGet("foo", new Versioned<>("bar", 2));
+    map.get("foo").get();
+
+    listener.event(new MapEvent<>("test", "foo", new Versioned<>("old", 1), null));
+    assertEquals("bar", map.get("foo").get().value());
+
+    listener.event(new MapEvent<>("test", "foo", new Versioned<>("new", 3), new Versioned<>("bar", 2)));
+    assertEquals("new", map.get("foo").get().value());
+    assertEquals(3, map.get("foo").get().version());
+    verify(backingMap, times(1)).get("foo");
+
+    // Events for entries that aren't cached don't populate the cache.
+    listener.event(new MapEvent<>("test", "baz", new Versioned<>("qux", 4), null));
+    assertEquals(1, map.getCacheSize());
+
+    listener.event(new MapEvent<>("test", "foo", null, new Versioned<>("new", 3)));
+    assertEquals(0, map.getCacheSize());
+    assertEquals(1, map.getInvalidationCount());
+    stubGet("foo", null);
+    assertEquals(null, map.get("foo").get());
+    verify(backingMap, times(2)).get("foo");
+  }
+
+  /**
+   * Tests that the cache is cleared and bypassed while the map is not active.
+   */
+  @Test
+  public void testStatusChange() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+    stubGet("foo", new Versioned<>("bar", 1));
+    map.get("foo").get();
+    assertEquals(1, map.getCacheSize());
+
+    statusListener.accept(Status.SUSPENDED);
+    assertEquals(0, map.getCacheSize());
+    map.get("foo").get();
+    map.get("foo").get();
+    assertEquals(0, map.getCacheSize());
+    verify(backingMap, times(3)).get("foo");
+
+    statusListener.accept(Status.ACTIVE);
+    map.get("foo").get();
+    map.get("foo").get();
+    verify(backingMap, times(4)).get("foo");
+
+    statusListener.accept(Status.INACTIVE);
+    assertEquals(0, map.getCacheSize());
+    map.get("foo").get();
+    verify(backingMap, times(5)).get("foo");
+  }
+
+  /**
+   * Tests that local updates invalidate cached entries.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testInvalidateOnUpdate() throws Exception {
+    CachingAsyncConsistentMap<String, String> map = newCachingMap();
+    listenerFuture.complete(null);
+    stubGet("foo", new Versioned<>("bar", 1));
+    map.get("foo").get();
+
+    when(backingMap.put("foo", "baz")).thenReturn(CompletableFuture.completedFuture(new Versioned<>("bar", 1)));
+    map.put("foo", "baz").get();
+    assertEquals(0, map.getCacheSize());
+
+    reset(backingMap);
+    stubGet("foo", new Versioned<>("baz", 2));
+    assertEquals("baz", map.get("foo").get().value());
+    verify(backingMap).get("foo");
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.atomix.primitives.DistributedPrimitive.Status;
+import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.time.Versioned;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delegating asynchronous consistent map test.
+ */
+public class DelegatingAsyncConsistentMapTest {
+
+  /**
+   * Tests that reads are delegated to the backing map.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReads() {
+    AsyncConsistentMap<String, String> backingMap = mock(AsyncConsistentMap.class);
+    DelegatingAsyncConsistentMap<String, String> map = new DelegatingAsyncConsistentMap<>(backingMap);
+    List<String> keys = Arrays.asList("foo", "bar");
+
+    CompletableFuture<Versioned<String>> value = new CompletableFuture<>();
+    CompletableFuture<Map<String, Versioned<String>>> values = new CompletableFuture<>();
+    CompletableFuture<Integer> size = new CompletableFuture<>();
+    CompletableFuture<Boolean> contains = new CompletableFuture<>();
+    when(backingMap.name()).thenReturn("test");
+    when(backingMap.size()).thenReturn(size);
+    when(backingMap.containsKey("foo")).thenReturn(contains);
+    when(backingMap.containsValue("bar")).thenReturn(contains);
+    when(backingMap.get("foo")).thenReturn(value);
+    when(backingMap.getOrDefault("foo", "bar")).thenReturn(value);
+    when(backingMap.getAll(keys)).thenReturn(values);
+
+    assertSame("test", map.name());
+    assertSame(size, map.size());
+    assertSame(contains, map.containsKey("foo"));
+    assertSame(contains, map.containsValue("bar"));
+    assertSame(value, map.get("foo"));
+    assertSame(value, map.getOrDefault("foo", "bar"));
+    assertSame(values, map.getAll(keys));
+
+    map.keySet();
+    map.values();
+    map.entrySet();
+    map.entryIterator(10);
+    verify(backingMap).keySet();
+    verify(backingMap).values();
+    verify(backingMap).entrySet();
+    verify(backingMap).entryIterator(10);
+  }
+
+  /**
+   * Tests that writes are delegated to the backing map.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testWrites() {
+    AsyncConsistentMap<String, String> backingMap = mock(AsyncConsistentMap.class);
+    DelegatingAsyncConsistentMap<String, String> map = new DelegatingAsyncConsistentMap<>(backingMap);
+    Map<String, String> entries = Collections.singletonMap("foo", "bar");
+    Map<String, Long> versions = Collections.singletonMap("foo", 1L);
+    Collection<String> keys = Collections.singleton("foo");
+    Predicate<String> condition = v -> true;
+    BiFunction<String, String, String> function = (k, v) -> v;
+
+    CompletableFuture<Versioned<String>> value = new CompletableFuture<>();
+    CompletableFuture<Boolean> updated = new CompletableFuture<>();
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    when(backingMap.computeIf("foo", condition, function)).thenReturn(value);
+    when(backingMap.put("foo", "bar")).thenReturn(value);
+    when(backingMap.putAndGet("foo", "bar")).thenReturn(value);
+    when(backingMap.putIfAbsent("foo", "bar")).thenReturn(value);
+    when(backingMap.putAll(entries)).thenReturn(done);
+    when(backingMap.putAll(entries, versions)).thenReturn(updated);
+    when(backingMap.remove("foo")).thenReturn(value);
+    when(backingMap.remove("foo", "bar")).thenReturn(updated);
+    when(backingMap.remove("foo", 1L)).thenReturn(updated);
+    when(backingMap.removeAll(keys)).thenReturn(done);
+    when(backingMap.replace("foo", "bar")).thenReturn(value);
+    when(backingMap.replace("foo", "bar", "baz")).thenReturn(updated);
+    when(backingMap.replace("foo", 1L, "baz")).thenReturn(updated);
+    when(backingMap.clear()).thenReturn(done);
+
+    assertSame(value, map.computeIf("foo", condition, function));
+    assertSame(value, map.put("foo", "bar"));
+    assertSame(value, map.putAndGet("foo", "bar"));
+    assertSame(value, map.putIfAbsent("foo", "bar"));
+    assertSame(done, map.putAll(entries));
+    assertSame(updated, map.putAll(entries, versions));
+    assertSame(value, map.remove("foo"));
+    assertSame(updated, map.remove("foo", "bar"));
+    assertSame(updated, map.remove("foo", 1L));
+    assertSame(done, map.removeAll(keys));
+    assertSame(value, map.replace("foo", "bar"));
+    assertSame(updated, map.replace("foo", "bar", "baz"));
+    assertSame(updated, map.replace("foo", 1L, "baz"));
+    assertSame(done, map.clear());
+  }
+
+  /**
+   * Tests that listeners and lifecycle operations are delegated to the backing map.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testListeners() {
+    AsyncConsistentMap<String, String> backingMap = mock(AsyncConsistentMap.class);
+    DelegatingAsyncConsistentMap<String, String> map = new DelegatingAsyncConsistentMap<>(backingMap);
+    MapEventListener<String, String> listener = event -> {
+    };
+    Consumer<Status> statusListener = status -> {
+    };
+    Executor executor = MoreExecutors.directExecutor();
+
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    Collection<Consumer<Status>> statusListeners = Collections.singleton(statusListener);
+    when(backingMap.addListener(listener, executor)).thenReturn(done);
+    when(backingMap.removeListener(listener)).thenReturn(done);
+    when(backingMap.destroy()).thenReturn(done);
+    when(backingMap.statusChangeListeners()).thenReturn(statusListeners);
+
+    assertSame(done, map.addListener(listener));
+    assertSame(done, map.addListener(listener, executor));
+    assertSame(done, map.removeListener(listener));
+    map.addStatusChangeListener(statusListener);
+    map.removeStatusChangeListener(statusListener);
+    assertSame(statusListeners, map.statusChangeListeners());
+    assertSame(done, map.destroy());
+
+    verify(backingMap, times(2)).addListener(listener, executor);
+    verify(backingMap).removeListener(listener);
+    verify(backingMap).addStatusChangeListener(statusListener);
+    verify(backingMap).removeStatusChangeListener(statusListener);
+    verify(backingMap).statusChangeListeners();
+    verify(backingMap).destroy();
+    verifyNoMoreInteractions(backingMap);
+  }
+}
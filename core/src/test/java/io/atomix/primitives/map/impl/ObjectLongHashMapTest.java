@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Object to long hash map test.
+ */
+public class ObjectLongHashMapTest {
+
+  /**
+   * Tests basic map operations.
+   */
+  @Test
+  public void testMapOperations() {
+    ObjectLongHashMap<String> map = new ObjectLongHashMap<>();
+    assertTrue(map.isEmpty());
+    assertEquals(0, map.get("foo"));
+    assertFalse(map.containsKey("foo"));
+
+    assertEquals(0, map.put("foo", 1));
+    assertEquals(1, map.put("foo", 2));
+    assertEquals(2, map.get("foo"));
+    assertTrue(map.containsKey("foo"));
+    assertEquals(1, map.size());
+
+    assertEquals(5, map.addAndGet("foo", 3));
+    assertEquals(-1, map.addAndGet("bar", -1));
+    assertEquals(2, map.size());
+
+    // Zero values are stored and distinguishable from missing keys.
+    assertEquals(0, map.put("baz", 0));
+    assertTrue(map.containsKey("baz"));
+    assertEquals(3, map.size());
+
+    assertEquals(5, map.remove("foo"));
+    assertEquals(0, map.remove("foo"));
+    assertFalse(map.containsKey("foo"));
+    assertEquals(2, map.size());
+  }
+
+  /**
+   * Tests keys with colliding hash codes.
+   */
+  @Test
+  public void testCollidingKeys() {
+    ObjectLongHashMap<CollidingKey> map = new ObjectLongHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put(new CollidingKey(0, i), i);
+    }
+    assertEquals(100, map.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, map.get(new CollidingKey(0, i)));
+    }
+
+    // Removing keys from the middle of the probe sequence must not hide keys later in the sequence.
+    for (int i = 0; i < 100; i += 2) {
+      assertEquals(i, map.remove(new CollidingKey(0, i)));
+    }
+    assertEquals(50, map.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i % 2 == 1, map.containsKey(new CollidingKey(0, i)));
+      assertEquals(i % 2 == 1 ? i : 0, map.get(new CollidingKey(0, i)));
+    }
+  }
+
+  /**
+   * Tests removing keys from probe sequences that wrap around the end of the table.
+   */
+  @Test
+  public void testRemoveAcrossWrapAround() {
+    // Two interleaved groups of colliding keys fill most of the initial table without resizing it. Across all
+    // hash codes, some groups' home slots are near the end of the table, so their probe sequences wrap around.
+    for (int hash = 0; hash < 64; hash++) {
+      for (int removed = 0; removed < 10; removed++) {
+        ObjectLongHashMap<CollidingKey> map = new ObjectLongHashMap<>();
+        Map<CollidingKey, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+          CollidingKey key = new CollidingKey(hash + (i % 2), i);
+          map.put(key, i + 1);
+          expected.put(key, (long) i + 1);
+        }
+
+        CollidingKey key = new CollidingKey(hash + (removed % 2), removed);
+        assertEquals(removed + 1, map.remove(key));
+        expected.remove(key);
+        assertMapEquals(expected, map);
+
+        // Re-inserting the key must not create a duplicate entry.
+        map.put(key, removed + 1);
+        expected.put(key, (long) removed + 1);
+        assertMapEquals(expected, map);
+      }
+    }
+  }
+
+  /**
+   * Tests growing the table.
+   */
+  @Test
+  public void testResize() {
+    ObjectLongHashMap<Integer> map = new ObjectLongHashMap<>(1);
+    for (int i = 0; i < 100000; i++) {
+      map.put(i, i * 2L);
+    }
+    assertEquals(100000, map.size());
+    for (int i = 0; i < 100000; i++) {
+      assertEquals(i * 2L, map.get(i));
+    }
+  }
+
+  /**
+   * Tests clearing the map.
+   */
+  @Test
+  public void testClear() {
+    ObjectLongHashMap<Integer> map = new ObjectLongHashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, i);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    for (int i = 0; i < 1000; i++) {
+      assertFalse(map.containsKey(i));
+    }
+    map.forEach((key, value) -> {
+      throw new AssertionError();
+    });
+
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, map.addAndGet(i, i));
+    }
+    assertEquals(1000, map.size());
+  }
+
+  /**
+   * Tests random operations against a {@link HashMap}.
+   */
+  @Test
+  public void testRandomOperations() {
+    Random random = new Random(0);
+    ObjectLongHashMap<CollidingKey> map = new ObjectLongHashMap<>();
+    Map<CollidingKey, Long> expected = new HashMap<>();
+    for (int i = 0; i < 100000; i++) {
+      CollidingKey key = new CollidingKey(random.nextInt(32), random.nextInt(64));
+      long value = random.nextInt(100);
+      switch (random.nextInt(4)) {
+        case 0:
+          assertEquals(orZero(expected.put(key, value)), map.put(key, value));
+          break;
+        case 1:
+          assertEquals(orZero(expected.remove(key)), map.remove(key));
+          break;
+        case 2:
+          assertEquals((long) expected.merge(key, value, Long::sum), map.addAndGet(key, value));
+          break;
+        default:
+          assertEquals(orZero(expected.get(key)), map.get(key));
+          break;
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    assertMapEquals(expected, map);
+  }
+
+  private static long orZero(Long value) {
+    return value != null ? value : 0;
+  }
+
+  private static <K> void assertMapEquals(Map<K, Long> expected, ObjectLongHashMap<K> map) {
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<K, Long> entry : expected.entrySet()) {
+      assertTrue(map.containsKey(entry.getKey()));
+      assertEquals((long) entry.getValue(), map.get(entry.getKey()));
+    }
+    Map<K, Long> entries = new HashMap<>();
+    map.forEach(entries::put);
+    assertEquals(expected, entries);
+  }
+
+  /**
+   * Key with a configurable hash code.
+   */
+  private static class CollidingKey {
+    private final int hash;
+    private final int id;
+
+    CollidingKey(int hash, int id) {
+      this.hash = hash;
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      return object instanceof CollidingKey
+          && ((CollidingKey) object).hash == hash
+          && ((CollidingKey) object).id == id;
+    }
+
+    @Override
+    public String toString() {
+      return hash + ":" + id;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.ImmutableMap;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.KeyValue;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.Replace;
+import io.atomix.protocols.raft.operation.OperationId;
+import io.atomix.protocols.raft.service.ServiceId;
+import io.atomix.protocols.raft.service.impl.DefaultCommit;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.StorageLevel;
+import io.atomix.time.WallClockTimestamp;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.ADD_AND_GET_ALL;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.PUT_IF_ABSENT;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REMOVE_VALUE;
+import static io.atomix.primitives.map.impl.RaftAtomicCounterMapOperations.REPLACE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Atomic counter map service test.
+ */
+public class RaftAtomicCounterMapServiceTest {
+
+  /**
+   * Tests snapshotting the service state and installing it in a new service.
+   */
+  @Test
+  public void testSnapshot() {
+    RaftAtomicCounterMapService service = new RaftAtomicCounterMapService();
+    for (int i = 0; i < 1000; i++) {
+      service.put(commit(PUT, new KeyValue("key" + i, i * 3L - 100)));
+    }
+    service.put(commit(PUT, new KeyValue("zero", 0)));
+
+    SnapshotStore store = new SnapshotStore(RaftStorage.newBuilder()
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+    Snapshot snapshot = store.newSnapshot(ServiceId.from(1), 2, new WallClockTimestamp());
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      service.snapshot(writer);
+    }
+    snapshot.complete();
+
+    RaftAtomicCounterMapService newService = new RaftAtomicCounterMapService();
+    newService.put(commit(PUT, new KeyValue("stale", 1)));
+    try (SnapshotReader reader = snapshot.openReader()) {
+      newService.install(reader);
+    }
+
+    assertEquals(1001, newService.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i * 3L - 100, newService.get(commit(GET, "key" + i)));
+    }
+    assertEquals(0, newService.get(commit(GET, "stale")));
+    assertFalse(newService.removeValue(commit(REMOVE_VALUE, new KeyValue("stale", 1))));
+    assertEquals(1001, newService.size());
+  }
+
+  /**
+   * Tests that putIfAbsent treats a zero value as absent.
+   */
+  @Test
+  public void testPutIfAbsent() {
+    RaftAtomicCounterMapService service = new RaftAtomicCounterMapService();
+    assertEquals(0, service.putIfAbsent(commit(PUT_IF_ABSENT, new KeyValue("foo", 1))));
+    assertEquals(1, service.get(commit(GET, "foo")));
+    assertEquals(1, service.putIfAbsent(commit(PUT_IF_ABSENT, new KeyValue("foo", 2))));
+    assertEquals(1, service.get(commit(GET, "foo")));
+
+    service.put(commit(PUT, new KeyValue("foo", 0)));
+    assertEquals(0, service.putIfAbsent(commit(PUT_IF_ABSENT, new KeyValue("foo", 3))));
+    assertEquals(3, service.get(commit(GET, "foo")));
+  }
+
+  /**
+   * Tests that replace treats a missing key as a zero value.
+   */
+  @Test
+  public void testReplace() {
+    RaftAtomicCounterMapService service = new RaftAtomicCounterMapService();
+    assertFalse(service.replace(commit(REPLACE, new Replace("foo", 1, 2))));
+    assertTrue(service.isEmpty());
+
+    assertTrue(service.replace(commit(REPLACE, new Replace("foo", 0, 2))));
+    assertEquals(2, service.get(commit(GET, "foo")));
+    assertFalse(service.replace(commit(REPLACE, new Replace("foo", 0, 3))));
+    assertTrue(service.replace(commit(REPLACE, new Replace("foo", 2, 0))));
+    assertEquals(0, service.get(commit(GET, "foo")));
+    assertTrue(service.replace(commit(REPLACE, new Replace("foo", 0, 4))));
+    assertEquals(4, service.get(commit(GET, "foo")));
+  }
+
+  /**
+   * Tests that remove(key, value) treats a missing key as a zero value.
+   */
+  @Test
+  public void testRemoveValue() {
+    RaftAtomicCounterMapService service = new RaftAtomicCounterMapService();
+    assertTrue(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 0))));
+    assertFalse(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 1))));
+
+    service.put(commit(PUT, new KeyValue("foo", 1)));
+    assertFalse(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 0))));
+    assertFalse(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 2))));
+    assertTrue(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 1))));
+    assertTrue(service.isEmpty());
+
+    service.put(commit(PUT, new KeyValue("foo", 0)));
+    assertEquals(1, service.size());
+    assertTrue(service.removeValue(commit(REMOVE_VALUE, new KeyValue("foo", 0))));
+    assertTrue(service.isEmpty());
+  }
+
+  /**
+   * Tests adding to multiple counters in a single commit.
+   */
+  @Test
+  public void testAddAndGetAll() {
+    RaftAtomicCounterMapService service = new RaftAtomicCounterMapService();
+    service.addAndGet(commit(ADD_AND_GET, new KeyValue("foo", 1)));
+    Map<String, Long> results = service.addAndGetAll(commit(ADD_AND_GET_ALL, ImmutableMap.of("foo", 2L, "bar", -3L)));
+    assertEquals(ImmutableMap.of("foo", 3L, "bar", -3L), results);
+    assertEquals(3, service.get(commit(GET, "foo")));
+    assertEquals(-3, service.get(commit(GET, "bar")));
+  }
+
+  private static <T> DefaultCommit<T> commit(OperationId operationId, T value) {
+    return new DefaultCommit<>(2, operationId, value, null, System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.cluster.Partition;
+import io.atomix.cluster.PartitionId;
+import io.atomix.cluster.messaging.TestClusterCommunicationService;
+import io.atomix.primitives.map.impl.RaftAtomicCounterMapService;
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.operation.OperationType;
+import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.DefaultOperationId;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.protocols.raft.protocol.CloseSessionRequest;
+import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandRequest;
+import io.atomix.protocols.raft.protocol.CommandResponse;
+import io.atomix.protocols.raft.protocol.ConfigureRequest;
+import io.atomix.protocols.raft.protocol.ConfigureResponse;
+import io.atomix.protocols.raft.protocol.InstallRequest;
+import io.atomix.protocols.raft.protocol.InstallResponse;
+import io.atomix.protocols.raft.protocol.JoinRequest;
+import io.atomix.protocols.raft.protocol.JoinResponse;
+import io.atomix.protocols.raft.protocol.KeepAliveRequest;
+import io.atomix.protocols.raft.protocol.KeepAliveResponse;
+import io.atomix.protocols.raft.protocol.LeaveRequest;
+import io.atomix.protocols.raft.protocol.LeaveResponse;
+import io.atomix.protocols.raft.protocol.MetadataRequest;
+import io.atomix.protocols.raft.protocol.MetadataResponse;
+import io.atomix.protocols.raft.protocol.OpenSessionRequest;
+import io.atomix.protocols.raft.protocol.OpenSessionResponse;
+import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.PollResponse;
+import io.atomix.protocols.raft.protocol.PublishRequest;
+import io.atomix.protocols.raft.protocol.QueryRequest;
+import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
+import io.atomix.protocols.raft.protocol.ReconfigureRequest;
+import io.atomix.protocols.raft.protocol.ReconfigureResponse;
+import io.atomix.protocols.raft.protocol.ResetRequest;
+import io.atomix.protocols.raft.protocol.VoteRequest;
+import io.atomix.protocols.raft.protocol.VoteResponse;
+import io.atomix.protocols.raft.session.SessionId;
+import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
+import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
+import io.atomix.protocols.raft.storage.log.entry.ConfigurationEntry;
+import io.atomix.protocols.raft.storage.log.entry.InitializeEntry;
+import io.atomix.protocols.raft.storage.log.entry.KeepAliveEntry;
+import io.atomix.protocols.raft.storage.log.entry.MetadataEntry;
+import io.atomix.protocols.raft.storage.log.entry.OpenSessionEntry;
+import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
+import io.atomix.protocols.raft.storage.system.Configuration;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.storage.StorageLevel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Raft partition group test.
+ */
+public class RaftPartitionGroupTest {
+  private static final Serializer PROTOCOL_SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
+      .register(OpenSessionRequest.class)
+      .register(OpenSessionResponse.class)
+      .register(CloseSessionRequest.class)
+      .register(CloseSessionResponse.class)
+      .register(KeepAliveRequest.class)
+      .register(KeepAliveResponse.class)
+      .register(QueryRequest.class)
+      .register(QueryResponse.class)
+      .register(CommandRequest.class)
+      .register(CommandResponse.class)
+      .register(MetadataRequest.class)
+      .register(MetadataResponse.class)
+      .register(JoinRequest.class)
+      .register(JoinResponse.class)
+      .register(LeaveRequest.class)
+      .register(LeaveResponse.class)
+      .register(ConfigureRequest.class)
+      .register(ConfigureResponse.class)
+      .register(ReconfigureRequest.class)
+      .register(ReconfigureResponse.class)
+      .register(InstallRequest.class)
+      .register(InstallResponse.class)
+      .register(PollRequest.class)
+      .register(PollResponse.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
+      .register(VoteRequest.class)
+      .register(VoteResponse.class)
+      .register(AppendRequest.class)
+      .register(AppendResponse.class)
+      .register(PublishRequest.class)
+      .register(ResetRequest.class)
+      .register(RaftResponse.Status.class)
+      .register(RaftError.class)
+      .register(RaftError.Type.class)
+      .register(ReadConsistency.class)
+      .register(byte[].class)
+      .register(long[].class)
+      .register(CloseSessionEntry.class)
+      .register(CommandEntry.class)
+      .register(ConfigurationEntry.class)
+      .register(InitializeEntry.class)
+      .register(KeepAliveEntry.class)
+      .register(MetadataEntry.class)
+      .register(OpenSessionEntry.class)
+      .register(QueryEntry.class)
+      .register(RaftOperation.class)
+      .register(DefaultOperationId.class)
+      .register(OperationType.class)
+      .register(ArrayList.class)
+      .register(Collections.emptyList().getClass())
+      .register(HashSet.class)
+      .register(DefaultRaftMember.class)
+      .register(MemberId.class)
+      .register(SessionId.class)
+      .register(RaftMember.Type.class)
+      .register(Instant.class)
+      .register(Configuration.class)
+      .build());
+
+  private static final NodeId LOCAL_NODE_ID = NodeId.from("a");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Tests that a partition's server can be shut down without affecting servers sharing the thread pool.
+   */
+  @Test
+  public void testShutdownPartition() throws Exception {
+    List<Partition> partitions = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      partitions.add(new TestPartition(PartitionId.from(i), Collections.singletonList(LOCAL_NODE_ID)));
+    }
+    partitions.add(new TestPartition(PartitionId.from(4), Collections.singletonList(NodeId.from("b"))));
+
+    RaftPartitionGroup group = RaftPartitionGroup.newBuilder(LOCAL_NODE_ID)
+        .withPartitions(partitions)
+        .withCommunicationService(new TestClusterCommunicationService(LOCAL_NODE_ID, new ConcurrentHashMap<>()))
+        .withSerializer(PROTOCOL_SERIALIZER)
+        .withStorageDirectory(folder.getRoot())
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withElectionTimeout(Duration.ofMillis(500))
+        .withHeartbeatInterval(Duration.ofMillis(100))
+        .withThreadPoolSize(1)
+        .addService("counter-map", RaftAtomicCounterMapService::new)
+        .build();
+
+    group.open().get(30, TimeUnit.SECONDS);
+    assertTrue(group.isOpen());
+    assertEquals(3, group.getPartitionIds().size());
+    for (PartitionId partitionId : group.getPartitionIds()) {
+      awaitLeader(group.getServer(partitionId));
+    }
+
+    RaftServer server = group.getServer(PartitionId.from(1));
+    server.shutdown().get(10, TimeUnit.SECONDS);
+    assertFalse(server.isRunning());
+
+    // The remaining servers continue to run on the shared thread pool.
+    Thread.sleep(500);
+    for (int i = 2; i <= 3; i++) {
+      RaftServer otherServer = group.getServer(PartitionId.from(i));
+      assertTrue(otherServer.isRunning());
+      assertEquals(RaftServer.Role.LEADER, otherServer.getRole());
+    }
+
+    group.close().get(30, TimeUnit.SECONDS);
+    assertTrue(group.isClosed());
+    assertTrue(group.getPartitionIds().isEmpty());
+  }
+
+  /**
+   * Waits for the given server to become the leader.
+   */
+  private static void awaitLeader(RaftServer server) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 30000;
+    while (server.getRole() != RaftServer.Role.LEADER) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Test partition.
+   */
+  private static class TestPartition implements Partition {
+    private final PartitionId partitionId;
+    private final Collection<NodeId> members;
+
+    TestPartition(PartitionId partitionId, Collection<NodeId> members) {
+      this.partitionId = partitionId;
+      this.members = members;
+    }
+
+    @Override
+    public PartitionId partitionId() {
+      return partitionId;
+    }
+
+    @Override
+    public Collection<NodeId> getMembers() {
+      return members;
+    }
+  }
+}
@@ -19,11 +19,11 @@ package io.atomix.messaging.netty;
  * State transitions a decoder goes through as it is decoding an incoming message.
  */
 public enum DecoderState {
+  READ_MESSAGE_FLAGS,
   READ_MESSAGE_PREAMBLE,
   READ_MESSAGE_ID,
   READ_SENDER_IP,
   READ_SENDER_PORT,
-  READ_MESSAGE_TYPE_LENGTH,
   READ_MESSAGE_TYPE,
   READ_MESSAGE_STATUS,
   READ_CONTENT_LENGTH,
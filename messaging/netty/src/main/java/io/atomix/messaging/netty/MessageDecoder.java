@@ -24,28 +24,34 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ReplayingDecoder;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Decoder for inbound messages.
+ * <p>
+ * The decoder is stateful and must be used for a single connection. The preamble, sender and message types
+ * written by the {@link MessageEncoder} on the other end of the connection are retained for subsequent messages.
  */
 public class MessageDecoder extends ReplayingDecoder<DecoderState> {
 
   private final Logger log = LoggerFactory.getLogger(getClass());
 
+  private final List<String> messageTypes = new ArrayList<>();
+  private int flags;
   private long messageId;
-  private int preamble;
+  private Integer preamble;
   private InetAddress senderIp;
   private int senderPort;
-  private int messageTypeLength;
+  private Endpoint sender;
   private String messageType;
   private InternalMessage.Status status;
   private int contentLength;
 
   public MessageDecoder() {
-    super(DecoderState.READ_MESSAGE_PREAMBLE);
+    super(DecoderState.READ_MESSAGE_FLAGS);
   }
 
   @Override
@@ -56,38 +62,64 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
       List<Object> out) throws Exception {
 
     switch (state()) {
+      case READ_MESSAGE_FLAGS:
+        flags = buffer.readUnsignedByte();
+        checkpoint(DecoderState.READ_MESSAGE_PREAMBLE);
       case READ_MESSAGE_PREAMBLE:
-        preamble = buffer.readInt();
+        if ((flags & MessageEncoder.FLAG_PREAMBLE) != 0) {
+          preamble = buffer.readInt();
+        }
+        checkState(preamble != null, "Missing connection preamble");
         checkpoint(DecoderState.READ_MESSAGE_ID);
       case READ_MESSAGE_ID:
-        messageId = buffer.readLong();
+        messageId = readVarLong(buffer);
         checkpoint(DecoderState.READ_SENDER_IP);
       case READ_SENDER_IP:
-        byte[] octets = new byte[buffer.readByte()];
-        buffer.readBytes(octets);
-        senderIp = InetAddress.getByAddress(octets);
+        if ((flags & MessageEncoder.FLAG_SENDER) != 0) {
+          byte[] octets = new byte[buffer.readByte()];
+          buffer.readBytes(octets);
+          senderIp = InetAddress.getByAddress(octets);
+        }
         checkpoint(DecoderState.READ_SENDER_PORT);
       case READ_SENDER_PORT:
-        senderPort = buffer.readInt();
-        checkpoint(DecoderState.READ_MESSAGE_TYPE_LENGTH);
-      case READ_MESSAGE_TYPE_LENGTH:
-        messageTypeLength = buffer.readShort();
+        if ((flags & MessageEncoder.FLAG_SENDER) != 0) {
+          senderPort = buffer.readInt();
+          sender = new Endpoint(senderIp, senderPort);
+        }
+        checkState(sender != null, "Missing connection sender");
         checkpoint(DecoderState.READ_MESSAGE_TYPE);
       case READ_MESSAGE_TYPE:
-        byte[] messageTypeBytes = new byte[messageTypeLength];
-        buffer.readBytes(messageTypeBytes);
-        messageType = new String(messageTypeBytes, Charsets.UTF_8);
+        if ((flags & MessageEncoder.FLAG_REPLY) != 0) {
+          messageType = "";
+        } else if ((flags & MessageEncoder.FLAG_TYPE_LITERAL) != 0) {
+          messageType = readMessageType(buffer);
+        } else {
+          int messageTypeId = (int) readVarLong(buffer);
+          if ((flags & MessageEncoder.FLAG_TYPE_DEFINITION) != 0) {
+            checkState(messageTypeId >= 0 && messageTypeId < MessageEncoder.MAX_MESSAGE_TYPES
+                && messageTypeId <= messageTypes.size(), "Invalid message type definition %s", messageTypeId);
+            messageType = readMessageType(buffer);
+            if (messageTypeId == messageTypes.size()) {
+              messageTypes.add(messageType);
+            } else {
+              messageTypes.set(messageTypeId, messageType);
+            }
+          } else {
+            checkState(messageTypeId >= 0 && messageTypeId < messageTypes.size(),
+                "Unknown message type %s", messageTypeId);
+            messageType = messageTypes.get(messageTypeId);
+          }
+        }
         checkpoint(DecoderState.READ_MESSAGE_STATUS);
       case READ_MESSAGE_STATUS:
-        int statusId = buffer.readByte();
-        if (statusId == -1) {
-          status = null;
+        if ((flags & MessageEncoder.FLAG_REPLY) != 0) {
+          status = InternalMessage.Status.forId(buffer.readByte());
         } else {
-          status = InternalMessage.Status.forId(statusId);
+          status = null;
         }
         checkpoint(DecoderState.READ_CONTENT_LENGTH);
       case READ_CONTENT_LENGTH:
-        contentLength = buffer.readInt();
+        contentLength = (int) readVarLong(buffer);
         checkpoint(DecoderState.READ_CONTENT);
       case READ_CONTENT:
         byte[] payload;
@@ -100,18 +132,43 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
         }
         InternalMessage message = new InternalMessage(preamble,
             messageId,
-            new Endpoint(senderIp, senderPort),
+            sender,
             messageType,
             payload,
             status);
         out.add(message);
-        checkpoint(DecoderState.READ_MESSAGE_PREAMBLE);
+        checkpoint(DecoderState.READ_MESSAGE_FLAGS);
         break;
       default:
         checkState(false, "Must not be here");
     }
   }
 
+  /**
+   * Reads a length prefixed message type from the given buffer.
+   */
+  private static String readMessageType(ByteBuf buffer) {
+    byte[] messageTypeBytes = new byte[buffer.readShort()];
+    buffer.readBytes(messageTypeBytes);
+    return new String(messageTypeBytes, Charsets.UTF_8);
+  }
+
+  /**
+   * Reads a non-negative variable length integer from the given buffer.
+   */
+  private static long readVarLong(ByteBuf buffer) {
+    long value = 0;
+    int shift = 0;
+    int b;
+    do {
+      checkState(shift < 64, "Malformed variable length integer");
+      b = buffer.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext context, Throwable cause) {
     log.error("Exception inside channel handling pipeline.", cause);
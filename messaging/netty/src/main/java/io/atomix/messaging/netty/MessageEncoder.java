@@ -20,30 +20,59 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.atomix.messaging.Endpoint;
 import io.netty.buffer.ByteBuf;
-import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Encode InternalMessage out into a byte buffer.
+ * <p>
+ * The encoder is stateful and must be used for a single connection. The preamble and sender are written only
+ * with the first message on the connection and when they change, and each message type is assigned a connection
+ * local ID the first time it's sent so subsequent messages of the same type only carry the ID.
+ * <p>
+ * Because the encoder's state is updated as messages are encoded, a message that fails to be encoded or written
+ * leaves the encoder out of sync with the decoder on the other end of the connection. The connection is closed
+ * when a write fails so that a new connection with fresh state is established.
  */
-@ChannelHandler.Sharable
 public class MessageEncoder extends MessageToByteEncoder<Object> {
 // Effectively MessageToByteEncoder<InternalMessage>,
 // had to specify <Object> to avoid Class Loader not being able to find some classes.
 
+  static final int FLAG_PREAMBLE = 0x01;
+  static final int FLAG_SENDER = 0x02;
+  static final int FLAG_REPLY = 0x04;
+  static final int FLAG_TYPE_DEFINITION = 0x08;
+  static final int FLAG_TYPE_LITERAL = 0x10;
+
+  /**
+   * Maximum number of message types interned per connection. Types sent after the dictionary is full are
+   * written in full with every message.
+   */
+  static final int MAX_MESSAGE_TYPES = 1024;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   private final int preamble;
+  private final Map<String, Integer> messageTypes = new HashMap<>();
+  private boolean preambleSent;
+  private Endpoint sender;
 
   public MessageEncoder(int preamble) {
     super();
     this.preamble = preamble;
   }
 
+  @Override
+  public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) throws Exception {
+    super.write(context, message, promise.unvoid().addListener(ChannelFutureListener.CLOSE_ON_FAILURE));
+  }
 
   @Override
   protected void encode(
@@ -53,46 +82,99 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
 
     InternalMessage message = (InternalMessage) rawMessage;
 
-    out.writeInt(this.preamble);
-
-    // write message id
-    out.writeLong(message.id());
+    int flags = 0;
+    if (!preambleSent) {
+      flags |= FLAG_PREAMBLE;
+    }
 
     Endpoint sender = message.sender();
+    if (!sender.equals(this.sender)) {
+      flags |= FLAG_SENDER;
+    }
 
-    InetAddress senderIp = sender.host();
-    byte[] senderIpBytes = senderIp.getAddress();
-    out.writeByte(senderIpBytes.length);
-    out.writeBytes(senderIpBytes);
-
-    // write sender port
-    out.writeInt(sender.port());
+    // Replies are correlated by message ID, so only requests carry a message type.
+    InternalMessage.Status status = message.status();
+    Integer messageTypeId = null;
+    boolean defineMessageType = false;
+    if (status != null) {
+      flags |= FLAG_REPLY;
+    } else {
+      messageTypeId = messageTypes.get(message.type());
+      if (messageTypeId == null) {
+        if (messageTypes.size() < MAX_MESSAGE_TYPES) {
+          messageTypeId = messageTypes.size();
+          messageTypes.put(message.type(), messageTypeId);
+          defineMessageType = true;
+          flags |= FLAG_TYPE_DEFINITION;
+        } else {
+          flags |= FLAG_TYPE_LITERAL;
+        }
+      }
+    }
 
-    byte[] messageTypeBytes = message.type().getBytes(Charsets.UTF_8);
+    // write message flags
+    out.writeByte(flags);
 
-    // write length of message type
-    out.writeShort(messageTypeBytes.length);
+    // write the preamble once per connection
+    if (!preambleSent) {
+      out.writeInt(this.preamble);
+      preambleSent = true;
+    }
 
-    // write message type bytes
-    out.writeBytes(messageTypeBytes);
+    // write message id
+    writeVarLong(out, message.id());
+
+    // write the sender only when it changes
+    if ((flags & FLAG_SENDER) != 0) {
+      InetAddress senderIp = sender.host();
+      byte[] senderIpBytes = senderIp.getAddress();
+      out.writeByte(senderIpBytes.length);
+      out.writeBytes(senderIpBytes);
+
+      // write sender port
+      out.writeInt(sender.port());
+      this.sender = sender;
+    }
 
-    // write message status value
-    InternalMessage.Status status = message.status();
-    if (status == null) {
-      out.writeByte(-1);
-    } else {
+    if (status != null) {
+      // write message status value
       out.writeByte(status.id());
+    } else {
+      // write the message type ID, followed by the message type if it's not yet known to the receiver
+      if (messageTypeId != null) {
+        writeVarLong(out, messageTypeId);
+      }
+      if (messageTypeId == null || defineMessageType) {
+        byte[] messageTypeBytes = message.type().getBytes(Charsets.UTF_8);
+
+        // write length of message type
+        out.writeShort(messageTypeBytes.length);
+
+        // write message type bytes
+        out.writeBytes(messageTypeBytes);
+      }
     }
 
     byte[] payload = message.payload();
 
     // write payload length
-    out.writeInt(payload.length);
+    writeVarLong(out, payload.length);
 
     // write payload.
     out.writeBytes(payload);
   }
 
+  /**
+   * Writes a non-negative variable length integer to the given buffer.
+   */
+  private static void writeVarLong(ByteBuf out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext context, Throwable cause) {
     if (cause instanceof IOException) {
@@ -473,7 +473,6 @@ public class NettyMessagingManager implements MessagingService {
    */
   private class SslServerCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
     private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-    private final ChannelHandler encoder = new MessageEncoder(preamble);
 
     @Override
     protected void initChannel(SocketChannel channel) throws Exception {
@@ -499,7 +498,7 @@ public class NettyMessagingManager implements MessagingService {
       serverSslEngine.setEnableSessionCreation(true);
 
       channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(serverSslEngine))
-          .addLast("encoder", encoder)
+          .addLast("encoder", new MessageEncoder(preamble))
           .addLast("decoder", new MessageDecoder())
           .addLast("handler", dispatcher);
     }
@@ -510,7 +509,6 @@ public class NettyMessagingManager implements MessagingService {
    */
   private class SslClientCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
     private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-    private final ChannelHandler encoder = new MessageEncoder(preamble);
 
     @Override
     protected void initChannel(SocketChannel channel) throws Exception {
@@ -535,7 +533,7 @@ public class NettyMessagingManager implements MessagingService {
       clientSslEngine.setEnableSessionCreation(true);
 
       channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(clientSslEngine))
-          .addLast("encoder", encoder)
+          .addLast("encoder", new MessageEncoder(preamble))
           .addLast("decoder", new MessageDecoder())
           .addLast("handler", dispatcher);
     }
@@ -546,12 +544,11 @@ public class NettyMessagingManager implements MessagingService {
    */
   private class BasicChannelInitializer extends ChannelInitializer<SocketChannel> {
     private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-    private final ChannelHandler encoder = new MessageEncoder(preamble);
 
     @Override
     protected void initChannel(SocketChannel channel) throws Exception {
       channel.pipeline()
-          .addLast("encoder", encoder)
+          .addLast("encoder", new MessageEncoder(preamble))
           .addLast("decoder", new MessageDecoder())
           .addLast("handler", dispatcher);
     }
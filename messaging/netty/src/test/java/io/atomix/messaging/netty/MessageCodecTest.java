@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.messaging.netty;
+
+import com.google.common.base.Charsets;
+import io.atomix.messaging.Endpoint;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Message encoder and decoder test.
+ */
+public class MessageCodecTest {
+  private static final int PREAMBLE = 12345;
+
+  private Endpoint sender;
+  private EmbeddedChannel encoderChannel;
+  private EmbeddedChannel decoderChannel;
+  private int lastEncodedSize;
+
+  @Before
+  public void setupChannels() throws Exception {
+    sender = new Endpoint(InetAddress.getByName("127.0.0.1"), 5000);
+    encoderChannel = new EmbeddedChannel(new MessageEncoder(PREAMBLE));
+    decoderChannel = new EmbeddedChannel(new MessageDecoder());
+  }
+
+  /**
+   * Encodes the given message and decodes it on the other end of the connection.
+   */
+  private InternalMessage roundTrip(InternalMessage message) {
+    assertTrue(encoderChannel.writeOutbound(message));
+    ByteBuf buffer = encoderChannel.readOutbound();
+    lastEncodedSize = buffer.readableBytes();
+    assertTrue(decoderChannel.writeInbound(buffer));
+    InternalMessage decoded = decoderChannel.readInbound();
+    assertEquals(PREAMBLE, decoded.preamble());
+    assertEquals(message.id(), decoded.id());
+    assertEquals(message.sender(), decoded.sender());
+    assertEquals(message.type(), decoded.type());
+    assertEquals(message.status(), decoded.status());
+    assertArrayEquals(message.payload(), decoded.payload());
+    return decoded;
+  }
+
+  /**
+   * Tests the first and repeated use of message types.
+   */
+  @Test
+  public void testMessageTypes() throws Exception {
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", "Hello world!".getBytes()));
+    int firstSize = lastEncodedSize;
+
+    // The preamble, sender and message type are only written with the first message.
+    roundTrip(new InternalMessage(PREAMBLE, 2, sender, "foo", "Hello world!".getBytes()));
+    int repeatedSize = lastEncodedSize;
+    assertTrue(repeatedSize < firstSize);
+
+    roundTrip(new InternalMessage(PREAMBLE, 3, sender, "bar", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, Long.MAX_VALUE, sender, "foo", "Hello world!".getBytes()));
+    roundTrip(new InternalMessage(PREAMBLE, 5, sender, "bar", new byte[1024 * 64]));
+    roundTrip(new InternalMessage(PREAMBLE, 6, sender, "foo", "Hello world!".getBytes()));
+    assertEquals(repeatedSize, lastEncodedSize);
+  }
+
+  /**
+   * Tests that message types are written in full once the type dictionary is full.
+   */
+  @Test
+  public void testMessageTypeLiteral() throws Exception {
+    for (int i = 0; i < MessageEncoder.MAX_MESSAGE_TYPES; i++) {
+      roundTrip(new InternalMessage(PREAMBLE, i, sender, "type-" + i, new byte[0]));
+    }
+
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "overflow", new byte[0]));
+    int literalSize = lastEncodedSize;
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "overflow", new byte[0]));
+    assertEquals(literalSize, lastEncodedSize);
+
+    // Types interned before the dictionary was full are still sent by ID.
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "type-0", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "type-1023", new byte[0]));
+    assertTrue(lastEncodedSize < literalSize);
+  }
+
+  /**
+   * Tests a change of sender on the connection.
+   */
+  @Test
+  public void testSenderChange() throws Exception {
+    Endpoint otherSender = new Endpoint(InetAddress.getByName("::1"), 6000);
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, 2, otherSender, "foo", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, 3, otherSender, "foo", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, 4, sender, "foo", new byte[0]));
+    roundTrip(new InternalMessage(PREAMBLE, 5, sender, "foo", new byte[0]));
+  }
+
+  /**
+   * Tests encoding replies.
+   */
+  @Test
+  public void testReplies() throws Exception {
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", new byte[0]));
+    for (InternalMessage.Status status : InternalMessage.Status.values()) {
+      InternalMessage reply = roundTrip(new InternalMessage(PREAMBLE, 2, sender, "Hello world!".getBytes(), status));
+      assertTrue(reply.isReply());
+      assertEquals("", reply.type());
+    }
+
+    // Replies do not affect the message type dictionary.
+    InternalMessage request = roundTrip(new InternalMessage(PREAMBLE, 3, sender, "foo", new byte[0]));
+    assertTrue(request.isRequest());
+    assertNull(request.status());
+  }
+
+  /**
+   * Tests that messages split across reads are decoded.
+   */
+  @Test
+  public void testFragmentedMessages() throws Exception {
+    InternalMessage message = new InternalMessage(PREAMBLE, 1, sender, "foo", "Hello world!".getBytes());
+    assertTrue(encoderChannel.writeOutbound(message));
+    ByteBuf buffer = encoderChannel.readOutbound();
+    while (buffer.readableBytes() > 1) {
+      assertFalse(decoderChannel.writeInbound(buffer.readRetainedSlice(1)));
+    }
+    assertTrue(decoderChannel.writeInbound(buffer));
+    InternalMessage decoded = decoderChannel.readInbound();
+    assertEquals("foo", decoded.type());
+    assertArrayEquals(message.payload(), decoded.payload());
+  }
+
+  /**
+   * Tests that the connection is closed when a message references an unknown message type.
+   */
+  @Test
+  public void testUnknownMessageType() throws Exception {
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", new byte[0]));
+
+    // Type 1 is referenced on another connection but was never defined on this one.
+    EmbeddedChannel otherEncoderChannel = new EmbeddedChannel(new MessageEncoder(PREAMBLE));
+    encodeAll(otherEncoderChannel, "foo", "bar");
+    assertTrue(otherEncoderChannel.writeOutbound(new InternalMessage(PREAMBLE, 3, sender, "bar", new byte[0])));
+    decoderChannel.writeInbound((ByteBuf) otherEncoderChannel.readOutbound());
+    assertNull(decoderChannel.readInbound());
+    assertFalse(decoderChannel.isOpen());
+  }
+
+  /**
+   * Tests that the connection is closed when a message type definition skips a type ID.
+   */
+  @Test
+  public void testInvalidMessageTypeDefinition() throws Exception {
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", new byte[0]));
+
+    // Type 2 is defined on another connection after types 0 and 1, but this connection only knows type 0.
+    EmbeddedChannel otherEncoderChannel = new EmbeddedChannel(new MessageEncoder(PREAMBLE));
+    encodeAll(otherEncoderChannel, "foo", "bar");
+    assertTrue(otherEncoderChannel.writeOutbound(new InternalMessage(PREAMBLE, 3, sender, "baz", new byte[0])));
+    decoderChannel.writeInbound((ByteBuf) otherEncoderChannel.readOutbound());
+    assertNull(decoderChannel.readInbound());
+    assertFalse(decoderChannel.isOpen());
+  }
+
+  /**
+   * Tests that the connection is closed when a peer defines more message types than the encoder allows.
+   */
+  @Test
+  public void testMessageTypeLimit() throws Exception {
+    for (int i = 0; i < MessageEncoder.MAX_MESSAGE_TYPES; i++) {
+      roundTrip(new InternalMessage(PREAMBLE, i, sender, "type-" + i, new byte[0]));
+    }
+
+    // A well-behaved encoder sends further types as literals, so a definition of another type is rejected.
+    ByteBuf buffer = Unpooled.buffer();
+    buffer.writeByte(MessageEncoder.FLAG_TYPE_DEFINITION);
+    buffer.writeByte(1);
+    buffer.writeByte((MessageEncoder.MAX_MESSAGE_TYPES & 0x7F) | 0x80);
+    buffer.writeByte(MessageEncoder.MAX_MESSAGE_TYPES >>> 7);
+    byte[] messageType = "overflow".getBytes(Charsets.UTF_8);
+    buffer.writeShort(messageType.length);
+    buffer.writeBytes(messageType);
+    buffer.writeByte(0);
+    decoderChannel.writeInbound(buffer);
+    assertNull(decoderChannel.readInbound());
+    assertFalse(decoderChannel.isOpen());
+  }
+
+  /**
+   * Encodes messages of the given types and discards the encoded messages.
+   */
+  private void encodeAll(EmbeddedChannel channel, String... types) {
+    for (String type : types) {
+      assertTrue(channel.writeOutbound(new InternalMessage(PREAMBLE, 1, sender, type, new byte[0])));
+      ((ByteBuf) channel.readOutbound()).release();
+    }
+  }
+
+  /**
+   * Tests that the connection is closed when a message fails to be encoded.
+   */
+  @Test
+  public void testEncodeFailure() throws Exception {
+    roundTrip(new InternalMessage(PREAMBLE, 1, sender, "foo", new byte[0]));
+    try {
+      encoderChannel.writeOutbound(new InternalMessage(PREAMBLE, 2, sender, "bar", null));
+      fail();
+    } catch (Exception e) {
+    }
+    assertFalse(encoderChannel.isOpen());
+  }
+}
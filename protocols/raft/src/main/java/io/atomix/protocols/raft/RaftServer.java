@@ -24,11 +24,14 @@ import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.service.RaftService;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.RaftLog;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotPolicy;
 import io.atomix.storage.StorageLevel;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -295,6 +298,17 @@ public interface RaftServer {
    */
   Role getRole();
 
+  /**
+   * Returns the current effective append batch size for each member to which the server replicates entries.
+   * <p>
+   * The leader adapts the size of append batches sent to each follower to the round trip time of prior appends
+   * to that follower. The returned sizes can be sampled periodically and reported as a gauge to monitor replication
+   * throughput. Only the leader replicates entries, so the returned map is empty if the server is not the leader.
+   *
+   * @return The current append batch size in bytes for each member, keyed by member ID.
+   */
+  Map<MemberId, Integer> getAppendBatchSizes();
+
   /**
    * Returns whether the server is the leader.
    *
@@ -533,8 +547,16 @@ public interface RaftServer {
   abstract class Builder implements io.atomix.utils.Builder<RaftServer> {
     private static final Duration DEFAULT_ELECTION_TIMEOUT = Duration.ofMillis(750);
     private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(250);
+    private static final double DEFAULT_MAX_CLOCK_DRIFT = .1;
     private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMillis(5000);
     private static final int DEFAULT_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_MAX_APPENDS_PER_FOLLOWER = 2;
+    public static final int DEFAULT_MIN_APPEND_BATCH_SIZE = 1024 * 8;
+    public static final int DEFAULT_MAX_APPEND_BATCH_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_APPEND_BATCH_ENTRIES = 1024 * 4;
+    private static final int DEFAULT_SNAPSHOT_CHUNK_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_INSTALLS_PER_FOLLOWER = 2;
+    private static final Duration DEFAULT_SNAPSHOT_INTERVAL = Duration.ofSeconds(10);
 
     protected String name;
     protected RaftMember.Type type = RaftMember.Type.ACTIVE;
@@ -543,9 +565,19 @@ public interface RaftServer {
     protected RaftStorage storage;
     protected Duration electionTimeout = DEFAULT_ELECTION_TIMEOUT;
     protected Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    protected double maxClockDrift = DEFAULT_MAX_CLOCK_DRIFT;
     protected Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
     protected final RaftServiceRegistry serviceRegistry = new RaftServiceRegistry();
     protected int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+    protected ScheduledExecutorService threadPool;
+    protected int maxAppendsPerFollower = DEFAULT_MAX_APPENDS_PER_FOLLOWER;
+    protected int minAppendBatchSize = DEFAULT_MIN_APPEND_BATCH_SIZE;
+    protected int maxAppendBatchSize = DEFAULT_MAX_APPEND_BATCH_SIZE;
+    protected int maxAppendBatchEntries = DEFAULT_MAX_APPEND_BATCH_ENTRIES;
+    protected int snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
+    protected int maxInstallsPerFollower = DEFAULT_MAX_INSTALLS_PER_FOLLOWER;
+    protected SnapshotPolicy snapshotPolicy = SnapshotPolicy.segments();
+    protected Duration snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
 
     protected Builder(MemberId localMemberId) {
       this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
@@ -627,6 +659,24 @@ public interface RaftServer {
       return this;
     }
 
+    /**
+     * Sets the maximum clock drift rate between servers, returning the Raft configuration for method chaining.
+     * <p>
+     * Leaders serve {@link io.atomix.protocols.raft.ReadConsistency#LINEARIZABLE_LEASE} queries without contacting
+     * the cluster for as long as they hold a lease, which lasts for the election timeout after a majority of the
+     * cluster last acknowledged the leader. The lease is shortened by the given fraction of the election timeout
+     * to account for differences in the rate at which clocks advance on different servers.
+     *
+     * @param maxClockDrift The maximum clock drift rate as a fraction in the range [0, 1).
+     * @return The Raft configuration.
+     * @throws IllegalArgumentException if {@code maxClockDrift} is not in the range [0, 1)
+     */
+    public Builder withMaxClockDrift(double maxClockDrift) {
+      checkArgument(maxClockDrift >= 0 && maxClockDrift < 1, "maxClockDrift must be in the range [0, 1)");
+      this.maxClockDrift = maxClockDrift;
+      return this;
+    }
+
     /**
      * Sets the Raft heartbeat interval, returning the Raft configuration for method chaining.
      *
@@ -670,6 +720,153 @@ public interface RaftServer {
       this.threadPoolSize = threadPoolSize;
       return this;
     }
+
+    /**
+     * Sets a shared thread pool on which to run the server.
+     * <p>
+     * By default, each server runs on its own dedicated threads. When a shared thread pool is provided, the
+     * server's Raft, state machine and service contexts are multiplexed onto the pool instead, allowing many
+     * servers for different Raft groups to be hosted on a fixed number of threads. The pool's threads must be
+     * created by an {@link io.atomix.utils.concurrent.AtomixThreadFactory}, and the pool is not shut down when
+     * the server is closed. When a shared thread pool is set, the {@link #withThreadPoolSize(int) thread pool size}
+     * is ignored.
+     *
+     * @param threadPool The shared thread pool.
+     * @return The server builder.
+     * @throws NullPointerException if {@code threadPool} is null
+     */
+    public Builder withThreadPool(ScheduledExecutorService threadPool) {
+      this.threadPool = checkNotNull(threadPool, "threadPool cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of append requests that may be in flight to a single follower.
+     * <p>
+     * The leader pipelines append requests to followers, optimistically advancing each follower's next index
+     * as requests are sent. Increasing the number of in-flight requests improves replication throughput on
+     * high latency links at the cost of more entries being resent when a follower rejects a request.
+     *
+     * @param maxAppendsPerFollower The maximum number of in-flight append requests per follower.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxAppendsPerFollower} is not positive
+     */
+    public Builder withMaxAppendsPerFollower(int maxAppendsPerFollower) {
+      checkArgument(maxAppendsPerFollower > 0, "maxAppendsPerFollower must be positive");
+      this.maxAppendsPerFollower = maxAppendsPerFollower;
+      return this;
+    }
+
+    /**
+     * Sets the minimum size in bytes of append request batches.
+     * <p>
+     * The size of append batches sent to each follower is adapted to the observed round trip time of
+     * prior appends to that follower, but never shrinks below the minimum batch size.
+     *
+     * @param minAppendBatchSize The minimum append batch size in bytes.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code minAppendBatchSize} is not positive
+     */
+    public Builder withMinAppendBatchSize(int minAppendBatchSize) {
+      checkArgument(minAppendBatchSize > 0, "minAppendBatchSize must be positive");
+      this.minAppendBatchSize = minAppendBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size in bytes of append request batches.
+     * <p>
+     * The size of append batches sent to each follower is adapted to the observed round trip time of
+     * prior appends to that follower, but never grows beyond the maximum batch size. An entry that is
+     * larger than the batch size is always sent in a batch of its own.
+     * <p>
+     * The maximum batch size must be greater than or equal to the {@link #withMinAppendBatchSize(int) minimum
+     * batch size}. The two sizes are validated against each other when the server is {@link #build() built}.
+     *
+     * @param maxAppendBatchSize The maximum append batch size in bytes.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxAppendBatchSize} is not positive
+     */
+    public Builder withMaxAppendBatchSize(int maxAppendBatchSize) {
+      checkArgument(maxAppendBatchSize > 0, "maxAppendBatchSize must be positive");
+      this.maxAppendBatchSize = maxAppendBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of entries in an append request batch.
+     *
+     * @param maxAppendBatchEntries The maximum number of entries in an append request batch.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxAppendBatchEntries} is not positive
+     */
+    public Builder withMaxAppendBatchEntries(int maxAppendBatchEntries) {
+      checkArgument(maxAppendBatchEntries > 0, "maxAppendBatchEntries must be positive");
+      this.maxAppendBatchEntries = maxAppendBatchEntries;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size in bytes of snapshot chunks sent to followers.
+     * <p>
+     * Snapshots are replicated to followers that have fallen behind the leader's log in chunks of at most
+     * the configured size. Larger chunks reduce the number of round trips required to install a snapshot
+     * at the cost of larger messages.
+     *
+     * @param snapshotChunkSize The maximum snapshot chunk size in bytes.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code snapshotChunkSize} is not positive
+     */
+    public Builder withSnapshotChunkSize(int snapshotChunkSize) {
+      checkArgument(snapshotChunkSize > 0, "snapshotChunkSize must be positive");
+      this.snapshotChunkSize = snapshotChunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of snapshot chunks that may be in flight to a single follower.
+     *
+     * @param maxInstallsPerFollower The maximum number of in-flight install requests per follower.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxInstallsPerFollower} is not positive
+     */
+    public Builder withMaxInstallsPerFollower(int maxInstallsPerFollower) {
+      checkArgument(maxInstallsPerFollower > 0, "maxInstallsPerFollower must be positive");
+      this.maxInstallsPerFollower = maxInstallsPerFollower;
+      return this;
+    }
+
+    /**
+     * Sets the policy that determines when to snapshot services and compact the log.
+     * <p>
+     * By default, services are snapshotted once a segment can be removed from the log.
+     *
+     * @param snapshotPolicy The snapshot policy.
+     * @return The server builder.
+     * @throws NullPointerException if {@code snapshotPolicy} is null
+     */
+    public Builder withSnapshotPolicy(SnapshotPolicy snapshotPolicy) {
+      this.snapshotPolicy = checkNotNull(snapshotPolicy, "snapshotPolicy cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the interval at which the snapshot policy is evaluated.
+     * <p>
+     * The interval is the minimum time between evaluations of the policy. The server backs off while no entries
+     * are being applied, and waits at least as long as the last snapshot took before compacting the log.
+     *
+     * @param snapshotInterval The interval at which the snapshot policy is evaluated.
+     * @return The server builder.
+     * @throws NullPointerException if {@code snapshotInterval} is null
+     * @throws IllegalArgumentException if {@code snapshotInterval} is not positive
+     */
+    public Builder withSnapshotInterval(Duration snapshotInterval) {
+      checkNotNull(snapshotInterval, "snapshotInterval cannot be null");
+      checkArgument(!snapshotInterval.isNegative() && !snapshotInterval.isZero(), "snapshotInterval must be positive");
+      this.snapshotInterval = snapshotInterval;
+      return this;
+    }
   }
 
 }
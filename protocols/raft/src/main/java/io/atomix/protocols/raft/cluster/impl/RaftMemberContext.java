@@ -15,8 +15,10 @@
  */
 package io.atomix.protocols.raft.cluster.impl;
 
+import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -27,28 +29,34 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Cluster member state.
  */
 public final class RaftMemberContext {
-  private static final int MAX_APPENDS = 2;
   private static final int APPEND_WINDOW_SIZE = 8;
+  private static final int INITIAL_APPEND_BATCH_SIZE = 1024 * 32;
   private final DefaultRaftMember member;
+  private final RaftClusterContext cluster;
   private long term;
   private long configIndex;
   private long snapshotIndex;
   private long nextSnapshotIndex;
   private int nextSnapshotOffset;
+  private SnapshotReader snapshotReader;
   private long matchIndex;
   private long heartbeatTime;
   private long heartbeatStartTime;
+  private long leaseStartTime = Long.MIN_VALUE;
   private int appending;
   private boolean appendSucceeded;
   private long appendTime;
+  private long appendEpoch;
+  private volatile int appendBatchSize;
   private boolean configuring;
-  private boolean installing;
+  private int installing;
   private volatile int failures;
   private volatile RaftLogReader reader;
   private final DescriptiveStatistics timeStats = new DescriptiveStatistics(APPEND_WINDOW_SIZE);
 
   RaftMemberContext(DefaultRaftMember member, RaftClusterContext cluster) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
+    this.cluster = checkNotNull(cluster, "cluster cannot be null");
   }
 
   /**
@@ -58,14 +66,18 @@ public final class RaftMemberContext {
     snapshotIndex = 0;
     nextSnapshotIndex = 0;
     nextSnapshotOffset = 0;
+    closeSnapshotReader();
     matchIndex = 0;
     heartbeatTime = 0;
     heartbeatStartTime = 0;
+    leaseStartTime = Long.MIN_VALUE;
     appending = 0;
     timeStats.clear();
     configuring = false;
-    installing = false;
+    installing = 0;
     appendSucceeded = false;
+    appendEpoch++;
+    appendBatchSize = 0;
     failures = 0;
 
     switch (member.getType()) {
@@ -186,6 +198,38 @@ public final class RaftMemberContext {
     this.nextSnapshotOffset = nextSnapshotOffset;
   }
 
+  /**
+   * Returns the reader for the snapshot currently being sent to the member.
+   * <p>
+   * The reader is positioned at the start of the next chunk to be sent to the member.
+   *
+   * @return The member's snapshot reader or {@code null} if no snapshot is being sent to the member.
+   */
+  public SnapshotReader getSnapshotReader() {
+    return snapshotReader;
+  }
+
+  /**
+   * Sets the reader for the snapshot currently being sent to the member, closing any prior reader.
+   *
+   * @param snapshotReader The member's snapshot reader.
+   */
+  public void setSnapshotReader(SnapshotReader snapshotReader) {
+    closeSnapshotReader();
+    this.snapshotReader = snapshotReader;
+  }
+
+  /**
+   * Closes the reader for the snapshot currently being sent to the member.
+   */
+  public void closeSnapshotReader() {
+    SnapshotReader snapshotReader = this.snapshotReader;
+    if (snapshotReader != null) {
+      this.snapshotReader = null;
+      snapshotReader.close();
+    }
+  }
+
   /**
    * Returns the member's match index.
    *
@@ -205,13 +249,83 @@ public final class RaftMemberContext {
     this.matchIndex = matchIndex;
   }
 
+  /**
+   * Returns the member's append epoch.
+   * <p>
+   * The append epoch is incremented each time the member's next index is reset. Responses to append requests
+   * that were sent in a prior epoch were pipelined ahead of the reset and must not reset the next index again.
+   *
+   * @return The member's append epoch.
+   */
+  public long getAppendEpoch() {
+    return appendEpoch;
+  }
+
+  /**
+   * Increments the member's append epoch, invalidating all in-flight append requests.
+   */
+  public void incrementAppendEpoch() {
+    appendEpoch++;
+  }
+
+  /**
+   * Returns the number of append requests currently in flight to the member.
+   *
+   * @return The number of append requests currently in flight to the member.
+   */
+  public int getPendingAppends() {
+    return appending;
+  }
+
+  /**
+   * Returns the current effective append batch size for the member.
+   * <p>
+   * The batch size starts at 32KB, bounded by the configured minimum and maximum batch sizes, and is adapted
+   * to the round trip time of appends to the member by {@link #updateAppendBatchSize(long)}.
+   *
+   * @return The current append batch size in bytes.
+   */
+  public int getAppendBatchSize() {
+    int batchSize = appendBatchSize;
+    if (batchSize == 0) {
+      RaftContext raft = cluster.getContext();
+      batchSize = Math.max(raft.getMinAppendBatchSize(), Math.min(raft.getMaxAppendBatchSize(), INITIAL_APPEND_BATCH_SIZE));
+    }
+    return batchSize;
+  }
+
+  /**
+   * Adapts the append batch size to the round trip time of a successful append to the member.
+   * <p>
+   * Appends must complete well within the heartbeat interval to avoid delaying heartbeats to the member.
+   * If an append completes in less than a quarter of the heartbeat interval, the batch size is doubled.
+   * If an append takes longer than half the heartbeat interval, the batch size is halved.
+   *
+   * @param time The round trip time in milliseconds for the append.
+   */
+  public void updateAppendBatchSize(long time) {
+    RaftContext raft = cluster.getContext();
+    long targetTime = raft.getHeartbeatInterval().toMillis() / 2;
+    int batchSize = getAppendBatchSize();
+    if (time <= targetTime / 2) {
+      appendBatchSize = (int) Math.min((long) batchSize * 2, raft.getMaxAppendBatchSize());
+    } else if (time > targetTime) {
+      appendBatchSize = Math.max(batchSize / 2, raft.getMinAppendBatchSize());
+    }
+  }
+
   /**
    * Returns a boolean indicating whether an append request can be sent to the member.
+   * <p>
+   * Once the previous append to the member has succeeded, up to the configured maximum number of append
+   * requests may be pipelined to the member. Pipelined requests are spaced by a fraction of the mean
+   * append round trip time.
    *
    * @return Indicates whether an append request can be sent to the member.
    */
   public boolean canAppend() {
-    return appending == 0 || (appendSucceeded && appending < MAX_APPENDS && System.currentTimeMillis() - (timeStats.getMean() / MAX_APPENDS) >= appendTime);
+    int maxAppends = cluster.getContext().getMaxAppendsPerFollower();
+    return appending == 0 || (appendSucceeded && appending < maxAppends && System.currentTimeMillis() - (timeStats.getMean() / maxAppends) >= appendTime);
   }
 
   /**
@@ -300,21 +414,22 @@ public final class RaftMemberContext {
    * @return Indicates whether an install request can be sent to the member.
    */
   public boolean canInstall() {
-    return !installing;
+    return installing < cluster.getContext().getMaxInstallsPerFollower()
+        && (snapshotReader == null || snapshotReader.hasRemaining());
   }
 
   /**
    * Starts an install request to the member.
    */
   public void startInstall() {
-    installing = true;
+    installing++;
   }
 
   /**
    * Completes an install request to the member.
    */
   public void completeInstall() {
-    installing = false;
+    installing--;
   }
 
   /**
@@ -353,6 +468,28 @@ public final class RaftMemberContext {
     this.heartbeatStartTime = startTime;
   }
 
+  /**
+   * Returns the send time of the most recent append request the member accepted in the current term.
+   * <p>
+   * Because the member will not start an election until at least an election timeout after receiving the
+   * request, the send time is a conservative lower bound on the start of the leader's lease with the member.
+   * The time is read from the monotonic {@link System#nanoTime()} clock and converted to milliseconds.
+   *
+   * @return The member lease start time, or {@link Long#MIN_VALUE} if the member has not accepted a request.
+   */
+  public long getLeaseStartTime() {
+    return leaseStartTime;
+  }
+
+  /**
+   * Records the send time of an append request the member accepted in the current term.
+   *
+   * @param startTime The send time of the accepted append request.
+   */
+  public void setLeaseStartTime(long startTime) {
+    this.leaseStartTime = Math.max(this.leaseStartTime, startTime);
+  }
+
   /**
    * Returns the member failure count.
    *
@@ -381,6 +518,7 @@ public final class RaftMemberContext {
   @Override
   public String toString() {
     RaftLogReader reader = this.reader;
+    SnapshotReader snapshotReader = this.snapshotReader;
     return toStringHelper(this)
         .add("member", member.memberId())
         .add("term", term)
@@ -388,13 +526,17 @@ public final class RaftMemberContext {
         .add("snapshotIndex", snapshotIndex)
         .add("nextSnapshotIndex", nextSnapshotIndex)
         .add("nextSnapshotOffset", nextSnapshotOffset)
+        .add("snapshotPosition", snapshotReader != null ? snapshotReader.position() : 0)
         .add("matchIndex", matchIndex)
         .add("nextIndex", reader != null ? reader.getNextIndex() : matchIndex + 1)
         .add("heartbeatTime", heartbeatTime)
         .add("heartbeatStartTime", heartbeatStartTime)
+        .add("leaseStartTime", leaseStartTime)
         .add("appending", appending)
         .add("appendSucceeded", appendSucceeded)
         .add("appendTime", appendTime)
+        .add("appendEpoch", appendEpoch)
+        .add("appendBatchSize", appendBatchSize)
         .add("configuring", configuring)
         .add("installing", installing)
         .add("failures", failures)
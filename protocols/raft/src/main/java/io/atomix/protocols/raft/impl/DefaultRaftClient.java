@@ -133,7 +133,15 @@ public class DefaultRaftClient implements RaftClient {
       RaftProxyClient.Builder clientBuilder = new RaftProxyClient.Builder() {
         @Override
         public CompletableFuture<RaftProxyClient> buildAsync() {
-          return sessionManager.openSession(name, serviceType, readConsistency, communicationStrategy, timeout);
+          return sessionManager.openSession(
+              name,
+              serviceType,
+              readConsistency,
+              communicationStrategy,
+              timeout,
+              maxCommandBatchSize,
+              maxCommandBatchBytes,
+              commandBatchLinger);
         }
       };
 
@@ -145,7 +153,10 @@ public class DefaultRaftClient implements RaftClient {
           .withRetryDelay(retryDelay)
           .withCommunicationStrategy(communicationStrategy)
           .withRecoveryStrategy(recoveryStrategy)
-          .withTimeout(timeout);
+          .withTimeout(timeout)
+          .withMaxCommandBatchSize(maxCommandBatchSize)
+          .withMaxCommandBatchBytes(maxCommandBatchBytes)
+          .withCommandBatchLinger(commandBatchLinger);
 
       RaftProxyClient client;
 
@@ -19,6 +19,7 @@ import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.cluster.MemberId;
 import io.atomix.protocols.raft.cluster.RaftCluster;
 import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.impl.RaftMemberContext;
 import io.atomix.protocols.raft.service.RaftService;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.utils.concurrent.Futures;
@@ -29,12 +30,15 @@ import org.slf4j.Logger;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Provides a standalone implementation of the <a href="http://raft.github.io/">Raft consensus algorithm</a>.
@@ -73,6 +77,18 @@ public class DefaultRaftServer implements RaftServer {
     return context.getRole();
   }
 
+  @Override
+  public Map<MemberId, Integer> getAppendBatchSizes() {
+    if (context.getRole() != Role.LEADER) {
+      return Collections.emptyMap();
+    }
+    Map<MemberId, Integer> batchSizes = new HashMap<>();
+    for (RaftMemberContext member : context.getCluster().getRemoteMemberStates()) {
+      batchSizes.put(member.getMember().memberId(), member.getAppendBatchSize());
+    }
+    return batchSizes;
+  }
+
   @Override
   public void addRoleChangeListener(Consumer<Role> listener) {
     context.addRoleChangeListener(listener);
@@ -253,10 +269,20 @@ public class DefaultRaftServer implements RaftServer {
         storage = RaftStorage.newBuilder().build();
       }
 
-      RaftContext raft = new RaftContext(name, type, localMemberId, protocol, storage, serviceRegistry, threadPoolSize);
+      checkState(minAppendBatchSize <= maxAppendBatchSize, "minAppendBatchSize must be less than or equal to maxAppendBatchSize");
+
+      RaftContext raft = new RaftContext(name, type, localMemberId, protocol, storage, serviceRegistry, threadPoolSize, threadPool);
       raft.setElectionTimeout(electionTimeout);
+      raft.setMaxClockDrift(maxClockDrift);
       raft.setHeartbeatInterval(heartbeatInterval);
       raft.setSessionTimeout(sessionTimeout);
+      raft.setMaxAppendsPerFollower(maxAppendsPerFollower);
+      raft.setAppendBatchSize(minAppendBatchSize, maxAppendBatchSize);
+      raft.setMaxAppendBatchEntries(maxAppendBatchEntries);
+      raft.setSnapshotChunkSize(snapshotChunkSize);
+      raft.setMaxInstallsPerFollower(maxInstallsPerFollower);
+      raft.setSnapshotPolicy(snapshotPolicy);
+      raft.setSnapshotInterval(snapshotInterval);
 
       return new DefaultRaftServer(raft);
     }
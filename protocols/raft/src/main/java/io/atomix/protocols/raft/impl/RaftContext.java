@@ -36,18 +36,24 @@ import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
 import io.atomix.protocols.raft.storage.log.RaftLogWriter;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotPolicy;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
 import io.atomix.protocols.raft.storage.system.MetaStore;
 import io.atomix.utils.concurrent.Futures;
+import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.SingleThreadContext;
 import io.atomix.utils.concurrent.ThreadContext;
+import io.atomix.utils.concurrent.ThreadPoolContext;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
@@ -84,23 +90,54 @@ public class RaftContext implements AutoCloseable {
   private RaftLog raftLog;
   private RaftLogWriter logWriter;
   private RaftLogReader logReader;
+  private Scheduled flushTimer;
   private SnapshotStore snapshotStore;
   private RaftServiceManager stateMachine;
   protected final ScheduledExecutorService threadPool;
+  private final boolean sharedThreadPool;
   protected final ThreadContext stateContext;
   protected RaftRole role = new InactiveRole(this);
   private Duration electionTimeout = Duration.ofMillis(500);
+  private double maxClockDrift = 0.1;
   private Duration sessionTimeout = Duration.ofMillis(5000);
   private Duration heartbeatInterval = Duration.ofMillis(150);
+  private int maxAppendsPerFollower = 2;
+  private int minAppendBatchSize = RaftServer.Builder.DEFAULT_MIN_APPEND_BATCH_SIZE;
+  private int maxAppendBatchSize = RaftServer.Builder.DEFAULT_MAX_APPEND_BATCH_SIZE;
+  private int maxAppendBatchEntries = RaftServer.Builder.DEFAULT_MAX_APPEND_BATCH_ENTRIES;
+  private int snapshotChunkSize = 1024 * 1024;
+  private int maxInstallsPerFollower = 2;
+  private volatile SnapshotPolicy snapshotPolicy = SnapshotPolicy.segments();
+  private volatile Duration snapshotInterval = Duration.ofSeconds(10);
   private volatile MemberId leader;
   private volatile long term;
   private MemberId lastVotedFor;
   private long commitIndex;
   private volatile long firstCommitIndex;
   private volatile long lastApplied;
+  private final TreeMap<Long, CompletableFuture<Long>> appliedFutures = new TreeMap<>();
 
-  @SuppressWarnings("unchecked")
   public RaftContext(String name, RaftMember.Type type, MemberId localMemberId, RaftServerProtocol protocol, RaftStorage storage, RaftServiceRegistry registry, int threadPoolSize) {
+    this(name, type, localMemberId, protocol, storage, registry, threadPoolSize, null);
+  }
+
+  /**
+   * Creates a new Raft context.
+   * <p>
+   * If a shared thread pool is provided, the server's Raft, state machine and service contexts are multiplexed
+   * onto the shared pool rather than running on dedicated threads, and the pool is not shut down when the
+   * context is closed. This allows many Raft groups to be hosted on a fixed number of threads.
+   */
+  @SuppressWarnings("unchecked")
+  public RaftContext(
+      String name,
+      RaftMember.Type type,
+      MemberId localMemberId,
+      RaftServerProtocol protocol,
+      RaftStorage storage,
+      RaftServiceRegistry registry,
+      int threadPoolSize,
+      ScheduledExecutorService sharedThreadPool) {
     this.name = checkNotNull(name, "name cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
     this.storage = checkNotNull(storage, "storage cannot be null");
@@ -109,10 +146,18 @@ public class RaftContext implements AutoCloseable {
         .addValue(name)
         .build());
 
-    String baseThreadName = String.format("raft-server-%s", name);
-    this.threadContext = new SingleThreadContext(namedThreads(baseThreadName, log));
-    this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
-    this.threadPool = Executors.newScheduledThreadPool(threadPoolSize, namedThreads(baseThreadName + "-%d", log));
+    if (sharedThreadPool != null) {
+      this.threadContext = new ThreadPoolContext(sharedThreadPool);
+      this.stateContext = new ThreadPoolContext(sharedThreadPool);
+      this.threadPool = sharedThreadPool;
+      this.sharedThreadPool = true;
+    } else {
+      String baseThreadName = String.format("raft-server-%s", name);
+      this.threadContext = new SingleThreadContext(namedThreads(baseThreadName, log));
+      this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
+      this.threadPool = Executors.newScheduledThreadPool(threadPoolSize, namedThreads(baseThreadName + "-%d", log));
+      this.sharedThreadPool = false;
+    }
 
     // Open the metadata store.
     this.meta = storage.openMetaStore();
@@ -267,6 +312,28 @@ public class RaftContext implements AutoCloseable {
     return electionTimeout;
   }
 
+  /**
+   * Sets the maximum clock drift rate between servers.
+   * <p>
+   * The clock drift bounds the duration of leader leases, which are shortened by the given fraction of the
+   * election timeout to account for clocks that run at different rates on different servers.
+   *
+   * @param maxClockDrift The maximum clock drift rate as a fraction in the range [0, 1).
+   */
+  public void setMaxClockDrift(double maxClockDrift) {
+    checkArgument(maxClockDrift >= 0 && maxClockDrift < 1, "maxClockDrift must be in the range [0, 1)");
+    this.maxClockDrift = maxClockDrift;
+  }
+
+  /**
+   * Returns the maximum clock drift rate between servers.
+   *
+   * @return The maximum clock drift rate as a fraction in the range [0, 1).
+   */
+  public double getMaxClockDrift() {
+    return maxClockDrift;
+  }
+
   /**
    * Sets the heartbeat interval.
    *
@@ -285,6 +352,151 @@ public class RaftContext implements AutoCloseable {
     return heartbeatInterval;
   }
 
+  /**
+   * Sets the maximum number of append requests that may be in flight to a single follower.
+   *
+   * @param maxAppendsPerFollower The maximum number of in-flight append requests per follower.
+   */
+  public void setMaxAppendsPerFollower(int maxAppendsPerFollower) {
+    checkArgument(maxAppendsPerFollower > 0, "maxAppendsPerFollower must be positive");
+    this.maxAppendsPerFollower = maxAppendsPerFollower;
+  }
+
+  /**
+   * Returns the maximum number of append requests that may be in flight to a single follower.
+   *
+   * @return The maximum number of in-flight append requests per follower.
+   */
+  public int getMaxAppendsPerFollower() {
+    return maxAppendsPerFollower;
+  }
+
+  /**
+   * Sets the minimum and maximum size in bytes of append request batches.
+   *
+   * @param minAppendBatchSize The minimum append batch size in bytes.
+   * @param maxAppendBatchSize The maximum append batch size in bytes.
+   */
+  public void setAppendBatchSize(int minAppendBatchSize, int maxAppendBatchSize) {
+    checkArgument(minAppendBatchSize > 0, "minAppendBatchSize must be positive");
+    checkArgument(maxAppendBatchSize >= minAppendBatchSize, "maxAppendBatchSize must be greater than or equal to minAppendBatchSize");
+    this.minAppendBatchSize = minAppendBatchSize;
+    this.maxAppendBatchSize = maxAppendBatchSize;
+  }
+
+  /**
+   * Returns the minimum size in bytes of append request batches.
+   *
+   * @return The minimum append batch size in bytes.
+   */
+  public int getMinAppendBatchSize() {
+    return minAppendBatchSize;
+  }
+
+  /**
+   * Returns the maximum size in bytes of append request batches.
+   *
+   * @return The maximum append batch size in bytes.
+   */
+  public int getMaxAppendBatchSize() {
+    return maxAppendBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of entries in an append request batch.
+   *
+   * @param maxAppendBatchEntries The maximum number of entries in an append request batch.
+   */
+  public void setMaxAppendBatchEntries(int maxAppendBatchEntries) {
+    checkArgument(maxAppendBatchEntries > 0, "maxAppendBatchEntries must be positive");
+    this.maxAppendBatchEntries = maxAppendBatchEntries;
+  }
+
+  /**
+   * Returns the maximum number of entries in an append request batch.
+   *
+   * @return The maximum number of entries in an append request batch.
+   */
+  public int getMaxAppendBatchEntries() {
+    return maxAppendBatchEntries;
+  }
+
+  /**
+   * Sets the maximum size in bytes of snapshot chunks sent in install requests.
+   *
+   * @param snapshotChunkSize The maximum snapshot chunk size in bytes.
+   */
+  public void setSnapshotChunkSize(int snapshotChunkSize) {
+    checkArgument(snapshotChunkSize > 0, "snapshotChunkSize must be positive");
+    this.snapshotChunkSize = snapshotChunkSize;
+  }
+
+  /**
+   * Returns the maximum size in bytes of snapshot chunks sent in install requests.
+   *
+   * @return The maximum snapshot chunk size in bytes.
+   */
+  public int getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  /**
+   * Sets the maximum number of install requests that may be in flight to a single follower.
+   *
+   * @param maxInstallsPerFollower The maximum number of in-flight install requests per follower.
+   */
+  public void setMaxInstallsPerFollower(int maxInstallsPerFollower) {
+    checkArgument(maxInstallsPerFollower > 0, "maxInstallsPerFollower must be positive");
+    this.maxInstallsPerFollower = maxInstallsPerFollower;
+  }
+
+  /**
+   * Returns the maximum number of install requests that may be in flight to a single follower.
+   *
+   * @return The maximum number of in-flight install requests per follower.
+   */
+  public int getMaxInstallsPerFollower() {
+    return maxInstallsPerFollower;
+  }
+
+  /**
+   * Sets the policy that determines when to snapshot services and compact the log.
+   *
+   * @param snapshotPolicy The snapshot policy.
+   */
+  public void setSnapshotPolicy(SnapshotPolicy snapshotPolicy) {
+    this.snapshotPolicy = checkNotNull(snapshotPolicy, "snapshotPolicy cannot be null");
+  }
+
+  /**
+   * Returns the policy that determines when to snapshot services and compact the log.
+   *
+   * @return The snapshot policy.
+   */
+  public SnapshotPolicy getSnapshotPolicy() {
+    return snapshotPolicy;
+  }
+
+  /**
+   * Sets the interval at which the snapshot policy is evaluated.
+   *
+   * @param snapshotInterval The interval at which the snapshot policy is evaluated.
+   */
+  public void setSnapshotInterval(Duration snapshotInterval) {
+    checkNotNull(snapshotInterval, "snapshotInterval cannot be null");
+    checkArgument(!snapshotInterval.isNegative() && !snapshotInterval.isZero(), "snapshotInterval must be positive");
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  /**
+   * Returns the interval at which the snapshot policy is evaluated.
+   *
+   * @return The interval at which the snapshot policy is evaluated.
+   */
+  public Duration getSnapshotInterval() {
+    return snapshotInterval;
+  }
+
   /**
    * Returns the session timeout.
    *
@@ -429,6 +641,7 @@ public class RaftContext implements AutoCloseable {
     if (commitIndex > previousCommitIndex) {
       this.commitIndex = commitIndex;
       logWriter.commit(Math.min(commitIndex, logWriter.getLastIndex()));
+      scheduleFlush();
       long configurationIndex = cluster.getConfiguration().index();
       if (configurationIndex > previousCommitIndex && configurationIndex <= commitIndex) {
         cluster.commit();
@@ -440,6 +653,18 @@ public class RaftContext implements AutoCloseable {
     }
   }
 
+  /**
+   * Schedules a group commit flush of the log if committed entries have not yet been flushed.
+   */
+  private void scheduleFlush() {
+    if (flushTimer == null && logWriter.isFlushPending()) {
+      flushTimer = threadContext.schedule(raftLog.getMaxFlushDelay(), () -> {
+        flushTimer = null;
+        logWriter.flush();
+      });
+    }
+  }
+
   /**
    * Returns the commit index.
    *
@@ -456,6 +681,7 @@ public class RaftContext implements AutoCloseable {
    */
   public void setLastApplied(long lastApplied) {
     this.lastApplied = Math.max(this.lastApplied, lastApplied);
+    completeAppliedFutures(this.lastApplied);
     if (state == State.ACTIVE) {
       threadContext.execute(() -> {
         if (state == State.ACTIVE && this.lastApplied >= firstCommitIndex) {
@@ -475,6 +701,38 @@ public class RaftContext implements AutoCloseable {
     return lastApplied;
   }
 
+  /**
+   * Returns a future to be completed once the state machine has applied entries up to the given index.
+   * <p>
+   * The returned future is completed on the server thread with the last applied index at the time the
+   * given index was reached. If the given index has already been applied, a completed future is returned.
+   *
+   * @param index the index to await
+   * @return a future to be completed once the given index has been applied
+   */
+  public CompletableFuture<Long> awaitApplied(long index) {
+    checkThread();
+    if (index <= lastApplied) {
+      return CompletableFuture.completedFuture(lastApplied);
+    }
+    return appliedFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+  }
+
+  /**
+   * Completes futures awaiting the application of indexes up to the given index.
+   */
+  private void completeAppliedFutures(long index) {
+    if (appliedFutures.isEmpty()) {
+      return;
+    }
+    Iterator<Map.Entry<Long, CompletableFuture<Long>>> iterator = appliedFutures.headMap(index, true).entrySet().iterator();
+    while (iterator.hasNext()) {
+      CompletableFuture<Long> future = iterator.next().getValue();
+      iterator.remove();
+      future.complete(index);
+    }
+  }
+
   /**
    * Returns the server state machine.
    *
@@ -607,6 +865,7 @@ public class RaftContext implements AutoCloseable {
     protocol.registerTransferHandler(request -> runOnContext(() -> role.onTransfer(request)));
     protocol.registerAppendHandler(request -> runOnContext(() -> role.onAppend(request)));
     protocol.registerPollHandler(request -> runOnContext(() -> role.onPoll(request)));
+    protocol.registerReadIndexHandler(request -> runOnContext(() -> role.onReadIndex(request)));
     protocol.registerVoteHandler(request -> runOnContext(() -> role.onVote(request)));
     protocol.registerCommandHandler(request -> runOnContext(() -> role.onCommand(request)));
     protocol.registerQueryHandler(request -> runOnContext(() -> role.onQuery(request)));
@@ -641,6 +900,7 @@ public class RaftContext implements AutoCloseable {
     protocol.unregisterLeaveHandler();
     protocol.unregisterAppendHandler();
     protocol.unregisterPollHandler();
+    protocol.unregisterReadIndexHandler();
     protocol.unregisterVoteHandler();
     protocol.unregisterCommandHandler();
     protocol.unregisterQueryHandler();
@@ -779,8 +1039,24 @@ public class RaftContext implements AutoCloseable {
     // Unregister protocol listeners.
     unregisterHandlers(protocol);
 
+    // Close the state machine and thread contexts before the storage so that scheduled tasks don't access
+    // closed storage. A shared thread pool continues running, so its contexts must cancel the server's tasks.
+    stateMachine.close();
+    threadContext.close();
+    stateContext.close();
+
+    // Cancel the pending group commit flush so that it can't run against the closed log, and flush any
+    // committed entries that were awaiting it.
+    if (flushTimer != null) {
+      flushTimer.cancel();
+      flushTimer = null;
+    }
+
     // Close the log.
     try {
+      if (logWriter.isFlushPending()) {
+        logWriter.flush();
+      }
       raftLog.close();
     } catch (Exception e) {
     }
@@ -797,15 +1073,13 @@ public class RaftContext implements AutoCloseable {
     } catch (Exception e) {
     }
 
-    // Close the state machine and thread context.
-    stateMachine.close();
-    threadContext.close();
-    stateContext.close();
-    threadPool.shutdownNow();
-
-    try {
-      threadPool.awaitTermination(10, TimeUnit.SECONDS);
-    } catch (InterruptedException e) {
+    // The shared thread pool is owned by the group hosting the server.
+    if (!sharedThreadPool) {
+      threadPool.shutdownNow();
+      try {
+        threadPool.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+      }
     }
   }
 
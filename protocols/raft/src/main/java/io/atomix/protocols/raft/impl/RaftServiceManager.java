@@ -40,6 +40,7 @@ import io.atomix.protocols.raft.storage.log.entry.OpenSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotPolicy;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.concurrent.Futures;
@@ -48,6 +49,7 @@ import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -60,6 +62,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -69,7 +72,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * and keeps track of internal state like sessions and the various indexes relevant to log compaction.
  */
 public class RaftServiceManager implements AutoCloseable {
-  private static final Duration COMPACT_INTERVAL = Duration.ofSeconds(10);
+  private static final int MAX_IDLE_BACKOFF = 8;
 
   private final Logger logger;
   private final RaftContext raft;
@@ -80,7 +83,15 @@ public class RaftServiceManager implements AutoCloseable {
   private final RaftSessionManager sessionManager = new RaftSessionManager();
   private final Map<String, DefaultServiceContext> services = new HashMap<>();
   private long lastPrepared;
-  private long lastCompacted;
+  private volatile long lastCompacted;
+  private volatile long lastSnapshotTime = System.currentTimeMillis();
+  private long logSizeAfterCompaction;
+  private long lastCheckedIndex;
+  private int idleBackoff = 1;
+  private volatile long snapshotCount;
+  private volatile long lastSnapshotDuration;
+  private volatile long maxSnapshotDuration;
+  private volatile long totalSnapshotDuration;
 
   public RaftServiceManager(RaftContext raft, ScheduledExecutorService threadPool, ThreadContext threadContext) {
     this.raft = checkNotNull(raft, "state cannot be null");
@@ -531,50 +542,77 @@ public class RaftServiceManager implements AutoCloseable {
   }
 
   /**
-   * Schedules a snapshot iteration.
+   * Schedules the next evaluation of the snapshot policy.
    */
   private void scheduleSnapshots() {
-    threadContext.schedule(COMPACT_INTERVAL, this::snapshotServices);
+    scheduleSnapshots(raft.getSnapshotInterval());
+  }
+
+  /**
+   * Schedules the next evaluation of the snapshot policy after the given delay.
+   */
+  private void scheduleSnapshots(Duration delay) {
+    threadContext.schedule(delay, this::snapshotServices);
   }
 
   /**
    * Schedules a log compaction.
+   * <p>
+   * The log is compacted after the snapshot interval or after the time it took to take the last snapshot,
+   * whichever is greater. This bounds the fraction of time spent snapshotting when services are under load.
    */
-  private void scheduleCompaction(long lastApplied) {
-    logger.trace("Scheduling compaction in {}", COMPACT_INTERVAL);
-    threadContext.schedule(COMPACT_INTERVAL, () -> compactLogs(lastApplied));
+  private void scheduleCompaction(long lastApplied, long snapshotDuration) {
+    Duration delay = raft.getSnapshotInterval();
+    if (snapshotDuration > delay.toMillis()) {
+      delay = Duration.ofMillis(snapshotDuration);
+    }
+    logger.trace("Scheduling compaction in {}", delay);
+    threadContext.schedule(delay, () -> compactLogs(lastApplied));
   }
 
   /**
-   * Compacts the log if necessary.
+   * Snapshots services and compacts the log if required by the snapshot policy.
    */
   @SuppressWarnings("unchecked")
   private void snapshotServices() {
     long lastApplied = raft.getLastApplied();
 
-    // Only take snapshots if segments can be removed from the log below the lastApplied index.
-    if (raft.getLog().isCompactable(lastApplied) && raft.getLog().getCompactableIndex(lastApplied) > lastCompacted) {
+    // Only take snapshots if the snapshot policy indicates one is needed.
+    if (raft.getSnapshotPolicy().shouldSnapshot(new SnapshotContext(lastApplied))) {
       logger.debug("Snapshotting services");
 
       // Update the index at which the log was last compacted.
       this.lastCompacted = lastApplied;
+      this.lastCheckedIndex = lastApplied;
+      this.idleBackoff = 1;
+
+      long startTime = System.currentTimeMillis();
+      this.lastSnapshotTime = startTime;
 
       // Copy the set of services.
       List<DefaultServiceContext> services = new ArrayList<>(this.services.values());
 
-      // Iterate through services and take snapshots, gathering a collection of snapshot completion futures.
+      // Take snapshots of all services concurrently, gathering a collection of snapshot completion futures.
+      // Each service is snapshotted on its own executor, so snapshots don't block the state machine thread.
       List<CompletableFuture<Void>> futures = services.stream()
-          .map(context -> {
-            long snapshotIndex = context.takeSnapshot().join();
-            return context.completeSnapshot(snapshotIndex);
-          })
+          .map(context -> context.takeSnapshot().thenCompose(context::completeSnapshot))
           .collect(Collectors.toList());
 
       // Wait for snapshots in all state machines to be completed before compacting the log at the last applied index.
       CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
-          .whenComplete((result, error) -> scheduleCompaction(lastApplied));
+          .whenCompleteAsync((result, error) -> {
+            long snapshotDuration = System.currentTimeMillis() - startTime;
+            snapshotCount++;
+            lastSnapshotDuration = snapshotDuration;
+            maxSnapshotDuration = Math.max(maxSnapshotDuration, snapshotDuration);
+            totalSnapshotDuration += snapshotDuration;
+            scheduleCompaction(lastApplied, snapshotDuration);
+          }, threadContext);
     } else {
-      scheduleSnapshots();
+      // Back off while no entries are being applied to avoid needless wakeups for idle services.
+      idleBackoff = lastApplied == lastCheckedIndex ? Math.min(idleBackoff * 2, MAX_IDLE_BACKOFF) : 1;
+      lastCheckedIndex = lastApplied;
+      scheduleSnapshots(raft.getSnapshotInterval().multipliedBy(idleBackoff));
     }
   }
 
@@ -590,13 +628,130 @@ public class RaftServiceManager implements AutoCloseable {
     } catch (Exception e) {
       logger.error("An exception occurred during log compaction: {}", e);
     } finally {
+      logSizeAfterCompaction = log.size();
+
       // Immediately attempt to take new snapshots since compaction is already run after a time interval.
       snapshotServices();
     }
   }
 
+  /**
+   * Returns the size of the log in bytes.
+   *
+   * @return the size of the log in bytes
+   */
+  public long getLogSize() {
+    return log.size();
+  }
+
+  /**
+   * Returns the index at which services were last snapshotted.
+   *
+   * @return the index at which services were last snapshotted
+   */
+  public long getLastSnapshotIndex() {
+    return lastCompacted;
+  }
+
+  /**
+   * Returns the number of entries applied since services were last snapshotted.
+   *
+   * @return the number of entries applied since services were last snapshotted
+   */
+  public long getCompactionLag() {
+    return Math.max(raft.getLastApplied() - lastCompacted, 0);
+  }
+
+  /**
+   * Returns the number of snapshots taken.
+   *
+   * @return the number of snapshots taken
+   */
+  public long getSnapshotCount() {
+    return snapshotCount;
+  }
+
+  /**
+   * Returns the time in milliseconds it took to snapshot services the last time they were snapshotted.
+   *
+   * @return the last snapshot duration in milliseconds
+   */
+  public long getLastSnapshotDuration() {
+    return lastSnapshotDuration;
+  }
+
+  /**
+   * Returns the maximum time in milliseconds it took to snapshot services.
+   *
+   * @return the maximum snapshot duration in milliseconds
+   */
+  public long getMaxSnapshotDuration() {
+    return maxSnapshotDuration;
+  }
+
+  /**
+   * Returns the average time in milliseconds it took to snapshot services.
+   *
+   * @return the average snapshot duration in milliseconds
+   */
+  public double getAverageSnapshotDuration() {
+    long count = snapshotCount;
+    return count > 0 ? totalSnapshotDuration / (double) count : 0;
+  }
+
   @Override
   public void close() {
     // Don't close the thread context here since state machines can be reused.
   }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("logSize", getLogSize())
+        .add("lastSnapshotIndex", lastCompacted)
+        .add("compactionLag", getCompactionLag())
+        .add("snapshotCount", snapshotCount)
+        .add("lastSnapshotDuration", lastSnapshotDuration)
+        .add("maxSnapshotDuration", maxSnapshotDuration)
+        .add("averageSnapshotDuration", getAverageSnapshotDuration())
+        .toString();
+  }
+
+  /**
+   * Snapshot policy context for the current state of the log.
+   */
+  private class SnapshotContext implements SnapshotPolicy.Context {
+    private final long lastApplied;
+
+    SnapshotContext(long lastApplied) {
+      this.lastApplied = lastApplied;
+    }
+
+    @Override
+    public boolean isCompactable() {
+      return log.isCompactable(lastApplied) && log.getCompactableIndex(lastApplied) > lastCompacted;
+    }
+
+    @Override
+    public long entriesSinceSnapshot() {
+      return Math.max(lastApplied - lastCompacted, 0);
+    }
+
+    @Override
+    public long bytesSinceSnapshot() {
+      return Math.max(log.size() - logSizeAfterCompaction, 0);
+    }
+
+    @Override
+    public Duration timeSinceSnapshot() {
+      return Duration.ofMillis(System.currentTimeMillis() - lastSnapshotTime);
+    }
+
+    @Override
+    public double diskUsage() {
+      File directory = raft.getStorage().directory();
+      long totalSpace = directory.getTotalSpace();
+      return totalSpace > 0 ? 1 - directory.getUsableSpace() / (double) totalSpace : 0;
+    }
+  }
 }
@@ -24,6 +24,13 @@ import io.atomix.utils.Identifier;
 public interface OperationId extends Identifier<String> {
   OperationId NOOP = new DefaultOperationId(OperationType.COMMAND);
 
+  /**
+   * Identifier of the command with which clients submit batches of commands.
+   *
+   * @see io.atomix.protocols.raft.operation.impl.OperationBatch
+   */
+  OperationId BATCH = new DefaultOperationId("__batch", OperationType.COMMAND);
+
   /**
    * Returns a new command operation identifier.
    *
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.operation.impl;
+
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.impl.OperationResult;
+import io.atomix.protocols.raft.operation.OperationId;
+import io.atomix.protocols.raft.operation.OperationType;
+import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.HeapBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec for batches of commands.
+ * <p>
+ * A batch of commands is submitted to the cluster as a single {@link OperationId#BATCH} command. The batch
+ * command occupies a single session sequence number and a single log entry, and the operations within the
+ * batch are applied to the state machine in the order in which they were submitted by the client. The result
+ * of the batch command is the list of individual operation results in the same order.
+ */
+public final class OperationBatch {
+
+  /**
+   * Encodes a list of operations as the value of a batch command.
+   *
+   * @param operations the operations to encode
+   * @return the encoded operations
+   */
+  public static byte[] encodeOperations(List<RaftOperation> operations) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeInt(operations.size());
+    for (RaftOperation operation : operations) {
+      buffer.writeString(operation.id().id());
+      buffer.writeByte(operation.id().type().ordinal());
+      writeBytes(buffer, operation.value());
+    }
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes the operations in a batch command.
+   *
+   * @param bytes the batch command value
+   * @return the operations in the batch
+   */
+  public static List<RaftOperation> decodeOperations(byte[] bytes) {
+    Buffer buffer = HeapBuffer.wrap(bytes);
+    int size = buffer.readInt();
+    List<RaftOperation> operations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      String id = buffer.readString();
+      OperationType type = OperationType.values()[buffer.readByte()];
+      OperationId operationId = id != null ? OperationId.from(id, type) : OperationId.NOOP;
+      operations.add(new RaftOperation(operationId, readBytes(buffer)));
+    }
+    return operations;
+  }
+
+  /**
+   * Encodes the results of the operations in a batch.
+   *
+   * @param results the operation results
+   * @return the encoded results
+   */
+  public static byte[] encodeResults(List<OperationResult> results) {
+    Buffer buffer = HeapBuffer.allocate();
+    buffer.writeInt(results.size());
+    for (OperationResult result : results) {
+      buffer.writeLong(result.index());
+      buffer.writeLong(result.eventIndex());
+      if (result.succeeded()) {
+        buffer.writeBoolean(true);
+        writeBytes(buffer, result.result());
+      } else {
+        RaftError.Type type = result.error() instanceof RaftException
+            ? ((RaftException) result.error()).getType()
+            : RaftError.Type.APPLICATION_ERROR;
+        buffer.writeBoolean(false);
+        buffer.writeByte(type.ordinal());
+        buffer.writeString(result.error().getMessage());
+      }
+    }
+    return toBytes(buffer);
+  }
+
+  /**
+   * Decodes the results of the operations in a batch.
+   * <p>
+   * Failed operations are decoded as results with the {@link RaftException} for the error type and message
+   * with which the operation failed.
+   *
+   * @param bytes the batch command result
+   * @return the operation results
+   */
+  public static List<OperationResult> decodeResults(byte[] bytes) {
+    Buffer buffer = HeapBuffer.wrap(bytes);
+    int size = buffer.readInt();
+    List<OperationResult> results = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      long index = buffer.readLong();
+      long eventIndex = buffer.readLong();
+      if (buffer.readBoolean()) {
+        results.add(OperationResult.succeeded(index, eventIndex, readBytes(buffer)));
+      } else {
+        RaftError.Type type = RaftError.Type.values()[buffer.readByte()];
+        RaftError error = new RaftError(type, buffer.readString());
+        results.add(OperationResult.failed(index, eventIndex, error.createException()));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Writes a nullable byte array to the given buffer.
+   */
+  private static void writeBytes(Buffer buffer, byte[] bytes) {
+    if (bytes == null) {
+      buffer.writeInt(-1);
+    } else {
+      buffer.writeInt(bytes.length);
+      buffer.write(bytes);
+    }
+  }
+
+  /**
+   * Reads a nullable byte array from the given buffer.
+   */
+  private static byte[] readBytes(Buffer buffer) {
+    int length = buffer.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.read(bytes);
+    return bytes;
+  }
+
+  /**
+   * Returns the bytes written to the given buffer.
+   */
+  private static byte[] toBytes(Buffer buffer) {
+    buffer.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.read(bytes);
+    buffer.release();
+    return bytes;
+  }
+
+  private OperationBatch() {
+  }
+}
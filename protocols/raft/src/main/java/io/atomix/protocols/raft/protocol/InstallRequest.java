@@ -34,6 +34,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * the follower, the snapshot is reconstructed based on the provided {@link #chunkOffset()} and other
  * metadata. The last install request will be sent with {@link #complete()} being {@code true} to
  * indicate that all chunks of the snapshot have been sent.
+ * <p>
+ * If the leader's latest snapshot of a service is a {@link #baseIndex() delta} of a prior snapshot, the
+ * leader sends each snapshot in the service's snapshot chain in order, beginning with the full snapshot.
+ * The last chunk of the last snapshot in the chain will be sent with {@link #chainComplete()} being
+ * {@code true} to indicate that the chain can be committed by the follower.
  */
 public class InstallRequest extends AbstractRaftRequest {
 
@@ -51,19 +56,23 @@ public class InstallRequest extends AbstractRaftRequest {
   private final long id;
   private final long index;
   private final long timestamp;
+  private final long baseIndex;
   private final int offset;
   private final byte[] data;
   private final boolean complete;
+  private final boolean chainComplete;
 
-  public InstallRequest(long term, MemberId leader, long id, long index, long timestamp, int offset, byte[] data, boolean complete) {
+  public InstallRequest(long term, MemberId leader, long id, long index, long timestamp, long baseIndex, int offset, byte[] data, boolean complete, boolean chainComplete) {
     this.term = term;
     this.leader = leader;
     this.id = id;
     this.index = index;
     this.timestamp = timestamp;
+    this.baseIndex = baseIndex;
     this.offset = offset;
     this.data = data;
     this.complete = complete;
+    this.chainComplete = chainComplete;
   }
 
   /**
@@ -111,6 +120,15 @@ public class InstallRequest extends AbstractRaftRequest {
     return timestamp;
   }
 
+  /**
+   * Returns the index of the snapshot on which the snapshot is based.
+   *
+   * @return The snapshot base index, or {@code 0} if the snapshot is a full snapshot.
+   */
+  public long snapshotBaseIndex() {
+    return baseIndex;
+  }
+
   /**
    * Returns the offset of the snapshot chunk.
    *
@@ -138,9 +156,18 @@ public class InstallRequest extends AbstractRaftRequest {
     return complete;
   }
 
+  /**
+   * Returns a boolean value indicating whether this is the last chunk of the snapshot chain.
+   *
+   * @return Indicates whether this request is the last chunk of the last snapshot in the snapshot chain.
+   */
+  public boolean chainComplete() {
+    return chainComplete;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), term, leader, id, index, offset, complete, data);
+    return Objects.hash(getClass(), term, leader, id, index, baseIndex, offset, complete, chainComplete, data);
   }
 
   @Override
@@ -151,8 +178,10 @@ public class InstallRequest extends AbstractRaftRequest {
           && request.leader == leader
           && request.id == id
           && request.index == index
+          && request.baseIndex == baseIndex
           && request.offset == offset
           && request.complete == complete
+          && request.chainComplete == chainComplete
           && Arrays.equals(request.data, data);
     }
     return false;
@@ -165,9 +194,11 @@ public class InstallRequest extends AbstractRaftRequest {
         .add("leader", leader)
         .add("id", id)
         .add("index", index)
+        .add("baseIndex", baseIndex)
         .add("offset", offset)
         .add("data", ArraySizeHashPrinter.of(data))
         .add("complete", complete)
+        .add("chainComplete", chainComplete)
         .toString();
   }
 
@@ -180,9 +211,11 @@ public class InstallRequest extends AbstractRaftRequest {
     private long id;
     private long index;
     private long timestamp;
+    private long baseIndex;
     private int offset;
     private byte[] data;
     private boolean complete;
+    private boolean chainComplete = true;
 
     /**
      * Sets the request term.
@@ -245,6 +278,18 @@ public class InstallRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets the request snapshot base index.
+     *
+     * @param baseIndex The index of the snapshot on which the snapshot is based, or {@code 0} for a full snapshot.
+     * @return The request builder.
+     */
+    public Builder withBaseIndex(long baseIndex) {
+      checkArgument(baseIndex >= 0, "baseIndex must be positive");
+      this.baseIndex = baseIndex;
+      return this;
+    }
+
     /**
      * Sets the request offset.
      *
@@ -280,6 +325,19 @@ public class InstallRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets whether the request completes the snapshot chain.
+     * <p>
+     * Defaults to {@code true}, indicating the snapshot is the last snapshot in the chain.
+     *
+     * @param chainComplete Whether the snapshot chain is complete.
+     * @return The request builder.
+     */
+    public Builder withChainComplete(boolean chainComplete) {
+      this.chainComplete = chainComplete;
+      return this;
+    }
+
     @Override
     protected void validate() {
       super.validate();
@@ -297,7 +355,7 @@ public class InstallRequest extends AbstractRaftRequest {
     @Override
     public InstallRequest build() {
       validate();
-      return new InstallRequest(term, leader, id, index, timestamp, offset, data, complete);
+      return new InstallRequest(term, leader, id, index, timestamp, baseIndex, offset, data, complete, chainComplete);
     }
   }
 
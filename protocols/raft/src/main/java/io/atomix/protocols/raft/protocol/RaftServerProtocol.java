@@ -145,6 +145,15 @@ public interface RaftServerProtocol {
    */
   CompletableFuture<PollResponse> poll(MemberId memberId, PollRequest request);
 
+  /**
+   * Sends a read index request to the given node.
+   *
+   * @param memberId  the node to which to send the request
+   * @param request the request to send
+   * @return a future to be completed with the response
+   */
+  CompletableFuture<ReadIndexResponse> readIndex(MemberId memberId, ReadIndexRequest request);
+
   /**
    * Sends a vote request to the given node.
    *
@@ -327,6 +336,18 @@ public interface RaftServerProtocol {
    */
   void unregisterPollHandler();
 
+  /**
+   * Registers a read index request callback.
+   *
+   * @param handler the read index request handler to register
+   */
+  void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler);
+
+  /**
+   * Unregisters the read index request handler.
+   */
+  void unregisterReadIndexHandler();
+
   /**
    * Registers a vote request callback.
    *
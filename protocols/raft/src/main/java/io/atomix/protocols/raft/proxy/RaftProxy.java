@@ -197,6 +197,9 @@ public interface RaftProxy extends RaftProxyExecutor, Managed<RaftProxy> {
     protected CommunicationStrategy communicationStrategy = CommunicationStrategy.LEADER;
     protected RecoveryStrategy recoveryStrategy = RecoveryStrategy.RECOVER;
     protected Duration timeout = Duration.ofMillis(0);
+    protected int maxCommandBatchSize = 1;
+    protected int maxCommandBatchBytes = 1024 * 1024;
+    protected Duration commandBatchLinger = Duration.ZERO;
 
     /**
      * Sets the session name.
@@ -336,6 +339,61 @@ public interface RaftProxy extends RaftProxyExecutor, Managed<RaftProxy> {
       return this;
     }
 
+    /**
+     * Sets the maximum number of commands to submit to the cluster in a single batch.
+     * <p>
+     * Command batching is disabled by default. When the maximum batch size is greater than {@code 1}, commands
+     * submitted concurrently by the proxy are coalesced into a single request and log entry. Batches are
+     * sequenced as a single command, and the commands within a batch are applied in the order in which
+     * they were submitted.
+     * <p>
+     * Because a batch is written to the Raft log as a single entry, all the commands in a batch share the
+     * index of that entry. Services applying batched commands will see the same {@link
+     * io.atomix.protocols.raft.service.Commit#index() commit index} and {@link
+     * io.atomix.protocols.raft.service.ServiceContext#currentIndex() current index} for each command in the
+     * batch. Services that rely on the commit index being unique per command should not be used with batching.
+     *
+     * @param maxCommandBatchSize the maximum number of commands per batch
+     * @return the proxy builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxCommandBatchSize(int maxCommandBatchSize) {
+      checkArgument(maxCommandBatchSize > 0, "maxCommandBatchSize must be positive");
+      this.maxCommandBatchSize = maxCommandBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of command bytes to submit to the cluster in a single batch.
+     *
+     * @param maxCommandBatchBytes the maximum number of command bytes per batch
+     * @return the proxy builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxCommandBatchBytes(int maxCommandBatchBytes) {
+      checkArgument(maxCommandBatchBytes > 0, "maxCommandBatchBytes must be positive");
+      this.maxCommandBatchBytes = maxCommandBatchBytes;
+      return this;
+    }
+
+    /**
+     * Sets the time for which to wait for additional commands before submitting a batch.
+     * <p>
+     * By default, batches are submitted as soon as the proxy's thread is free, so only commands submitted
+     * concurrently are coalesced. A positive linger time trades command latency for larger batches.
+     *
+     * @param commandBatchLinger the time for which to wait for additional commands before submitting a batch
+     * @return the proxy builder
+     * @throws NullPointerException if the linger time is null
+     * @throws IllegalArgumentException if the linger time is negative
+     */
+    public Builder withCommandBatchLinger(Duration commandBatchLinger) {
+      checkArgument(!checkNotNull(commandBatchLinger, "commandBatchLinger cannot be null").isNegative(),
+          "commandBatchLinger cannot be negative");
+      this.commandBatchLinger = commandBatchLinger;
+      return this;
+    }
+
     /**
      * Sets the executor with which to complete proxy futures.
      *
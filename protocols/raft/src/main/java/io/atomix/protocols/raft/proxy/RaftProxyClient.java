@@ -47,6 +47,9 @@ public interface RaftProxyClient extends RaftProxyExecutor, Managed<RaftProxyCli
     protected CommunicationStrategy communicationStrategy = CommunicationStrategy.LEADER;
     protected RecoveryStrategy recoveryStrategy = RecoveryStrategy.RECOVER;
     protected Duration timeout = Duration.ofMillis(0);
+    protected int maxCommandBatchSize = 1;
+    protected int maxCommandBatchBytes = 1024 * 1024;
+    protected Duration commandBatchLinger = Duration.ZERO;
 
     /**
      * Sets the session name.
@@ -186,6 +189,56 @@ public interface RaftProxyClient extends RaftProxyExecutor, Managed<RaftProxyCli
       return this;
     }
 
+    /**
+     * Sets the maximum number of commands to submit to the cluster in a single batch.
+     * <p>
+     * Command batching is disabled by default. When the maximum batch size is greater than {@code 1}, commands
+     * submitted concurrently by the proxy are coalesced into a single request and log entry. Batches are
+     * sequenced as a single command, and the commands within a batch are applied in the order in which
+     * they were submitted. Commands in the same batch share a commit index; see
+     * {@link RaftProxy.Builder#withMaxCommandBatchSize(int)}.
+     *
+     * @param maxCommandBatchSize the maximum number of commands per batch
+     * @return the proxy builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxCommandBatchSize(int maxCommandBatchSize) {
+      checkArgument(maxCommandBatchSize > 0, "maxCommandBatchSize must be positive");
+      this.maxCommandBatchSize = maxCommandBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of command bytes to submit to the cluster in a single batch.
+     *
+     * @param maxCommandBatchBytes the maximum number of command bytes per batch
+     * @return the proxy builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxCommandBatchBytes(int maxCommandBatchBytes) {
+      checkArgument(maxCommandBatchBytes > 0, "maxCommandBatchBytes must be positive");
+      this.maxCommandBatchBytes = maxCommandBatchBytes;
+      return this;
+    }
+
+    /**
+     * Sets the time for which to wait for additional commands before submitting a batch.
+     * <p>
+     * By default, batches are submitted as soon as the proxy's thread is free, so only commands submitted
+     * concurrently are coalesced. A positive linger time trades command latency for larger batches.
+     *
+     * @param commandBatchLinger the time for which to wait for additional commands before submitting a batch
+     * @return the proxy builder
+     * @throws NullPointerException if the linger time is null
+     * @throws IllegalArgumentException if the linger time is negative
+     */
+    public Builder withCommandBatchLinger(Duration commandBatchLinger) {
+      checkArgument(!checkNotNull(commandBatchLinger, "commandBatchLinger cannot be null").isNegative(),
+          "commandBatchLinger cannot be negative");
+      this.commandBatchLinger = commandBatchLinger;
+      return this;
+    }
+
     /**
      * Builds the proxy client.
      *
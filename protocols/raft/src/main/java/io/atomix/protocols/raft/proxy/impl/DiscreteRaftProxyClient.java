@@ -26,6 +26,7 @@ import io.atomix.protocols.raft.session.SessionId;
 import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.logging.LoggerContext;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -61,6 +62,9 @@ public class DiscreteRaftProxyClient implements RaftProxyClient {
       MemberSelectorManager selectorManager,
       RaftProxyManager sessionManager,
       CommunicationStrategy communicationStrategy,
+      int maxCommandBatchSize,
+      int maxCommandBatchBytes,
+      Duration commandBatchLinger,
       ThreadContext context) {
     this.state = checkNotNull(state, "state cannot be null");
     this.sessionManager = checkNotNull(sessionManager, "sessionManager cannot be null");
@@ -99,6 +103,9 @@ public class DiscreteRaftProxyClient implements RaftProxyClient {
         state,
         sequencer,
         sessionManager,
+        maxCommandBatchSize,
+        maxCommandBatchBytes,
+        commandBatchLinger,
         context);
   }
 
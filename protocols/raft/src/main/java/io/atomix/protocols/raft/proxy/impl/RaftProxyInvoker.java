@@ -17,8 +17,10 @@ package io.atomix.protocols.raft.proxy.impl;
 
 import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.OperationBatch;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.OperationRequest;
@@ -28,6 +30,7 @@ import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.storage.buffer.HeapBytes;
+import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.ThreadContext;
 
 import java.net.ConnectException;
@@ -35,6 +38,7 @@ import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -64,8 +68,12 @@ final class RaftProxyInvoker {
   private final RaftProxySequencer sequencer;
   private final RaftProxyManager manager;
   private final ThreadContext context;
+  private final int maxCommandBatchSize;
+  private final int maxCommandBatchBytes;
+  private final Duration commandBatchLinger;
   private final Map<Long, OperationAttempt> attempts = new LinkedHashMap<>();
   private final AtomicLong keepAliveIndex = new AtomicLong();
+  private CommandBatch commandBatch;
 
   public RaftProxyInvoker(
       RaftProxyConnection leaderConnection,
@@ -74,11 +82,27 @@ final class RaftProxyInvoker {
       RaftProxySequencer sequencer,
       RaftProxyManager manager,
       ThreadContext context) {
+    this(leaderConnection, sessionConnection, state, sequencer, manager, 1, Integer.MAX_VALUE, Duration.ZERO, context);
+  }
+
+  public RaftProxyInvoker(
+      RaftProxyConnection leaderConnection,
+      RaftProxyConnection sessionConnection,
+      RaftProxyState state,
+      RaftProxySequencer sequencer,
+      RaftProxyManager manager,
+      int maxCommandBatchSize,
+      int maxCommandBatchBytes,
+      Duration commandBatchLinger,
+      ThreadContext context) {
     this.leaderConnection = checkNotNull(leaderConnection, "leaderConnection");
     this.sessionConnection = checkNotNull(sessionConnection, "sessionConnection");
     this.state = checkNotNull(state, "state");
     this.sequencer = checkNotNull(sequencer, "sequencer");
     this.manager = checkNotNull(manager, "manager");
+    this.maxCommandBatchSize = maxCommandBatchSize;
+    this.maxCommandBatchBytes = maxCommandBatchBytes;
+    this.commandBatchLinger = checkNotNull(commandBatchLinger, "commandBatchLinger cannot be null");
     this.context = checkNotNull(context, "context cannot be null");
   }
 
@@ -107,6 +131,17 @@ final class RaftProxyInvoker {
    * Submits a command to the cluster.
    */
   private void invokeCommand(RaftOperation operation, CompletableFuture<byte[]> future) {
+    if (maxCommandBatchSize > 1) {
+      batchCommand(operation, future);
+    } else {
+      submitCommand(operation, future);
+    }
+  }
+
+  /**
+   * Submits a command to the cluster with the next command sequence number.
+   */
+  private void submitCommand(RaftOperation operation, CompletableFuture<byte[]> future) {
     CommandRequest request = CommandRequest.newBuilder()
         .withSession(state.getSessionId().id())
         .withSequence(state.nextCommandRequest())
@@ -115,6 +150,63 @@ final class RaftProxyInvoker {
     invokeCommand(request, future);
   }
 
+  /**
+   * Adds a command to the pending command batch.
+   * <p>
+   * The batch is submitted once it reaches the maximum batch size, once adding a command would exceed the
+   * maximum batch bytes, once the linger time has elapsed, or before the next query is submitted.
+   */
+  private void batchCommand(RaftOperation operation, CompletableFuture<byte[]> future) {
+    int size = operation.value() != null ? operation.value().length : 0;
+    if (commandBatch != null && commandBatch.bytes + size > maxCommandBatchBytes) {
+      flushCommands(commandBatch);
+    }
+
+    boolean newBatch = commandBatch == null;
+    if (newBatch) {
+      commandBatch = new CommandBatch();
+    }
+
+    CommandBatch batch = commandBatch;
+    batch.add(operation, future, size);
+    if (batch.operations.size() >= maxCommandBatchSize) {
+      flushCommands(batch);
+    } else if (newBatch) {
+      if (commandBatchLinger.isZero()) {
+        context.execute(() -> flushCommands(batch));
+      } else {
+        batch.timer = context.schedule(commandBatchLinger, () -> flushCommands(batch));
+      }
+    }
+  }
+
+  /**
+   * Submits the given command batch if it's still pending.
+   * <p>
+   * The batch is submitted as a single {@link OperationId#BATCH} command with a single sequence number. Once
+   * the batch command completes, the individual command futures are completed in the order in which the
+   * commands were submitted.
+   */
+  private void flushCommands(CommandBatch batch) {
+    if (commandBatch != batch) {
+      return;
+    }
+    commandBatch = null;
+    if (batch.timer != null) {
+      batch.timer.cancel();
+    }
+
+    // Avoid the overhead of encoding a batch when only a single command is pending.
+    if (batch.operations.size() == 1) {
+      submitCommand(batch.operations.get(0), batch.futures.get(0));
+      return;
+    }
+
+    CompletableFuture<byte[]> future = new CompletableFuture<>();
+    future.whenComplete(batch::complete);
+    submitCommand(new RaftOperation(OperationId.BATCH, OperationBatch.encodeOperations(batch.operations)), future);
+  }
+
   /**
    * Submits a command request to the cluster.
    */
@@ -126,6 +218,11 @@ final class RaftProxyInvoker {
    * Submits a query to the cluster.
    */
   private void invokeQuery(RaftOperation operation, CompletableFuture<byte[]> future) {
+    // Submit pending commands before the query to ensure the query is sequenced after them.
+    if (commandBatch != null) {
+      flushCommands(commandBatch);
+    }
+
     QueryRequest request = QueryRequest.newBuilder()
         .withSession(state.getSessionId().id())
         .withSequence(state.getCommandRequest())
@@ -199,6 +296,13 @@ final class RaftProxyInvoker {
    * @return A completable future to be completed with a list of pending operations.
    */
   public CompletableFuture<Void> close() {
+    if (commandBatch != null) {
+      if (commandBatch.timer != null) {
+        commandBatch.timer.cancel();
+      }
+      commandBatch.complete(null, new RaftException.ClosedSession("session closed"));
+      commandBatch = null;
+    }
     for (OperationAttempt attempt : new ArrayList<>(attempts.values())) {
       attempt.fail(new RaftException.ClosedSession("session closed"));
     }
@@ -206,6 +310,47 @@ final class RaftProxyInvoker {
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Pending batch of commands.
+   */
+  private static final class CommandBatch {
+    private final List<RaftOperation> operations = new ArrayList<>();
+    private final List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+    private int bytes;
+    private Scheduled timer;
+
+    /**
+     * Adds a command to the batch.
+     */
+    void add(RaftOperation operation, CompletableFuture<byte[]> future, int size) {
+      operations.add(operation);
+      futures.add(future);
+      bytes += size;
+    }
+
+    /**
+     * Completes the commands in the batch with the result of the batch command.
+     */
+    void complete(byte[] result, Throwable error) {
+      if (error != null) {
+        futures.forEach(future -> future.completeExceptionally(error));
+      } else if (result == null || result.length == 0) {
+        // If the batch result is no longer cached by the cluster, the commands' results are lost.
+        futures.forEach(future -> future.complete(result));
+      } else {
+        List<OperationResult> results = OperationBatch.decodeResults(result);
+        for (int i = 0; i < futures.size(); i++) {
+          OperationResult operationResult = results.get(i);
+          if (operationResult.succeeded()) {
+            futures.get(i).complete(operationResult.result());
+          } else {
+            futures.get(i).completeExceptionally(operationResult.error());
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Operation attempt.
    */
@@ -122,6 +122,9 @@ public class RaftProxyManager {
    * @param serviceType           The session type.
    * @param communicationStrategy The strategy with which to communicate with servers.
    * @param timeout               The session timeout.
+   * @param maxCommandBatchSize   The maximum number of commands per batch.
+   * @param maxCommandBatchBytes  The maximum number of command bytes per batch.
+   * @param commandBatchLinger    The time for which to wait for additional commands before submitting a batch.
    * @return A completable future to be completed once the session has been opened.
    */
   public CompletableFuture<RaftProxyClient> openSession(
@@ -129,11 +132,15 @@ public class RaftProxyManager {
       ServiceType serviceType,
       ReadConsistency readConsistency,
       CommunicationStrategy communicationStrategy,
-      Duration timeout) {
+      Duration timeout,
+      int maxCommandBatchSize,
+      int maxCommandBatchBytes,
+      Duration commandBatchLinger) {
     checkNotNull(serviceName, "serviceName cannot be null");
     checkNotNull(serviceType, "serviceType cannot be null");
     checkNotNull(communicationStrategy, "communicationStrategy cannot be null");
     checkNotNull(timeout, "timeout cannot be null");
+    checkNotNull(commandBatchLinger, "commandBatchLinger cannot be null");
 
     log.debug("Opening session; name: {}, type: {}", serviceName, serviceType);
     OpenSessionRequest request = OpenSessionRequest.newBuilder()
@@ -174,6 +181,9 @@ public class RaftProxyManager {
               selectorManager,
               this,
               communicationStrategy,
+              maxCommandBatchSize,
+              maxCommandBatchBytes,
+              commandBatchLinger,
               proxyContext);
 
           future.complete(client);
@@ -27,6 +27,7 @@ import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.RaftRequest;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.service.ServiceId;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -46,7 +48,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Abstract appender.
  */
 abstract class AbstractAppender implements AutoCloseable {
-  private static final int MAX_BATCH_SIZE = 1024 * 32;
   protected final Logger log;
   protected final RaftContext raft;
   protected boolean open = true;
@@ -131,12 +132,14 @@ abstract class AbstractAppender implements AutoCloseable {
     // Build a list of entries to send to the member.
     final List<RaftLogEntry> entries = new ArrayList<>();
 
-    // Build a list of entries up to the MAX_BATCH_SIZE. Note that entries in the log may
-    // be null if they've been compacted and the member to which we're sending entries is just
-    // joining the cluster or is otherwise far behind. Null entries are simply skipped and not
-    // counted towards the size of the batch.
-    // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
+    // Build a list of entries up to the member's current append batch size or the maximum number of
+    // entries per batch. Note that entries in the log may be null if they've been compacted and the
+    // member to which we're sending entries is just joining the cluster or is otherwise far behind.
+    // Null entries are simply skipped and not counted towards the size of the batch.
+    // If there exists an entry in the log with size >= the batch size the logic ensures that
     // entry will be sent in a batch of size one
+    final int maxSize = member.getAppendBatchSize();
+    final int maxEntries = raft.getMaxAppendBatchEntries();
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
@@ -145,7 +148,7 @@ abstract class AbstractAppender implements AutoCloseable {
       Indexed<RaftLogEntry> entry = reader.next();
       entries.add(entry.entry());
       size += entry.size();
-      if (entry.index() == lastIndex || size >= MAX_BATCH_SIZE) {
+      if (entry.index() == lastIndex || size >= maxSize || entries.size() >= maxEntries) {
         break;
       }
 
@@ -173,13 +176,19 @@ abstract class AbstractAppender implements AutoCloseable {
     // Start the append to the member.
     member.startAppend();
 
-    long timestamp = System.currentTimeMillis();
+    // Record the member's append epoch to detect responses to requests that were pipelined ahead of a reset.
+    final long epoch = member.getAppendEpoch();
+    final long timestamp = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().append(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
-      // Complete the append to the member.
+      // Complete the append to the member. Adapt the member's batch size to the time taken by successful appends.
       if (!request.entries().isEmpty()) {
-        member.completeAppend(System.currentTimeMillis() - timestamp);
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime()) - timestamp;
+        member.completeAppend(time);
+        if (error == null && response.status() == RaftResponse.Status.OK && response.succeeded()) {
+          member.updateAppendBatchSize(time);
+        }
       } else {
         member.completeAppend();
       }
@@ -187,7 +196,18 @@ abstract class AbstractAppender implements AutoCloseable {
       if (open) {
         if (error == null) {
           log.trace("Received {} from {}", response, member.getMember().memberId());
-          handleAppendResponse(member, request, response);
+
+          // If the member accepted the request in the current term, it won't start an election until an election
+          // timeout after receiving it. Record the send time as a lower bound for the start of the member's lease.
+          if (response.status() == RaftResponse.Status.OK && response.term() == raft.getTerm()) {
+            member.setLeaseStartTime(timestamp);
+          }
+
+          if (isStaleRejection(member, epoch, response)) {
+            handleStaleAppendResponse(member, request, response);
+          } else {
+            handleAppendResponse(member, request, response);
+          }
         } else {
           handleAppendResponseFailure(member, request, error);
         }
@@ -199,6 +219,28 @@ abstract class AbstractAppender implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns a boolean indicating whether the given response is a rejection of a request that was sent before
+   * the member's next index was last reset.
+   * <p>
+   * When append requests are pipelined, a rejection causes all requests that are still in flight to be rejected
+   * as well. Only the first rejection should reset the member's next index.
+   */
+  private boolean isStaleRejection(RaftMemberContext member, long epoch, AppendResponse response) {
+    return epoch != member.getAppendEpoch()
+        && response.status() == RaftResponse.Status.OK
+        && !response.succeeded()
+        && response.term() <= raft.getTerm();
+  }
+
+  /**
+   * Handles a rejected response to a request that was sent before the member's next index was reset.
+   */
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response) {
+    // The member responded, so reset its failure count. The next index has already been reset.
+    succeedAttempt(member);
+  }
+
   /**
    * Handles an append failure.
    */
@@ -304,8 +346,9 @@ abstract class AbstractAppender implements AutoCloseable {
    * Updates the match index when a response is received.
    */
   protected void updateMatchIndex(RaftMemberContext member, AppendResponse response) {
-    // If the replica returned a valid match index then update the existing match index.
-    member.setMatchIndex(response.lastLogIndex());
+    // If the replica returned a valid match index then update the existing match index. Pipelined
+    // responses may be received out of order, so never decrease the match index on success.
+    member.setMatchIndex(Math.max(member.getMatchIndex(), response.lastLogIndex()));
   }
 
   /**
@@ -326,6 +369,9 @@ abstract class AbstractAppender implements AutoCloseable {
     } else {
       reader.reset();
     }
+
+    // Invalidate requests that were pipelined past the reset index.
+    member.incrementAppendEpoch();
     log.trace("Reset next index for {} to {} + 1", member, member.getMatchIndex());
   }
 
@@ -425,34 +471,64 @@ abstract class AbstractAppender implements AutoCloseable {
    * Builds an install request for the given member.
    */
   protected InstallRequest buildInstallRequest(RaftMemberContext member) {
-    Snapshot snapshot = raft.getSnapshotStore().getSnapshotByIndex(member.getLogReader().getCurrentIndex());
-    if (member.getNextSnapshotIndex() != snapshot.index()) {
+    Snapshot lastSnapshot = raft.getSnapshotStore().getSnapshotByIndex(member.getLogReader().getCurrentIndex());
+
+    // If the snapshot is a delta, the member must be sent each snapshot in the chain beginning with the full snapshot.
+    List<Snapshot> chain = raft.getSnapshotStore().getSnapshotChain(lastSnapshot.serviceId());
+    if (!chain.contains(lastSnapshot)) {
+      chain = Collections.singletonList(lastSnapshot);
+    }
+
+    // Find the snapshot in the chain currently being sent to the member, otherwise start from the beginning of the chain.
+    Snapshot snapshot = null;
+    for (Snapshot chainSnapshot : chain) {
+      if (chainSnapshot.index() == member.getNextSnapshotIndex()) {
+        snapshot = chainSnapshot;
+        break;
+      }
+      if (chainSnapshot == lastSnapshot) {
+        break;
+      }
+    }
+
+    if (snapshot == null) {
+      snapshot = chain.get(0);
       member.setNextSnapshotIndex(snapshot.index());
       member.setNextSnapshotOffset(0);
     }
 
     InstallRequest request;
     synchronized (snapshot) {
-      // Open a new snapshot reader.
-      try (SnapshotReader reader = snapshot.openReader()) {
-        // Skip to the next batch of bytes according to the snapshot chunk size and current offset.
-        reader.skip(member.getNextSnapshotOffset() * MAX_BATCH_SIZE);
-        byte[] data = new byte[Math.min(MAX_BATCH_SIZE, reader.remaining())];
-        reader.read(data);
-
-        // Create the install request, indicating whether this is the last chunk of data based on the number
-        // of bytes remaining in the buffer.
-        DefaultRaftMember leader = raft.getLeader();
-        request = InstallRequest.newBuilder()
-            .withTerm(raft.getTerm())
-            .withLeader(leader != null ? leader.memberId() : null)
-            .withId(snapshot.serviceId().id())
-            .withIndex(snapshot.index())
-            .withOffset(member.getNextSnapshotOffset())
-            .withData(data)
-            .withComplete(!reader.hasRemaining())
-            .build();
+      // If this is the first chunk of the snapshot, open a new reader for the member. The reader remains open
+      // and positioned at the next chunk until the snapshot has been sent, so each chunk is read exactly once.
+      SnapshotReader reader = member.getSnapshotReader();
+      if (reader == null || member.getNextSnapshotOffset() == 0) {
+        reader = snapshot.openReader();
+        member.setSnapshotReader(reader);
+        member.setNextSnapshotOffset(0);
       }
+
+      byte[] data = new byte[Math.min(raft.getSnapshotChunkSize(), reader.remaining())];
+      reader.read(data);
+
+      // Create the install request, indicating whether this is the last chunk of data based on the number
+      // of bytes remaining in the buffer.
+      DefaultRaftMember leader = raft.getLeader();
+      request = InstallRequest.newBuilder()
+          .withTerm(raft.getTerm())
+          .withLeader(leader != null ? leader.memberId() : null)
+          .withId(snapshot.serviceId().id())
+          .withIndex(snapshot.index())
+          .withBaseIndex(snapshot.baseIndex())
+          .withOffset(member.getNextSnapshotOffset())
+          .withData(data)
+          .withComplete(!reader.hasRemaining())
+          .withChainComplete(!reader.hasRemaining() && snapshot == lastSnapshot)
+          .build();
+
+      // Advance the member's snapshot offset to the next chunk. Chunks are pipelined, so the offset is
+      // advanced when the chunk is sent rather than when it's acknowledged.
+      member.setNextSnapshotOffset(member.getNextSnapshotOffset() + 1);
     }
 
     return request;
@@ -482,6 +558,11 @@ abstract class AbstractAppender implements AutoCloseable {
         }
       }
     }, raft.getThreadContext());
+
+    // If more chunks of the snapshot can be sent to the member, send the next chunk without waiting for a response.
+    if (member.canInstall()) {
+      appendEntries(member);
+    }
   }
 
   /**
@@ -500,6 +581,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // once a connection to the member is re-established.
     member.setNextSnapshotIndex(0);
     member.setNextSnapshotOffset(0);
+    member.closeSnapshotReader();
 
     // Log the failed attempt to contact the member.
     failAttempt(member, request, error);
@@ -524,22 +606,42 @@ abstract class AbstractAppender implements AutoCloseable {
     // Reset the member failure count and update the member's status if necessary.
     succeedAttempt(member);
 
+    // If the response is for a snapshot other than the one currently being sent to the member, the response
+    // is for a chunk that was in flight when the install was restarted, so ignore it.
+    if (request.snapshotIndex() != member.getNextSnapshotIndex() || request.chunkOffset() >= member.getNextSnapshotOffset()) {
+      log.trace("Ignoring stale {} from {}", response, member.getMember().memberId());
+    }
     // If the install request was completed successfully, set the member's snapshotIndex and reset
     // the next snapshot index/offset.
-    if (request.complete()) {
+    else if (request.chainComplete()) {
       member.setNextSnapshotIndex(0);
       member.setNextSnapshotOffset(0);
+      member.closeSnapshotReader();
       member.setSnapshotIndex(request.snapshotIndex());
     }
-    // If more install requests remain, increment the member's snapshot offset.
-    else {
-      member.setNextSnapshotOffset(request.chunkOffset() + 1);
+    // If the snapshot is complete but more snapshots remain in the chain, advance to the next snapshot.
+    else if (request.complete()) {
+      member.setNextSnapshotIndex(getNextSnapshotIndex(request));
+      member.setNextSnapshotOffset(0);
+      member.closeSnapshotReader();
     }
 
     // Recursively append entries to the member.
     appendEntries(member);
   }
 
+  /**
+   * Returns the index of the snapshot following the given request's snapshot in the snapshot chain.
+   */
+  private long getNextSnapshotIndex(InstallRequest request) {
+    for (Snapshot snapshot : raft.getSnapshotStore().getSnapshotChain(ServiceId.from(request.snapshotId()))) {
+      if (snapshot.index() > request.snapshotIndex()) {
+        return snapshot.index();
+      }
+    }
+    return 0;
+  }
+
   /**
    * Handles an ERROR install response.
    */
@@ -548,11 +650,15 @@ abstract class AbstractAppender implements AutoCloseable {
     log.warn("Failed to install {}", member.getMember().memberId());
     member.setNextSnapshotIndex(0);
     member.setNextSnapshotOffset(0);
+    member.closeSnapshotReader();
   }
 
   @Override
   public void close() {
     open = false;
+    for (RaftMemberContext member : raft.getCluster().getRemoteMemberStates()) {
+      member.closeSnapshotReader();
+    }
   }
 
 }
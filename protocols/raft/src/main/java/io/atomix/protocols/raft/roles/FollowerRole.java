@@ -26,6 +26,8 @@ import io.atomix.protocols.raft.protocol.ConfigureResponse;
 import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.PollResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.VoteRequest;
 import io.atomix.protocols.raft.protocol.VoteResponse;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
@@ -38,6 +40,7 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -48,6 +51,7 @@ public final class FollowerRole extends ActiveRole {
   private final FollowerAppender appender;
   private final Random random = new Random();
   private Scheduled heartbeatTimer;
+  private long leaderContactTime = Long.MIN_VALUE;
 
   public FollowerRole(RaftContext context) {
     super(context);
@@ -196,6 +200,11 @@ public final class FollowerRole extends ActiveRole {
   public CompletableFuture<AppendResponse> onAppend(AppendRequest request) {
     CompletableFuture<AppendResponse> future = super.onAppend(request);
 
+    // Record the time the current leader was last heard from to reject elections during the leader's lease.
+    if (request.term() == raft.getTerm()) {
+      leaderContactTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
     // Reset the heartbeat timeout.
     resetHeartbeatTimeout();
 
@@ -204,6 +213,50 @@ public final class FollowerRole extends ActiveRole {
     return future;
   }
 
+  /**
+   * Returns a boolean indicating whether the current leader has been heard from within the election timeout.
+   * <p>
+   * The leader relies on followers not electing a new leader within an election timeout of accepting its
+   * append requests to serve lease-based reads, so polls and votes are rejected while the leader is active.
+   * Contact times are read from the monotonic {@link System#nanoTime()} clock so that wall clock adjustments
+   * cannot end the leader's lease early.
+   */
+  private boolean isLeaderActive() {
+    return raft.getLeader() != null
+        && leaderContactTime != Long.MIN_VALUE
+        && TimeUnit.NANOSECONDS.toMillis(System.nanoTime()) - leaderContactTime < raft.getElectionTimeout().toMillis();
+  }
+
+  @Override
+  public CompletableFuture<PollResponse> onPoll(PollRequest request) {
+    raft.checkThread();
+    if (isLeaderActive()) {
+      logRequest(request);
+      log.debug("Rejected {}: leader is active", request);
+      return CompletableFuture.completedFuture(logResponse(PollResponse.newBuilder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withAccepted(false)
+          .build()));
+    }
+    return super.onPoll(request);
+  }
+
+  @Override
+  public CompletableFuture<VoteResponse> onVote(VoteRequest request) {
+    raft.checkThread();
+    if (isLeaderActive()) {
+      logRequest(request);
+      log.debug("Rejected {}: leader is active", request);
+      return CompletableFuture.completedFuture(logResponse(VoteResponse.newBuilder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withVoted(false)
+          .build()));
+    }
+    return super.onVote(request);
+  }
+
   @Override
   protected VoteResponse handleVote(VoteRequest request) {
     // Reset the heartbeat timeout if we voted for another candidate.
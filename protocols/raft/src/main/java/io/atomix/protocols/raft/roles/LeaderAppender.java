@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -52,6 +53,7 @@ final class LeaderAppender extends AbstractAppender {
   private CompletableFuture<Long> heartbeatFuture;
   private CompletableFuture<Long> nextHeartbeatFuture;
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
+  private ReadIndex nextReadIndex;
 
   LeaderAppender(LeaderRole leader) {
     super(leader.raft);
@@ -132,6 +134,41 @@ final class LeaderAppender extends AbstractAppender {
     }
   }
 
+  /**
+   * Returns a read index confirmed by a heartbeat to a majority of the cluster.
+   * <p>
+   * The read index is the commit index at the time of the call, bounded below by the index of the leader's
+   * initial entry to ensure the leader has committed an entry in its own term. Concurrent calls that share the
+   * same heartbeat share a single read index, which is advanced to the latest commit index seen by any of the
+   * callers before the heartbeat is sent.
+   *
+   * @return A completable future to be completed with the read index once leadership has been confirmed.
+   */
+  public CompletableFuture<Long> readIndex() {
+    raft.checkThread();
+
+    long index = Math.max(raft.getCommitIndex(), leaderIndex);
+    CompletableFuture<Long> heartbeat = appendEntries();
+    if (nextReadIndex == null || nextReadIndex.heartbeat != heartbeat) {
+      ReadIndex readIndex = new ReadIndex(heartbeat, index);
+      nextReadIndex = readIndex;
+      heartbeat.whenComplete((result, error) -> {
+        if (nextReadIndex == readIndex) {
+          nextReadIndex = null;
+        }
+        if (error == null) {
+          readIndex.future.complete(readIndex.index);
+        } else {
+          readIndex.future.completeExceptionally(error);
+        }
+      });
+      return readIndex.future;
+    } else {
+      nextReadIndex.index = Math.max(nextReadIndex.index, index);
+      return nextReadIndex.future;
+    }
+  }
+
   /**
    * Registers a commit handler for the given commit index.
    *
@@ -145,8 +182,9 @@ final class LeaderAppender extends AbstractAppender {
       return appendEntries();
     }
 
+    // Committed entries are not acknowledged until they've been flushed to disk.
     if (index <= raft.getCommitIndex()) {
-      return CompletableFuture.completedFuture(index);
+      return raft.getLogWriter().onFlush(index);
     }
 
     // If there are no other stateful servers in the cluster, immediately commit the index.
@@ -154,7 +192,7 @@ final class LeaderAppender extends AbstractAppender {
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
-      return CompletableFuture.completedFuture(index);
+      return raft.getLogWriter().onFlush(index);
     }
     // If there are no other active members in the cluster, update the commit index and complete the commit.
     // The updated commit index will be sent to passive/reserve members on heartbeats.
@@ -162,7 +200,7 @@ final class LeaderAppender extends AbstractAppender {
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
-      return CompletableFuture.completedFuture(index);
+      return raft.getLogWriter().onFlush(index);
     }
 
     // Only send entry-specific AppendRequests to active members of the cluster.
@@ -246,6 +284,54 @@ final class LeaderAppender extends AbstractAppender {
     return System.currentTimeMillis();
   }
 
+  /**
+   * Returns the start time of the leader's lease with a majority of the cluster.
+   * <p>
+   * This is calculated in the same manner as the heartbeat time, using the send time of the most recent append
+   * request accepted by each active member. If this is the only voting member, the lease never expires. Lease
+   * times are read from the monotonic {@link System#nanoTime()} clock so that wall clock adjustments cannot
+   * extend the lease.
+   */
+  private long getLeaseStartTime() {
+    int quorumIndex = getQuorumIndex();
+    if (quorumIndex >= 0) {
+      List<RaftMemberContext> members = raft.getCluster().getActiveMemberStates((m1, m2) -> Long.compare(m2.getLeaseStartTime(), m1.getLeaseStartTime()));
+      return members.size() > quorumIndex ? members.get(quorumIndex).getLeaseStartTime() : Long.MIN_VALUE;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  /**
+   * Returns the time at which the leader's lease expires.
+   * <p>
+   * Followers will not start an election until at least an election timeout has elapsed since they last
+   * accepted an append request from the leader. The lease therefore lasts for the election timeout after the
+   * most recent append request accepted by a majority of the cluster, shortened by the configured clock drift.
+   *
+   * @return The {@link System#nanoTime()} based time in milliseconds at which the leader's lease expires, or
+   * {@link Long#MIN_VALUE} if the leader does not hold a lease.
+   */
+  public long getLeaseExpiration() {
+    long leaseStartTime = getLeaseStartTime();
+    if (leaseStartTime == Long.MIN_VALUE) {
+      return Long.MIN_VALUE;
+    }
+    return leaseStartTime + (long) (raft.getElectionTimeout().toMillis() * (1 - raft.getMaxClockDrift()));
+  }
+
+  /**
+   * Returns the remaining time in milliseconds for which the leader holds a lease.
+   *
+   * @return The remaining lease time in milliseconds, or {@code 0} if the lease has expired.
+   */
+  public long getLeaseTimeRemaining() {
+    long leaseExpiration = getLeaseExpiration();
+    if (leaseExpiration == Long.MIN_VALUE) {
+      return 0;
+    }
+    return Math.max(leaseExpiration - TimeUnit.NANOSECONDS.toMillis(System.nanoTime()), 0);
+  }
+
   /**
    * Sets a commit time or fails the commit if a quorum of successful responses cannot be achieved.
    */
@@ -334,12 +420,15 @@ final class LeaderAppender extends AbstractAppender {
    * Completes append entries attempts up to the given index.
    */
   private void completeCommits(long previousCommitIndex, long commitIndex) {
-    for (long i = previousCommitIndex + 1; i <= commitIndex; i++) {
-      CompletableFuture<Long> future = appendFutures.remove(i);
-      if (future != null) {
-        future.complete(i);
+    // If group commit is enabled, wait for the entries to be flushed to disk before completing the commits.
+    raft.getLogWriter().onFlush(commitIndex).thenRun(() -> {
+      for (long i = previousCommitIndex + 1; i <= commitIndex; i++) {
+        CompletableFuture<Long> future = appendFutures.remove(i);
+        if (future != null) {
+          future.complete(i);
+        }
       }
-    }
+    });
   }
 
   /**
@@ -383,6 +472,14 @@ final class LeaderAppender extends AbstractAppender {
     super.handleAppendResponse(member, request, response);
   }
 
+  @Override
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response) {
+    // Trigger commit futures if necessary.
+    updateHeartbeatTime(member, null);
+
+    super.handleStaleAppendResponse(member, request, response);
+  }
+
   /**
    * Handles a {@link io.atomix.protocols.raft.protocol.RaftResponse.Status#OK} response.
    */
@@ -502,4 +599,18 @@ final class LeaderAppender extends AbstractAppender {
     super.handleInstallResponseFailure(member, request, error);
   }
 
+  /**
+   * Read index awaiting confirmation by a heartbeat.
+   */
+  private static final class ReadIndex {
+    private final CompletableFuture<Long> heartbeat;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private long index;
+
+    ReadIndex(CompletableFuture<Long> heartbeat, long index) {
+      this.heartbeat = heartbeat;
+      this.index = index;
+    }
+  }
+
 }
@@ -45,6 +45,8 @@ import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -463,6 +465,17 @@ public final class LeaderRole extends ActiveRole {
 
   @Override
   public CompletableFuture<VoteResponse> onVote(final VoteRequest request) {
+    // Do not step down for a candidate while this leader's lease may still be relied on to serve queries.
+    if (request.term() > raft.getTerm() && appender.getLeaseTimeRemaining() > 0) {
+      logRequest(request);
+      log.debug("Rejected {}: leader lease has not expired", request);
+      return CompletableFuture.completedFuture(logResponse(VoteResponse.newBuilder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withVoted(false)
+          .build()));
+    }
+
     if (updateTermAndLeader(request.term(), null)) {
       log.debug("Received greater term");
       raft.transition(RaftServer.Role.FOLLOWER);
@@ -686,27 +699,64 @@ public final class LeaderRole extends ActiveRole {
   /**
    * Executes a bounded linearizable query.
    * <p>
-   * Bounded linearizable queries succeed as long as this server remains the leader. This is possible
-   * since the leader will step down in the event it fails to contact a majority of the cluster.
+   * Bounded linearizable queries are served locally without contacting the cluster as long as the leader holds
+   * a lease. No other leader can be elected before the lease expires, so once the state machine has applied the
+   * commit index the query sees all writes that have completed. If the lease has expired or leadership is being
+   * transferred, the query falls back to the read index protocol used for linearizable queries.
    */
   private CompletableFuture<QueryResponse> queryBoundedLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry);
+    if (!transferring && appender.getLeaseTimeRemaining() > 0) {
+      return raft.awaitApplied(Math.max(raft.getCommitIndex(), appender.getIndex()))
+          .thenCompose(index -> applyQuery(entry));
+    }
+    log.debug("Lease expired, falling back to read index for {}", entry);
+    return queryLinearizable(entry);
+  }
+
+  /**
+   * Returns the remaining time in milliseconds for which this leader holds a lease.
+   *
+   * @return The remaining lease time in milliseconds, or {@code 0} if the lease has expired.
+   */
+  public long getLeaseTimeRemaining() {
+    return appender.getLeaseTimeRemaining();
   }
 
   /**
    * Executes a linearizable query.
    * <p>
-   * Linearizable queries are first sequenced with commands and then applied to the state machine. Once
-   * applied, we verify the node's leadership prior to responding successfully to the query.
+   * Linearizable queries are batched by the {@link ReadIndexBatcher}. The commit index is captured as the read
+   * index for each batch, leadership is confirmed with a single heartbeat for all the queries in the batch, and
+   * the queries are applied to the state machine once it has caught up to the read index.
    */
   private CompletableFuture<QueryResponse> queryLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry)
-        .thenComposeAsync(response -> appender.appendEntries()
-            .thenApply(index -> response)
-            .exceptionally(error -> QueryResponse.newBuilder()
-                .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
-                .build()), raft.getThreadContext());
+    return readIndexBatcher().query(entry)
+        .exceptionally(error -> QueryResponse.newBuilder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build());
+  }
+
+  @Override
+  protected CompletableFuture<Long> readIndex() {
+    return appender.readIndex();
+  }
+
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    return appender.readIndex()
+        .thenApply(index -> ReadIndexResponse.newBuilder()
+            .withStatus(RaftResponse.Status.OK)
+            .withIndex(index)
+            .build())
+        .exceptionally(error -> ReadIndexResponse.newBuilder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build())
+        .thenApply(this::logResponse);
   }
 
   @Override
@@ -29,6 +29,7 @@ import io.atomix.protocols.raft.protocol.OperationResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
 import io.atomix.protocols.raft.service.ServiceId;
 import io.atomix.protocols.raft.session.impl.RaftSessionContext;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
@@ -50,9 +51,13 @@ import java.util.concurrent.CompletionException;
  */
 public class PassiveRole extends ReserveRole {
   private final Map<Long, PendingSnapshot> pendingSnapshots = new HashMap<>();
+  private final ReadIndexBatcher readIndexBatcher;
+  private CompletableFuture<Long> nextReadIndex;
+  private boolean readIndexPending;
 
   public PassiveRole(RaftContext context) {
     super(context);
+    this.readIndexBatcher = new ReadIndexBatcher(context, this::readIndex, this::applyQuery);
   }
 
   @Override
@@ -362,11 +367,92 @@ public class PassiveRole extends ReserveRole {
               request.operation()), 0);
 
       return applyQuery(entry).thenApply(this::logResponse);
+    }
+    // If the session's consistency level is LINEARIZABLE, obtain a read index from the leader and evaluate
+    // the query locally once the read index has been applied. If a read index cannot be obtained, fall back
+    // to forwarding the query to the leader.
+    else if (session.readConsistency() == ReadConsistency.LINEARIZABLE) {
+      final Indexed<QueryEntry> entry = new Indexed<>(
+          request.index(),
+          new QueryEntry(
+              raft.getTerm(),
+              System.currentTimeMillis(),
+              request.session(),
+              request.sequenceNumber(),
+              request.operation()), 0);
+
+      CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+      readIndexBatcher.query(entry).whenComplete((response, error) -> {
+        if (error == null) {
+          future.complete(logResponse(response));
+        } else {
+          log.trace("Failed to obtain read index, forwarding query to leader");
+          queryForward(request).whenComplete((forwardResponse, forwardError) -> future.complete(forwardResponse));
+        }
+      });
+      return future;
     } else {
       return queryForward(request);
     }
   }
 
+  /**
+   * Returns the read index batcher used to serve linearizable queries.
+   *
+   * @return the read index batcher
+   */
+  public ReadIndexBatcher readIndexBatcher() {
+    return readIndexBatcher;
+  }
+
+  /**
+   * Returns a future to be completed with a read index for linearizable queries.
+   * <p>
+   * Read indexes are requested from the leader. Only a single read index request is outstanding at any given
+   * time. Callers that arrive while a request is in flight share the next request, which is sent once the
+   * current request completes, ensuring the read index is always obtained after the caller's query arrived.
+   *
+   * @return a future to be completed with the read index
+   */
+  protected CompletableFuture<Long> readIndex() {
+    CompletableFuture<Long> future = nextReadIndex;
+    if (future == null) {
+      future = new CompletableFuture<>();
+      nextReadIndex = future;
+      if (!readIndexPending) {
+        requestReadIndex();
+      }
+    }
+    return future;
+  }
+
+  /**
+   * Sends the next read index request to the leader.
+   */
+  private void requestReadIndex() {
+    CompletableFuture<Long> future = nextReadIndex;
+    nextReadIndex = null;
+    readIndexPending = true;
+
+    ReadIndexRequest request = ReadIndexRequest.newBuilder()
+        .withMember(raft.getCluster().getMember().memberId())
+        .build();
+    forward(request, raft.getProtocol()::readIndex).whenComplete((response, error) -> {
+      readIndexPending = false;
+      if (error != null) {
+        future.completeExceptionally(error);
+      } else if (response.status() == RaftResponse.Status.OK) {
+        future.complete(response.index());
+      } else {
+        future.completeExceptionally(response.error().createException());
+      }
+
+      if (nextReadIndex != null && isOpen()) {
+        requestReadIndex();
+      }
+    });
+  }
+
   /**
    * Forwards the query to the leader.
    */
@@ -456,19 +542,28 @@ public class PassiveRole extends ReserveRole {
     // Get the pending snapshot for the associated snapshot ID.
     PendingSnapshot pendingSnapshot = pendingSnapshots.get(request.snapshotId());
 
+    // If the pending snapshot has been completely written and the request is for a delta of it, the request
+    // is for the next snapshot in the snapshot chain.
+    boolean nextSnapshot = pendingSnapshot != null
+        && pendingSnapshot.isComplete()
+        && request.snapshotBaseIndex() == pendingSnapshot.snapshot().index();
+
     // If a snapshot is currently being received and the snapshot versions don't match, simply
     // close the existing snapshot. This is a naive implementation that assumes that the leader
     // will be responsible in sending the correct snapshot to this server. Leaders must dictate
     // where snapshots must be sent since entries can still legitimately exist prior to the snapshot,
     // and so snapshots aren't simply sent at the beginning of the follower's log, but rather the
     // leader dictates when a snapshot needs to be sent.
-    if (pendingSnapshot != null && request.snapshotIndex() != pendingSnapshot.snapshot().index()) {
+    // Similarly, if the leader restarted sending the snapshot from the first chunk, discard the chunks received so far.
+    if (pendingSnapshot != null && !nextSnapshot && (request.snapshotIndex() != pendingSnapshot.snapshot().index()
+        || (request.chunkOffset() == 0 && pendingSnapshot.nextOffset() > 0))) {
       pendingSnapshot.rollback();
+      pendingSnapshots.remove(request.snapshotId());
       pendingSnapshot = null;
     }
 
     // If there is no pending snapshot, create a new snapshot.
-    if (pendingSnapshot == null) {
+    if (pendingSnapshot == null || nextSnapshot) {
       // For new snapshots, the initial snapshot offset must be 0.
       if (request.chunkOffset() > 0) {
         return CompletableFuture.completedFuture(logResponse(InstallResponse.newBuilder()
@@ -477,11 +572,24 @@ public class PassiveRole extends ReserveRole {
             .build()));
       }
 
+      // Delta snapshots can only be received following the snapshot on which they're based.
+      if (pendingSnapshot == null && request.snapshotBaseIndex() > 0) {
+        return CompletableFuture.completedFuture(logResponse(InstallResponse.newBuilder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request base snapshot is missing")
+            .build()));
+      }
+
       Snapshot snapshot = raft.getSnapshotStore().newSnapshot(
               ServiceId.from(request.snapshotId()),
               request.snapshotIndex(),
+              request.snapshotBaseIndex(),
               WallClockTimestamp.from(request.snapshotTimestamp()));
-      pendingSnapshot = new PendingSnapshot(snapshot);
+      if (pendingSnapshot == null) {
+        pendingSnapshot = new PendingSnapshot(snapshot, raft.getSnapshotStore());
+      } else {
+        pendingSnapshot.next(snapshot);
+      }
     }
 
     // If the request offset is greater than the next expected snapshot offset, fail the request.
@@ -492,15 +600,28 @@ public class PassiveRole extends ReserveRole {
           .build()));
     }
 
+    // Chunks may be pipelined by the leader, so if the chunk has already been written, e.g. because the chunk was
+    // in flight when the leader restarted the install, acknowledge it without writing it again.
+    if (request.chunkOffset() < pendingSnapshot.nextOffset()) {
+      return CompletableFuture.completedFuture(logResponse(InstallResponse.newBuilder()
+          .withStatus(RaftResponse.Status.OK)
+          .build()));
+    }
+
     // Write the data to the snapshot.
     try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
       writer.write(request.data());
     }
 
-    // If the snapshot is complete, store the snapshot and reset state, otherwise update the next snapshot offset.
-    if (request.complete()) {
+    // If the snapshot chain is complete, store the snapshots and reset state. If only the current snapshot is
+    // complete, await the next snapshot in the chain. Otherwise update the next snapshot offset.
+    if (request.complete() && request.chainComplete()) {
       pendingSnapshot.commit();
       pendingSnapshots.remove(request.snapshotId());
+    } else if (request.complete()) {
+      pendingSnapshot.incrementOffset();
+      pendingSnapshot.complete();
+      pendingSnapshots.put(request.snapshotId(), pendingSnapshot);
     } else {
       pendingSnapshot.incrementOffset();
       pendingSnapshots.put(request.snapshotId(), pendingSnapshot);
@@ -516,6 +637,10 @@ public class PassiveRole extends ReserveRole {
     for (PendingSnapshot pendingSnapshot : pendingSnapshots.values()) {
       pendingSnapshot.rollback();
     }
+    if (nextReadIndex != null) {
+      nextReadIndex.completeExceptionally(new IllegalStateException("role closed"));
+      nextReadIndex = null;
+    }
     return super.close();
   }
 
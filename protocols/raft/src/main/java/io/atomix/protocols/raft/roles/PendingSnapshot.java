@@ -16,18 +16,29 @@
 package io.atomix.protocols.raft.roles;
 
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 /**
  * Pending snapshot.
+ * <p>
+ * When a snapshot chain is being received, the pending snapshot tracks the snapshots in the chain that have
+ * already been written. Snapshots in the chain are only committed once the entire chain has been received.
  */
 public class PendingSnapshot {
-  private final Snapshot snapshot;
+  private final SnapshotStore store;
+  private final List<Snapshot> snapshots = new ArrayList<>();
+  private Snapshot snapshot;
   private long nextOffset;
+  private boolean complete;
 
-  public PendingSnapshot(Snapshot snapshot) {
+  public PendingSnapshot(Snapshot snapshot, SnapshotStore store) {
     this.snapshot = snapshot;
+    this.store = store;
   }
 
   /**
@@ -55,17 +66,55 @@ public class PendingSnapshot {
     nextOffset++;
   }
 
+  /**
+   * Returns whether all chunks of the current snapshot have been written.
+   *
+   * @return whether all chunks of the current snapshot have been written
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Marks the current snapshot as having been completely written.
+   */
+  public void complete() {
+    complete = true;
+  }
+
+  /**
+   * Adds the next snapshot in the snapshot chain.
+   *
+   * @param snapshot the next snapshot in the snapshot chain
+   */
+  public void next(Snapshot snapshot) {
+    snapshots.add(this.snapshot);
+    this.snapshot = snapshot;
+    this.nextOffset = 0;
+    this.complete = false;
+  }
+
   /**
    * Commits the snapshot to disk.
    */
   public void commit() {
-    snapshot.complete();
+    if (snapshots.isEmpty()) {
+      snapshot.complete();
+    } else {
+      List<Snapshot> chain = new ArrayList<>(snapshots);
+      chain.add(snapshot);
+      store.completeSnapshots(chain);
+    }
   }
 
   /**
    * Closes and deletes the snapshot.
    */
   public void rollback() {
+    for (Snapshot snapshot : snapshots) {
+      snapshot.close();
+      snapshot.delete();
+    }
     snapshot.close();
     snapshot.delete();
   }
@@ -74,6 +123,7 @@ public class PendingSnapshot {
   public String toString() {
     return toStringHelper(this)
         .add("snapshot", snapshot)
+        .add("chain", snapshots.size())
         .add("nextOffset", nextOffset)
         .toString();
   }
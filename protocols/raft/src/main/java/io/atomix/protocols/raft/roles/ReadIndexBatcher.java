@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
+import io.atomix.storage.journal.Indexed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Read index batcher for linearizable queries.
+ * <p>
+ * Rather than confirming leadership for each linearizable query individually, queries are grouped into batches
+ * that share a single read index. The read index is provided by a coalescing source that returns the same future
+ * to all callers that can share a leadership confirmation round: on the leader, the source is a heartbeat to a
+ * majority of the cluster, and on followers it is a read index request to the leader. Once the read index for a
+ * batch is known, the batch waits for the local state machine to apply entries up to the read index and then
+ * applies all queries in the batch at once.
+ */
+public final class ReadIndexBatcher {
+  private final RaftContext raft;
+  private final Supplier<CompletableFuture<Long>> readIndexSupplier;
+  private final Function<Indexed<QueryEntry>, CompletableFuture<QueryResponse>> executor;
+  private Batch batch;
+  private long batchCount;
+  private long queryCount;
+  private int lastBatchSize;
+  private int maxBatchSize;
+  private long totalWaitTime;
+  private long lastWaitTime;
+  private long maxWaitTime;
+
+  ReadIndexBatcher(
+      RaftContext raft,
+      Supplier<CompletableFuture<Long>> readIndexSupplier,
+      Function<Indexed<QueryEntry>, CompletableFuture<QueryResponse>> executor) {
+    this.raft = checkNotNull(raft, "raft cannot be null");
+    this.readIndexSupplier = checkNotNull(readIndexSupplier, "readIndexSupplier cannot be null");
+    this.executor = checkNotNull(executor, "executor cannot be null");
+  }
+
+  /**
+   * Adds a query to the current read index batch.
+   * <p>
+   * The returned future will be completed exceptionally if a read index could not be obtained for the batch.
+   *
+   * @param entry the query entry
+   * @return a future to be completed with the query response
+   */
+  public CompletableFuture<QueryResponse> query(Indexed<QueryEntry> entry) {
+    raft.checkThread();
+
+    CompletableFuture<Long> readIndexFuture = readIndexSupplier.get();
+    if (batch == null || batch.readIndexFuture != readIndexFuture) {
+      Batch newBatch = new Batch(readIndexFuture);
+      batch = newBatch;
+      readIndexFuture.whenCompleteAsync((readIndex, error) -> confirm(newBatch, readIndex, error), raft.getThreadContext());
+    }
+
+    CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+    batch.queries.add(new PendingQuery(entry, future));
+    return future;
+  }
+
+  /**
+   * Handles the completion of the read index for the given batch.
+   */
+  private void confirm(Batch batch, Long readIndex, Throwable error) {
+    if (this.batch == batch) {
+      this.batch = null;
+    }
+
+    if (error != null) {
+      for (PendingQuery query : batch.queries) {
+        query.future.completeExceptionally(error);
+      }
+    } else {
+      raft.awaitApplied(readIndex != null ? readIndex : 0).whenComplete((index, applyError) -> execute(batch));
+    }
+  }
+
+  /**
+   * Executes all the queries in the given batch.
+   */
+  private void execute(Batch batch) {
+    long currentTime = System.currentTimeMillis();
+    for (PendingQuery query : batch.queries) {
+      long waitTime = currentTime - query.timestamp;
+      totalWaitTime += waitTime;
+      lastWaitTime = waitTime;
+      maxWaitTime = Math.max(maxWaitTime, waitTime);
+      executor.apply(query.entry).whenComplete((response, error) -> {
+        if (error == null) {
+          query.future.complete(response);
+        } else {
+          query.future.completeExceptionally(error);
+        }
+      });
+    }
+
+    int batchSize = batch.queries.size();
+    batchCount++;
+    queryCount += batchSize;
+    lastBatchSize = batchSize;
+    maxBatchSize = Math.max(maxBatchSize, batchSize);
+  }
+
+  /**
+   * Returns the number of read index batches that have been served.
+   *
+   * @return the number of read index batches that have been served
+   */
+  public long getBatchCount() {
+    return batchCount;
+  }
+
+  /**
+   * Returns the number of queries that have been served through read index batches.
+   *
+   * @return the number of queries that have been served through read index batches
+   */
+  public long getQueryCount() {
+    return queryCount;
+  }
+
+  /**
+   * Returns the size of the last read index batch.
+   *
+   * @return the size of the last read index batch
+   */
+  public int getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  /**
+   * Returns the size of the largest read index batch.
+   *
+   * @return the size of the largest read index batch
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Returns the average read index batch size.
+   *
+   * @return the average read index batch size
+   */
+  public double getAverageBatchSize() {
+    return batchCount > 0 ? queryCount / (double) batchCount : 0;
+  }
+
+  /**
+   * Returns the time in milliseconds the last query waited for its batch to be confirmed and applied.
+   *
+   * @return the last query wait time in milliseconds
+   */
+  public long getLastWaitTime() {
+    return lastWaitTime;
+  }
+
+  /**
+   * Returns the maximum time in milliseconds a query waited for its batch to be confirmed and applied.
+   *
+   * @return the maximum query wait time in milliseconds
+   */
+  public long getMaxWaitTime() {
+    return maxWaitTime;
+  }
+
+  /**
+   * Returns the average time in milliseconds queries waited for their batch to be confirmed and applied.
+   *
+   * @return the average query wait time in milliseconds
+   */
+  public double getAverageWaitTime() {
+    return queryCount > 0 ? totalWaitTime / (double) queryCount : 0;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("batchCount", batchCount)
+        .add("queryCount", queryCount)
+        .add("lastBatchSize", lastBatchSize)
+        .add("maxBatchSize", maxBatchSize)
+        .add("averageBatchSize", getAverageBatchSize())
+        .add("lastWaitTime", lastWaitTime)
+        .add("maxWaitTime", maxWaitTime)
+        .add("averageWaitTime", getAverageWaitTime())
+        .toString();
+  }
+
+  /**
+   * Read index batch.
+   */
+  private static final class Batch {
+    private final CompletableFuture<Long> readIndexFuture;
+    private final List<PendingQuery> queries = new ArrayList<>();
+
+    Batch(CompletableFuture<Long> readIndexFuture) {
+      this.readIndexFuture = readIndexFuture;
+    }
+  }
+
+  /**
+   * Query awaiting the confirmation of its batch.
+   */
+  private static final class PendingQuery {
+    private final Indexed<QueryEntry> entry;
+    private final CompletableFuture<QueryResponse> future;
+    private final long timestamp = System.currentTimeMillis();
+
+    PendingQuery(Indexed<QueryEntry> entry, CompletableFuture<QueryResponse> future) {
+      this.entry = entry;
+      this.future = future;
+    }
+  }
+}
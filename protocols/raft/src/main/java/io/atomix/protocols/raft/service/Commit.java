@@ -39,6 +39,10 @@ public interface Commit<T> {
    * For {@link RaftOperation} operations, the returned {@code index} may actually be representative of the last committed
    * index in the Raft log since queries are not actually written to disk. Thus, query commits cannot be assumed
    * to have unique indexes.
+   * <p>
+   * Commands submitted by a proxy with {@link io.atomix.protocols.raft.proxy.RaftProxy.Builder#withMaxCommandBatchSize(int)
+   * command batching} enabled are written to the log in a single entry, so all the commands in a batch share the
+   * same index. Command commits are only guaranteed to have unique indexes when batching is disabled.
    *
    * @return The commit index.
    */
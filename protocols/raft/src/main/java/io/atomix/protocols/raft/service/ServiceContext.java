@@ -56,7 +56,9 @@ public interface ServiceContext {
    * <p>
    * The state index is indicative of the index of the current operation
    * being applied to the server state machine. If a query is being applied,
-   * the index of the last command applied will be used.
+   * the index of the last command applied will be used. All the commands in a
+   * {@link io.atomix.protocols.raft.proxy.RaftProxy.Builder#withMaxCommandBatchSize(int) batch}
+   * are applied at the index of the batch entry.
    *
    * @return The current state machine index.
    */
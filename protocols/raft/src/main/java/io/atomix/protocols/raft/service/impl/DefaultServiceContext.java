@@ -24,6 +24,7 @@ import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.OperationBatch;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftService;
 import io.atomix.protocols.raft.service.ServiceContext;
@@ -35,6 +36,7 @@ import io.atomix.protocols.raft.session.RaftSessions;
 import io.atomix.protocols.raft.session.SessionId;
 import io.atomix.protocols.raft.session.impl.RaftSessionContext;
 import io.atomix.protocols.raft.session.impl.RaftSessionManager;
+import io.atomix.protocols.raft.storage.snapshot.DeltaSnapshottable;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
@@ -49,6 +51,8 @@ import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -73,6 +77,7 @@ public class DefaultServiceContext implements ServiceContext {
   private final ScheduledExecutorService threadPool;
   private final Map<Long, PendingSnapshot> pendingSnapshots = new ConcurrentSkipListMap<>();
   private long snapshotIndex;
+  private long deltaBaseIndex;
   private long currentIndex;
   private long currentTimestamp;
   private OperationType currentOperation;
@@ -247,6 +252,9 @@ public class DefaultServiceContext implements ServiceContext {
 
             // Update the snapshot index to ensure we don't simply install the same snapshot.
             snapshotIndex = snapshot.index();
+
+            // If the service state was successfully written to the snapshot, the next snapshot may be a delta of it.
+            deltaBaseIndex = pendingSnapshot.deltaBase ? snapshot.index() : 0;
             pendingSnapshot.future.complete(null);
           }
         }
@@ -258,69 +266,131 @@ public class DefaultServiceContext implements ServiceContext {
    * Installs a snapshot if one exists.
    */
   private void maybeInstallSnapshot(long index) {
-    // Look up the latest snapshot for this state machine.
-    Snapshot snapshot = server.getSnapshotStore().getSnapshotById(serviceId);
+    // Look up the latest snapshot chain for this state machine.
+    List<Snapshot> chain = server.getSnapshotStore().getSnapshotChain(serviceId);
+    Snapshot snapshot = !chain.isEmpty() ? chain.get(chain.size() - 1) : null;
 
     // If the latest snapshot is non-null, hasn't been installed, and has an index lower than the current index, install it.
     if (snapshot != null && snapshot.index() > snapshotIndex && snapshot.index() < index) {
       log.debug("Installing snapshot {}", snapshot.index());
-      try (SnapshotReader reader = snapshot.openReader()) {
-        reader.skip(Bytes.LONG); // Skip the service ID
-        ServiceType serviceType = ServiceType.from(reader.readString());
-        String serviceName = reader.readString();
-        int sessionCount = reader.readInt();
-        sessions.clear();
-        for (int i = 0; i < sessionCount; i++) {
-          SessionId sessionId = SessionId.from(reader.readLong());
-          MemberId node = MemberId.from(reader.readString());
-          ReadConsistency readConsistency = ReadConsistency.valueOf(reader.readString());
-          long sessionTimeout = reader.readLong();
-          long sessionTimestamp = reader.readLong();
-          RaftSessionContext session = new RaftSessionContext(
-              sessionId,
-              node,
-              serviceName,
-              serviceType,
-              readConsistency,
-              sessionTimeout,
-              this,
-              server,
-              threadPool);
-          session.setTimestamp(sessionTimestamp);
-          session.setRequestSequence(reader.readLong());
-          session.setCommandSequence(reader.readLong());
-          session.setEventIndex(reader.readLong());
-          session.setLastCompleted(reader.readLong());
-          session.setLastApplied(snapshot.index());
-          sessions.add(session);
+      try {
+        // Install the full snapshot followed by each delta snapshot in the chain.
+        for (Snapshot chainSnapshot : chain) {
+          installSnapshot(chainSnapshot);
         }
-        service.install(reader);
       } catch (Exception e) {
         log.error("Snapshot installation failed: {}", e);
       }
       snapshotIndex = snapshot.index();
+
+      // The service state has been replaced, so the next snapshot must be a full snapshot.
+      deltaBaseIndex = 0;
+      for (PendingSnapshot pendingSnapshot : pendingSnapshots.values()) {
+        pendingSnapshot.deltaBase = false;
+      }
+    }
+  }
+
+  /**
+   * Installs the given snapshot.
+   */
+  private void installSnapshot(Snapshot snapshot) {
+    try (SnapshotReader reader = snapshot.openReader()) {
+      reader.skip(Bytes.LONG); // Skip the service ID
+      ServiceType serviceType = ServiceType.from(reader.readString());
+      String serviceName = reader.readString();
+      int sessionCount = reader.readInt();
+      sessions.clear();
+      for (int i = 0; i < sessionCount; i++) {
+        SessionId sessionId = SessionId.from(reader.readLong());
+        MemberId node = MemberId.from(reader.readString());
+        ReadConsistency readConsistency = ReadConsistency.valueOf(reader.readString());
+        long sessionTimeout = reader.readLong();
+        long sessionTimestamp = reader.readLong();
+        RaftSessionContext session = new RaftSessionContext(
+            sessionId,
+            node,
+            serviceName,
+            serviceType,
+            readConsistency,
+            sessionTimeout,
+            this,
+            server,
+            threadPool);
+        session.setTimestamp(sessionTimestamp);
+        session.setRequestSequence(reader.readLong());
+        session.setCommandSequence(reader.readLong());
+        session.setEventIndex(reader.readLong());
+        session.setLastCompleted(reader.readLong());
+        session.setLastApplied(snapshot.index());
+        sessions.add(session);
+      }
+
+      if (snapshot.isDelta()) {
+        if (!(service instanceof DeltaSnapshottable)) {
+          throw new IllegalStateException("Cannot install delta snapshot " + snapshot.index());
+        }
+        ((DeltaSnapshottable) service).installDelta(reader);
+      } else {
+        service.install(reader);
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the snapshot on which to base the next snapshot of the service.
+   *
+   * @param lastSnapshot the latest snapshot of the service
+   * @return the index of the snapshot on which to base the next snapshot, or {@code 0} to take a full snapshot
+   */
+  private long getDeltaBaseIndex(Snapshot lastSnapshot) {
+    // Deltas can only be taken if the latest snapshot was taken by this service, since the service tracks
+    // changes from the point at which it was last snapshotted.
+    if (!(service instanceof DeltaSnapshottable) || lastSnapshot == null || lastSnapshot.index() != deltaBaseIndex) {
+      return 0;
     }
+
+    // Consolidate the snapshot chain once it reaches the maximum number of deltas.
+    int chainSize = server.getSnapshotStore().getSnapshotChain(serviceId).size();
+    return chainSize <= server.getStorage().maxDeltaSnapshots() ? lastSnapshot.index() : 0;
   }
 
   /**
    * Takes a snapshot of the service state.
    *
-   * @return a future to be completed once the snapshot has been taken
+   * @return a future to be completed with the snapshot index once the snapshot has been taken, or with {@code 0}
+   * if no entries have been applied to the service
    */
   public CompletableFuture<Long> takeSnapshot() {
     CompletableFuture<Long> future = new CompletableFuture<>();
     serviceExecutor.execute(() -> {
       // If no entries have been applied to the state machine, skip the snapshot.
       if (currentIndex == 0) {
+        future.complete(0L);
+        return;
+      }
+
+      // If the latest snapshot was taken at the current index, the service state hasn't changed since.
+      Snapshot lastSnapshot = server.getSnapshotStore().getSnapshotById(serviceId);
+      if (lastSnapshot != null && lastSnapshot.index() == currentIndex) {
+        future.complete(currentIndex);
         return;
       }
 
       long snapshotIndex = currentIndex;
-      log.debug("Taking snapshot {}", snapshotIndex);
+      long baseIndex = getDeltaBaseIndex(lastSnapshot);
+      if (baseIndex > 0) {
+        log.debug("Taking delta snapshot {} of snapshot {}", snapshotIndex, baseIndex);
+      } else {
+        log.debug("Taking snapshot {}", snapshotIndex);
+      }
 
-      // Create a temporary in-memory snapshot buffer.
-      Snapshot snapshot = server.getSnapshotStore()
-          .newTemporarySnapshot(serviceId, snapshotIndex, WallClockTimestamp.from(currentTimestamp));
+      // If snapshots are streamed, write the snapshot directly to the snapshot store. Otherwise,
+      // create a temporary in-memory snapshot buffer.
+      WallClockTimestamp snapshotTimestamp = WallClockTimestamp.from(currentTimestamp);
+      Snapshot snapshot = server.getStorage().isStreamingSnapshots()
+          ? server.getSnapshotStore().newSnapshot(serviceId, snapshotIndex, baseIndex, snapshotTimestamp)
+          : server.getSnapshotStore().newTemporarySnapshot(serviceId, snapshotIndex, baseIndex, snapshotTimestamp);
 
       // Add the snapshot to the pending snapshots registry.
       PendingSnapshot pendingSnapshot = new PendingSnapshot(snapshot);
@@ -344,7 +414,12 @@ public class DefaultServiceContext implements ServiceContext {
           writer.writeLong(session.getEventIndex());
           writer.writeLong(session.getLastCompleted());
         }
-        service.snapshot(writer);
+        if (baseIndex > 0) {
+          ((DeltaSnapshottable) service).snapshotDelta(writer);
+        } else {
+          service.snapshot(writer);
+        }
+        pendingSnapshot.deltaBase = true;
       } catch (Exception e) {
         log.error("Snapshot failed: {}", e);
       }
@@ -615,20 +690,20 @@ public class DefaultServiceContext implements ServiceContext {
       return;
     }
 
-    Commit<byte[]> commit = new DefaultCommit<>(index, operation.id(), operation.value(), session, timestamp);
-
     long eventIndex = session.getEventIndex();
 
     OperationResult result;
-    try {
-      // Execute the state machine operation and get the result.
-      byte[] output = service.apply(commit);
-
-      // Store the result for linearizability and complete the command.
-      result = OperationResult.succeeded(index, eventIndex, output);
-    } catch (Exception e) {
-      // If an exception occurs during execution of the command, store the exception.
-      result = OperationResult.failed(index, eventIndex, e);
+    if (operation.id().equals(OperationId.BATCH)) {
+      // Apply each command in the batch in the order in which it was submitted by the client. The batch is
+      // sequenced as a single command, so the per-operation results are stored as a single batch result.
+      List<RaftOperation> operations = OperationBatch.decodeOperations(operation.value());
+      List<OperationResult> results = new ArrayList<>(operations.size());
+      for (RaftOperation batchOperation : operations) {
+        results.add(applyOperation(index, timestamp, batchOperation, session));
+      }
+      result = OperationResult.succeeded(index, eventIndex, OperationBatch.encodeResults(results));
+    } else {
+      result = applyOperation(index, timestamp, operation, session);
     }
 
     // Once the operation has been applied to the state machine, commit events published by the command.
@@ -642,6 +717,31 @@ public class DefaultServiceContext implements ServiceContext {
     future.complete(result);
   }
 
+  /**
+   * Applies a single operation to the state machine, returning the operation result.
+   */
+  private OperationResult applyOperation(long index, long timestamp, RaftOperation operation, RaftSessionContext session) {
+    // Ignore no-op commands.
+    if (operation.id().equals(OperationId.NOOP)) {
+      return OperationResult.noop(index, session.getEventIndex());
+    }
+
+    Commit<byte[]> commit = new DefaultCommit<>(index, operation.id(), operation.value(), session, timestamp);
+
+    long eventIndex = session.getEventIndex();
+
+    try {
+      // Execute the state machine operation and get the result.
+      byte[] output = service.apply(commit);
+
+      // Store the result for linearizability and complete the command.
+      return OperationResult.succeeded(index, eventIndex, output);
+    } catch (Exception e) {
+      // If an exception occurs during execution of the command, store the exception.
+      return OperationResult.failed(index, eventIndex, e);
+    }
+  }
+
   /**
    * Executes the given query on the state machine.
    *
@@ -755,6 +855,7 @@ public class DefaultServiceContext implements ServiceContext {
    */
   private class PendingSnapshot {
     private volatile Snapshot snapshot;
+    private volatile boolean deltaBase;
     private final CompletableFuture<Void> future = new CompletableFuture<>();
 
     public PendingSnapshot(Snapshot snapshot) {
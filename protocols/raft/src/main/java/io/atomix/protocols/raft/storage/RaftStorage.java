@@ -28,6 +28,7 @@ import io.atomix.storage.journal.JournalSegmentFile;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -69,8 +70,13 @@ public class RaftStorage {
   private final int maxSegmentSize;
   private final int maxEntriesPerSegment;
   private final int entryBufferSize;
+  private final double indexDensity;
   private final boolean flushOnCommit;
+  private final Duration maxFlushDelay;
+  private final int maxFlushBytes;
   private final boolean retainStaleSnapshots;
+  private final boolean streamingSnapshots;
+  private final int maxDeltaSnapshots;
 
   private RaftStorage(
       String prefix,
@@ -80,8 +86,13 @@ public class RaftStorage {
       int maxSegmentSize,
       int maxEntriesPerSegment,
       int entryBufferSize,
+      double indexDensity,
       boolean flushOnCommit,
-      boolean retainStaleSnapshots) {
+      Duration maxFlushDelay,
+      int maxFlushBytes,
+      boolean retainStaleSnapshots,
+      boolean streamingSnapshots,
+      int maxDeltaSnapshots) {
     this.prefix = prefix;
     this.storageLevel = storageLevel;
     this.directory = directory;
@@ -89,8 +100,13 @@ public class RaftStorage {
     this.maxSegmentSize = maxSegmentSize;
     this.maxEntriesPerSegment = maxEntriesPerSegment;
     this.entryBufferSize = entryBufferSize;
+    this.indexDensity = indexDensity;
     this.flushOnCommit = flushOnCommit;
+    this.maxFlushDelay = maxFlushDelay;
+    this.maxFlushBytes = maxFlushBytes;
     this.retainStaleSnapshots = retainStaleSnapshots;
+    this.streamingSnapshots = streamingSnapshots;
+    this.maxDeltaSnapshots = maxDeltaSnapshots;
     directory.mkdirs();
   }
 
@@ -172,6 +188,18 @@ public class RaftStorage {
     return entryBufferSize;
   }
 
+  /**
+   * Returns the log index density.
+   * <p>
+   * The index density is the proportion of entries in each log segment whose positions are stored in the
+   * segment index.
+   *
+   * @return The log index density.
+   */
+  public double logIndexDensity() {
+    return indexDensity;
+  }
+
   /**
    * Returns whether to flush buffers to disk when entries are committed.
    *
@@ -181,6 +209,26 @@ public class RaftStorage {
     return flushOnCommit;
   }
 
+  /**
+   * Returns the maximum delay before committed entries are flushed to disk.
+   * <p>
+   * A non-zero delay enables group commit when flush-on-commit is enabled.
+   *
+   * @return The maximum delay before committed entries are flushed to disk.
+   */
+  public Duration maxFlushDelay() {
+    return maxFlushDelay;
+  }
+
+  /**
+   * Returns the maximum number of bytes that may be appended before a commit forces a group commit flush.
+   *
+   * @return The maximum number of unflushed bytes.
+   */
+  public int maxFlushBytes() {
+    return maxFlushBytes;
+  }
+
   /**
    * Returns a boolean value indicating whether to retain stale snapshots on disk.
    * <p>
@@ -194,6 +242,31 @@ public class RaftStorage {
     return retainStaleSnapshots;
   }
 
+  /**
+   * Returns a boolean value indicating whether service snapshots are streamed directly to the snapshot store.
+   * <p>
+   * If this option is enabled, service snapshots will be written directly to the snapshot store in fixed
+   * size chunks rather than being materialized in memory before being persisted.
+   *
+   * @return Indicates whether service snapshots are streamed directly to the snapshot store.
+   */
+  public boolean isStreamingSnapshots() {
+    return streamingSnapshots;
+  }
+
+  /**
+   * Returns the maximum number of delta snapshots to take before taking a full snapshot.
+   * <p>
+   * Services that implement {@link io.atomix.protocols.raft.storage.snapshot.DeltaSnapshottable} may write
+   * snapshots as deltas of their previous snapshot. Once the number of deltas based on a full snapshot reaches
+   * this maximum, a full snapshot will be taken to consolidate the snapshot chain.
+   *
+   * @return The maximum number of delta snapshots to take before taking a full snapshot.
+   */
+  public int maxDeltaSnapshots() {
+    return maxDeltaSnapshots;
+  }
+
   /**
    * Opens a new {@link MetaStore}, recovering metadata from disk if it exists.
    * <p>
@@ -258,6 +331,10 @@ public class RaftStorage {
         .withSerializer(serializer)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntriesPerSegment(maxEntriesPerSegment)
+        .withIndexDensity(indexDensity)
+        .withFlushOnCommit(flushOnCommit)
+        .withMaxFlushDelay(maxFlushDelay)
+        .withMaxFlushBytes(maxFlushBytes)
         .build();
   }
 
@@ -268,7 +345,7 @@ public class RaftStorage {
    * Deleting log files does not involve rebuilding indexes or reading any logs into memory.
    */
   public void deleteLog() {
-    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f));
+    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f) || JournalSegmentFile.isIndexFile(prefix, f));
   }
 
   /**
@@ -316,8 +393,13 @@ public class RaftStorage {
     private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
     private static final int DEFAULT_ENTRY_BUFFER_SIZE = 1024;
+    private static final double DEFAULT_INDEX_DENSITY = .005;
     private static final boolean DEFAULT_FLUSH_ON_COMMIT = false;
+    private static final Duration DEFAULT_MAX_FLUSH_DELAY = Duration.ZERO;
+    private static final int DEFAULT_MAX_FLUSH_BYTES = 1024 * 1024;
     private static final boolean DEFAULT_RETAIN_STALE_SNAPSHOTS = false;
+    private static final boolean DEFAULT_STREAMING_SNAPSHOTS = false;
+    private static final int DEFAULT_MAX_DELTA_SNAPSHOTS = 10;
 
     private String prefix = DEFAULT_PREFIX;
     private StorageLevel storageLevel = StorageLevel.DISK;
@@ -326,8 +408,13 @@ public class RaftStorage {
     private int maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
     private int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
     private int entryBufferSize = DEFAULT_ENTRY_BUFFER_SIZE;
+    private double indexDensity = DEFAULT_INDEX_DENSITY;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private Duration maxFlushDelay = DEFAULT_MAX_FLUSH_DELAY;
+    private int maxFlushBytes = DEFAULT_MAX_FLUSH_BYTES;
     private boolean retainStaleSnapshots = DEFAULT_RETAIN_STALE_SNAPSHOTS;
+    private boolean streamingSnapshots = DEFAULT_STREAMING_SNAPSHOTS;
+    private int maxDeltaSnapshots = DEFAULT_MAX_DELTA_SNAPSHOTS;
 
     private Builder() {
     }
@@ -456,6 +543,25 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the log index density, returning the builder for method chaining.
+     * <p>
+     * The index density is the proportion of entries in each log segment whose positions are stored in the
+     * segment index. Readers seek to the closest indexed entry and then scan forward, so a higher density
+     * reduces seek times when followers catch up at the cost of memory.
+     * <p>
+     * By default, the index density is {@code .005}.
+     *
+     * @param indexDensity The log index density.
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public Builder withIndexDensity(double indexDensity) {
+      checkArgument(indexDensity > 0 && indexDensity <= 1, "index density must be between 0 and 1");
+      this.indexDensity = indexDensity;
+      return this;
+    }
+
     /**
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
@@ -484,6 +590,42 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the maximum delay before committed entries are flushed to disk, returning the builder for method chaining.
+     * <p>
+     * When flush-on-commit is enabled and the flush delay is non-zero, the log is flushed in groups: entries
+     * committed within the delay are covered by a single flush, and the leader does not acknowledge commands
+     * until the flush covering them has completed. Defaults to {@code 0}, which flushes the log each time
+     * entries are committed.
+     *
+     * @param maxFlushDelay The maximum flush delay.
+     * @return The storage builder.
+     * @throws NullPointerException if the {@code maxFlushDelay} is null
+     * @throws IllegalArgumentException if the {@code maxFlushDelay} is negative
+     */
+    public Builder withMaxFlushDelay(Duration maxFlushDelay) {
+      checkNotNull(maxFlushDelay, "maxFlushDelay cannot be null");
+      checkArgument(!maxFlushDelay.isNegative(), "maxFlushDelay must be positive");
+      this.maxFlushDelay = maxFlushDelay;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of unflushed bytes, returning the builder for method chaining.
+     * <p>
+     * When group commit is enabled, a commit will flush the log immediately rather than waiting for the
+     * flush delay once at least this many bytes have been appended since the last flush. Defaults to 1MB.
+     *
+     * @param maxFlushBytes The maximum number of unflushed bytes.
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code maxFlushBytes} is not positive
+     */
+    public Builder withMaxFlushBytes(int maxFlushBytes) {
+      checkArgument(maxFlushBytes > 0, "maxFlushBytes must be positive");
+      this.maxFlushBytes = maxFlushBytes;
+      return this;
+    }
+
     /**
      * Enables retaining stale snapshots on disk, returning the builder for method chaining.
      * <p>
@@ -516,6 +658,56 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Enables streaming service snapshots to the snapshot store, returning the builder for method chaining.
+     * <p>
+     * By default, service snapshots are written to an in-memory buffer and copied to the snapshot store once
+     * complete. Enabling snapshot streaming writes snapshots directly to the snapshot store in fixed size chunks,
+     * bounding the memory used to take a snapshot of a large service. Incomplete snapshots are discarded on
+     * recovery.
+     *
+     * @return The storage builder.
+     */
+    public Builder withStreamingSnapshots() {
+      return withStreamingSnapshots(true);
+    }
+
+    /**
+     * Sets whether to stream service snapshots to the snapshot store, returning the builder for method chaining.
+     * <p>
+     * By default, service snapshots are written to an in-memory buffer and copied to the snapshot store once
+     * complete. Enabling snapshot streaming writes snapshots directly to the snapshot store in fixed size chunks,
+     * bounding the memory used to take a snapshot of a large service. Incomplete snapshots are discarded on
+     * recovery.
+     *
+     * @param streamingSnapshots Whether to stream service snapshots to the snapshot store.
+     * @return The storage builder.
+     */
+    public Builder withStreamingSnapshots(boolean streamingSnapshots) {
+      this.streamingSnapshots = streamingSnapshots;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of delta snapshots to take before taking a full snapshot, returning the builder
+     * for method chaining.
+     * <p>
+     * Services that implement {@link io.atomix.protocols.raft.storage.snapshot.DeltaSnapshottable} may write
+     * snapshots as deltas of their previous snapshot. Once the number of deltas based on a full snapshot reaches
+     * this maximum, a full snapshot will be taken to consolidate the snapshot chain. Larger values reduce the
+     * cost of snapshotting large services at the expense of recovery time and the size of snapshots replicated
+     * to followers. A value of {@code 0} disables delta snapshots. Defaults to {@code 10}.
+     *
+     * @param maxDeltaSnapshots The maximum number of delta snapshots to take before taking a full snapshot.
+     * @return The storage builder.
+     * @throws IllegalArgumentException if {@code maxDeltaSnapshots} is negative
+     */
+    public Builder withMaxDeltaSnapshots(int maxDeltaSnapshots) {
+      checkArgument(maxDeltaSnapshots >= 0, "maxDeltaSnapshots must be positive");
+      this.maxDeltaSnapshots = maxDeltaSnapshots;
+      return this;
+    }
+
     /**
      * Builds the {@link RaftStorage} object.
      *
@@ -531,8 +723,13 @@ public class RaftStorage {
           maxSegmentSize,
           maxEntriesPerSegment,
           entryBufferSize,
+          indexDensity,
           flushOnCommit,
-          retainStaleSnapshots);
+          maxFlushDelay,
+          maxFlushBytes,
+          retainStaleSnapshots,
+          streamingSnapshots,
+          maxDeltaSnapshots);
     }
   }
 
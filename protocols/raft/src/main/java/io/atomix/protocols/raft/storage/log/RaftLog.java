@@ -22,6 +22,10 @@ import io.atomix.storage.journal.DelegatingJournal;
 import io.atomix.storage.journal.SegmentedJournal;
 
 import java.io.File;
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Raft log.
@@ -39,15 +43,27 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
 
   private final SegmentedJournal<RaftLogEntry> journal;
   private final boolean flushOnCommit;
+  private final Duration maxFlushDelay;
+  private final int maxFlushBytes;
   private final RaftLogWriter writer;
   private volatile long commitIndex;
 
   public RaftLog(
       SegmentedJournal<RaftLogEntry> journal,
       boolean flushOnCommit) {
+    this(journal, flushOnCommit, Duration.ZERO, 0);
+  }
+
+  public RaftLog(
+      SegmentedJournal<RaftLogEntry> journal,
+      boolean flushOnCommit,
+      Duration maxFlushDelay,
+      int maxFlushBytes) {
     super(journal);
     this.journal = journal;
     this.flushOnCommit = flushOnCommit;
+    this.maxFlushDelay = maxFlushDelay;
+    this.maxFlushBytes = maxFlushBytes;
     this.writer = new RaftLogWriter(journal.writer(), this);
   }
 
@@ -81,6 +97,33 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
     return flushOnCommit;
   }
 
+  /**
+   * Returns whether group commit is enabled for the log.
+   *
+   * @return Indicates whether flushes are delayed so that a single flush covers multiple commits.
+   */
+  boolean isGroupCommit() {
+    return !maxFlushDelay.isZero();
+  }
+
+  /**
+   * Returns the maximum amount of time for which a committed entry may remain unflushed.
+   *
+   * @return The maximum flush delay.
+   */
+  public Duration getMaxFlushDelay() {
+    return maxFlushDelay;
+  }
+
+  /**
+   * Returns the maximum number of bytes that may be appended to the log before a commit forces a flush.
+   *
+   * @return The maximum number of unflushed bytes.
+   */
+  int getMaxFlushBytes() {
+    return maxFlushBytes;
+  }
+
   /**
    * Commits entries up to the given index.
    *
@@ -99,6 +142,15 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
     return commitIndex;
   }
 
+  /**
+   * Returns the total size of the log in bytes.
+   *
+   * @return the total size of the log in bytes
+   */
+  public long size() {
+    return journal.size();
+  }
+
   /**
    * Returns a boolean indicating whether a segment can be removed from the journal prior to the given index.
    *
@@ -135,8 +187,12 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
    */
   public static class Builder implements io.atomix.utils.Builder<RaftLog> {
     private static final boolean DEFAULT_FLUSH_ON_COMMIT = false;
+    private static final Duration DEFAULT_MAX_FLUSH_DELAY = Duration.ZERO;
+    private static final int DEFAULT_MAX_FLUSH_BYTES = 1024 * 1024;
     private final SegmentedJournal.Builder<RaftLogEntry> journalBuilder = SegmentedJournal.newBuilder();
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private Duration maxFlushDelay = DEFAULT_MAX_FLUSH_DELAY;
+    private int maxFlushBytes = DEFAULT_MAX_FLUSH_BYTES;
 
     protected Builder() {
     }
@@ -241,6 +297,24 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Sets the journal index density, returning the builder for method chaining.
+     * <p>
+     * The index density is the proportion of entries in each segment whose positions are stored in the segment
+     * index. Readers seek to the closest indexed entry and then scan forward, so a higher density reduces seek
+     * times at the cost of memory.
+     * <p>
+     * By default, the index density is {@code .005}.
+     *
+     * @param indexDensity The journal index density.
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public Builder withIndexDensity(double indexDensity) {
+      journalBuilder.withIndexDensity(indexDensity);
+      return this;
+    }
+
     /**
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
@@ -269,9 +343,44 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Sets the maximum delay before committed entries are flushed to disk, returning the builder for method chaining.
+     * <p>
+     * When flush-on-commit is enabled and the flush delay is non-zero, commits are grouped so that a single
+     * flush covers all the entries committed within the delay. Defaults to {@code 0}, which flushes the log
+     * each time entries are committed.
+     *
+     * @param maxFlushDelay The maximum flush delay.
+     * @return The log builder.
+     * @throws NullPointerException if the {@code maxFlushDelay} is null
+     * @throws IllegalArgumentException if the {@code maxFlushDelay} is negative
+     */
+    public Builder withMaxFlushDelay(Duration maxFlushDelay) {
+      checkNotNull(maxFlushDelay, "maxFlushDelay cannot be null");
+      checkArgument(!maxFlushDelay.isNegative(), "maxFlushDelay must be positive");
+      this.maxFlushDelay = maxFlushDelay;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of unflushed bytes, returning the builder for method chaining.
+     * <p>
+     * When group commit is enabled, a commit will immediately flush the log once at least this many bytes
+     * have been appended since the last flush.
+     *
+     * @param maxFlushBytes The maximum number of unflushed bytes.
+     * @return The log builder.
+     * @throws IllegalArgumentException if the {@code maxFlushBytes} is not positive
+     */
+    public Builder withMaxFlushBytes(int maxFlushBytes) {
+      checkArgument(maxFlushBytes > 0, "maxFlushBytes must be positive");
+      this.maxFlushBytes = maxFlushBytes;
+      return this;
+    }
+
     @Override
     public RaftLog build() {
-      return new RaftLog(journalBuilder.build(), flushOnCommit);
+      return new RaftLog(journalBuilder.build(), flushOnCommit, maxFlushDelay, maxFlushBytes);
     }
   }
 }
@@ -17,14 +17,29 @@ package io.atomix.protocols.raft.storage.log;
 
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.journal.DelegatingJournalWriter;
+import io.atomix.storage.journal.Indexed;
 import io.atomix.storage.journal.SegmentedJournalWriter;
 
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Raft log writer.
+ * <p>
+ * When group commit is enabled for the log, committing entries does not immediately flush the log to disk.
+ * Instead, appended entries accumulate until either the maximum number of unflushed bytes is reached or the
+ * owner of the writer calls {@link #flush()} once the maximum flush delay has expired, so a single flush
+ * covers many commits. Callers that must not acknowledge entries before they're durable can use
+ * {@link #onFlush(long)} to be notified once an index has been flushed.
  */
 public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
   private final SegmentedJournalWriter<RaftLogEntry> writer;
   private final RaftLog log;
+  private final NavigableMap<Long, CompletableFuture<Long>> flushFutures = new TreeMap<>();
+  private long flushedIndex;
+  private long unflushedBytes;
 
   public RaftLogWriter(SegmentedJournalWriter<RaftLogEntry> writer, RaftLog log) {
     super(writer);
@@ -49,17 +64,79 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
   public void commit(long index) {
     if (index > log.getCommitIndex()) {
       log.setCommitIndex(index);
-      if (log.isFlushOnCommit()) {
+      if (log.isFlushOnCommit() && (!log.isGroupCommit() || unflushedBytes >= log.getMaxFlushBytes())) {
         flush();
       }
     }
   }
 
+  /**
+   * Returns the highest index known to have been flushed to disk.
+   *
+   * @return The highest index known to have been flushed to disk.
+   */
+  public long getFlushedIndex() {
+    return flushedIndex;
+  }
+
+  /**
+   * Returns a boolean indicating whether committed entries are awaiting a group commit flush.
+   *
+   * @return Indicates whether committed entries are awaiting a group commit flush.
+   */
+  public boolean isFlushPending() {
+    return log.isFlushOnCommit() && log.isGroupCommit() && flushedIndex < log.getCommitIndex();
+  }
+
+  /**
+   * Returns a future to be completed once the given index has been flushed to disk.
+   * <p>
+   * If flush-on-commit is disabled for the log, the returned future is completed immediately since entries
+   * are not flushed when committed.
+   *
+   * @param index The index for which to wait.
+   * @return A future to be completed once the given index has been flushed.
+   */
+  public CompletableFuture<Long> onFlush(long index) {
+    if (!log.isFlushOnCommit() || index <= flushedIndex) {
+      return CompletableFuture.completedFuture(index);
+    }
+    return flushFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+  }
+
+  @Override
+  public <T extends RaftLogEntry> Indexed<T> append(T entry) {
+    Indexed<T> indexed = super.append(entry);
+    unflushedBytes += indexed.size();
+    return indexed;
+  }
+
+  @Override
+  public void append(Indexed<RaftLogEntry> entry) {
+    super.append(entry);
+    unflushedBytes += entry.size();
+  }
+
   @Override
   public void truncate(long index) {
     if (index < log.getCommitIndex()) {
       throw new IndexOutOfBoundsException("Cannot truncate committed index: " + index);
     }
     super.truncate(index);
+    flushedIndex = Math.min(flushedIndex, index);
+  }
+
+  @Override
+  public void flush() {
+    super.flush();
+    flushedIndex = getLastIndex();
+    unflushedBytes = 0;
+
+    // Complete futures for all indexes covered by the flush.
+    Map<Long, CompletableFuture<Long>> flushed = flushFutures.headMap(flushedIndex, true);
+    for (Map.Entry<Long, CompletableFuture<Long>> entry : flushed.entrySet()) {
+      entry.getValue().complete(entry.getKey());
+    }
+    flushed.clear();
   }
 }
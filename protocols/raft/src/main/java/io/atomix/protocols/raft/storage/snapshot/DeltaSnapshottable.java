@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.storage.snapshot;
+
+/**
+ * Support for incremental snapshots of large state machines.
+ * <p>
+ * State machines that implement this interface may be asked to write a delta snapshot containing only the changes
+ * to the state machine state since the previous snapshot was taken, rather than a full copy of the state machine
+ * state. This allows the cost of snapshotting to scale with the rate of change rather than the size of the state.
+ * <p>
+ * <pre>
+ *   {@code
+ *   public class MyStateMachine extends AbstractRaftService implements DeltaSnapshottable {
+ *     private final Map<String, String> map = new HashMap<>();
+ *     private final Set<String> changes = new HashSet<>();
+ *
+ *     public void snapshot(SnapshotWriter writer) {
+ *       writer.writeObject(map);
+ *       changes.clear();
+ *     }
+ *
+ *     public void snapshotDelta(SnapshotWriter writer) {
+ *       Map<String, String> delta = new HashMap<>();
+ *       changes.forEach(key -> delta.put(key, map.get(key)));
+ *       writer.writeObject(delta);
+ *       changes.clear();
+ *     }
+ *
+ *     public void installDelta(SnapshotReader reader) {
+ *       Map<String, String> delta = reader.readObject();
+ *       delta.forEach((key, value) -> {
+ *         if (value == null) {
+ *           map.remove(key);
+ *         } else {
+ *           map.put(key, value);
+ *         }
+ *       });
+ *     }
+ *   }
+ *   }
+ * </pre>
+ * Snapshots are stored as a chain beginning with a full snapshot written by {@link #snapshot(SnapshotWriter)},
+ * followed by the deltas written by {@link #snapshotDelta(SnapshotWriter)}. Once the number of deltas in the chain
+ * reaches the configured maximum, the next snapshot will be a full snapshot, consolidating the chain. To recover
+ * the state machine state, the full snapshot will be {@link #install(SnapshotReader) installed}, followed by each
+ * delta in the chain in order via {@link #installDelta(SnapshotReader)}.
+ * <p>
+ * Implementations must track changes from the point at which each snapshot or delta is written, so both
+ * {@link #snapshot(SnapshotWriter)} and {@link #snapshotDelta(SnapshotWriter)} should reset any tracked changes.
+ * Deltas will only be requested when the previous snapshot taken by the state machine was completed, so a
+ * failed snapshot or the installation of a snapshot always results in the next snapshot being a full snapshot.
+ */
+public interface DeltaSnapshottable extends Snapshottable {
+
+  /**
+   * Takes a delta snapshot of the state machine state.
+   * <p>
+   * The delta must contain all changes to the state machine state since the last call to either
+   * {@link #snapshot(SnapshotWriter)} or {@link #snapshotDelta(SnapshotWriter)}.
+   *
+   * @param writer The snapshot writer.
+   */
+  void snapshotDelta(SnapshotWriter writer);
+
+  /**
+   * Installs a delta snapshot of the state machine state.
+   * <p>
+   * Deltas are installed in the order in which they were taken, after the full snapshot on which they're based
+   * has been {@link #install(SnapshotReader) installed}.
+   *
+   * @param reader The snapshot reader.
+   */
+  void installDelta(SnapshotReader reader);
+
+}
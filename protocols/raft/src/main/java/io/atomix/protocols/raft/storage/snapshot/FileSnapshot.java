@@ -32,12 +32,17 @@ import static com.google.common.base.Preconditions.checkState;
  * File-based snapshot backed by a {@link FileBuffer}.
  */
 final class FileSnapshot extends Snapshot {
+  private static final int WRITE_CHUNK_SIZE = 1024 * 64;
+
   private final SnapshotFile file;
+  private final long baseIndex;
   private final SnapshotStore store;
+  private boolean written;
 
-  FileSnapshot(SnapshotFile file, SnapshotStore store) {
+  FileSnapshot(SnapshotFile file, long baseIndex, SnapshotStore store) {
     super(store);
     this.file = checkNotNull(file, "file cannot be null");
+    this.baseIndex = baseIndex;
     this.store = checkNotNull(store, "store cannot be null");
   }
 
@@ -56,19 +61,32 @@ final class FileSnapshot extends Snapshot {
     return WallClockTimestamp.from(file.timestamp());
   }
 
+  @Override
+  public long baseIndex() {
+    return baseIndex;
+  }
+
   @Override
   public synchronized SnapshotWriter openWriter() {
     checkWriter();
     SnapshotDescriptor descriptor = SnapshotDescriptor.newBuilder()
         .withIndex(file.index())
         .withTimestamp(file.timestamp())
+        .withBaseIndex(baseIndex)
         .build();
 
     Buffer buffer = FileBuffer.allocate(file.file(), SnapshotDescriptor.BYTES);
     descriptor.copyTo(buffer);
 
+    // Chunks written by successive writers are appended, but a new snapshot may be stored in the file of a stale
+    // snapshot with the same name, so the first writer discards any existing content.
+    if (!written) {
+      buffer.writeInt(SnapshotDescriptor.BYTES, 0);
+      written = true;
+    }
+
     int length = buffer.position(SnapshotDescriptor.BYTES).readInt();
-    return openWriter(new SnapshotWriter(buffer.skip(length).mark(), this), descriptor);
+    return openWriter(new SnapshotWriter(buffer.skip(length).mark(), this, WRITE_CHUNK_SIZE), descriptor);
   }
 
   @Override
@@ -87,6 +105,12 @@ final class FileSnapshot extends Snapshot {
     return openReader(new SnapshotReader(buffer.mark().limit(SnapshotDescriptor.BYTES + Integer.BYTES + length), this), descriptor);
   }
 
+  @Override
+  boolean isStoredWith(Snapshot snapshot) {
+    return snapshot == this || (snapshot instanceof FileSnapshot
+        && ((FileSnapshot) snapshot).file.file().getAbsoluteFile().equals(file.file().getAbsoluteFile()));
+  }
+
   @Override
   public boolean isPersisted() {
     return true;
@@ -120,6 +144,7 @@ final class FileSnapshot extends Snapshot {
   public String toString() {
     return toStringHelper(this)
         .add("index", index())
+        .add("baseIndex", baseIndex)
         .toString();
   }
 
@@ -55,6 +55,11 @@ final class MemorySnapshot extends Snapshot {
     return WallClockTimestamp.from(descriptor.timestamp());
   }
 
+  @Override
+  public long baseIndex() {
+    return descriptor.baseIndex();
+  }
+
   @Override
   public SnapshotWriter openWriter() {
     checkWriter();
@@ -75,7 +80,7 @@ final class MemorySnapshot extends Snapshot {
   @Override
   public Snapshot persist() {
     if (store.storage.storageLevel() != StorageLevel.MEMORY) {
-      try (Snapshot newSnapshot = store.newSnapshot(serviceId(), index(), timestamp())) {
+      try (Snapshot newSnapshot = store.newSnapshot(serviceId(), index(), baseIndex(), timestamp())) {
         try (SnapshotWriter newSnapshotWriter = newSnapshot.openWriter()) {
           buffer.flip().skip(SnapshotDescriptor.BYTES);
           newSnapshotWriter.write(buffer.array(), buffer.position(), buffer.remaining());
@@ -107,6 +112,7 @@ final class MemorySnapshot extends Snapshot {
   public String toString() {
     return toStringHelper(this)
         .add("index", index())
+        .add("baseIndex", baseIndex())
         .toString();
   }
 
@@ -85,6 +85,26 @@ public abstract class Snapshot implements AutoCloseable {
    */
   public abstract WallClockTimestamp timestamp();
 
+  /**
+   * Returns the index of the snapshot on which this snapshot is based.
+   * <p>
+   * Delta snapshots contain only the changes to the state machine state since the snapshot at the base index,
+   * and can only be installed on top of that snapshot. Full snapshots of the state machine state have a base
+   * index of {@code 0}.
+   *
+   * @return The snapshot base index.
+   */
+  public abstract long baseIndex();
+
+  /**
+   * Returns whether the snapshot is a delta of a prior snapshot.
+   *
+   * @return Whether the snapshot is a delta snapshot.
+   */
+  public boolean isDelta() {
+    return baseIndex() > 0;
+  }
+
   /**
    * Opens a new snapshot writer.
    * <p>
@@ -163,6 +183,16 @@ public abstract class Snapshot implements AutoCloseable {
     return this;
   }
 
+  /**
+   * Returns whether this snapshot is stored in the same location as the given snapshot.
+   *
+   * @param snapshot The snapshot to compare.
+   * @return Whether deleting this snapshot would delete the given snapshot.
+   */
+  boolean isStoredWith(Snapshot snapshot) {
+    return this == snapshot;
+  }
+
   /**
    * Persists the snapshot to disk if necessary.
    * <p>
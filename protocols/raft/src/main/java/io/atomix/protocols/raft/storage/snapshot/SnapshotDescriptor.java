@@ -58,6 +58,7 @@ public final class SnapshotDescriptor implements AutoCloseable {
   private final long index;
   private final long timestamp;
   private boolean locked;
+  private final long baseIndex;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -68,6 +69,7 @@ public final class SnapshotDescriptor implements AutoCloseable {
     this.index = buffer.readLong();
     this.timestamp = buffer.readLong();
     this.locked = buffer.readBoolean();
+    this.baseIndex = buffer.readLong();
     buffer.skip(BYTES - buffer.position());
   }
 
@@ -98,6 +100,18 @@ public final class SnapshotDescriptor implements AutoCloseable {
     return timestamp;
   }
 
+  /**
+   * Returns the index of the snapshot on which this snapshot is based.
+   * <p>
+   * Delta snapshots store only the changes to the state machine since the snapshot at the base index.
+   * For full snapshots of the state machine state, the base index is {@code 0}.
+   *
+   * @return The snapshot base index.
+   */
+  public long baseIndex() {
+    return baseIndex;
+  }
+
   /**
    * Returns whether the snapshot has been locked by commitment.
    * <p>
@@ -128,6 +142,7 @@ public final class SnapshotDescriptor implements AutoCloseable {
         .writeLong(index)
         .writeLong(timestamp)
         .writeBoolean(locked)
+        .writeLong(baseIndex)
         .skip(BYTES - buffer.position())
         .flush();
     return this;
@@ -190,6 +205,17 @@ public final class SnapshotDescriptor implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Sets the snapshot base index.
+     *
+     * @param baseIndex The index of the snapshot on which the snapshot is based.
+     * @return The snapshot builder.
+     */
+    public Builder withBaseIndex(long baseIndex) {
+      buffer.writeLong(25, baseIndex);
+      return this;
+    }
+
     /**
      * Builds the snapshot descriptor.
      *
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.storage.snapshot;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Policy for determining when to snapshot services and compact the log.
+ * <p>
+ * The policy is evaluated periodically by the server's state machine. When the policy indicates that a snapshot
+ * should be taken, all services are snapshotted at the last applied index and the log is compacted up to that
+ * index once the snapshots are complete. Note that the log is compacted in whole segments, so policies that
+ * snapshot before a segment is full reduce the number of entries to replay on restart but may not free disk space
+ * until the segment is filled.
+ * <p>
+ * Policies can be combined with {@link #or(SnapshotPolicy)}:
+ * <pre>
+ *   {@code
+ *   SnapshotPolicy policy = SnapshotPolicy.entries(10000).or(SnapshotPolicy.interval(Duration.ofMinutes(5)));
+ *   }
+ * </pre>
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+
+  /**
+   * Returns a policy that snapshots services once a segment can be removed from the log.
+   * <p>
+   * This is the default policy.
+   *
+   * @return a policy that snapshots services once a segment can be removed from the log
+   */
+  static SnapshotPolicy segments() {
+    return Context::isCompactable;
+  }
+
+  /**
+   * Returns a policy that snapshots services once the given number of entries have been applied since the
+   * last snapshot.
+   *
+   * @param entries the number of entries after which to snapshot services
+   * @return the entry count snapshot policy
+   * @throws IllegalArgumentException if the number of entries is not positive
+   */
+  static SnapshotPolicy entries(long entries) {
+    checkArgument(entries > 0, "entries must be positive");
+    return context -> context.entriesSinceSnapshot() >= entries;
+  }
+
+  /**
+   * Returns a policy that snapshots services once the log has grown by the given number of bytes since the
+   * last compaction.
+   *
+   * @param bytes the number of bytes after which to snapshot services
+   * @return the log size snapshot policy
+   * @throws IllegalArgumentException if the number of bytes is not positive
+   */
+  static SnapshotPolicy bytes(long bytes) {
+    checkArgument(bytes > 0, "bytes must be positive");
+    return context -> context.bytesSinceSnapshot() >= bytes;
+  }
+
+  /**
+   * Returns a policy that snapshots services at the given interval if entries have been applied since the
+   * last snapshot.
+   *
+   * @param interval the interval at which to snapshot services
+   * @return the time based snapshot policy
+   * @throws NullPointerException if the interval is null
+   */
+  static SnapshotPolicy interval(Duration interval) {
+    checkNotNull(interval, "interval cannot be null");
+    return context -> context.entriesSinceSnapshot() > 0 && context.timeSinceSnapshot().compareTo(interval) >= 0;
+  }
+
+  /**
+   * Returns a policy that snapshots services when the fraction of the storage volume in use reaches the given
+   * threshold and entries have been applied since the last snapshot.
+   *
+   * @param threshold the disk usage threshold in the range (0, 1]
+   * @return the disk pressure snapshot policy
+   * @throws IllegalArgumentException if the threshold is not in the range (0, 1]
+   */
+  static SnapshotPolicy diskUsage(double threshold) {
+    checkArgument(threshold > 0 && threshold <= 1, "threshold must be in the range (0, 1]");
+    return context -> context.entriesSinceSnapshot() > 0 && context.diskUsage() >= threshold;
+  }
+
+  /**
+   * Returns whether services should be snapshotted and the log compacted.
+   *
+   * @param context the snapshot context
+   * @return whether services should be snapshotted and the log compacted
+   */
+  boolean shouldSnapshot(Context context);
+
+  /**
+   * Returns a policy that snapshots services if either this or the given policy indicates a snapshot should be taken.
+   *
+   * @param policy the policy with which to combine this policy
+   * @return the combined policy
+   * @throws NullPointerException if the policy is null
+   */
+  default SnapshotPolicy or(SnapshotPolicy policy) {
+    checkNotNull(policy, "policy cannot be null");
+    return context -> shouldSnapshot(context) || policy.shouldSnapshot(context);
+  }
+
+  /**
+   * Snapshot policy context.
+   */
+  interface Context {
+
+    /**
+     * Returns whether a segment can be removed from the log below the last applied index.
+     *
+     * @return whether a segment can be removed from the log below the last applied index
+     */
+    boolean isCompactable();
+
+    /**
+     * Returns the number of entries applied since the last snapshot.
+     *
+     * @return the number of entries applied since the last snapshot
+     */
+    long entriesSinceSnapshot();
+
+    /**
+     * Returns the number of bytes by which the log has grown since it was last compacted.
+     *
+     * @return the number of bytes by which the log has grown since it was last compacted
+     */
+    long bytesSinceSnapshot();
+
+    /**
+     * Returns the time since the last snapshot.
+     *
+     * @return the time since the last snapshot
+     */
+    Duration timeSinceSnapshot();
+
+    /**
+     * Returns the fraction of the storage volume in use.
+     *
+     * @return the fraction of the storage volume in use in the range [0, 1]
+     */
+    double diskUsage();
+  }
+}
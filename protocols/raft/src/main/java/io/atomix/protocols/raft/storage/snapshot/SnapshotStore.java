@@ -27,10 +27,15 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -68,12 +73,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Snapshots don't necessarily represent the beginning of the log. Typical Raft implementations take a
  * snapshot of the state machine state and then clear their logs up to that point. However, in Raft
  * a snapshot may actually only represent a subset of the state machine's state.
+ * <p>
+ * Snapshots may also be {@link Snapshot#isDelta() deltas} of a prior snapshot of the same service. The store
+ * maintains a chain of snapshots for each service, beginning with a full snapshot and followed by zero or more
+ * deltas, each based on the snapshot preceding it in the chain. Completing a delta snapshot appends it to the
+ * service's chain, and completing a full snapshot replaces the chain. The service's state at the index of the
+ * last snapshot in the chain can be recovered by installing each snapshot in the
+ * {@link #getSnapshotChain(ServiceId) chain} in order.
  */
 public class SnapshotStore implements AutoCloseable {
   private final Logger log = LoggerFactory.getLogger(getClass());
   final RaftStorage storage;
   private final Map<Long, Snapshot> indexSnapshots = new ConcurrentHashMap<>();
-  private final Map<ServiceId, Snapshot> stateMachineSnapshots = new ConcurrentHashMap<>();
+  private final Map<ServiceId, List<Snapshot>> snapshotChains = new ConcurrentHashMap<>();
 
   public SnapshotStore(RaftStorage storage) {
     this.storage = checkNotNull(storage, "storage cannot be null");
@@ -84,22 +96,59 @@ public class SnapshotStore implements AutoCloseable {
    * Opens the snapshot manager.
    */
   private void open() {
+    Map<ServiceId, List<Snapshot>> serviceSnapshots = new HashMap<>();
     for (Snapshot snapshot : loadSnapshots()) {
-      Snapshot existingSnapshot = stateMachineSnapshots.get(snapshot.serviceId());
-      if (existingSnapshot == null || existingSnapshot.index() < snapshot.index()) {
-        stateMachineSnapshots.put(snapshot.serviceId(), snapshot);
-
-        // If a newer snapshot was found, delete the old snapshot if necessary.
-        if (existingSnapshot != null && !storage.isRetainStaleSnapshots()) {
-          existingSnapshot.close();
-          existingSnapshot.delete();
+      serviceSnapshots.computeIfAbsent(snapshot.serviceId(), id -> new ArrayList<>()).add(snapshot);
+    }
+
+    for (Map.Entry<ServiceId, List<Snapshot>> entry : serviceSnapshots.entrySet()) {
+      List<Snapshot> snapshots = entry.getValue();
+      snapshots.sort(Comparator.comparingLong(Snapshot::index));
+
+      // Find the most recent snapshot chain that can be completely recovered.
+      List<Snapshot> chain = loadSnapshotChain(snapshots);
+      if (!chain.isEmpty()) {
+        snapshotChains.put(entry.getKey(), chain);
+        indexSnapshots.put(chain.get(chain.size() - 1).index(), chain.get(chain.size() - 1));
+      }
+
+      // Delete snapshots that don't contribute to the latest chain if necessary.
+      if (!storage.isRetainStaleSnapshots()) {
+        for (Snapshot snapshot : snapshots) {
+          if (!chain.contains(snapshot)) {
+            snapshot.close();
+            snapshot.delete();
+          }
         }
       }
     }
+  }
 
-    for (Snapshot snapshot : stateMachineSnapshots.values()) {
-      indexSnapshots.put(snapshot.index(), snapshot);
+  /**
+   * Returns the most recent snapshot chain from the given snapshots.
+   *
+   * @param snapshots The snapshots for a single service, sorted by index.
+   * @return The most recent snapshot chain for which all base snapshots exist.
+   */
+  private List<Snapshot> loadSnapshotChain(List<Snapshot> snapshots) {
+    Map<Long, Snapshot> indexes = new HashMap<>();
+    for (Snapshot snapshot : snapshots) {
+      indexes.put(snapshot.index(), snapshot);
+    }
+
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      LinkedList<Snapshot> chain = new LinkedList<>();
+      Snapshot snapshot = snapshots.get(i);
+      while (snapshot != null) {
+        chain.addFirst(snapshot);
+        if (!snapshot.isDelta()) {
+          return new ArrayList<>(chain);
+        }
+        snapshot = indexes.get(snapshot.baseIndex());
+      }
+      log.warn("Missing base snapshot for snapshot {}", snapshots.get(i));
     }
+    return Collections.emptyList();
   }
 
   /**
@@ -109,7 +158,23 @@ public class SnapshotStore implements AutoCloseable {
    * @return The latest snapshot for the given state machine.
    */
   public Snapshot getSnapshotById(ServiceId id) {
-    return stateMachineSnapshots.get(id);
+    List<Snapshot> chain = snapshotChains.get(id);
+    return chain != null ? chain.get(chain.size() - 1) : null;
+  }
+
+  /**
+   * Returns the snapshot chain for the given state machine identifier.
+   * <p>
+   * The chain begins with the latest full snapshot of the state machine, followed by each delta snapshot
+   * taken since, in index order. The last snapshot in the chain is the {@link #getSnapshotById(ServiceId) latest}
+   * snapshot for the state machine.
+   *
+   * @param id The state machine identifier for which to return the snapshot chain.
+   * @return The snapshot chain for the given state machine, or an empty list if no snapshot exists.
+   */
+  public List<Snapshot> getSnapshotChain(ServiceId id) {
+    List<Snapshot> chain = snapshotChains.get(id);
+    return chain != null ? chain : Collections.emptyList();
   }
 
   /**
@@ -145,7 +210,7 @@ public class SnapshotStore implements AutoCloseable {
         // unlocked and should ultimately be deleted from disk.
         if (descriptor.isLocked()) {
           log.debug("Loaded disk snapshot: {} ({})", snapshotFile.index(), snapshotFile.file().getName());
-          snapshots.add(new FileSnapshot(snapshotFile, this));
+          snapshots.add(new FileSnapshot(snapshotFile, descriptor.baseIndex(), this));
           descriptor.close();
         }
         // If the segment descriptor wasn't locked, close and delete the descriptor.
@@ -169,10 +234,24 @@ public class SnapshotStore implements AutoCloseable {
    * @return The snapshot.
    */
   public Snapshot newTemporarySnapshot(ServiceId serviceId, long index, WallClockTimestamp timestamp) {
+    return newTemporarySnapshot(serviceId, index, 0, timestamp);
+  }
+
+  /**
+   * Creates a temporary in-memory snapshot based on the given snapshot index.
+   *
+   * @param serviceId The snapshot identifier.
+   * @param index The snapshot index.
+   * @param baseIndex The index of the snapshot on which the snapshot is based, or {@code 0} for a full snapshot.
+   * @param timestamp The snapshot timestamp.
+   * @return The snapshot.
+   */
+  public Snapshot newTemporarySnapshot(ServiceId serviceId, long index, long baseIndex, WallClockTimestamp timestamp) {
     SnapshotDescriptor descriptor = SnapshotDescriptor.newBuilder()
         .withId(serviceId.id())
         .withIndex(index)
         .withTimestamp(timestamp.unixTimestamp())
+        .withBaseIndex(baseIndex)
         .build();
     return newSnapshot(descriptor, StorageLevel.MEMORY);
   }
@@ -186,10 +265,24 @@ public class SnapshotStore implements AutoCloseable {
    * @return The snapshot.
    */
   public Snapshot newSnapshot(ServiceId serviceId, long index, WallClockTimestamp timestamp) {
+    return newSnapshot(serviceId, index, 0, timestamp);
+  }
+
+  /**
+   * Creates a new snapshot based on the given snapshot index.
+   *
+   * @param serviceId The snapshot identifier.
+   * @param index The snapshot index.
+   * @param baseIndex The index of the snapshot on which the snapshot is based, or {@code 0} for a full snapshot.
+   * @param timestamp The snapshot timestamp.
+   * @return The snapshot.
+   */
+  public Snapshot newSnapshot(ServiceId serviceId, long index, long baseIndex, WallClockTimestamp timestamp) {
     SnapshotDescriptor descriptor = SnapshotDescriptor.newBuilder()
         .withId(serviceId.id())
         .withIndex(index)
         .withTimestamp(timestamp.unixTimestamp())
+        .withBaseIndex(baseIndex)
         .build();
     return newSnapshot(descriptor, storage.storageLevel());
   }
@@ -220,7 +313,7 @@ public class SnapshotStore implements AutoCloseable {
    */
   private Snapshot createDiskSnapshot(SnapshotDescriptor descriptor) {
     SnapshotFile file = new SnapshotFile(SnapshotFile.createSnapshotFile(storage.prefix(), storage.directory(), descriptor.snapshotId(), descriptor.index(), descriptor.timestamp()));
-    Snapshot snapshot = new FileSnapshot(file, this);
+    Snapshot snapshot = new FileSnapshot(file, descriptor.baseIndex(), this);
     log.debug("Created disk snapshot: {}", snapshot);
     return snapshot;
   }
@@ -231,19 +324,34 @@ public class SnapshotStore implements AutoCloseable {
   protected synchronized void completeSnapshot(Snapshot snapshot) {
     checkNotNull(snapshot, "snapshot cannot be null");
 
+    List<Snapshot> chain = snapshotChains.get(snapshot.serviceId());
+    Snapshot existingSnapshot = chain != null ? chain.get(chain.size() - 1) : null;
+
+    // If the snapshot is a delta, append it to the existing chain if it's based on the latest snapshot.
+    if (snapshot.isDelta()) {
+      if (existingSnapshot != null && existingSnapshot.index() == snapshot.baseIndex()) {
+        List<Snapshot> newChain = new ArrayList<>(chain);
+        newChain.add(snapshot);
+        snapshotChains.put(snapshot.serviceId(), newChain);
+        indexSnapshots.remove(existingSnapshot.index());
+        indexSnapshots.put(snapshot.index(), snapshot);
+      } else {
+        log.warn("Discarding delta snapshot {}: base snapshot {} is not the latest snapshot", snapshot, snapshot.baseIndex());
+        snapshot.close();
+        snapshot.delete();
+      }
+    }
     // Only store the snapshot if no existing snapshot exists.
-    Snapshot existingSnapshot = stateMachineSnapshots.get(snapshot.serviceId());
-    if (existingSnapshot == null || existingSnapshot.index() <= snapshot.index()) {
-      stateMachineSnapshots.put(snapshot.serviceId(), snapshot);
+    else if (existingSnapshot == null || existingSnapshot.index() <= snapshot.index()) {
+      snapshotChains.put(snapshot.serviceId(), Collections.singletonList(snapshot));
       indexSnapshots.put(snapshot.index(), snapshot);
 
-      // Delete the old snapshot if necessary.
+      // Delete the old snapshots if necessary.
       if (existingSnapshot != null) {
-        indexSnapshots.remove(existingSnapshot.index());
-        if (!storage.isRetainStaleSnapshots()) {
-          existingSnapshot.close();
-          existingSnapshot.delete();
+        if (existingSnapshot.index() != snapshot.index()) {
+          indexSnapshots.remove(existingSnapshot.index());
         }
+        deleteSnapshots(chain, Collections.singletonList(snapshot));
       }
     }
     // If the snapshot was old, delete it if necessary.
@@ -253,6 +361,65 @@ public class SnapshotStore implements AutoCloseable {
     }
   }
 
+  /**
+   * Completes a chain of snapshots.
+   * <p>
+   * The chain must begin with a full snapshot, and each subsequent snapshot must be based on the snapshot preceding
+   * it in the chain. If the last snapshot in the chain is newer than the latest snapshot for the service, the chain
+   * replaces the service's existing snapshot chain. Otherwise, the snapshots are discarded.
+   *
+   * @param snapshots The snapshots to complete.
+   */
+  public synchronized void completeSnapshots(List<Snapshot> snapshots) {
+    checkNotNull(snapshots, "snapshots cannot be null");
+    checkArgument(!snapshots.isEmpty(), "snapshots cannot be empty");
+    checkArgument(!snapshots.get(0).isDelta(), "snapshot chain must begin with a full snapshot");
+
+    Snapshot lastSnapshot = snapshots.get(snapshots.size() - 1);
+    List<Snapshot> chain = snapshotChains.get(lastSnapshot.serviceId());
+    Snapshot existingSnapshot = chain != null ? chain.get(chain.size() - 1) : null;
+
+    // If the existing chain is newer than the completed chain, discard the completed snapshots.
+    if (existingSnapshot != null && existingSnapshot.index() > lastSnapshot.index()) {
+      for (Snapshot snapshot : snapshots) {
+        snapshot.close();
+        snapshot.delete();
+      }
+      return;
+    }
+
+    // Remove the existing chain before completing the new chain to ensure the new chain is not treated as stale.
+    if (existingSnapshot != null) {
+      snapshotChains.remove(lastSnapshot.serviceId());
+      indexSnapshots.remove(existingSnapshot.index());
+      deleteSnapshots(chain, snapshots);
+    }
+
+    for (Snapshot snapshot : snapshots) {
+      snapshot.complete();
+    }
+  }
+
+  /**
+   * Deletes the given stale snapshots if necessary.
+   * <p>
+   * Snapshot files are named by service, index and timestamp, so a stale snapshot may be stored in the same file
+   * as a snapshot that replaced it. Stale snapshots that share storage with a new snapshot are not deleted.
+   *
+   * @param snapshots The stale snapshots to delete.
+   * @param newSnapshots The snapshots that replaced the stale snapshots.
+   */
+  private void deleteSnapshots(List<Snapshot> snapshots, List<Snapshot> newSnapshots) {
+    if (!storage.isRetainStaleSnapshots()) {
+      for (Snapshot snapshot : snapshots) {
+        if (newSnapshots.stream().noneMatch(snapshot::isStoredWith)) {
+          snapshot.close();
+          snapshot.delete();
+        }
+      }
+    }
+  }
+
   @Override
   public void close() {
   }
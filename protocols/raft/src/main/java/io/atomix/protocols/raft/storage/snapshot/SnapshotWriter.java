@@ -21,8 +21,10 @@ import io.atomix.storage.StorageLevel;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.BufferOutput;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.HeapBuffer;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -39,11 +41,65 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
   final Buffer buffer;
+  private final Buffer chunk;
   private final Snapshot snapshot;
 
   SnapshotWriter(Buffer buffer, Snapshot snapshot) {
+    this(buffer, snapshot, 0);
+  }
+
+  /**
+   * Creates a snapshot writer that coalesces writes to the underlying buffer into chunks of the given size.
+   * <p>
+   * Writes are accumulated in a fixed size heap chunk which is written to the underlying buffer once full, so
+   * memory usage is bounded by the chunk size regardless of the size of the snapshot. Writes that are larger
+   * than the chunk are written directly to the underlying buffer.
+   *
+   * @param buffer the underlying snapshot buffer
+   * @param snapshot the snapshot being written
+   * @param chunkSize the size of write chunks, or {@code 0} to write directly to the underlying buffer
+   */
+  SnapshotWriter(Buffer buffer, Snapshot snapshot, int chunkSize) {
     this.buffer = checkNotNull(buffer, "buffer cannot be null");
     this.snapshot = checkNotNull(snapshot, "snapshot cannot be null");
+    this.chunk = chunkSize > 0 ? HeapBuffer.allocate(chunkSize, chunkSize) : null;
+  }
+
+  /**
+   * Returns the buffer to which to write the given number of bytes.
+   */
+  private Buffer output(int length) {
+    if (chunk == null) {
+      return buffer;
+    }
+    if (chunk.remaining() < length) {
+      flushChunk();
+      if (chunk.remaining() < length) {
+        return buffer;
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * Writes any bytes pending in the current chunk to the underlying buffer.
+   */
+  private void flushChunk() {
+    if (chunk != null && chunk.position() > 0) {
+      chunk.flip();
+      buffer.write(chunk);
+      chunk.clear();
+    }
+  }
+
+  /**
+   * Returns the maximum number of bytes required to write the given string.
+   */
+  private static int stringSize(String s, Charset charset) {
+    if (s == null) {
+      return Bytes.BOOLEAN;
+    }
+    return Bytes.BOOLEAN + Bytes.SHORT + (int) Math.ceil(s.length() * charset.newEncoder().maxBytesPerChar());
   }
 
   /**
@@ -55,146 +111,151 @@ public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
    */
   public <T> SnapshotWriter writeObject(T object, Function<T, byte[]> encoder) {
     byte[] bytes = encoder.apply(object);
-    buffer.writeInt(bytes.length).write(bytes);
+    output(Bytes.INTEGER + bytes.length).writeInt(bytes.length).write(bytes);
     return this;
   }
 
   @Override
   public SnapshotWriter write(Bytes bytes) {
-    buffer.write(bytes);
+    output((int) bytes.size()).write(bytes);
     return this;
   }
 
   @Override
   public SnapshotWriter write(byte[] bytes) {
-    buffer.write(bytes);
+    output(bytes.length).write(bytes);
     return this;
   }
 
   @Override
   public SnapshotWriter write(Bytes bytes, int offset, int length) {
-    buffer.write(bytes, offset, length);
+    output(length).write(bytes, offset, length);
     return this;
   }
 
   @Override
   public SnapshotWriter write(byte[] bytes, int offset, int length) {
-    buffer.write(bytes, offset, length);
+    output(length).write(bytes, offset, length);
     return this;
   }
 
   @Override
   public SnapshotWriter write(Buffer buffer) {
-    this.buffer.write(buffer);
+    output(buffer.remaining()).write(buffer);
     return this;
   }
 
   @Override
   public SnapshotWriter writeByte(int b) {
-    buffer.writeByte(b);
+    output(Bytes.BYTE).writeByte(b);
     return this;
   }
 
   @Override
   public SnapshotWriter writeUnsignedByte(int b) {
-    buffer.writeUnsignedByte(b);
+    output(Bytes.BYTE).writeUnsignedByte(b);
     return this;
   }
 
   @Override
   public SnapshotWriter writeChar(char c) {
-    buffer.writeChar(c);
+    output(Bytes.CHARACTER).writeChar(c);
     return this;
   }
 
   @Override
   public SnapshotWriter writeShort(short s) {
-    buffer.writeShort(s);
+    output(Bytes.SHORT).writeShort(s);
     return this;
   }
 
   @Override
   public SnapshotWriter writeUnsignedShort(int s) {
-    buffer.writeUnsignedShort(s);
+    output(Bytes.SHORT).writeUnsignedShort(s);
     return this;
   }
 
   @Override
   public SnapshotWriter writeMedium(int m) {
-    buffer.writeMedium(m);
+    output(Bytes.MEDIUM).writeMedium(m);
     return this;
   }
 
   @Override
   public SnapshotWriter writeUnsignedMedium(int m) {
-    buffer.writeUnsignedMedium(m);
+    output(Bytes.MEDIUM).writeUnsignedMedium(m);
     return this;
   }
 
   @Override
   public SnapshotWriter writeInt(int i) {
-    buffer.writeInt(i);
+    output(Bytes.INTEGER).writeInt(i);
     return this;
   }
 
   @Override
   public SnapshotWriter writeUnsignedInt(long i) {
-    buffer.writeUnsignedInt(i);
+    output(Bytes.INTEGER).writeUnsignedInt(i);
     return this;
   }
 
   @Override
   public SnapshotWriter writeLong(long l) {
-    buffer.writeLong(l);
+    output(Bytes.LONG).writeLong(l);
     return this;
   }
 
   @Override
   public SnapshotWriter writeFloat(float f) {
-    buffer.writeFloat(f);
+    output(Bytes.FLOAT).writeFloat(f);
     return this;
   }
 
   @Override
   public SnapshotWriter writeDouble(double d) {
-    buffer.writeDouble(d);
+    output(Bytes.DOUBLE).writeDouble(d);
     return this;
   }
 
   @Override
   public SnapshotWriter writeBoolean(boolean b) {
-    buffer.writeBoolean(b);
+    output(Bytes.BOOLEAN).writeBoolean(b);
     return this;
   }
 
   @Override
   public SnapshotWriter writeString(String s) {
-    buffer.writeString(s);
+    output(stringSize(s, Charset.defaultCharset())).writeString(s);
     return this;
   }
 
   @Override
   public SnapshotWriter writeString(String s, Charset charset) {
-    buffer.writeString(s, charset);
+    output(stringSize(s, charset)).writeString(s, charset);
     return this;
   }
 
   @Override
   public SnapshotWriter writeUTF8(String s) {
-    buffer.writeUTF8(s);
+    output(stringSize(s, StandardCharsets.UTF_8)).writeUTF8(s);
     return this;
   }
 
   @Override
   public SnapshotWriter flush() {
+    flushChunk();
     buffer.flush();
     return this;
   }
 
   @Override
   public void close() {
+    flushChunk();
     snapshot.closeWriter(this);
     buffer.close();
+    if (chunk != null) {
+      chunk.close();
+    }
   }
 
 }
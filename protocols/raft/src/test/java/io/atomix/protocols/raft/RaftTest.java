@@ -24,7 +24,12 @@ import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import io.atomix.protocols.raft.operation.RaftOperation;
 import io.atomix.protocols.raft.operation.impl.DefaultOperationId;
+import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.PollResponse;
+import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.protocol.TestRaftProtocolFactory;
+import io.atomix.protocols.raft.protocol.VoteRequest;
+import io.atomix.protocols.raft.proxy.CommunicationStrategy;
 import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
@@ -47,6 +52,8 @@ import io.atomix.protocols.raft.storage.system.Configuration;
 import io.atomix.serializer.Serializer;
 import io.atomix.serializer.kryo.KryoNamespace;
 import io.atomix.storage.StorageLevel;
+import io.atomix.utils.concurrent.AtomixThreadFactory;
+import io.atomix.utils.concurrent.ThreadContext;
 import net.jodah.concurrentunit.ConcurrentTestCase;
 import org.junit.After;
 import org.junit.Before;
@@ -66,9 +73,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -77,8 +88,10 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Raft test.
@@ -114,6 +127,7 @@ public class RaftTest extends ConcurrentTestCase {
   protected volatile List<RaftMember> members;
   protected volatile List<RaftClient> clients = new ArrayList<>();
   protected volatile List<RaftServer> servers = new ArrayList<>();
+  protected volatile List<ScheduledExecutorService> threadPools = new ArrayList<>();
   protected volatile TestRaftProtocolFactory protocolFactory;
 
   /**
@@ -613,6 +627,291 @@ public class RaftTest extends ConcurrentTestCase {
     testSubmitQuery(5, ReadConsistency.LINEARIZABLE);
   }
 
+  /**
+   * Tests submitting a linearizable query to a follower.
+   */
+  @Test
+  public void testFollowerLinearizableQuery() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    RaftProxy writer = createSession(client);
+    RaftProxy reader = client.newProxyBuilder()
+        .withName("test")
+        .withServiceType("test")
+        .withReadConsistency(ReadConsistency.LINEARIZABLE)
+        .withCommunicationStrategy(CommunicationStrategy.FOLLOWERS)
+        .build()
+        .open()
+        .get(5, TimeUnit.SECONDS);
+
+    for (int i = 0; i < 10; i++) {
+      long index = writer.<Long>invoke(WRITE, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      long result = reader.<Long>invoke(READ, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      assertTrue(result >= index);
+    }
+  }
+
+  /**
+   * Tests that leader lease queries are served locally until the lease expires and then fall back to the read index.
+   */
+  @Test
+  public void testLeaseQuery() throws Throwable {
+    for (int i = 0; i < 3; i++) {
+      members.add(nextMember(RaftMember.Type.ACTIVE));
+    }
+
+    List<RaftServer> servers = new ArrayList<>();
+    for (RaftMember member : members) {
+      RaftServer server = createServer(member, builder -> builder.withElectionTimeout(Duration.ofSeconds(2)));
+      server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+      servers.add(server);
+    }
+    await(30000 * 3, 3);
+
+    RaftClient client = createClient();
+    RaftProxy session = client.newProxyBuilder()
+        .withName("test")
+        .withServiceType("test")
+        .withReadConsistency(ReadConsistency.LINEARIZABLE_LEASE)
+        .withCommunicationStrategy(CommunicationStrategy.LEADER)
+        .build()
+        .open()
+        .get(5, TimeUnit.SECONDS);
+    long index = session.<Long>invoke(WRITE, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+
+    // Once the followers are gone the leader can no longer reach a quorum, but its lease is still valid.
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    CompletableFuture.allOf(servers.stream()
+        .filter(server -> server != leader)
+        .map(RaftServer::shutdown)
+        .toArray(CompletableFuture[]::new))
+        .get(10, TimeUnit.SECONDS);
+    long result = session.<Long>invoke(READ, clientSerializer::decode).get(1, TimeUnit.SECONDS);
+    assertTrue(result >= index);
+
+    // The leader only steps down after two election timeouts, but the query must not be served once the lease expires.
+    Thread.sleep(2000);
+    assertTrue(leader.isLeader());
+    try {
+      session.<Long>invoke(READ, clientSerializer::decode).get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException | TimeoutException e) {
+    }
+  }
+
+  /**
+   * Tests that polls and votes are rejected while the leader's lease is active.
+   */
+  @Test
+  public void testElectionRejectedDuringLease() throws Throwable {
+    List<RaftServer> servers = createServers(3);
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    List<RaftServer> followers = servers.stream().filter(server -> server != leader).collect(Collectors.toList());
+    MemberId follower = followers.get(0).cluster().getMember().memberId();
+    MemberId candidate = followers.get(1).cluster().getMember().memberId();
+    long term = leader.cluster().getTerm();
+
+    RaftServerProtocol protocol = protocolFactory.newServerProtocol(nextMemberId());
+    PollResponse pollResponse = protocol.poll(follower, PollRequest.newBuilder()
+        .withTerm(term)
+        .withCandidate(candidate)
+        .withLastLogIndex(Long.MAX_VALUE)
+        .withLastLogTerm(term)
+        .build())
+        .get(5, TimeUnit.SECONDS);
+    assertFalse(pollResponse.accepted());
+
+    VoteRequest voteRequest = VoteRequest.newBuilder()
+        .withTerm(term + 1)
+        .withCandidate(candidate)
+        .withLastLogIndex(Long.MAX_VALUE)
+        .withLastLogTerm(term)
+        .build();
+    assertFalse(protocol.vote(follower, voteRequest).get(5, TimeUnit.SECONDS).voted());
+    assertFalse(protocol.vote(leader.cluster().getMember().memberId(), voteRequest).get(5, TimeUnit.SECONDS).voted());
+    assertTrue(leader.isLeader());
+    assertEquals(term, leader.cluster().getTerm());
+  }
+
+  /**
+   * Tests running multiple Raft groups on a shared thread pool.
+   */
+  @Test
+  public void testSharedThreadPool() throws Throwable {
+    ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2, new AtomixThreadFactory());
+    threadPools.add(threadPool);
+
+    for (int i = 0; i < 3; i++) {
+      members.add(nextMember(RaftMember.Type.ACTIVE));
+    }
+
+    for (RaftMember member : members) {
+      RaftServer server = createServer(member, builder -> builder.withThreadPool(threadPool));
+      server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+    }
+    await(30000 * 3, 3);
+
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client);
+    for (int i = 0; i < 10; i++) {
+      long index = session.<Long>invoke(WRITE, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      long result = session.<Long>invoke(READ, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      assertTrue(result >= index);
+    }
+  }
+
+  /**
+   * Tests that servers sharing a thread pool survive failing tasks and release the pool on shutdown.
+   */
+  @Test
+  public void testSharedThreadPoolShutdown() throws Throwable {
+    ScheduledThreadPoolExecutor threadPool = new ScheduledThreadPoolExecutor(2, new AtomixThreadFactory());
+    threadPool.setRemoveOnCancelPolicy(true);
+    threadPools.add(threadPool);
+
+    for (int i = 0; i < 3; i++) {
+      members.add(nextMember(RaftMember.Type.ACTIVE));
+    }
+
+    // Role change listeners are called on the server's thread context, so a failing task can be queued on it.
+    List<RaftServer> sharedServers = new ArrayList<>();
+    for (RaftMember member : members) {
+      RaftServer server = createServer(member, builder -> builder.withThreadPool(threadPool));
+      server.addRoleChangeListener(role -> ThreadContext.currentContextOrThrow().execute(() -> {
+        throw new IllegalStateException();
+      }));
+      sharedServers.add(server);
+      server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+    }
+    await(30000 * 3, 3);
+
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client);
+    for (int i = 0; i < 10; i++) {
+      long index = session.<Long>invoke(WRITE, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      long result = session.<Long>invoke(READ, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+      assertTrue(result >= index);
+    }
+    session.close().get(5, TimeUnit.SECONDS);
+    client.close().get(5, TimeUnit.SECONDS);
+    clients.remove(client);
+
+    for (RaftServer server : sharedServers) {
+      server.shutdown().get(10, TimeUnit.SECONDS);
+      servers.remove(server);
+    }
+
+    // Once all servers have been shut down no timers remain scheduled on the shared thread pool.
+    assertTrue(threadPool.getQueue().isEmpty());
+    long completedTasks = threadPool.getCompletedTaskCount();
+    Thread.sleep(1000);
+    assertEquals(completedTasks, threadPool.getCompletedTaskCount());
+  }
+
+  /**
+   * Tests that the append batch sizes are validated against each other when the server is built.
+   */
+  @Test
+  public void testAppendBatchSizeConfiguration() throws Throwable {
+    ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(1, new AtomixThreadFactory());
+    threadPools.add(threadPool);
+
+    RaftServer first = createServer(nextMember(RaftMember.Type.ACTIVE), builder -> builder
+        .withThreadPool(threadPool)
+        .withMinAppendBatchSize(1024 * 1024 * 2)
+        .withMaxAppendBatchSize(1024 * 1024 * 4));
+    assertFalse(first.isRunning());
+
+    RaftServer second = createServer(nextMember(RaftMember.Type.ACTIVE), builder -> builder
+        .withThreadPool(threadPool)
+        .withMaxAppendBatchSize(1024 * 4)
+        .withMinAppendBatchSize(1024 * 2));
+    assertFalse(second.isRunning());
+
+    try {
+      createServer(nextMember(RaftMember.Type.ACTIVE), builder -> builder
+          .withThreadPool(threadPool)
+          .withMinAppendBatchSize(1024 * 4)
+          .withMaxAppendBatchSize(1024 * 2));
+      fail();
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  /**
+   * Tests that the leader reports the effective append batch size for each follower.
+   */
+  @Test
+  public void testAppendBatchSizes() throws Throwable {
+    for (int i = 0; i < 3; i++) {
+      members.add(nextMember(RaftMember.Type.ACTIVE));
+    }
+
+    List<RaftServer> servers = new ArrayList<>();
+    for (RaftMember member : members) {
+      RaftServer server = createServer(member, builder -> builder
+          .withMinAppendBatchSize(1024)
+          .withMaxAppendBatchSize(1024 * 64));
+      server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+      servers.add(server);
+    }
+    await(30000 * 3, 3);
+
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client);
+    for (int i = 0; i < 10; i++) {
+      session.invoke(WRITE).get(5, TimeUnit.SECONDS);
+    }
+
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    Map<MemberId, Integer> batchSizes = leader.getAppendBatchSizes();
+    assertEquals(2, batchSizes.size());
+    for (RaftServer server : servers) {
+      if (server != leader) {
+        int batchSize = batchSizes.get(members.get(servers.indexOf(server)).memberId());
+        assertTrue(batchSize >= 1024 && batchSize <= 1024 * 64);
+        assertTrue(server.getAppendBatchSizes().isEmpty());
+      }
+    }
+  }
+
+  /**
+   * Tests submitting batched commands.
+   */
+  @Test
+  public void testBatchedCommands() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    RaftProxy session = client.newProxyBuilder()
+        .withName("test")
+        .withServiceType("test")
+        .withMaxCommandBatchSize(10)
+        .withCommandBatchLinger(Duration.ofMillis(10))
+        .build()
+        .open()
+        .get(5, TimeUnit.SECONDS);
+
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(session.invoke(WRITE, clientSerializer::decode));
+    }
+
+    Set<Long> indexes = new HashSet<>();
+    long lastIndex = 0;
+    for (CompletableFuture<Long> future : futures) {
+      long index = future.get(10, TimeUnit.SECONDS);
+      assertTrue(index >= lastIndex);
+      lastIndex = index;
+      indexes.add(index);
+    }
+    assertTrue(indexes.size() < futures.size());
+
+    long result = session.<Long>invoke(READ, clientSerializer::decode).get(5, TimeUnit.SECONDS);
+    assertTrue(result >= lastIndex);
+  }
+
   /**
    * Tests submitting a query with a configured consistency level.
    */
@@ -1210,6 +1509,14 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a Raft server.
    */
   private RaftServer createServer(RaftMember member) {
+    return createServer(member, builder -> {
+    });
+  }
+
+  /**
+   * Creates a Raft server, applying the given configuration to the server builder.
+   */
+  private RaftServer createServer(RaftMember member, Consumer<RaftServer.Builder> configurator) {
     RaftServer.Builder builder = RaftServer.newBuilder(member.memberId())
         .withType(member.getType())
         .withProtocol(protocolFactory.newServerProtocol(member.memberId()))
@@ -1221,6 +1528,7 @@ public class RaftTest extends ConcurrentTestCase {
             .withMaxEntriesPerSegment(10)
             .build())
         .addService("test", TestStateMachine::new);
+    configurator.accept(builder);
 
     RaftServer server = builder.build();
     servers.add(server);
@@ -1281,6 +1589,8 @@ public class RaftTest extends ConcurrentTestCase {
       }
     });
 
+    threadPools.forEach(ScheduledExecutorService::shutdownNow);
+
     Path directory = Paths.get("target/test-logs/");
     if (Files.exists(directory)) {
       Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
@@ -1302,6 +1612,7 @@ public class RaftTest extends ConcurrentTestCase {
     nextId = 0;
     clients = new ArrayList<>();
     servers = new ArrayList<>();
+    threadPools = new ArrayList<>();
     protocolFactory = new TestRaftProtocolFactory();
   }
 
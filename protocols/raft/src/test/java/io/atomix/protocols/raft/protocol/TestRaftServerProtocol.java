@@ -44,6 +44,7 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
   private Function<InstallRequest, CompletableFuture<InstallResponse>> installHandler;
   private Function<TransferRequest, CompletableFuture<TransferResponse>> transferHandler;
   private Function<PollRequest, CompletableFuture<PollResponse>> pollHandler;
+  private Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> readIndexHandler;
   private Function<VoteRequest, CompletableFuture<VoteResponse>> voteHandler;
   private Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler;
   private final Map<Long, Consumer<ResetRequest>> resetListeners = Maps.newConcurrentMap();
@@ -136,6 +137,11 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     return getServer(memberId).thenCompose(listener -> listener.poll(request));
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(MemberId memberId, ReadIndexRequest request) {
+    return getServer(memberId).thenCompose(listener -> listener.readIndex(request));
+  }
+
   @Override
   public CompletableFuture<VoteResponse> vote(MemberId memberId, VoteRequest request) {
     return getServer(memberId).thenCompose(listener -> listener.vote(request));
@@ -385,6 +391,24 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     this.pollHandler = null;
   }
 
+  CompletableFuture<ReadIndexResponse> readIndex(ReadIndexRequest request) {
+    if (readIndexHandler != null) {
+      return readIndexHandler.apply(request);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    this.readIndexHandler = handler;
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    this.readIndexHandler = null;
+  }
+
   CompletableFuture<VoteResponse> vote(VoteRequest request) {
     if (voteHandler != null) {
       return voteHandler.apply(request);
@@ -16,8 +16,10 @@
 package io.atomix.protocols.raft.proxy.impl;
 
 import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.OperationBatch;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
@@ -29,6 +31,7 @@ import io.atomix.storage.buffer.HeapBytes;
 import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.ThreadContext;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.time.Duration;
@@ -77,6 +80,41 @@ public class RaftProxyInvokerTest {
     assertEquals(state.getResponseIndex(), 10);
   }
 
+  /**
+   * Tests submitting a batch of commands to the cluster.
+   */
+  @Test
+  public void testSubmitBatchedCommands() throws Throwable {
+    RaftProxyConnection connection = mock(RaftProxyConnection.class);
+    when(connection.command(any(CommandRequest.class)))
+      .thenReturn(CompletableFuture.completedFuture(CommandResponse.newBuilder()
+        .withStatus(RaftResponse.Status.OK)
+        .withIndex(10)
+        .withResult(OperationBatch.encodeResults(Arrays.asList(
+          OperationResult.succeeded(10, 0, "Hello world!".getBytes()),
+          OperationResult.failed(10, 0, new RaftException.ApplicationException("failed")))))
+        .build()));
+
+    RaftProxyState state = new RaftProxyState("test", SessionId.from(1), UUID.randomUUID().toString(), ServiceType.from("test"), 1000);
+    RaftProxyManager manager = mock(RaftProxyManager.class);
+    ThreadContext threadContext = new TestContext();
+
+    RaftProxyInvoker submitter = new RaftProxyInvoker(connection, mock(RaftProxyConnection.class), state, new RaftProxySequencer(state), manager, 2, 1024, Duration.ofMillis(100), threadContext);
+    CompletableFuture<byte[]> result1 = submitter.invoke(new RaftOperation(COMMAND, HeapBytes.EMPTY));
+    CompletableFuture<byte[]> result2 = submitter.invoke(new RaftOperation(COMMAND, HeapBytes.EMPTY));
+
+    ArgumentCaptor<CommandRequest> request = ArgumentCaptor.forClass(CommandRequest.class);
+    Mockito.verify(connection).command(request.capture());
+    assertEquals(OperationId.BATCH, request.getValue().operation().id());
+    assertEquals(2, OperationBatch.decodeOperations(request.getValue().operation().value()).size());
+
+    assertArrayEquals(result1.get(), "Hello world!".getBytes());
+    assertTrue(result2.isCompletedExceptionally());
+    assertEquals(state.getCommandRequest(), 1);
+    assertEquals(state.getCommandResponse(), 1);
+    assertEquals(state.getResponseIndex(), 10);
+  }
+
   /**
    * Test resequencing a command response.
    */
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.cluster.impl.RaftClusterContext;
+import io.atomix.protocols.raft.cluster.impl.RaftMemberContext;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.storage.log.RaftLog;
+import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.log.RaftLogWriter;
+import io.atomix.protocols.raft.storage.log.entry.InitializeEntry;
+import io.atomix.protocols.raft.storage.system.Configuration;
+import io.atomix.protocols.raft.storage.system.MetaStore;
+import io.atomix.utils.concurrent.ThreadContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Abstract appender test.
+ */
+public class AbstractAppenderTest {
+  private static final long TERM = 2;
+
+  private RaftContext raft;
+  private RaftServerProtocol protocol;
+  private RaftLogReader reader;
+  private RaftMemberContext member;
+
+  @Before
+  public void setupContext() {
+    raft = mock(RaftContext.class);
+    protocol = mock(RaftServerProtocol.class);
+    ThreadContext threadContext = mock(ThreadContext.class);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArguments()[0]).run();
+      return null;
+    }).when(threadContext).execute(any(Runnable.class));
+    when(raft.getName()).thenReturn("test");
+    when(raft.getTerm()).thenReturn(TERM);
+    when(raft.getProtocol()).thenReturn(protocol);
+    when(raft.getThreadContext()).thenReturn(threadContext);
+    when(raft.getMaxAppendsPerFollower()).thenReturn(2);
+
+    // Configure a cluster with a single remote member whose log reader is a mock.
+    MemberId localMemberId = MemberId.from("a");
+    MemberId remoteMemberId = MemberId.from("b");
+    Instant time = Instant.now();
+    MetaStore metaStore = mock(MetaStore.class);
+    when(metaStore.loadConfiguration()).thenReturn(new Configuration(1, 1, time.toEpochMilli(), Arrays.asList(
+        new DefaultRaftMember(localMemberId, RaftMember.Type.ACTIVE, time),
+        new DefaultRaftMember(remoteMemberId, RaftMember.Type.ACTIVE, time))));
+    reader = mock(RaftLogReader.class);
+    RaftLog log = mock(RaftLog.class);
+    when(log.writer()).thenReturn(mock(RaftLogWriter.class));
+    when(log.openReader(anyLong(), any(RaftLogReader.Mode.class))).thenReturn(reader);
+    when(raft.getMetaStore()).thenReturn(metaStore);
+    when(raft.getLog()).thenReturn(log);
+
+    RaftClusterContext cluster = new RaftClusterContext(RaftMember.Type.ACTIVE, localMemberId, raft);
+    when(raft.getCluster()).thenReturn(cluster);
+    member = cluster.getMemberState(remoteMemberId);
+  }
+
+  private static AppendRequest appendRequest(long prevLogIndex) {
+    return AppendRequest.newBuilder()
+        .withTerm(TERM)
+        .withLeader(MemberId.from("a"))
+        .withPrevLogIndex(prevLogIndex)
+        .withPrevLogTerm(TERM)
+        .withEntries(Collections.singletonList(new InitializeEntry(TERM, System.currentTimeMillis())))
+        .withCommitIndex(0)
+        .build();
+  }
+
+  private static AppendResponse rejection(long lastLogIndex) {
+    return AppendResponse.newBuilder()
+        .withStatus(RaftResponse.Status.OK)
+        .withTerm(TERM)
+        .withSucceeded(false)
+        .withLastLogIndex(lastLogIndex)
+        .build();
+  }
+
+  /**
+   * Tests that a rejection of a request pipelined before the member's next index was reset is dropped.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStaleRejection() throws Exception {
+    TestAppender appender = new TestAppender(raft);
+    CompletableFuture<AppendResponse> first = new CompletableFuture<>();
+    CompletableFuture<AppendResponse> second = new CompletableFuture<>();
+    when(protocol.append(any(MemberId.class), any(AppendRequest.class))).thenReturn(first, second);
+
+    // Pipeline two requests to the member.
+    appender.sendAppendRequest(member, appendRequest(10));
+    appender.sendAppendRequest(member, appendRequest(11));
+    long epoch = member.getAppendEpoch();
+
+    // The first rejection resets the member's match and next indexes.
+    first.complete(rejection(5));
+    assertEquals(5, member.getMatchIndex());
+    verify(reader).reset(6);
+    assertEquals(epoch + 1, member.getAppendEpoch());
+
+    // The second request was sent in the previous epoch, so its rejection doesn't reset the indexes again.
+    second.complete(rejection(3));
+    assertEquals(5, member.getMatchIndex());
+    verify(reader, never()).reset(4);
+    verify(reader, times(1)).reset(anyLong());
+    verify(reader, never()).reset();
+    assertEquals(epoch + 1, member.getAppendEpoch());
+    assertEquals(0, member.getFailureCount());
+  }
+
+  /**
+   * Tests that a rejection of a request sent in the current epoch resets the member's indexes.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCurrentRejection() throws Exception {
+    TestAppender appender = new TestAppender(raft);
+    CompletableFuture<AppendResponse> first = new CompletableFuture<>();
+    CompletableFuture<AppendResponse> second = new CompletableFuture<>();
+    when(protocol.append(any(MemberId.class), any(AppendRequest.class))).thenReturn(first, second);
+
+    appender.sendAppendRequest(member, appendRequest(10));
+    first.complete(rejection(5));
+    assertEquals(5, member.getMatchIndex());
+    verify(reader).reset(6);
+
+    // A request sent after the reset is in the new epoch, so its rejection is handled.
+    appender.sendAppendRequest(member, appendRequest(5));
+    second.complete(rejection(3));
+    assertEquals(3, member.getMatchIndex());
+    verify(reader).reset(4);
+  }
+
+  /**
+   * Test appender.
+   */
+  private static class TestAppender extends AbstractAppender {
+    TestAppender(RaftContext raft) {
+      super(raft);
+    }
+
+    @Override
+    protected void appendEntries(RaftMemberContext member) {
+    }
+
+    @Override
+    protected boolean hasMoreEntries(RaftMemberContext member) {
+      return false;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
+}
@@ -43,9 +43,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -92,6 +94,7 @@ public abstract class AbstractLogTest {
         .withStorageLevel(storageLevel())
         .withMaxEntriesPerSegment(MAX_ENTRIES_PER_SEGMENT)
         .withMaxSegmentSize(MAX_SEGMENT_SIZE)
+        .withIndexDensity(.2)
         .build();
   }
 
@@ -282,6 +285,45 @@ public abstract class AbstractLogTest {
     }
   }
 
+  @Test
+  public void testGroupCommit() throws Exception {
+    RaftLog log = RaftLog.builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel())
+        .withFlushOnCommit()
+        .withMaxFlushDelay(Duration.ofMillis(10))
+        .withMaxFlushBytes(1024)
+        .build();
+    RaftLogWriter writer = log.writer();
+
+    // Committing entries does not flush the log until the flush is triggered.
+    writer.append(new TestEntry(1, 32));
+    writer.append(new TestEntry(1, 32));
+    writer.commit(2);
+    assertTrue(writer.isFlushPending());
+    assertEquals(0, writer.getFlushedIndex());
+    CompletableFuture<Long> future = writer.onFlush(2);
+    assertFalse(future.isDone());
+
+    // A single flush covers all committed entries.
+    writer.flush();
+    assertFalse(writer.isFlushPending());
+    assertEquals(2, writer.getFlushedIndex());
+    assertTrue(future.isDone());
+    assertTrue(writer.onFlush(2).isDone());
+
+    // Exceeding the maximum number of unflushed bytes flushes the log on commit.
+    for (int i = 0; i < 10; i++) {
+      writer.append(new TestEntry(1, 256));
+    }
+    writer.commit(12);
+    assertFalse(writer.isFlushPending());
+    assertEquals(12, writer.getFlushedIndex());
+    log.close();
+  }
+
   @Before
   @After
   public void cleanupStorage() throws IOException {
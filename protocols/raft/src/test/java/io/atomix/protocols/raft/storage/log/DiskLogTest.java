@@ -66,4 +66,35 @@ public class DiskLogTest extends AbstractLogTest {
     assertEquals(reader.getFirstIndex(), reader.getNextIndex());
     assertEquals(MAX_ENTRIES_PER_SEGMENT + 1, reader.next().index());
   }
+
+  /**
+   * Tests recovering the log index from disk.
+   */
+  @Test
+  public void testRecoverIndex() throws Exception {
+    RaftLog log = createLog();
+
+    // Write three segments to the log.
+    RaftLogWriter writer = log.writer();
+    for (int i = 0; i < MAX_ENTRIES_PER_SEGMENT * 3; i++) {
+      writer.append(new TestEntry(1, 1));
+    }
+    log.close();
+
+    // Reopen the log and verify the writer recovered the last index.
+    log = createLog();
+    writer = log.writer();
+    assertEquals(MAX_ENTRIES_PER_SEGMENT * 3, writer.getLastIndex());
+    assertEquals(MAX_ENTRIES_PER_SEGMENT * 3 + 1, writer.append(new TestEntry(1, 1)).index());
+
+    // Verify a reader can seek into the middle of each segment.
+    RaftLogReader reader = log.openReader(MAX_ENTRIES_PER_SEGMENT + 5, RaftLogReader.Mode.ALL);
+    assertEquals(MAX_ENTRIES_PER_SEGMENT + 4, reader.getCurrentIndex());
+    assertEquals(MAX_ENTRIES_PER_SEGMENT + 5, reader.next().index());
+    reader.reset(MAX_ENTRIES_PER_SEGMENT * 2 + 8);
+    assertEquals(MAX_ENTRIES_PER_SEGMENT * 2 + 8, reader.next().index());
+    reader.reset(3);
+    assertEquals(2, reader.getCurrentIndex());
+    assertEquals(3, reader.next().index());
+  }
 }
@@ -19,8 +19,13 @@ import io.atomix.protocols.raft.service.ServiceId;
 import io.atomix.time.WallClockTimestamp;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Snapshot store test.
@@ -83,4 +88,71 @@ public abstract class AbstractSnapshotStoreTest {
     }
   }
 
+  /**
+   * Tests completing delta snapshots.
+   */
+  @Test
+  public void testDeltaSnapshotChain() {
+    SnapshotStore store = createSnapshotStore();
+    Snapshot base = writeSnapshot(store.newSnapshot(ServiceId.from(1), 2, new WallClockTimestamp()), 10).complete();
+    Snapshot delta1 = writeSnapshot(store.newSnapshot(ServiceId.from(1), 3, 2, new WallClockTimestamp()), 11).complete();
+    Snapshot delta2 = writeSnapshot(store.newSnapshot(ServiceId.from(1), 4, 3, new WallClockTimestamp()), 12).complete();
+
+    assertFalse(base.isDelta());
+    assertTrue(delta2.isDelta());
+    assertEquals(3, delta2.baseIndex());
+    assertEquals(4, store.getSnapshotById(ServiceId.from(1)).index());
+    assertEquals(Arrays.asList(base, delta1, delta2), store.getSnapshotChain(ServiceId.from(1)));
+    assertNull(store.getSnapshotByIndex(2));
+    assertNull(store.getSnapshotByIndex(3));
+    assertEquals(delta2, store.getSnapshotByIndex(4));
+
+    // Deltas that aren't based on the latest snapshot are discarded.
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 5, 3, new WallClockTimestamp()), 13).complete();
+    assertEquals(4, store.getSnapshotById(ServiceId.from(1)).index());
+    assertEquals(3, store.getSnapshotChain(ServiceId.from(1)).size());
+
+    // Full snapshots replace the chain.
+    Snapshot full = writeSnapshot(store.newSnapshot(ServiceId.from(1), 6, new WallClockTimestamp()), 14).complete();
+    assertEquals(Collections.singletonList(full), store.getSnapshotChain(ServiceId.from(1)));
+    assertNull(store.getSnapshotByIndex(4));
+    assertEquals(full, store.getSnapshotByIndex(6));
+  }
+
+  /**
+   * Tests completing a snapshot chain.
+   */
+  @Test
+  public void testCompleteSnapshotChain() {
+    SnapshotStore store = createSnapshotStore();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 5, new WallClockTimestamp()), 10).complete();
+
+    Snapshot base = writeSnapshot(store.newSnapshot(ServiceId.from(1), 2, new WallClockTimestamp()), 11);
+    Snapshot delta = writeSnapshot(store.newSnapshot(ServiceId.from(1), 7, 2, new WallClockTimestamp()), 12);
+    store.completeSnapshots(Arrays.asList(base, delta));
+    assertEquals(Arrays.asList(base, delta), store.getSnapshotChain(ServiceId.from(1)));
+    assertNull(store.getSnapshotByIndex(5));
+    assertEquals(delta, store.getSnapshotByIndex(7));
+
+    try (SnapshotReader reader = delta.openReader()) {
+      assertEquals(12, reader.readLong());
+    }
+
+    // Chains older than the latest snapshot are discarded.
+    Snapshot staleBase = writeSnapshot(store.newSnapshot(ServiceId.from(1), 3, new WallClockTimestamp()), 13);
+    Snapshot staleDelta = writeSnapshot(store.newSnapshot(ServiceId.from(1), 6, 3, new WallClockTimestamp()), 14);
+    store.completeSnapshots(Arrays.asList(staleBase, staleDelta));
+    assertEquals(Arrays.asList(base, delta), store.getSnapshotChain(ServiceId.from(1)));
+  }
+
+  /**
+   * Writes the given value to the given snapshot.
+   */
+  protected Snapshot writeSnapshot(Snapshot snapshot, long value) {
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      writer.writeLong(value);
+    }
+    return snapshot;
+  }
+
 }
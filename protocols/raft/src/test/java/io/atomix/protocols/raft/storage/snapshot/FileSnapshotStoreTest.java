@@ -31,8 +31,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -86,6 +89,101 @@ public class FileSnapshotStoreTest extends AbstractSnapshotStoreTest {
     }
   }
 
+  /**
+   * Tests streaming a snapshot larger than the write chunk size.
+   */
+  @Test
+  public void testStreamLargeSnapshot() {
+    SnapshotStore store = createSnapshotStore();
+
+    byte[] bytes = new byte[1024 * 256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+
+    Snapshot snapshot = store.newSnapshot(ServiceId.from(1), 2, new WallClockTimestamp());
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      for (int i = 0; i < 1024 * 16; i++) {
+        writer.writeLong(i);
+        writer.writeString("foo");
+      }
+      writer.writeInt(bytes.length).write(bytes);
+    }
+    snapshot.complete();
+    store.close();
+
+    store = createSnapshotStore();
+    snapshot = store.getSnapshotById(ServiceId.from(1));
+    try (SnapshotReader reader = snapshot.openReader()) {
+      for (int i = 0; i < 1024 * 16; i++) {
+        assertEquals(reader.readLong(), i);
+        assertEquals(reader.readString(), "foo");
+      }
+      byte[] read = new byte[reader.readInt()];
+      reader.read(read);
+      assertArrayEquals(read, bytes);
+    }
+  }
+
+  /**
+   * Tests loading a delta snapshot chain.
+   */
+  @Test
+  public void testLoadDeltaSnapshotChain() {
+    SnapshotStore store = createSnapshotStore();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 2, new WallClockTimestamp()), 10).complete();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 3, 2, new WallClockTimestamp()), 11).complete();
+    writeSnapshot(store.newTemporarySnapshot(ServiceId.from(1), 4, 3, new WallClockTimestamp()), 12).persist().complete();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 5, 4, new WallClockTimestamp()), 13);
+    store.close();
+
+    store = createSnapshotStore();
+    List<Snapshot> chain = store.getSnapshotChain(ServiceId.from(1));
+    assertEquals(3, chain.size());
+    assertEquals(2, chain.get(0).index());
+    assertEquals(0, chain.get(0).baseIndex());
+    assertEquals(3, chain.get(1).index());
+    assertEquals(2, chain.get(1).baseIndex());
+    assertEquals(4, chain.get(2).index());
+    assertEquals(3, chain.get(2).baseIndex());
+    assertEquals(4, store.getSnapshotById(ServiceId.from(1)).index());
+    for (int i = 0; i < chain.size(); i++) {
+      try (SnapshotReader reader = chain.get(i).openReader()) {
+        assertEquals(10 + i, reader.readLong());
+      }
+    }
+  }
+
+  /**
+   * Tests that completing a chain that overlaps the existing chain retains the files of the new chain.
+   */
+  @Test
+  public void testCompleteOverlappingSnapshotChain() {
+    // Snapshot files are named by index and timestamp, so snapshots re-sent with the same timestamp share files.
+    WallClockTimestamp timestamp = new WallClockTimestamp();
+    SnapshotStore store = createSnapshotStore();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 2, timestamp), 10).complete();
+    writeSnapshot(store.newSnapshot(ServiceId.from(1), 3, 2, timestamp), 11).complete();
+
+    Snapshot base = writeSnapshot(store.newSnapshot(ServiceId.from(1), 2, timestamp), 20);
+    Snapshot delta = writeSnapshot(store.newSnapshot(ServiceId.from(1), 3, 2, timestamp), 21);
+    Snapshot lastDelta = writeSnapshot(store.newSnapshot(ServiceId.from(1), 4, 3, timestamp), 22);
+    store.completeSnapshots(Arrays.asList(base, delta, lastDelta));
+    assertEquals(Arrays.asList(base, delta, lastDelta), store.getSnapshotChain(ServiceId.from(1)));
+    store.close();
+
+    store = createSnapshotStore();
+    List<Snapshot> chain = store.getSnapshotChain(ServiceId.from(1));
+    assertEquals(3, chain.size());
+    assertEquals(4, store.getSnapshotById(ServiceId.from(1)).index());
+    for (int i = 0; i < chain.size(); i++) {
+      assertEquals(i + 2, chain.get(i).index());
+      try (SnapshotReader reader = chain.get(i).openReader()) {
+        assertEquals(20 + i, reader.readLong());
+      }
+    }
+  }
+
   /**
    * Tests persisting and loading snapshots.
    */
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.storage.snapshot;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Snapshot policy test.
+ */
+public class SnapshotPolicyTest {
+
+  /**
+   * Tests the segment based snapshot policy.
+   */
+  @Test
+  public void testSegmentsPolicy() throws Exception {
+    assertFalse(SnapshotPolicy.segments().shouldSnapshot(new TestContext(false, 100, 0, Duration.ZERO, 0)));
+    assertTrue(SnapshotPolicy.segments().shouldSnapshot(new TestContext(true, 100, 0, Duration.ZERO, 0)));
+  }
+
+  /**
+   * Tests the entry count snapshot policy.
+   */
+  @Test
+  public void testEntriesPolicy() throws Exception {
+    SnapshotPolicy policy = SnapshotPolicy.entries(10);
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 9, 0, Duration.ZERO, 0)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 10, 0, Duration.ZERO, 0)));
+  }
+
+  /**
+   * Tests the log size snapshot policy.
+   */
+  @Test
+  public void testBytesPolicy() throws Exception {
+    SnapshotPolicy policy = SnapshotPolicy.bytes(1024);
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 1, 1023, Duration.ZERO, 0)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 1, 1024, Duration.ZERO, 0)));
+  }
+
+  /**
+   * Tests the time based snapshot policy.
+   */
+  @Test
+  public void testIntervalPolicy() throws Exception {
+    SnapshotPolicy policy = SnapshotPolicy.interval(Duration.ofMinutes(1));
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 1, 0, Duration.ofSeconds(59), 0)));
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 0, 0, Duration.ofMinutes(2), 0)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 1, 0, Duration.ofMinutes(1), 0)));
+  }
+
+  /**
+   * Tests the disk pressure snapshot policy.
+   */
+  @Test
+  public void testDiskUsagePolicy() throws Exception {
+    SnapshotPolicy policy = SnapshotPolicy.diskUsage(.8);
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 1, 0, Duration.ZERO, .5)));
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 0, 0, Duration.ZERO, .9)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 1, 0, Duration.ZERO, .9)));
+  }
+
+  /**
+   * Tests combining snapshot policies.
+   */
+  @Test
+  public void testCombinedPolicy() throws Exception {
+    SnapshotPolicy policy = SnapshotPolicy.entries(10).or(SnapshotPolicy.bytes(1024));
+    assertFalse(policy.shouldSnapshot(new TestContext(false, 1, 1, Duration.ZERO, 0)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 10, 1, Duration.ZERO, 0)));
+    assertTrue(policy.shouldSnapshot(new TestContext(false, 1, 1024, Duration.ZERO, 0)));
+  }
+
+  /**
+   * Tests that invalid policy arguments are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDiskUsage() throws Exception {
+    SnapshotPolicy.diskUsage(1.5);
+  }
+
+  /**
+   * Test snapshot policy context.
+   */
+  private static class TestContext implements SnapshotPolicy.Context {
+    private final boolean compactable;
+    private final long entries;
+    private final long bytes;
+    private final Duration time;
+    private final double diskUsage;
+
+    TestContext(boolean compactable, long entries, long bytes, Duration time, double diskUsage) {
+      this.compactable = compactable;
+      this.entries = entries;
+      this.bytes = bytes;
+      this.time = time;
+      this.diskUsage = diskUsage;
+    }
+
+    @Override
+    public boolean isCompactable() {
+      return compactable;
+    }
+
+    @Override
+    public long entriesSinceSnapshot() {
+      return entries;
+    }
+
+    @Override
+    public long bytesSinceSnapshot() {
+      return bytes;
+    }
+
+    @Override
+    public Duration timeSinceSnapshot() {
+      return time;
+    }
+
+    @Override
+    public double diskUsage() {
+      return diskUsage;
+    }
+  }
+}
@@ -88,6 +88,7 @@ public interface Namespace {
    *
    * @param obj    Object to serialize
    * @param buffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space for the object
    */
   void serialize(final Object obj, final ByteBuffer buffer);
 
@@ -16,6 +16,8 @@
 
 package io.atomix.serializer;
 
+import java.nio.ByteBuffer;
+
 /**
  * Interface for serialization of store artifacts.
  */
@@ -39,6 +41,36 @@ public interface Serializer {
    */
   <T> T decode(byte[] bytes);
 
+  /**
+   * Serialize the specified object into the given buffer.
+   * <p>
+   * The object is written at the buffer's current position, and the position is advanced past the serialized
+   * bytes. Serializing directly into a buffer avoids allocating and copying an intermediate byte array.
+   *
+   * @param object object to serialize.
+   * @param buffer buffer to which to write the serialized object.
+   * @param <T>    encoded type
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space for the object
+   */
+  default <T> void encode(T object, ByteBuffer buffer) {
+    buffer.put(encode(object));
+  }
+
+  /**
+   * Deserialize an object from the given buffer.
+   * <p>
+   * The object is read from the buffer's current position, and the position is advanced past the bytes read.
+   *
+   * @param buffer buffer from which to read the serialized object.
+   * @param <T>    decoded type
+   * @return deserialized object.
+   */
+  default <T> T decode(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return decode(bytes);
+  }
+
   /**
    * Creates a new Serializer instance from a Namespace.
    *
@@ -56,6 +88,16 @@ public interface Serializer {
       public <T> T decode(byte[] bytes) {
         return namespace.deserialize(bytes);
       }
+
+      @Override
+      public <T> void encode(T object, ByteBuffer buffer) {
+        namespace.serialize(object, buffer);
+      }
+
+      @Override
+      public <T> T decode(ByteBuffer buffer) {
+        return namespace.deserialize(buffer);
+      }
     };
   }
 
@@ -16,6 +16,7 @@
 package io.atomix.serializer.kryo;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
 import com.esotericsoftware.kryo.io.ByteBufferOutput;
@@ -25,6 +26,7 @@ import com.esotericsoftware.kryo.pool.KryoCallback;
 import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,11 +36,13 @@ import org.objenesis.strategy.StdInstantiatorStrategy;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -60,6 +64,14 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
 
   private static final String NO_NAME = "(no name)";
 
+  /**
+   * Maximum size of a thread local output buffer retained between serialization operations.
+   */
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final byte[] EMPTY_BYTES = new byte[0];
+  private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.allocate(0);
+
   private static final Logger log = LoggerFactory.getLogger(KryoNamespace.class);
 
   /**
@@ -71,11 +83,35 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
       .softReferences()
       .build();
 
+  private final ThreadLocal<LocalState> localState = ThreadLocal.withInitial(LocalState::new);
+  private final AtomicLong kryoAllocations = new AtomicLong();
+  private final AtomicLong bufferAllocations = new AtomicLong();
+
   private final ImmutableList<RegistrationBlock> registeredBlocks;
 
   private final boolean registrationRequired;
+  private final PoolingStrategy poolingStrategy;
   private final String friendlyName;
 
+  /**
+   * Strategy for pooling Kryo instances and serialization buffers.
+   */
+  public enum PoolingStrategy {
+
+    /**
+     * Kryo instances are borrowed from a shared pool for each serialization operation, and buffers are
+     * allocated for each operation.
+     */
+    POOLED,
+
+    /**
+     * Each thread pins its own Kryo instance and reuses its own serialization buffers. This avoids contention
+     * on the shared pool and allocation of buffers on the serialization hot path, at the cost of retaining
+     * a Kryo instance and buffers for each thread that uses the namespace.
+     */
+    THREAD_LOCAL,
+  }
+
   /**
    * KryoNamespace builder.
    */
@@ -86,6 +122,7 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
     private List<Pair<Class<?>[], com.esotericsoftware.kryo.Serializer<?>>> types = new ArrayList<>();
     private List<RegistrationBlock> blocks = new ArrayList<>();
     private boolean registrationRequired = true;
+    private PoolingStrategy poolingStrategy = PoolingStrategy.POOLED;
 
     /**
      * Builds a {@link KryoNamespace} instance.
@@ -106,7 +143,7 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
       if (!types.isEmpty()) {
         blocks.add(new RegistrationBlock(this.blockHeadId, types));
       }
-      return new KryoNamespace(blocks, registrationRequired, friendlyName).populate(1);
+      return new KryoNamespace(blocks, registrationRequired, poolingStrategy, friendlyName).populate(1);
     }
 
     /**
@@ -206,6 +243,17 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
       this.registrationRequired = registrationRequired;
       return this;
     }
+
+    /**
+     * Sets the strategy used to pool Kryo instances and serialization buffers.
+     *
+     * @param poolingStrategy the pooling strategy
+     * @return this
+     */
+    public Builder setPoolingStrategy(PoolingStrategy poolingStrategy) {
+      this.poolingStrategy = checkNotNull(poolingStrategy, "poolingStrategy cannot be null");
+      return this;
+    }
   }
 
   /**
@@ -222,18 +270,25 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    *
    * @param registeredTypes      types to register
    * @param registrationRequired
+   * @param poolingStrategy      strategy for pooling Kryo instances and buffers
    * @param friendlyName         friendly name for the namespace
    */
   private KryoNamespace(final List<RegistrationBlock> registeredTypes,
                         boolean registrationRequired,
+                        PoolingStrategy poolingStrategy,
                         String friendlyName) {
     this.registeredBlocks = ImmutableList.copyOf(registeredTypes);
     this.registrationRequired = registrationRequired;
+    this.poolingStrategy = checkNotNull(poolingStrategy);
     this.friendlyName = checkNotNull(friendlyName);
   }
 
   /**
    * Populates the Kryo pool.
+   * <p>
+   * When using the {@link PoolingStrategy#THREAD_LOCAL thread local} pooling strategy, each thread takes its
+   * Kryo instance from the pool the first time it uses the namespace, so populating the pool pre-warms the
+   * instances for the threads that will use the namespace.
    *
    * @param instances to add to the pool
    * @return this
@@ -245,6 +300,38 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
     return this;
   }
 
+  /**
+   * Returns the strategy used to pool Kryo instances and buffers.
+   *
+   * @return the namespace pooling strategy
+   */
+  public PoolingStrategy poolingStrategy() {
+    return poolingStrategy;
+  }
+
+  /**
+   * Returns the number of Kryo instances created by the namespace.
+   *
+   * @return the number of Kryo instances created by the namespace
+   */
+  public long getKryoAllocations() {
+    return kryoAllocations.get();
+  }
+
+  /**
+   * Returns the number of serialization buffers allocated by the namespace.
+   * <p>
+   * Each Kryo input or output created by the namespace is counted once, and each time an output's buffer is
+   * replaced to grow it is counted again. This is counted the same way for all serialization methods and
+   * pooling strategies. When using the {@link PoolingStrategy#THREAD_LOCAL thread local} pooling strategy, the
+   * count remains constant once each thread's buffers have been sized.
+   *
+   * @return the number of serialization buffers allocated by the namespace
+   */
+  public long getBufferAllocations() {
+    return bufferAllocations.get();
+  }
+
   /**
    * Serializes given object to byte array using Kryo instance in pool.
    *
@@ -253,31 +340,83 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @return serialized bytes
    */
   public byte[] serialize(final Object obj, final int bufferSize) {
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        Output out = state.output(bufferSize);
+        serialize(state.kryo, out, obj);
+        return out.toBytes();
+      } finally {
+        state.release();
+      }
+    }
+
     Output out = new Output(bufferSize, MAX_BUFFER_SIZE);
+    bufferAllocations.incrementAndGet();
     return pool.run(kryo -> {
-      kryo.writeClassAndObject(out, obj);
-      out.flush();
+      serialize(kryo, out, obj);
       return out.toBytes();
     });
   }
 
+  /**
+   * Serializes the given object to a growable output, counting the growth of the output's buffer.
+   */
+  private void serialize(Kryo kryo, Output out, Object obj) {
+    byte[] buffer = out.getBuffer();
+    kryo.writeClassAndObject(out, obj);
+    out.flush();
+    if (out.getBuffer() != buffer) {
+      bufferAllocations.incrementAndGet();
+    }
+  }
+
   /**
    * Serializes given object to byte buffer using Kryo instance in pool.
    *
    * @param obj    Object to serialize
    * @param buffer to write to
+   * @throws BufferOverflowException if the buffer does not have enough remaining space for the object
    */
   public void serialize(final Object obj, final ByteBuffer buffer) {
-    ByteBufferOutput out = new ByteBufferOutput(buffer);
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        state.byteBufferOutput.setBuffer(buffer);
+        serialize(state.kryo, state.byteBufferOutput, obj);
+      } finally {
+        state.byteBufferOutput.setBuffer(EMPTY_BYTE_BUFFER);
+        state.release();
+      }
+      return;
+    }
+
+    BoundedByteBufferOutput out = new BoundedByteBufferOutput(buffer);
+    bufferAllocations.incrementAndGet();
     Kryo kryo = borrow();
     try {
-      kryo.writeClassAndObject(out, obj);
-      out.flush();
+      serialize(kryo, out, obj);
     } finally {
       release(kryo);
     }
   }
 
+  /**
+   * Serializes the given object to a fixed size byte buffer output.
+   */
+  private void serialize(Kryo kryo, BoundedByteBufferOutput out, Object obj) {
+    try {
+      kryo.writeClassAndObject(out, obj);
+      out.flush();
+    } catch (KryoException e) {
+      // Kryo wraps exceptions thrown while serializing fields with the serialization trace.
+      if (Throwables.getRootCause(e) instanceof BufferOverflowException) {
+        throw new BufferOverflowException();
+      }
+      throw e;
+    }
+  }
+
   /**
    * Serializes given object to OutputStream using Kryo instance in pool.
    *
@@ -286,7 +425,23 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @param bufferSize size of the buffer in front of the stream
    */
   public void serialize(final Object obj, final OutputStream stream, final int bufferSize) {
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        ByteBufferOutput out = state.streamOutput(stream, bufferSize);
+        state.kryo.writeClassAndObject(out, obj);
+        out.flush();
+      } finally {
+        if (state.streamOutput != null) {
+          state.streamOutput.setOutputStream(null);
+        }
+        state.release();
+      }
+      return;
+    }
+
     ByteBufferOutput out = new ByteBufferOutput(stream, bufferSize);
+    bufferAllocations.incrementAndGet();
     Kryo kryo = borrow();
     try {
       kryo.writeClassAndObject(out, obj);
@@ -304,7 +459,21 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @return deserialized Object
    */
   public <T> T deserialize(final byte[] bytes) {
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        state.input.setBuffer(bytes);
+        @SuppressWarnings("unchecked")
+        T obj = (T) state.kryo.readClassAndObject(state.input);
+        return obj;
+      } finally {
+        state.input.setBuffer(EMPTY_BYTES);
+        state.release();
+      }
+    }
+
     Input in = new Input(bytes);
+    bufferAllocations.incrementAndGet();
     Kryo kryo = borrow();
     try {
       @SuppressWarnings("unchecked")
@@ -323,7 +492,21 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @return deserialized Object
    */
   public <T> T deserialize(final ByteBuffer buffer) {
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        state.byteBufferInput.setBuffer(buffer);
+        @SuppressWarnings("unchecked")
+        T obj = (T) state.kryo.readClassAndObject(state.byteBufferInput);
+        return obj;
+      } finally {
+        state.byteBufferInput.setBuffer(EMPTY_BYTE_BUFFER);
+        state.release();
+      }
+    }
+
     ByteBufferInput in = new ByteBufferInput(buffer);
+    bufferAllocations.incrementAndGet();
     Kryo kryo = borrow();
     try {
       @SuppressWarnings("unchecked")
@@ -343,7 +526,23 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @return deserialized Object
    */
   public <T> T deserialize(final InputStream stream, final int bufferSize) {
+    LocalState state = acquireLocalState();
+    if (state != null) {
+      try {
+        ByteBufferInput in = state.streamInput(stream, bufferSize);
+        @SuppressWarnings("unchecked")
+        T obj = (T) state.kryo.readClassAndObject(in);
+        return obj;
+      } finally {
+        if (state.streamInput != null) {
+          state.streamInput.setInputStream(null);
+        }
+        state.release();
+      }
+    }
+
     ByteBufferInput in = new ByteBufferInput(stream, bufferSize);
+    bufferAllocations.incrementAndGet();
     Kryo kryo = borrow();
     try {
       @SuppressWarnings("unchecked")
@@ -354,6 +553,24 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
     }
   }
 
+  /**
+   * Acquires the calling thread's Kryo instance and buffers.
+   *
+   * @return the thread local state, or {@code null} if the namespace does not use thread local pooling or the
+   * thread local state is already in use by an enclosing serialization operation on the same thread
+   */
+  private LocalState acquireLocalState() {
+    if (poolingStrategy != PoolingStrategy.THREAD_LOCAL) {
+      return null;
+    }
+    LocalState state = localState.get();
+    if (state.inUse) {
+      return null;
+    }
+    state.inUse = true;
+    return state;
+  }
+
   private String friendlyName() {
     return friendlyName;
   }
@@ -377,6 +594,7 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
   @Override
   public Kryo create() {
     log.trace("Creating Kryo instance for {}", this);
+    kryoAllocations.incrementAndGet();
     Kryo kryo = new Kryo();
     kryo.setRegistrationRequired(registrationRequired);
 
@@ -472,6 +690,96 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
         .toString();
   }
 
+  /**
+   * Kryo instance and serialization buffers pinned to a thread.
+   */
+  private final class LocalState {
+    private final Kryo kryo = borrow();
+    private final Input input = new Input();
+    private final ByteBufferInput byteBufferInput = new ByteBufferInput();
+    private final BoundedByteBufferOutput byteBufferOutput = new BoundedByteBufferOutput(EMPTY_BYTE_BUFFER);
+    private Output output;
+    private ByteBufferOutput streamOutput;
+    private ByteBufferInput streamInput;
+    private boolean inUse;
+
+    /**
+     * Returns the thread's output, reset and sized to at least the given buffer size.
+     */
+    Output output(int bufferSize) {
+      if (output == null || output.getBuffer().length < bufferSize) {
+        output = new Output(bufferSize, MAX_BUFFER_SIZE);
+        bufferAllocations.incrementAndGet();
+      } else {
+        output.clear();
+      }
+      return output;
+    }
+
+    /**
+     * Returns the thread's stream output, reset to write to the given stream and sized to at least the given
+     * buffer size.
+     */
+    ByteBufferOutput streamOutput(OutputStream stream, int bufferSize) {
+      if (streamOutput == null || streamOutput.getByteBuffer().capacity() < bufferSize) {
+        streamOutput = new ByteBufferOutput(stream, bufferSize);
+        bufferAllocations.incrementAndGet();
+      } else {
+        streamOutput.setOutputStream(stream);
+      }
+      return streamOutput;
+    }
+
+    /**
+     * Returns the thread's stream input, reset to read from the given stream and sized to at least the given
+     * buffer size.
+     */
+    ByteBufferInput streamInput(InputStream stream, int bufferSize) {
+      if (streamInput == null || streamInput.getByteBuffer().capacity() < bufferSize) {
+        streamInput = new ByteBufferInput(stream, bufferSize);
+        bufferAllocations.incrementAndGet();
+      } else {
+        streamInput.setInputStream(stream);
+      }
+      return streamInput;
+    }
+
+    /**
+     * Releases the state for use by the next serialization operation on the thread.
+     */
+    void release() {
+      // Don't retain buffers that have grown to accommodate unusually large objects.
+      if (output != null && output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+        output = null;
+      }
+      if (streamOutput != null && streamOutput.getByteBuffer().capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        streamOutput = null;
+      }
+      if (streamInput != null && streamInput.getByteBuffer().capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        streamInput = null;
+      }
+      inUse = false;
+    }
+  }
+
+  /**
+   * Byte buffer output that reports overflows of the fixed size buffer the same way as {@link ByteBuffer} so
+   * callers can grow the buffer.
+   */
+  private static final class BoundedByteBufferOutput extends ByteBufferOutput {
+    BoundedByteBufferOutput(ByteBuffer buffer) {
+      super(buffer);
+    }
+
+    @Override
+    protected boolean require(int required) {
+      if (required > capacity - position) {
+        throw new BufferOverflowException();
+      }
+      return false;
+    }
+  }
+
   static final class RegistrationBlock {
     private final int begin;
     private final ImmutableList<Pair<Class<?>[], com.esotericsoftware.kryo.Serializer<?>>> types;
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.serializer.kryo;
+
+import io.atomix.serializer.kryo.KryoNamespace.PoolingStrategy;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Kryo namespace test.
+ */
+public class KryoNamespaceTest {
+
+  private static KryoNamespace newNamespace(PoolingStrategy poolingStrategy) {
+    return KryoNamespace.newBuilder()
+        .register(byte[].class)
+        .register(ArrayList.class)
+        .setPoolingStrategy(poolingStrategy)
+        .build();
+  }
+
+  private static List<byte[]> newValue() {
+    return new ArrayList<>(Arrays.asList(new byte[]{1, 2, 3}, new byte[128]));
+  }
+
+  /**
+   * Serializes and deserializes the given value using each of the namespace's serialization methods.
+   */
+  private static void roundTrip(KryoNamespace namespace, List<byte[]> value) {
+    byte[] bytes = namespace.serialize(value, 64);
+    assertValue(value, namespace.deserialize(bytes));
+
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    namespace.serialize(value, buffer);
+    buffer.flip();
+    assertValue(value, namespace.deserialize(buffer));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    namespace.serialize(value, output, 64);
+    assertValue(value, namespace.deserialize(new ByteArrayInputStream(output.toByteArray()), 64));
+  }
+
+  private static void assertValue(List<byte[]> expected, List<byte[]> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertArrayEquals(expected.get(i), actual.get(i));
+    }
+  }
+
+  /**
+   * Tests that repeated thread local serialization does not allocate Kryo instances or buffers.
+   */
+  @Test
+  public void testThreadLocalAllocations() throws Exception {
+    KryoNamespace namespace = newNamespace(PoolingStrategy.THREAD_LOCAL);
+    List<byte[]> value = newValue();
+
+    // The first round trip sizes the thread's buffers. The 64 byte output grows to fit the value.
+    roundTrip(namespace, value);
+    long kryoAllocations = namespace.getKryoAllocations();
+    long bufferAllocations = namespace.getBufferAllocations();
+    assertEquals(1, kryoAllocations);
+
+    for (int i = 0; i < 100; i++) {
+      roundTrip(namespace, value);
+    }
+    assertEquals(kryoAllocations, namespace.getKryoAllocations());
+    assertEquals(bufferAllocations, namespace.getBufferAllocations());
+
+    // Each thread pins its own Kryo instance and buffers.
+    Thread thread = new Thread(() -> roundTrip(namespace, value));
+    thread.start();
+    thread.join();
+    assertEquals(kryoAllocations + 1, namespace.getKryoAllocations());
+    assertEquals(bufferAllocations * 2, namespace.getBufferAllocations());
+  }
+
+  /**
+   * Tests that buffer allocations are counted the same way for each serialization method.
+   */
+  @Test
+  public void testPooledAllocations() throws Exception {
+    KryoNamespace namespace = newNamespace(PoolingStrategy.POOLED);
+    List<byte[]> value = newValue();
+
+    // Each method allocates one input or output. The 64 byte output grows once to fit the value.
+    roundTrip(namespace, value);
+    assertEquals(7, namespace.getBufferAllocations());
+    roundTrip(namespace, value);
+    assertEquals(14, namespace.getBufferAllocations());
+
+    // A sufficiently large output does not grow.
+    namespace.serialize(value, 1024);
+    assertEquals(15, namespace.getBufferAllocations());
+    assertTrue(namespace.getKryoAllocations() >= 1);
+  }
+}
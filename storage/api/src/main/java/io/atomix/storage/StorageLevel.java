@@ -28,6 +28,15 @@ public enum StorageLevel {
   /**
    * Stores data on disk.
    */
-  DISK
+  DISK,
+
+  /**
+   * Stores data in memory-mapped files.
+   * <p>
+   * Each journal segment is mapped into memory in full when it's created or loaded, so entries are read from and
+   * written to memory without copying through system calls. Segments are synced to disk when the journal is
+   * flushed and unmapped once deleted.
+   */
+  MAPPED
 
 }
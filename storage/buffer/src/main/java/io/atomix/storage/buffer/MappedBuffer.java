@@ -190,6 +190,15 @@ public class MappedBuffer extends ByteBufferBuffer {
     return new MappedBuffer((MappedBytes) bytes, offset(), capacity(), maxCapacity());
   }
 
+  /**
+   * Unmaps the underlying memory.
+   * <p>
+   * The buffer and all of its slices must not be accessed once the buffer has been unmapped.
+   */
+  public void unmap() {
+    ((MappedBytes) bytes).unmap();
+  }
+
   /**
    * Deletes the underlying file.
    */
@@ -16,6 +16,7 @@
 package io.atomix.storage.buffer;
 
 import io.atomix.utils.AtomixIOException;
+import io.atomix.utils.memory.MappedMemory;
 
 import java.io.File;
 import java.io.IOException;
@@ -112,6 +113,16 @@ public class MappedBytes extends ByteBufferBytes {
     super.close();
   }
 
+  /**
+   * Unmaps the underlying memory.
+   * <p>
+   * Mapped memory is otherwise only released once the buffer is garbage collected. The bytes must not be
+   * accessed once they have been unmapped.
+   */
+  public void unmap() {
+    MappedMemory.unmap((MappedByteBuffer) buffer);
+  }
+
   /**
    * Deletes the underlying file.
    */
@@ -15,20 +15,38 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.serializer.Serializer;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 /**
  * Indexed journal entry.
+ * <p>
+ * Entries read from a journal segment are decoded lazily. The raw serialized bytes of the entry are retained
+ * and the entry itself is only deserialized the first time {@link #entry()} is called, allowing callers that
+ * only need the entry's index, size, or bytes to avoid the cost of deserialization.
  */
 public class Indexed<E> {
   private final long index;
-  private final E entry;
   private final int size;
+  private final byte[] bytes;
+  private final Serializer serializer;
+  private volatile E entry;
 
   public Indexed(long index, E entry, int size) {
+    this(index, entry, null, size, null);
+  }
+
+  public Indexed(long index, byte[] bytes, Serializer serializer) {
+    this(index, null, bytes, bytes.length, serializer);
+  }
+
+  Indexed(long index, E entry, byte[] bytes, int size, Serializer serializer) {
     this.index = index;
     this.entry = entry;
+    this.bytes = bytes;
     this.size = size;
+    this.serializer = serializer;
   }
 
   /**
@@ -46,9 +64,34 @@ public class Indexed<E> {
    * @return The indexed entry.
    */
   public E entry() {
+    E entry = this.entry;
+    if (entry == null && bytes != null && serializer != null) {
+      entry = serializer.decode(bytes);
+      this.entry = entry;
+    }
     return entry;
   }
 
+  /**
+   * Returns the serialized entry bytes.
+   * <p>
+   * The returned array must not be modified.
+   *
+   * @return The serialized entry bytes, or {@code null} if the entry was not read from or written to a journal.
+   */
+  public byte[] bytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns a boolean indicating whether the entry has been deserialized.
+   *
+   * @return Indicates whether the entry has been deserialized.
+   */
+  public boolean isDecoded() {
+    return entry != null;
+  }
+
   /**
    * Returns the serialized entry size.
    *
@@ -64,7 +107,7 @@ public class Indexed<E> {
    * @return The entry class.
    */
   public Class<?> type() {
-    return entry.getClass();
+    return entry().getClass();
   }
 
   /**
@@ -81,7 +124,7 @@ public class Indexed<E> {
   public String toString() {
     return toStringHelper(this)
         .add("index", index)
-        .add("entry", entry)
+        .add("entry", entry())
         .toString();
   }
 }
\ No newline at end of file
@@ -16,6 +16,9 @@
 package io.atomix.storage.journal;
 
 import io.atomix.serializer.Serializer;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.MappedBuffer;
+import io.atomix.storage.journal.index.JournalIndex;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
@@ -28,15 +31,19 @@ import static com.google.common.base.Preconditions.checkState;
 public class JournalSegment<E> implements AutoCloseable {
   protected final JournalSegmentFile file;
   protected final JournalSegmentDescriptor descriptor;
+  protected final JournalIndex index;
   protected final Serializer serializer;
   private final JournalSegmentWriter<E> writer;
   private boolean open = true;
+  private boolean deleted;
+  private int readers;
 
-  public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, Serializer serializer) {
+  public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
     this.file = file;
     this.descriptor = descriptor;
+    this.index = index;
     this.serializer = serializer;
-    this.writer = new JournalSegmentWriter<>(descriptor, serializer);
+    this.writer = new JournalSegmentWriter<>(descriptor, index, serializer);
   }
 
   /**
@@ -93,6 +100,15 @@ public class JournalSegment<E> implements AutoCloseable {
     return descriptor;
   }
 
+  /**
+   * Returns the segment index.
+   *
+   * @return The segment index.
+   */
+  public JournalIndex journalIndex() {
+    return index;
+  }
+
   /**
    * Returns the segment size.
    *
@@ -144,9 +160,21 @@ public class JournalSegment<E> implements AutoCloseable {
    *
    * @return A new segment reader.
    */
-  JournalSegmentReader<E> createReader() {
+  synchronized JournalSegmentReader<E> createReader() {
     checkOpen();
-    return new JournalSegmentReader<>(descriptor, serializer);
+    readers++;
+    return new JournalSegmentReader<>(this, descriptor, index, serializer);
+  }
+
+  /**
+   * Releases a reader of the segment.
+   * <p>
+   * If the segment has been deleted and this is the last open reader, the segment's memory is unmapped.
+   */
+  synchronized void closeReader() {
+    if (--readers == 0 && deleted) {
+      unmap();
+    }
   }
 
   /**
@@ -178,8 +206,26 @@ public class JournalSegment<E> implements AutoCloseable {
   /**
    * Deletes the segment.
    */
-  public void delete() {
+  public synchronized void delete() {
     writer.delete();
+    file.indexFile().delete();
+    deleted = true;
+    if (readers == 0) {
+      unmap();
+    }
+  }
+
+  /**
+   * Unmaps the segment's memory if the segment is memory mapped.
+   * <p>
+   * Mapped memory is unmapped explicitly rather than waiting for the buffer to be garbage collected. This
+   * must only be done once no readers can access the segment.
+   */
+  private void unmap() {
+    Buffer buffer = descriptor.buffer();
+    if (buffer instanceof MappedBuffer) {
+      ((MappedBuffer) buffer).unmap();
+    }
   }
 
   @Override
@@ -28,6 +28,7 @@ public final class JournalSegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String INDEX_EXTENSION = "index";
   private final File file;
 
   /**
@@ -47,6 +48,22 @@ public final class JournalSegmentFile {
    * @throws NullPointerException if {@code file} is null
    */
   public static boolean isSegmentFile(String journalName, String fileName) {
+    return isFile(journalName, fileName, EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a parsable segment index file.
+   *
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isIndexFile(String name, File file) {
+    return isFile(name, file.getName(), INDEX_EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file name is a segment file with the given extension.
+   */
+  private static boolean isFile(String journalName, String fileName, String extension) {
     checkNotNull(journalName, "journalName cannot be null");
     checkNotNull(fileName, "fileName cannot be null");
 
@@ -56,7 +73,7 @@ public final class JournalSegmentFile {
     if (extensionSeparator == -1
         || partSeparator == -1
         || extensionSeparator < partSeparator
-        || !fileName.endsWith(EXTENSION)) {
+        || !fileName.substring(extensionSeparator + 1).equals(extension)) {
       return false;
     }
 
@@ -92,6 +109,19 @@ public final class JournalSegmentFile {
     return file;
   }
 
+  /**
+   * Returns the segment index file.
+   * <p>
+   * The index file is stored alongside the segment file and contains the sparse index of entry positions
+   * within the segment.
+   *
+   * @return The segment index file.
+   */
+  public File indexFile() {
+    String name = file.getName();
+    return new File(file.getParentFile(), name.substring(0, name.lastIndexOf(EXTENSION_SEPARATOR) + 1) + INDEX_EXTENSION);
+  }
+
   /**
    * Returns the segment identifier.
    */
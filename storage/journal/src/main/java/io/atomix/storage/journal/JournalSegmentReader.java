@@ -18,8 +18,11 @@ package io.atomix.storage.journal;
 import io.atomix.serializer.Serializer;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.journal.index.JournalIndex;
+import io.atomix.storage.journal.index.Position;
 
 import java.nio.BufferUnderflowException;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
@@ -30,15 +33,23 @@ import java.util.zip.Checksum;
  * @author <a href="http://github.com/kuujo>Jordan Halterman</a>
  */
 public class JournalSegmentReader<E> implements JournalReader<E> {
+  private final JournalSegment<E> segment;
   private final Buffer buffer;
+  private final JournalIndex index;
   private final Serializer serializer;
   private final HeapBuffer memory = HeapBuffer.allocate();
+  private final Checksum crc32 = new CRC32();
   private final long firstIndex;
   private Indexed<E> currentEntry;
   private Indexed<E> nextEntry;
+  private int currentPosition;
+  private int nextPosition;
+  private boolean closed;
 
-  public JournalSegmentReader(JournalSegmentDescriptor descriptor, Serializer serializer) {
+  JournalSegmentReader(JournalSegment<E> segment, JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
+    this.segment = segment;
     this.buffer = descriptor.buffer().slice();
+    this.index = index;
     this.serializer = serializer;
     this.firstIndex = descriptor.index();
     readNext();
@@ -62,8 +73,33 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   @Override
   public void reset(long index) {
     reset();
+
+    // Seek to the closest indexed entry preceding the given index to avoid scanning the segment.
+    Position position = this.index.lookup(index - 1);
+    if (position != null) {
+      currentEntry = new Indexed<>(position.index() - 1, null, 0);
+      buffer.position(position.position());
+      nextEntry = null;
+      readNext();
+
+      // If the indexed entry could not be read, fall back to scanning from the start of the segment.
+      if (nextEntry == null) {
+        reset();
+      }
+    }
+
+    // Skip entries preceding the given index. Only the entries at index - 1 and index are copied out of the
+    // segment, since the skipped entries are never returned to the caller.
     while (getNextIndex() < index && hasNext()) {
-      next();
+      currentEntry = nextEntry;
+      currentPosition = nextPosition;
+      nextEntry = null;
+      readNext(getNextIndex() >= index - 1);
+    }
+
+    // If the end of the segment was reached while skipping, the current entry's bytes were not copied.
+    if (currentEntry != null && currentEntry.bytes() == null && currentEntry.size() > 0) {
+      currentEntry = readEntry(currentEntry.index(), currentPosition);
     }
   }
 
@@ -92,6 +128,7 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
 
     // Set the current entry to the next entry.
     currentEntry = nextEntry;
+    currentPosition = nextPosition;
 
     // Reset the next entry to null.
     nextEntry = null;
@@ -106,12 +143,25 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   /**
    * Reads the next entry in the segment.
    */
-  @SuppressWarnings("unchecked")
   private void readNext() {
+    readNext(true);
+  }
+
+  /**
+   * Reads the next entry in the segment.
+   * <p>
+   * The entry is read into the reader's reusable memory buffer to verify its checksum. If {@code copy} is
+   * {@code true}, the entry bytes are then copied out of the memory buffer so that the entry can be decoded on
+   * demand. Otherwise, only the entry's index and size are retained.
+   *
+   * @param copy whether to copy the entry bytes
+   */
+  private void readNext(boolean copy) {
     // Compute the index of the next entry in the segment.
     final long index = getNextIndex();
 
-    // Mark the buffer so it can be reset if necessary.
+    // Record the entry position and mark the buffer so it can be reset if necessary.
+    final int position = buffer.position();
     buffer.mark();
 
     try {
@@ -133,13 +183,18 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
+      crc32.reset();
       crc32.update(memory.array(), 0, length);
 
-      // If the stored checksum equals the computed checksum, return the entry.
+      // If the stored checksum equals the computed checksum, return the entry. The entry is only
+      // deserialized once it's accessed by the caller.
       if (checksum == crc32.getValue()) {
-        E entry = serializer.decode(memory.array());
-        nextEntry = new Indexed<>(index, entry, length);
+        if (copy) {
+          nextEntry = new Indexed<>(index, Arrays.copyOf(memory.array(), length), serializer);
+        } else {
+          nextEntry = new Indexed<>(index, null, length);
+        }
+        nextPosition = position;
       } else {
         buffer.reset();
         nextEntry = null;
@@ -150,9 +205,27 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
     }
   }
 
+  /**
+   * Reads the bytes of an entry whose checksum has already been verified from the given position in the segment.
+   */
+  private Indexed<E> readEntry(long index, int position) {
+    final int mark = buffer.position();
+    buffer.position(position);
+    final int length = buffer.readInt();
+    buffer.readUnsignedInt();
+    final byte[] bytes = new byte[length];
+    buffer.read(bytes);
+    buffer.position(mark);
+    return new Indexed<>(index, bytes, serializer);
+  }
+
   @Override
   public void close() {
-    memory.close();
-    buffer.close();
+    // The reader's buffer is a slice of the segment buffer, which is closed with the segment.
+    if (!closed) {
+      closed = true;
+      memory.close();
+      segment.closeReader();
+    }
   }
 }
\ No newline at end of file
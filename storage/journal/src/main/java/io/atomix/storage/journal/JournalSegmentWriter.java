@@ -21,7 +21,11 @@ import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
 import io.atomix.storage.buffer.SlicedBuffer;
+import io.atomix.storage.journal.index.JournalIndex;
+import io.atomix.storage.journal.index.Position;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -41,23 +45,29 @@ import java.util.zip.Checksum;
  * @author <a href="http://github.com/kuujo>Jordan Halterman</a>
  */
 public class JournalSegmentWriter<E> implements JournalWriter<E> {
+  private static final int INITIAL_WRITE_BUFFER_SIZE = 1024 * 8;
+
   private final JournalSegmentDescriptor descriptor;
   private final Buffer buffer;
+  private final JournalIndex index;
   private final Serializer serializer;
   private final HeapBuffer memory = HeapBuffer.allocate();
+  private final Checksum crc32 = new CRC32();
+  private ByteBuffer writeBuffer = ByteBuffer.allocate(INITIAL_WRITE_BUFFER_SIZE);
   private final long firstIndex;
   private Indexed<E> lastEntry;
 
-  public JournalSegmentWriter(JournalSegmentDescriptor descriptor, Serializer serializer) {
+  public JournalSegmentWriter(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
     this.descriptor = descriptor;
     this.buffer = descriptor.buffer().slice();
+    this.index = index;
     this.serializer = serializer;
     this.firstIndex = descriptor.index();
     reset(0);
   }
 
   /**
-   * Initializes the writer by seeking to the end of the segment.
+   * Initializes the writer by seeking to the given index, or to the end of the segment if the index is {@code 0}.
    */
   @SuppressWarnings("unchecked")
   private void reset(long index) {
@@ -66,8 +76,17 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     // Clear the buffer indexes.
     buffer.clear();
 
+    // Look up the closest indexed position and begin scanning the segment from that position.
+    final Position position = this.index.lookup(index == 0 ? Long.MAX_VALUE : index);
+    if (position != null) {
+      nextIndex = position.index();
+      buffer.position(position.position());
+    }
+
     // Read the entry length.
+    int entryPosition = buffer.position();
     int length = buffer.mark().readInt();
+    int lastEntryPosition = -1;
 
     // If the length is non-zero, read the entry.
     while (length > 0 && (index == 0 || nextIndex <= index)) {
@@ -80,24 +99,44 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
+      crc32.reset();
       crc32.update(memory.array(), 0, length);
 
-      // If the stored checksum equals the computed checksum, return the entry.
+      // If the stored checksum equals the computed checksum, record the position of the last entry. The last
+      // entry's bytes are only copied out of the segment once the scan is complete.
       if (checksum == crc32.getValue()) {
-        final E entry = serializer.decode(memory.array());
-        lastEntry = new Indexed<>(nextIndex, entry, length);
+        lastEntryPosition = entryPosition;
+        this.index.index(nextIndex, entryPosition);
         nextIndex++;
       } else {
         break;
       }
 
       // Read the next entry length.
+      entryPosition = buffer.position();
       length = buffer.mark().readInt();
     }
 
     // Reset the buffer to the previous mark.
     buffer.reset();
+
+    // If the indexed entry could not be read, the index is stale. Clear the index and scan the whole segment.
+    if (position != null && nextIndex == position.index()) {
+      this.index.truncate(firstIndex - 1);
+      reset(index);
+      return;
+    }
+
+    // Read the last entry's bytes. The entry is only deserialized if it's accessed.
+    if (lastEntryPosition >= 0) {
+      final int mark = buffer.position();
+      buffer.position(lastEntryPosition);
+      final byte[] bytes = new byte[buffer.readInt()];
+      buffer.readUnsignedInt();
+      buffer.read(bytes);
+      buffer.position(mark);
+      lastEntry = new Indexed<>(nextIndex - 1, bytes, serializer);
+    }
   }
 
   @Override
@@ -168,7 +207,15 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     if (entry.index() < nextIndex) {
       truncate(entry.index() - 1);
     }
-    append(entry.entry());
+
+    // If the entry's serialized bytes are available, write them directly to avoid re-serializing the entry.
+    if (entry.bytes() != null) {
+      byte[] bytes = entry.bytes();
+      write(entry.index(), bytes, bytes.length);
+      lastEntry = new Indexed<>(entry.index(), entry.isDecoded() ? entry.entry() : null, bytes, bytes.length, serializer);
+    } else {
+      append(entry.entry());
+    }
   }
 
   @Override
@@ -177,24 +224,54 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     // Store the entry index.
     final long index = getNextIndex();
 
-    // Serialize the entry.
-    final byte[] bytes = serializer.encode(entry);
-    final int length = bytes.length;
+    // Serialize the entry into the reusable write buffer and copy it directly into the segment. The serialized
+    // bytes are not retained since the entry itself is held by the returned Indexed entry.
+    final int length = serialize(entry);
+    write(index, writeBuffer.array(), length);
+
+    // Update the last entry with the correct index/term/length.
+    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
+    this.lastEntry = indexedEntry;
+    return (Indexed<T>) indexedEntry;
+  }
 
+  /**
+   * Serializes the given entry into the write buffer, growing the buffer as necessary.
+   *
+   * @return the length of the serialized entry
+   */
+  private int serialize(E entry) {
+    while (true) {
+      writeBuffer.clear();
+      try {
+        serializer.encode(entry, writeBuffer);
+        return writeBuffer.position();
+      } catch (BufferOverflowException e) {
+        // An entry cannot be larger than the segment, so fail once the buffer has reached the maximum segment size.
+        if (writeBuffer.capacity() >= descriptor.maxSegmentSize()) {
+          throw e;
+        }
+        writeBuffer = ByteBuffer.allocate((int) Math.min((long) writeBuffer.capacity() * 2, descriptor.maxSegmentSize()));
+      }
+    }
+  }
+
+  /**
+   * Writes the given serialized entry to the segment.
+   */
+  private void write(long index, byte[] bytes, int length) {
     // Compute the checksum for the entry.
-    final Checksum crc32 = new CRC32();
+    crc32.reset();
     crc32.update(bytes, 0, length);
     final long checksum = crc32.getValue();
 
+    // Index the position of the entry.
+    this.index.index(index, buffer.position());
+
     // Write the entry length and entry to the segment.
     buffer.writeInt(length)
         .writeUnsignedInt(checksum)
-        .write(bytes);
-
-    // Update the last entry with the correct index/term/length.
-    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
-    this.lastEntry = indexedEntry;
-    return (Indexed<T>) indexedEntry;
+        .write(bytes, 0, length);
   }
 
   @Override
@@ -205,15 +282,18 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       return;
     }
 
+    // Reset the last entry.
+    lastEntry = null;
+
+    // Truncate the index.
+    this.index.truncate(index);
+
     // If the index is less than the segment index, clear the segment buffer.
     if (index < descriptor.index()) {
       buffer.zero().clear();
       return;
     }
 
-    // Reset the last entry.
-    lastEntry = null;
-
     // Reset the writer to the given index.
     reset(index);
 
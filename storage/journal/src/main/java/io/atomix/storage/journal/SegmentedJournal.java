@@ -22,6 +22,8 @@ import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
+import io.atomix.storage.journal.index.JournalIndex;
+import io.atomix.storage.journal.index.SparseJournalIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +56,7 @@ public class SegmentedJournal<E> implements Journal<E> {
   }
 
   private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+  private static final int PAGE_SIZE = 4096;
 
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final String name;
@@ -62,6 +65,7 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final Serializer serializer;
   private final int maxSegmentSize;
   private final int maxEntriesPerSegment;
+  private final double indexDensity;
 
   private final NavigableMap<Long, JournalSegment<E>> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader<E>> readers = Sets.newConcurrentHashSet();
@@ -76,13 +80,15 @@ public class SegmentedJournal<E> implements Journal<E> {
       File directory,
       Serializer serializer,
       int maxSegmentSize,
-      int maxEntriesPerSegment) {
+      int maxEntriesPerSegment,
+      double indexDensity) {
     this.name = checkNotNull(name, "name cannot be null");
     this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
     this.serializer = checkNotNull(serializer, "serializer cannot be null");
     this.maxSegmentSize = maxSegmentSize;
     this.maxEntriesPerSegment = maxEntriesPerSegment;
+    this.indexDensity = indexDensity;
     open();
     this.writer = openWriter();
   }
@@ -144,6 +150,18 @@ public class SegmentedJournal<E> implements Journal<E> {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the journal index density.
+   * <p>
+   * The index density is the proportion of entries in each segment for which the segment index stores
+   * the entry position.
+   *
+   * @return The journal index density.
+   */
+  public double indexDensity() {
+    return indexDensity;
+  }
+
   /**
    * Opens a new journal writer.
    *
@@ -350,6 +368,8 @@ public class SegmentedJournal<E> implements Journal<E> {
         return createMemorySegment(descriptor);
       case DISK:
         return createDiskSegment(descriptor);
+      case MAPPED:
+        return createMappedSegment(descriptor);
       default:
         throw new AssertionError();
     }
@@ -360,10 +380,11 @@ public class SegmentedJournal<E> implements Journal<E> {
    *
    * @param segmentFile The segment file.
    * @param descriptor The segment descriptor.
+   * @param index The segment index.
    * @return The segment instance.
    */
-  protected JournalSegment<E> newSegment(JournalSegmentFile segmentFile, JournalSegmentDescriptor descriptor) {
-    return new JournalSegment<>(segmentFile, descriptor, serializer);
+  protected JournalSegment<E> newSegment(JournalSegmentFile segmentFile, JournalSegmentDescriptor descriptor, JournalIndex index) {
+    return new JournalSegment<>(segmentFile, descriptor, index, serializer);
   }
 
   /**
@@ -373,11 +394,27 @@ public class SegmentedJournal<E> implements Journal<E> {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
     Buffer buffer = MappedBuffer.allocate(segmentFile, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
     descriptor.copyTo(buffer);
-    JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
+    JournalSegmentFile file = new JournalSegmentFile(segmentFile);
+    file.indexFile().delete();
+    JournalSegment<E> segment = newSegment(file, descriptor, new SparseJournalIndex(indexDensity));
     log.debug("Created disk segment: {}", segment);
     return segment;
   }
 
+  /**
+   * Creates a new segment.
+   */
+  private JournalSegment<E> createMappedSegment(JournalSegmentDescriptor descriptor) {
+    File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
+    Buffer buffer = MappedBuffer.allocate(segmentFile, mappedSize(segmentFile, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
+    descriptor.copyTo(buffer);
+    JournalSegmentFile file = new JournalSegmentFile(segmentFile);
+    file.indexFile().delete();
+    JournalSegment<E> segment = newSegment(file, descriptor, new SparseJournalIndex(indexDensity));
+    log.debug("Created mapped segment: {}", segment);
+    return segment;
+  }
+
   /**
    * Creates a new segment.
    */
@@ -385,7 +422,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
     Buffer buffer = HeapBuffer.allocate(Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
     descriptor.copyTo(buffer);
-    JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
+    JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor, new SparseJournalIndex(indexDensity));
     log.debug("Created memory segment: {}", segment);
     return segment;
   }
@@ -399,6 +436,8 @@ public class SegmentedJournal<E> implements Journal<E> {
         return loadMemorySegment(segmentId);
       case DISK:
         return loadDiskSegment(segmentId);
+      case MAPPED:
+        return loadMappedSegment(segmentId);
       default:
         throw new AssertionError();
     }
@@ -411,11 +450,51 @@ public class SegmentedJournal<E> implements Journal<E> {
     File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
     Buffer buffer = MappedBuffer.allocate(file, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
     JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
-    JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor);
+    JournalSegmentFile segmentFile = new JournalSegmentFile(file);
+
+    // Load the persisted index if one exists. The index file is deleted once loaded to ensure a stale index
+    // is never loaded if the journal is not closed cleanly.
+    File indexFile = segmentFile.indexFile();
+    JournalIndex index = new SparseJournalIndex(indexDensity).load(indexFile);
+    indexFile.delete();
+
+    JournalSegment<E> segment = newSegment(segmentFile, descriptor, index);
     log.debug("Loaded disk segment: {} ({})", descriptor.id(), file.getName());
     return segment;
   }
 
+  /**
+   * Loads a segment.
+   */
+  private JournalSegment<E> loadMappedSegment(long segmentId) {
+    File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
+    Buffer buffer = MappedBuffer.allocate(file, mappedSize(file, maxSegmentSize), Integer.MAX_VALUE);
+    JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
+    JournalSegmentFile segmentFile = new JournalSegmentFile(file);
+
+    // Load the persisted index if one exists. The index file is deleted once loaded to ensure a stale index
+    // is never loaded if the journal is not closed cleanly.
+    File indexFile = segmentFile.indexFile();
+    JournalIndex index = new SparseJournalIndex(indexDensity).load(indexFile);
+    indexFile.delete();
+
+    JournalSegment<E> segment = newSegment(segmentFile, descriptor, index);
+    log.debug("Loaded mapped segment: {} ({})", descriptor.id(), file.getName());
+    return segment;
+  }
+
+  /**
+   * Returns the number of bytes to map for a segment.
+   * <p>
+   * Mapped segments are mapped in full up front to avoid remapping the file as the segment grows. The mapped
+   * size is rounded up to a multiple of the page size and is never less than the size of an existing file, which
+   * may be larger than the maximum segment size if the journal was previously configured with larger segments.
+   */
+  private static int mappedSize(File file, int maxSegmentSize) {
+    long size = Math.max(file.length(), maxSegmentSize);
+    return (int) Math.min((size + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE, Integer.MAX_VALUE);
+  }
+
   /**
    * Loads a segment.
    */
@@ -423,7 +502,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
     Buffer buffer = HeapBuffer.allocate(Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
     JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
-    JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor);
+    JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor, new SparseJournalIndex(indexDensity));
     log.debug("Loaded memory segment: {}", descriptor.id());
     return segment;
   }
@@ -550,6 +629,15 @@ public class SegmentedJournal<E> implements Journal<E> {
     return open;
   }
 
+  /**
+   * Returns the total size of the journal's segments in bytes.
+   *
+   * @return the total size of the journal's segments in bytes
+   */
+  public long size() {
+    return segments.values().stream().mapToLong(JournalSegment::size).sum();
+  }
+
   /**
    * Returns a boolean indicating whether a segment can be removed from the journal prior to the given index.
    *
@@ -595,11 +683,24 @@ public class SegmentedJournal<E> implements Journal<E> {
     }
   }
 
+  /**
+   * Persists the segment index alongside the segment file.
+   */
+  private void storeIndex(JournalSegment<E> segment) {
+    JournalIndex index = segment.journalIndex();
+    if (index instanceof SparseJournalIndex) {
+      ((SparseJournalIndex) index).store(segment.file().indexFile());
+    }
+  }
+
   @Override
   public void close() {
     segments.values().forEach(segment -> {
       log.debug("Closing segment: {}", segment);
       segment.close();
+      if (storageLevel != StorageLevel.MEMORY) {
+        storeIndex(segment);
+      }
     });
     currentSegment = null;
     open = false;
@@ -613,6 +714,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     private static final String DEFAULT_DIRECTORY = System.getProperty("user.dir");
     private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
+    private static final double DEFAULT_INDEX_DENSITY = .005;
 
     protected String name = DEFAULT_NAME;
     protected StorageLevel storageLevel = StorageLevel.DISK;
@@ -620,6 +722,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     protected Serializer serializer;
     protected int maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
     protected int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
+    protected double indexDensity = DEFAULT_INDEX_DENSITY;
 
     protected Builder() {
     }
@@ -727,6 +830,25 @@ public class SegmentedJournal<E> implements Journal<E> {
       return this;
     }
 
+    /**
+     * Sets the journal index density, returning the builder for method chaining.
+     * <p>
+     * The index density is the proportion of entries in each segment whose positions are stored in the segment
+     * index. Readers seek to the closest indexed entry and then scan forward, so a higher density reduces seek
+     * times at the cost of memory.
+     * <p>
+     * By default, the index density is {@code .005}.
+     *
+     * @param indexDensity The journal index density.
+     * @return The journal builder.
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public Builder<E> withIndexDensity(double indexDensity) {
+      checkArgument(indexDensity > 0 && indexDensity <= 1, "index density must be between 0 and 1");
+      this.indexDensity = indexDensity;
+      return this;
+    }
+
     /**
      * Builds the journal.
      *
@@ -734,7 +856,7 @@ public class SegmentedJournal<E> implements Journal<E> {
      */
     @Override
     public SegmentedJournal<E> build() {
-      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment);
+      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity);
     }
   }
 }
\ No newline at end of file
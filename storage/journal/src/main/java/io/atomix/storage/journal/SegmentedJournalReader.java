@@ -39,11 +39,8 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
   private void initialize(long index) {
     currentSegment = journal.getSegment(index);
     currentReader = currentSegment.createReader();
-    long nextIndex = getNextIndex();
-    while (index > nextIndex && hasNext()) {
-      next();
-      nextIndex = getNextIndex();
-    }
+    currentReader.reset(index);
+    forward(index);
   }
 
   /**
@@ -124,6 +121,19 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
    * Fast forwards the journal to the given index.
    */
   private void forward(long index) {
+    // If the previous entry is in a later segment, seek directly to that segment.
+    JournalSegment<E> segment = journal.getSegment(index - 1);
+    if (segment != null && segment.index() > currentSegment.index()) {
+      currentReader.close();
+      currentSegment = segment;
+      currentReader = currentSegment.createReader();
+      previousEntry = null;
+    }
+
+    // Seek the segment reader to the given index and then scan any remaining entries.
+    if (getNextIndex() < index) {
+      currentReader.reset(index);
+    }
     while (getNextIndex() < index && hasNext()) {
       next();
     }
@@ -135,6 +145,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
         currentReader = currentSegment.createReader();
         return currentReader.hasNext();
@@ -150,6 +161,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
         currentReader = currentSegment.createReader();
         return currentReader.next();
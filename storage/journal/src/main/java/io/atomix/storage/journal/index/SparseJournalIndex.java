@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal.index;
+
+import io.atomix.storage.StorageException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sparse index of entry positions within a journal segment.
+ * <p>
+ * The sparse index stores the position of every {@code n}th entry, where {@code n} is derived from the
+ * configured index density. Lookups return the closest indexed position at or before the requested index,
+ * so readers only need to scan at most {@code n} entries to reach any index in the segment.
+ */
+public class SparseJournalIndex implements JournalIndex {
+  private final int interval;
+  private final NavigableMap<Long, Integer> positions = new ConcurrentSkipListMap<>();
+
+  public SparseJournalIndex(double density) {
+    checkArgument(density > 0 && density <= 1, "density must be between 0 and 1");
+    this.interval = (int) Math.ceil(1 / density);
+  }
+
+  @Override
+  public void index(long index, int position) {
+    if (index % interval == 0) {
+      positions.put(index, position);
+    }
+  }
+
+  @Override
+  public Position lookup(long index) {
+    Map.Entry<Long, Integer> entry = positions.floorEntry(index);
+    return entry != null ? new Position(entry.getKey(), entry.getValue()) : null;
+  }
+
+  @Override
+  public void truncate(long index) {
+    positions.tailMap(index, false).clear();
+  }
+
+  /**
+   * Loads indexed positions from the given file.
+   * <p>
+   * Positions loaded from disk are only used as hints from which to begin scanning the segment. If the file
+   * is incomplete, all positions read from it are discarded.
+   *
+   * @param file the file from which to load the index
+   * @return the index
+   */
+  public SparseJournalIndex load(File file) {
+    if (!file.exists()) {
+      return this;
+    }
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      int size = input.readInt();
+      for (int i = 0; i < size; i++) {
+        positions.put(input.readLong(), input.readInt());
+      }
+    } catch (EOFException e) {
+      positions.clear();
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+    return this;
+  }
+
+  /**
+   * Stores indexed positions to the given file.
+   *
+   * @param file the file to which to store the index
+   */
+  public void store(File file) {
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      output.writeInt(positions.size());
+      for (Map.Entry<Long, Integer> entry : positions.entrySet()) {
+        output.writeLong(entry.getKey());
+        output.writeInt(entry.getValue());
+      }
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("interval", interval)
+        .add("size", positions.size())
+        .toString();
+  }
+}
@@ -18,10 +18,16 @@ package io.atomix.storage.journal;
 import io.atomix.serializer.Serializer;
 import io.atomix.serializer.kryo.KryoNamespace;
 import io.atomix.storage.StorageLevel;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -35,6 +41,9 @@ public class JournalTest {
       .register(byte[].class)
       .build());
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   private Journal<TestEntry> createJournal() {
     return SegmentedJournal.<TestEntry>newBuilder()
         .withName("test")
@@ -43,6 +52,15 @@ public class JournalTest {
         .build();
   }
 
+  private Journal<TestEntry> createJournal(File directory) {
+    return SegmentedJournal.<TestEntry>newBuilder()
+        .withName("test")
+        .withDirectory(directory)
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .build();
+  }
+
   @Test
   public void testLogWriteRead() throws Exception {
     Journal<TestEntry> journal = createJournal();
@@ -136,4 +154,94 @@ public class JournalTest {
     assertEquals(reader.getCurrentIndex(), 2);
     assertFalse(reader.hasNext());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testLazyRead() throws Exception {
+    Journal<TestEntry> journal = createJournal();
+    JournalWriter<TestEntry> writer = journal.writer();
+    writer.append(new TestEntry(32));
+    writer.append(new TestEntry(64));
+
+    // Entries read from the journal are not deserialized until they're accessed.
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    Indexed<TestEntry> indexed = reader.next();
+    assertFalse(indexed.isDecoded());
+    assertNotNull(indexed.bytes());
+    assertEquals(indexed.bytes().length, indexed.size());
+    assertNotNull(indexed.entry());
+    assertTrue(indexed.isDecoded());
+
+    // Raw entries can be appended to another journal without being deserialized.
+    indexed = reader.next();
+    Journal<TestEntry> copy = createJournal();
+    JournalWriter<TestEntry> copyWriter = copy.writer();
+    copyWriter.append(new TestEntry(32));
+    copyWriter.append(indexed);
+    assertFalse(indexed.isDecoded());
+
+    JournalReader<TestEntry> copyReader = copy.openReader(2);
+    Indexed<TestEntry> copied = copyReader.next();
+    assertEquals(2, copied.index());
+    assertArrayEquals(indexed.bytes(), copied.bytes());
+    assertNotNull(copied.entry());
+  }
+
+  @Test
+  public void testResetReader() throws Exception {
+    Journal<TestEntry> journal = createJournal();
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 10; i++) {
+      writer.append(new TestEntry(i));
+    }
+
+    // Entries skipped while seeking are not returned, but the current and next entries can be decoded.
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    reader.reset(6);
+    assertEquals(5, reader.getCurrentIndex());
+    assertEquals(5, reader.getCurrentEntry().entry().bytes().length);
+    assertEquals(6, reader.next().entry().bytes().length);
+
+    // Seeking past the end of the journal leaves the reader positioned at the last entry.
+    reader.reset(20);
+    assertEquals(10, reader.getCurrentIndex());
+    assertEquals(10, reader.getCurrentEntry().entry().bytes().length);
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testRecoverLastEntry() throws Exception {
+    File directory = folder.newFolder();
+    Journal<TestEntry> journal = createJournal(directory);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 10; i++) {
+      writer.append(new TestEntry(i));
+    }
+    journal.close();
+
+    // The last entry is recovered from disk when the journal is reopened.
+    journal = createJournal(directory);
+    Indexed<TestEntry> lastEntry = journal.writer().getLastEntry();
+    assertEquals(10, lastEntry.index());
+    assertEquals(10, lastEntry.entry().bytes().length);
+    journal.close();
+  }
+
+  @Test
+  public void testWriteLargeEntry() throws Exception {
+    Journal<TestEntry> journal = createJournal();
+    JournalWriter<TestEntry> writer = journal.writer();
+
+    // Entries larger than the writer's serialization buffer are written in full.
+    writer.append(new TestEntry(32));
+    Indexed<TestEntry> indexed = writer.append(new TestEntry(1024 * 64));
+    writer.append(new TestEntry(32));
+    assertEquals(2, indexed.index());
+
+    JournalReader<TestEntry> reader = journal.openReader(2);
+    Indexed<TestEntry> read = reader.next();
+    assertEquals(2, read.index());
+    assertEquals(indexed.size(), read.size());
+    assertArrayEquals(indexed.entry().bytes(), read.entry().bytes());
+    assertEquals(3, reader.next().index());
+  }
+}
@@ -15,12 +15,15 @@
  */
 package io.atomix.utils.concurrent;
 
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.LinkedList;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -33,23 +36,31 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * This is a special {@link ThreadContext} implementation that schedules events to be executed
  * on a thread pool. Events executed by this context are guaranteed to be executed on order but may be executed on different
  * threads in the provided thread pool.
+ * <p>
+ * The thread pool may be shared by many contexts, so closing the context does not shut down the pool. Instead, tasks
+ * scheduled by the context are cancelled and any tasks queued or submitted after the context is closed are discarded.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class ThreadPoolContext implements ThreadContext {
   private static final Logger LOGGER = LoggerFactory.getLogger(ThreadPoolContext.class);
   private final ScheduledExecutorService parent;
-  private final Runnable runner;
+  private final Runnable runner = this::runTasks;
   private final LinkedList<Runnable> tasks = new LinkedList<>();
+  private final Set<ScheduledFuture<?>> scheduledFutures = Sets.newConcurrentHashSet();
   private boolean running;
+  private volatile boolean closed;
   private final Executor executor = new Executor() {
     @Override
     public void execute(Runnable command) {
       synchronized (tasks) {
+        if (closed) {
+          return;
+        }
         tasks.add(command);
         if (!running) {
           running = true;
-          parent.execute(runner);
+          startRunner();
         }
       }
     }
@@ -62,17 +73,36 @@ public class ThreadPoolContext implements ThreadContext {
    */
   public ThreadPoolContext(ScheduledExecutorService parent) {
     this.parent = checkNotNull(parent, "parent cannot be null");
+  }
 
+  /**
+   * Submits the task runner to the thread pool. Must be called while holding the tasks lock.
+   */
+  private void startRunner() {
+    try {
+      parent.execute(runner);
+    } catch (RejectedExecutionException e) {
+      running = false;
+      tasks.clear();
+    }
+  }
+
+  /**
+   * Runs queued tasks in order until the queue is empty.
+   */
+  private void runTasks() {
     // This code was shamelessly stolededed from Vert.x:
     // https://github.com/eclipse/vert.x/blob/master/src/main/java/io/vertx/core/impl/OrderedExecutorFactory.java
-    runner = () -> {
-      ((AtomixThread) Thread.currentThread()).setContext(this);
+    try {
+      Thread thread = Thread.currentThread();
+      if (thread instanceof AtomixThread) {
+        ((AtomixThread) thread).setContext(this);
+      }
       for (; ; ) {
         final Runnable task;
         synchronized (tasks) {
           task = tasks.poll();
           if (task == null) {
-            running = false;
             return;
           }
         }
@@ -81,9 +111,33 @@ public class ThreadPoolContext implements ThreadContext {
           task.run();
         } catch (Throwable t) {
           LOGGER.error("An uncaught exception occurred", t);
-          throw t;
         }
       }
+    } finally {
+      // Tasks may have been queued after the queue was found empty or the runner may have failed, in which case
+      // a new runner must be started to ensure queued tasks are not stranded.
+      synchronized (tasks) {
+        if (tasks.isEmpty() || closed) {
+          running = false;
+        } else {
+          startRunner();
+        }
+      }
+    }
+  }
+
+  /**
+   * Tracks the given scheduled future so that it can be cancelled when the context is closed.
+   */
+  private Scheduled track(ScheduledFuture<?> future) {
+    scheduledFutures.removeIf(ScheduledFuture::isDone);
+    scheduledFutures.add(future);
+    if (closed) {
+      future.cancel(false);
+    }
+    return () -> {
+      future.cancel(false);
+      scheduledFutures.remove(future);
     };
   }
 
@@ -94,19 +148,23 @@ public class ThreadPoolContext implements ThreadContext {
 
   @Override
   public Scheduled schedule(Duration delay, Runnable runnable) {
-    ScheduledFuture<?> future = parent.schedule(() -> executor.execute(runnable), delay.toMillis(), TimeUnit.MILLISECONDS);
-    return () -> future.cancel(false);
+    return track(parent.schedule(() -> executor.execute(runnable), delay.toMillis(), TimeUnit.MILLISECONDS));
   }
 
   @Override
   public Scheduled schedule(Duration delay, Duration interval, Runnable runnable) {
-    ScheduledFuture<?> future = parent.scheduleAtFixedRate(() -> executor.execute(runnable), delay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
-    return () -> future.cancel(false);
+    return track(parent.scheduleAtFixedRate(() -> executor.execute(runnable), delay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS));
   }
 
   @Override
   public void close() {
-    // Do nothing.
+    // The thread pool may be shared, so cancel this context's work rather than shutting down the pool.
+    closed = true;
+    synchronized (tasks) {
+      tasks.clear();
+    }
+    scheduledFutures.forEach(future -> future.cancel(false));
+    scheduledFutures.clear();
   }
 
 }
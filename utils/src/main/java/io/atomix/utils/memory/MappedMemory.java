@@ -76,11 +76,23 @@ public class MappedMemory extends NativeMemory {
     buffer.force();
   }
 
-  @Override
-  public void free() {
+  /**
+   * Unmaps the given mapped buffer.
+   * <p>
+   * Mapped memory is otherwise only released once the buffer is garbage collected. The buffer must not be
+   * accessed once it has been unmapped.
+   *
+   * @param buffer The buffer to unmap.
+   */
+  public static void unmap(MappedByteBuffer buffer) {
     Cleaner cleaner = ((DirectBuffer) buffer).cleaner();
     if (cleaner != null)
       cleaner.clean();
+  }
+
+  @Override
+  public void free() {
+    unmap(buffer);
     ((MappedMemoryAllocator) allocator).release();
   }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.concurrent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Thread pool context test.
+ */
+public class ThreadPoolContextTest {
+  private ScheduledThreadPoolExecutor threadPool;
+
+  @Before
+  public void setupThreadPool() {
+    threadPool = new ScheduledThreadPoolExecutor(4, new AtomixThreadFactory());
+    threadPool.setRemoveOnCancelPolicy(true);
+  }
+
+  @After
+  public void shutdownThreadPool() {
+    threadPool.shutdownNow();
+  }
+
+  /**
+   * Tests that tasks are executed in order.
+   */
+  @Test
+  public void testOrderedExecution() throws Exception {
+    ThreadPoolContext context = new ThreadPoolContext(threadPool);
+    List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(1000);
+    for (int i = 0; i < 1000; i++) {
+      int value = i;
+      context.execute(() -> {
+        results.add(value);
+        latch.countDown();
+      });
+    }
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), results);
+  }
+
+  /**
+   * Tests that a failing task does not prevent subsequent tasks from being executed.
+   */
+  @Test
+  public void testTaskFailure() throws Exception {
+    ThreadPoolContext context = new ThreadPoolContext(threadPool);
+    CountDownLatch latch = new CountDownLatch(2);
+    context.execute(() -> {
+      throw new IllegalStateException();
+    });
+    context.execute(latch::countDown);
+    assertTrue(waitFor(latch, 1));
+
+    context.execute(() -> {
+      throw new IllegalStateException();
+    });
+    context.execute(latch::countDown);
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Tests that closing the context cancels scheduled tasks and discards new tasks.
+   */
+  @Test
+  public void testClose() throws Exception {
+    ThreadPoolContext context = new ThreadPoolContext(threadPool);
+    AtomicInteger counter = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+    context.schedule(Duration.ofMillis(10), Duration.ofMillis(10), () -> {
+      counter.incrementAndGet();
+      latch.countDown();
+    });
+    context.schedule(Duration.ofMinutes(1), counter::incrementAndGet);
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+    context.close();
+    assertTrue(threadPool.getQueue().isEmpty());
+
+    // Allow a task that was running when the context was closed to complete.
+    Thread.sleep(50);
+    int count = counter.get();
+    context.execute(counter::incrementAndGet);
+    context.schedule(Duration.ZERO, counter::incrementAndGet);
+    Thread.sleep(100);
+    assertEquals(count, counter.get());
+    assertTrue(threadPool.getQueue().isEmpty());
+
+    // Other contexts sharing the thread pool are unaffected.
+    CountDownLatch otherLatch = new CountDownLatch(1);
+    new ThreadPoolContext(threadPool).execute(otherLatch::countDown);
+    assertTrue(otherLatch.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Waits for the given latch to reach the given count.
+   */
+  private static boolean waitFor(CountDownLatch latch, long count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (latch.getCount() > count) {
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      Thread.sleep(10);
+    }
+    return true;
+  }
+}